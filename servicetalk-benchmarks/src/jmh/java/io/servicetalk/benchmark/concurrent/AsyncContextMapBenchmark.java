@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018, 2021 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018, 2021, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,14 @@
 package io.servicetalk.benchmark.concurrent;
 
 import io.servicetalk.concurrent.api.AsyncContext;
+import io.servicetalk.context.api.ContextMap;
 import io.servicetalk.context.api.ContextMap.Key;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -108,6 +110,59 @@ public class AsyncContextMapBenchmark {
         AsyncContext.removeAllEntries(FourList.INSTANCE);
     }
 
+    @Benchmark
+    public void putGetMany(final ManyState state) {
+        for (Key<String> key : state.keys) {
+            AsyncContext.put(key, "v");
+        }
+        for (Key<String> key : state.keys) {
+            AsyncContext.get(key);
+        }
+    }
+
+    @Benchmark
+    public int getMany(final ManyState state) {
+        int found = 0;
+        for (Key<String> key : state.keys) {
+            if (state.map.get(key) != null) {
+                ++found;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public ContextMap copyPutMany(final ManyState state) {
+        // Models a context which is captured and then modified, which copies the map.
+        final ContextMap copy = state.map.copy();
+        copy.put(K1, "v1");
+        return copy;
+    }
+
+    @State(Scope.Benchmark)
+    public static class ManyState {
+        @Param({"8", "16", "32", "64"})
+        int entries;
+
+        Key<String>[] keys;
+        ContextMap map;
+
+        @Setup(Level.Trial)
+        @SuppressWarnings("unchecked")
+        public void setup() {
+            keys = new Key[entries];
+            for (int i = 0; i < entries; ++i) {
+                keys[i] = newKey("many" + i, String.class);
+            }
+            AsyncContext.clear();
+            for (Key<String> key : keys) {
+                AsyncContext.put(key, "v");
+            }
+            map = AsyncContext.context().copy();
+            AsyncContext.clear();
+        }
+    }
+
     private static final class FourList extends AbstractList<Key<?>> {
         static final List<Key<?>> INSTANCE = new FourList();
 
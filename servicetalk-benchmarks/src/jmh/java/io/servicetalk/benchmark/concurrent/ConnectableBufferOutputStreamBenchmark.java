@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -99,7 +99,7 @@ import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
 @BenchmarkMode(Mode.Throughput)
 public class ConnectableBufferOutputStreamBenchmark {
 
-    @Param({"1000", "100000", "1000000"})
+    @Param({"10", "100", "1000", "100000", "1000000"})
     public int dataSize;
 
     @Param({"true", "false"})
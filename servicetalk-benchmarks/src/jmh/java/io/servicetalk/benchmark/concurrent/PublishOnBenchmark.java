@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.benchmark.concurrent;
+
+import io.servicetalk.concurrent.api.AsyncContext;
+import io.servicetalk.concurrent.api.Executor;
+import io.servicetalk.concurrent.api.Publisher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.servicetalk.concurrent.api.Executors.newCachedThreadExecutor;
+import static io.servicetalk.concurrent.api.Publisher.fromIterable;
+
+/**
+ * Offloads a payload of 1 MiB split into chunks of different sizes from a producer thread to a consumer thread, with
+ * and without batching in {@link Publisher#publishOn(io.servicetalk.concurrent.Executor,
+ * java.util.function.BooleanSupplier, int)}.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PublishOnBenchmark {
+    private static final int PAYLOAD_SIZE = 1024 * 1024;
+
+    static {
+        AsyncContext.disable();
+    }
+
+    @Param({"64", "1024", "16384"})
+    public int chunkSize;
+
+    /**
+     * Maximum number of signals delivered per task, {@code 0} disables batching.
+     */
+    @Param({"0", "256"})
+    public int maxSignalsPerTask;
+
+    private Executor producerExecutor;
+    private Executor consumerExecutor;
+    private List<byte[]> chunks;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        producerExecutor = newCachedThreadExecutor();
+        consumerExecutor = newCachedThreadExecutor();
+        chunks = new ArrayList<>(PAYLOAD_SIZE / chunkSize);
+        for (int i = 0; i < PAYLOAD_SIZE / chunkSize; ++i) {
+            chunks.add(new byte[chunkSize]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        producerExecutor.closeAsync().toFuture().get();
+        consumerExecutor.closeAsync().toFuture().get();
+    }
+
+    @Benchmark
+    public long publishOn() throws Exception {
+        final Publisher<byte[]> source = fromIterable(chunks).subscribeOn(producerExecutor);
+        return (maxSignalsPerTask > 0 ?
+                source.publishOn(consumerExecutor, Boolean.TRUE::booleanValue, maxSignalsPerTask) :
+                source.publishOn(consumerExecutor))
+                .collect(() -> new long[1], (sum, chunk) -> {
+                    sum[0] += chunk.length;
+                    return sum;
+                }).toFuture().get()[0];
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.benchmark.concurrent;
+
+import io.servicetalk.concurrent.PublisherSource.Subscriber;
+import io.servicetalk.concurrent.PublisherSource.Subscription;
+import io.servicetalk.concurrent.api.AsyncContext;
+import io.servicetalk.concurrent.api.Publisher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.api.Publisher.range;
+import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static io.servicetalk.concurrent.reactivestreams.ReactiveStreamsAdapters.fromReactiveStreamsPublisher;
+import static io.servicetalk.concurrent.reactivestreams.ReactiveStreamsAdapters.toReactiveStreamsPublisher;
+
+/**
+ * Converts a {@link Publisher} to a Reactive Streams {@link org.reactivestreams.Publisher} and back, and consumes it
+ * with a {@link Subscriber} that requests one item at a time. A {@code prefetch} of {@code 0} uses the adapters that
+ * forward each request, otherwise the adapters request items in batches.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class ReactiveStreamsAdaptersBenchmark {
+    static {
+        AsyncContext.disable();
+    }
+
+    @Param({"0", "32", "256"})
+    public int prefetch;
+
+    @Param({"1024"})
+    public int items;
+
+    @Benchmark
+    public long roundTrip() {
+        final Publisher<Integer> source = range(0, items);
+        final Publisher<Integer> publisher;
+        if (prefetch == 0) {
+            publisher = fromReactiveStreamsPublisher(toReactiveStreamsPublisher(source));
+        } else {
+            final int replenishThreshold = prefetch - (prefetch >> 2);
+            publisher = fromReactiveStreamsPublisher(
+                    toReactiveStreamsPublisher(source, prefetch, replenishThreshold), prefetch, replenishThreshold);
+        }
+        final RequestOneSubscriber subscriber = new RequestOneSubscriber();
+        toSource(publisher).subscribe(subscriber);
+        return subscriber.sum;
+    }
+
+    private static final class RequestOneSubscriber implements Subscriber<Integer> {
+        @Nullable
+        private Subscription subscription;
+        long sum;
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(@Nullable final Integer integer) {
+            assert integer != null && subscription != null;
+            sum += integer;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            sum = -1;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
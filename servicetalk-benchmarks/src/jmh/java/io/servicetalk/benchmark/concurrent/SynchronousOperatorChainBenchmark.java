@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.benchmark.concurrent;
+
+import io.servicetalk.concurrent.api.AsyncContext;
+import io.servicetalk.concurrent.api.Publisher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.servicetalk.concurrent.api.Publisher.fromIterable;
+
+/**
+ * Subscribes to chains of synchronous operators ({@link Publisher#map(java.util.function.Function)},
+ * {@link Publisher#filter(java.util.function.Predicate)}, {@link Publisher#whenOnNext(java.util.function.Consumer)})
+ * of different lengths. Consecutive map and filter operators, also alternating ones, are fused into a single stage
+ * at assembly time.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class SynchronousOperatorChainBenchmark {
+    static {
+        AsyncContext.disable();
+    }
+
+    @Param({"5", "10"})
+    public int stages;
+
+    @Param({"1", "1024"})
+    public int items;
+
+    private List<Integer> source;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        source = new ArrayList<>(items);
+        for (int i = 0; i < items; ++i) {
+            source.add(i);
+        }
+    }
+
+    @Benchmark
+    public long mapChain() throws Exception {
+        Publisher<Integer> publisher = fromIterable(source);
+        for (int i = 0; i < stages; ++i) {
+            publisher = publisher.map(v -> v + 1);
+        }
+        return sum(publisher);
+    }
+
+    @Benchmark
+    public long filterChain() throws Exception {
+        Publisher<Integer> publisher = fromIterable(source);
+        for (int i = 0; i < stages; ++i) {
+            final int stage = i;
+            publisher = publisher.filter(v -> v != stage);
+        }
+        return sum(publisher);
+    }
+
+    @Benchmark
+    public long mapAndWhenOnNextChain() throws Exception {
+        final long[] observed = new long[1];
+        Publisher<Integer> publisher = fromIterable(source);
+        for (int i = 0; i < stages; ++i) {
+            publisher = (i & 1) == 0 ? publisher.map(v -> v + 1) : publisher.whenOnNext(v -> observed[0] += v);
+        }
+        return sum(publisher) + observed[0];
+    }
+
+    @Benchmark
+    public long alternatingMapAndFilterChain() throws Exception {
+        Publisher<Integer> publisher = fromIterable(source);
+        for (int i = 0; i < stages; ++i) {
+            publisher = (i & 1) == 0 ? publisher.map(v -> v + 1) : publisher.filter(v -> (v & 7) != 0);
+        }
+        return sum(publisher);
+    }
+
+    private static long sum(Publisher<Integer> publisher) throws Exception {
+        return publisher.collect(() -> new long[1], (sum, v) -> {
+            sum[0] += v;
+            return sum;
+        }).toFuture().get()[0];
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.benchmark.concurrent;
+
+import io.servicetalk.concurrent.api.AsyncContext;
+import io.servicetalk.concurrent.api.Executor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static io.servicetalk.concurrent.api.Executors.newCachedThreadExecutor;
+import static io.servicetalk.concurrent.api.Executors.withHashedWheelTimer;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures the throughput of scheduling and cancelling timeouts, which is what most request timeouts do.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TimerScheduleCancelBenchmark {
+    static {
+        AsyncContext.disable();
+    }
+
+    @Param({"scheduledThreadPool", "hashedWheel"})
+    public String timer;
+
+    private Executor executor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Executor cached = newCachedThreadExecutor();
+        executor = "hashedWheel".equals(timer) ? withHashedWheelTimer(cached) : cached;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        executor.closeAsync().toFuture().get();
+    }
+
+    @Benchmark
+    public void scheduleCancel() {
+        executor.schedule(TimerScheduleCancelBenchmark::noop, 30, SECONDS).cancel();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void scheduleCancel4Threads() {
+        executor.schedule(TimerScheduleCancelBenchmark::noop, 30, SECONDS).cancel();
+    }
+
+    private static void noop() {
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.benchmark.http;
+
+import io.servicetalk.concurrent.api.AsyncContext;
+import io.servicetalk.context.api.ContextMap.Key;
+import io.servicetalk.http.api.HttpClient;
+import io.servicetalk.http.api.HttpResponse;
+import io.servicetalk.http.netty.HttpClients;
+import io.servicetalk.http.netty.HttpServers;
+import io.servicetalk.transport.api.ServerContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetSocketAddress;
+
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.context.api.ContextMap.Key.newKey;
+import static java.net.InetAddress.getLoopbackAddress;
+
+/**
+ * Compares the cost of {@link AsyncContext} modes on a full HTTP request path: a client request over a loopback
+ * connection to a server which reads a value from {@link AsyncContext}.
+ * <ul>
+ *     <li>{@code default} - operators capture and restore the context on every signal.</li>
+ *     <li>{@code boundaries} - {@link AsyncContext#captureAtBoundariesOnly()}.</li>
+ *     <li>{@code disabled} - {@link AsyncContext#disable()}.</li>
+ * </ul>
+ * The mode is global, JMH forks a new JVM for each value of the parameter.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class AsyncContextHttpBenchmark {
+    private static final Key<String> KEY = newKey("request-id", String.class);
+
+    @Param({"default", "boundaries", "disabled"})
+    public String mode;
+
+    private ServerContext serverContext;
+    private HttpClient client;
+
+    @Setup
+    public void setup() throws Exception {
+        switch (mode) {
+            case "boundaries":
+                AsyncContext.captureAtBoundariesOnly();
+                break;
+            case "disabled":
+                AsyncContext.disable();
+                break;
+            default:
+                break;
+        }
+        serverContext = HttpServers.forAddress(new InetSocketAddress(getLoopbackAddress(), 0))
+                .listenAndAwait((ctx, request, responseFactory) -> {
+                    final String value = AsyncContext.get(KEY);
+                    return succeeded(responseFactory.ok()
+                            .payloadBody(ctx.executionContext().bufferAllocator().fromAscii(
+                                    value == null ? "none" : value)));
+                });
+        client = HttpClients.forResolvedAddress((InetSocketAddress) serverContext.listenAddress()).build();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        client.close();
+        serverContext.close();
+    }
+
+    @Benchmark
+    public HttpResponse request() throws Exception {
+        AsyncContext.put(KEY, "value");
+        return client.request(client.get("/")).toFuture().get();
+    }
+}
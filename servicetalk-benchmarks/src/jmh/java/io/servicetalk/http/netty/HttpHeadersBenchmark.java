@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.http.api.ArrayHttpHeadersFactory;
+import io.servicetalk.http.api.DefaultHttpHeadersFactory;
+import io.servicetalk.http.api.EmptyHttpHeaders;
+import io.servicetalk.http.api.HttpHeaders;
+import io.servicetalk.http.api.HttpHeadersFactory;
+import io.servicetalk.http.api.HttpResponseMetaData;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.Map.Entry;
+
+import static io.servicetalk.buffer.api.CharSequences.newAsciiString;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
+import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
+import static io.servicetalk.http.api.HttpResponseMetaDataFactory.newResponseMetaData;
+import static io.servicetalk.http.api.HttpResponseStatus.OK;
+import static io.servicetalk.http.netty.HttpResponseEncoder.NOOP_ON_RESPONSE;
+import static io.servicetalk.transport.netty.internal.CloseHandler.UNSUPPORTED_PROTOCOL_CLOSE_HANDLER;
+
+/*
+ * This benchmark compares the map based DefaultHttpHeadersFactory with the array based ArrayHttpHeadersFactory for
+ * typical header operations: populating headers, looking up every name, iterating all entries and encoding
+ * the headers as part of an HTTP/1.1 response.
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.Throughput)
+public class HttpHeadersBenchmark {
+
+    @Param({"default", "array"})
+    private String factory;
+
+    @Param({"4", "8", "16", "32"})
+    private int numHeaders;
+
+    private HttpHeadersFactory headersFactory;
+    private CharSequence[] names;
+    private CharSequence[] lookupNames;
+    private CharSequence[] values;
+    private HttpHeaders headers;
+    private HttpResponseMetaData metaData;
+
+    private EmbeddedChannel channel;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (factory) {
+            case "default":
+                headersFactory = DefaultHttpHeadersFactory.INSTANCE;
+                break;
+            case "array":
+                headersFactory = ArrayHttpHeadersFactory.INSTANCE;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown factory: " + factory);
+        }
+        names = new CharSequence[numHeaders];
+        lookupNames = new CharSequence[numHeaders];
+        values = new CharSequence[numHeaders];
+        for (int i = 0; i < numHeaders; ++i) {
+            names[i] = newAsciiString("x-header-name-" + i);
+            // Use different instances and case to measure the content comparison, like for names parsed off the wire
+            lookupNames[i] = "X-Header-Name-" + i;
+            values[i] = newAsciiString("header-value-" + i);
+        }
+        headers = populate(headersFactory.newHeaders());
+        metaData = newResponseMetaData(HTTP_1_1, OK, populate(headersFactory.newHeaders()))
+                .setHeader(CONTENT_LENGTH, newAsciiString("0"));
+
+        channel = new EmbeddedChannel(new HttpResponseEncoder(new ArrayDeque<>(), 256, 256,
+                UNSUPPORTED_PROTOCOL_CLOSE_HANDLER, NOOP_ON_RESPONSE));
+    }
+
+    @Benchmark
+    public HttpHeaders add() {
+        return populate(headersFactory.newHeaders());
+    }
+
+    @Benchmark
+    public int get() {
+        int found = 0;
+        for (CharSequence name : lookupNames) {
+            if (headers.get(name) != null) {
+                ++found;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int iterate() {
+        int length = 0;
+        for (Entry<CharSequence, CharSequence> entry : headers) {
+            length += entry.getKey().length() + entry.getValue().length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int encode() {
+        channel.writeOutbound(metaData);
+        channel.writeOutbound(EmptyHttpHeaders.INSTANCE);
+
+        int size = 0;
+        ByteBuf byteBuf;
+        while ((byteBuf = channel.readOutbound()) != null) {
+            size += byteBuf.readableBytes();
+            byteBuf.release();
+        }
+        return size;
+    }
+
+    private HttpHeaders populate(final HttpHeaders headers) {
+        for (int i = 0; i < names.length; ++i) {
+            headers.add(names[i], values[i]);
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.http.api.DefaultHttpHeadersFactory;
+import io.servicetalk.http.api.HttpHeaders;
+import io.servicetalk.http.api.HttpRequestMetaData;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.buffer.netty.BufferAllocators.PREFER_DIRECT_ALLOCATOR;
+import static io.servicetalk.buffer.netty.BufferUtils.getByteBufAllocator;
+import static io.servicetalk.buffer.netty.BufferUtils.toByteBuf;
+import static io.servicetalk.transport.netty.internal.CloseHandler.UNSUPPORTED_PROTOCOL_CLOSE_HANDLER;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/*
+ * This benchmark measures decoding of HTTP requests with a typical set of headers, which are either well-known
+ * (lower-case or capitalized, shared instances are used for names) or custom (names are allocated per request).
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.Throughput)
+public class HttpRequestDecoderBenchmark {
+
+    private static final String LOWER_CASE_HEADERS = "host: servicetalk.io\r\n" +
+            "user-agent: servicetalk-benchmark\r\n" +
+            "accept: application/json\r\n" +
+            "accept-encoding: gzip, deflate\r\n" +
+            "content-type: application/json\r\n" +
+            "content-length: 0\r\n" +
+            "cache-control: no-cache\r\n" +
+            "connection: keep-alive\r\n";
+    private static final String CAPITALIZED_HEADERS = "Host: servicetalk.io\r\n" +
+            "User-Agent: servicetalk-benchmark\r\n" +
+            "Accept: application/json\r\n" +
+            "Accept-Encoding: gzip, deflate\r\n" +
+            "Content-Type: application/json\r\n" +
+            "Content-Length: 0\r\n" +
+            "Cache-Control: no-cache\r\n" +
+            "Connection: keep-alive\r\n";
+    private static final String CUSTOM_HEADERS = "x-custom-host: servicetalk.io\r\n" +
+            "x-custom-user-agent: servicetalk-benchmark\r\n" +
+            "x-custom-accept: application/json\r\n" +
+            "x-custom-accept-encoding: gzip, deflate\r\n" +
+            "x-custom-content-type: application/json\r\n" +
+            "content-length: 0\r\n" +
+            "x-custom-cache-control: no-cache\r\n" +
+            "x-custom-connection: keep-alive\r\n";
+
+    @Param({"lowerCase", "capitalized", "custom"})
+    private String headers;
+
+    private ByteBuf requestByteBuf;
+
+    private EmbeddedChannel channel;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final String headersBlock;
+        switch (headers) {
+            case "lowerCase":
+                headersBlock = LOWER_CASE_HEADERS;
+                break;
+            case "capitalized":
+                headersBlock = CAPITALIZED_HEADERS;
+                break;
+            case "custom":
+                headersBlock = CUSTOM_HEADERS;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown headers: " + headers);
+        }
+        final Buffer requestBuffer = PREFER_DIRECT_ALLOCATOR.newBuffer(512);
+        requestBuffer.writeBytes(("GET /some/path?query=value HTTP/1.1\r\n" + headersBlock + "\r\n")
+                .getBytes(US_ASCII));
+        requestByteBuf = toByteBuf(requestBuffer.slice());
+
+        channel = new EmbeddedChannel(new HttpRequestDecoder(new DiscardingArrayDeque<>(),
+                getByteBufAllocator(DEFAULT_ALLOCATOR), DefaultHttpHeadersFactory.INSTANCE, 8192, 8192,
+                false, false, UNSUPPORTED_PROTOCOL_CLOSE_HANDLER));
+    }
+
+    @Benchmark
+    public int request() {
+        channel.writeInbound(requestByteBuf.duplicate());
+
+        final HttpRequestMetaData request = channel.readInbound();
+        final HttpHeaders trailers = channel.readInbound();
+
+        return request.headers().size() + trailers.size();
+    }
+
+    private static final class DiscardingArrayDeque<T> extends ArrayDeque<T> {
+        private static final long serialVersionUID = 6389547468734165324L;
+
+        @Override
+        public boolean add(final T t) {
+            return true;    // Methods are not consumed by any encoder in this benchmark
+        }
+    }
+}
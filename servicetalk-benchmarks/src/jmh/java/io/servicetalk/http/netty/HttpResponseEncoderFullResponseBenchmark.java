@@ -17,6 +17,7 @@ package io.servicetalk.http.netty;
 
 import io.servicetalk.buffer.api.Buffer;
 import io.servicetalk.http.api.EmptyHttpHeaders;
+import io.servicetalk.http.api.HttpHeadersTemplate;
 import io.servicetalk.http.api.HttpResponseMetaData;
 
 import io.netty.buffer.ByteBuf;
@@ -48,7 +49,8 @@ import static io.servicetalk.transport.netty.internal.CloseHandler.UNSUPPORTED_P
 
 /*
  * This benchmark measures encoding of full HTTP request with headers and payload body. Everything is allocated using
- * ReadOnlyBufferAllocator:
+ * ReadOnlyBufferAllocator. The fullResponseTemplate variant creates the headers from an HttpHeadersTemplate, which
+ * writes the constant headers from their pre-encoded form:
  *
  * Benchmark                                               Mode  Cnt       Score      Error  Units
  * HttpResponseEncoderBenchmarkFullResponse.fullResponse  thrpt    5  669406.100 ± 6113.671  ops/s
@@ -61,6 +63,7 @@ import static io.servicetalk.transport.netty.internal.CloseHandler.UNSUPPORTED_P
 public class HttpResponseEncoderFullResponseBenchmark {
 
     private HttpResponseMetaData metaData;
+    private HttpResponseMetaData templateMetaData;
     private Buffer payloadBody;
 
     private EmbeddedChannel channel;
@@ -72,6 +75,11 @@ public class HttpResponseEncoderFullResponseBenchmark {
                 .addHeader(CONTENT_LENGTH, newAsciiString(Integer.toString(payloadBody.readableBytes())))
                 .addHeader(CONTENT_TYPE, TEXT_PLAIN)
                 .addHeader(newAsciiString("X-Custom-Header-Name"), newAsciiString("X-Custom-Header-Value"));
+        final HttpHeadersTemplate template = HttpHeadersTemplate.of(INSTANCE.newHeaders()
+                .add(CONTENT_TYPE, TEXT_PLAIN)
+                .add(newAsciiString("X-Custom-Header-Name"), newAsciiString("X-Custom-Header-Value")));
+        templateMetaData = newResponseMetaData(HTTP_1_1, INTERNAL_SERVER_ERROR, template.newHeaders())
+                .addHeader(CONTENT_LENGTH, newAsciiString(Integer.toString(payloadBody.readableBytes())));
 
         channel = new EmbeddedChannel(new HttpResponseEncoder(new ArrayDeque<>(), 256, 256,
                 UNSUPPORTED_PROTOCOL_CLOSE_HANDLER, NOOP_ON_RESPONSE));
@@ -79,6 +87,15 @@ public class HttpResponseEncoderFullResponseBenchmark {
 
     @Benchmark
     public int fullResponse() {
+        return writeResponse(metaData);
+    }
+
+    @Benchmark
+    public int fullResponseTemplate() {
+        return writeResponse(templateMetaData);
+    }
+
+    private int writeResponse(final HttpResponseMetaData metaData) {
         channel.writeOutbound(metaData);
         channel.writeOutbound(payloadBody.duplicate());
         channel.writeOutbound(EmptyHttpHeaders.INSTANCE);
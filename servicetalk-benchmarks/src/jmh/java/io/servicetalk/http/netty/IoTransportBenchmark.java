@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.concurrent.api.AsyncContext;
+import io.servicetalk.http.api.BlockingHttpClient;
+import io.servicetalk.http.api.HttpResponse;
+import io.servicetalk.transport.api.ServerContext;
+import io.servicetalk.transport.api.IoExecutor;
+import io.servicetalk.transport.netty.internal.NettyIoExecutors;
+import io.servicetalk.transport.netty.internal.NettyIoThreadFactory;
+
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.http.api.HttpExecutionStrategies.offloadNone;
+import static io.servicetalk.transport.netty.internal.NettyIoExecutors.fromNettyEventLoopGroup;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/*
+ * This benchmark compares end-to-end HTTP/1.1 request/response throughput and latency over loopback for the NIO,
+ * epoll and io_uring transports. The client and the server use separate IoExecutors of the same transport with
+ * offloading disabled, so the numbers reflect the cost of the IO layer. It has to run on Linux for the native
+ * transports, the io_uring transport also requires a kernel which supports it.
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(4)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(MICROSECONDS)
+public class IoTransportBenchmark {
+    static {
+        AsyncContext.disable(); // reduce noise in benchmarks.
+    }
+
+    @Param({"nio", "epoll", "io_uring"})
+    public String transport;
+
+    @Param({"256", "16384"})
+    public int payloadSize;
+
+    private IoExecutor serverIoExecutor;
+    private IoExecutor clientIoExecutor;
+    private ServerContext serverContext;
+    private BlockingHttpClient client;
+    private Buffer payload;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        serverIoExecutor = newIoExecutor("server");
+        clientIoExecutor = newIoExecutor("client");
+        payload = DEFAULT_ALLOCATOR.wrap(new byte[payloadSize]);
+        serverContext = HttpServers.forPort(0)
+                .ioExecutor(serverIoExecutor)
+                .executionStrategy(offloadNone())
+                .listenBlockingAndAwait((ctx, request, responseFactory) ->
+                        responseFactory.ok().payloadBody(request.payloadBody()));
+        client = HttpClients.forResolvedAddress(serverContext.listenAddress())
+                .ioExecutor(clientIoExecutor)
+                .executionStrategy(offloadNone())
+                .buildBlocking();
+    }
+
+    private IoExecutor newIoExecutor(final String name) {
+        final int ioThreads = 2;
+        final NettyIoThreadFactory threadFactory = new NettyIoThreadFactory(transport + '-' + name);
+        switch (transport) {
+            case "nio":
+                return fromNettyEventLoopGroup(new NioEventLoopGroup(ioThreads, threadFactory), true);
+            case "epoll":
+                Epoll.ensureAvailability();
+                return fromNettyEventLoopGroup(new EpollEventLoopGroup(ioThreads, threadFactory), true);
+            case "io_uring":
+                return NettyIoExecutors.createIoUringIoExecutor(ioThreads, threadFactory);
+            default:
+                throw new IllegalArgumentException("Unknown transport: " + transport);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        client.close();
+        serverContext.close();
+        clientIoExecutor.closeAsync().toFuture().get();
+        serverIoExecutor.closeAsync().toFuture().get();
+    }
+
+    @Benchmark
+    public HttpResponse requestResponse() throws Exception {
+        return client.request(client.post("/").payloadBody(payload.duplicate()));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.netty.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+import static java.net.InetAddress.getLoopbackAddress;
+
+/**
+ * Compares writing a {@link CompositeByteBuf} to a loopback socket by consolidating it into a single direct buffer
+ * first (what the transport does for composites with heap components) vs gathering its components with a single
+ * vectored write via {@link ByteBuf#nioBuffers()} (what {@link GatheringWriteUtils} enables).
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.Throughput)
+public class CompositeBufferWriteBenchmark {
+
+    @Param({"2", "8", "16", "64"})
+    public int components;
+
+    @Param({"64", "1024"})
+    public int componentSize;
+
+    private final ByteBufAllocator alloc = PooledByteBufAllocator.DEFAULT;
+    private CompositeByteBuf composite;
+    private ServerSocketChannel server;
+    private SocketChannel client;
+    private SocketChannel accepted;
+    private Thread drainer;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        composite = alloc.compositeDirectBuffer(components);
+        for (int i = 0; i < components; ++i) {
+            ByteBuf component = alloc.directBuffer(componentSize);
+            component.writerIndex(componentSize);
+            composite.addComponent(true, component);
+        }
+
+        server = ServerSocketChannel.open().bind(new InetSocketAddress(getLoopbackAddress(), 0));
+        client = SocketChannel.open(server.getLocalAddress());
+        accepted = server.accept();
+        drainer = new Thread(() -> {
+            final ByteBuffer sink = ByteBuffer.allocateDirect(64 * 1024);
+            try {
+                while (accepted.read(sink) >= 0) {
+                    sink.clear();
+                }
+            } catch (IOException ignored) {
+                // closed
+            }
+        }, "composite-write-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        client.close();
+        drainer.join();
+        accepted.close();
+        server.close();
+        composite.release();
+    }
+
+    @Benchmark
+    public long consolidated() throws IOException {
+        final int readableBytes = composite.readableBytes();
+        final ByteBuf consolidated = alloc.directBuffer(readableBytes);
+        try {
+            consolidated.writeBytes(composite, composite.readerIndex(), readableBytes);
+            final ByteBuffer nioBuffer = consolidated.internalNioBuffer(0, readableBytes);
+            long written = 0;
+            while (nioBuffer.hasRemaining()) {
+                written += client.write(nioBuffer);
+            }
+            return written;
+        } finally {
+            consolidated.release();
+        }
+    }
+
+    @Benchmark
+    public long gathered() throws IOException {
+        final ByteBuffer[] nioBuffers = composite.nioBuffers();
+        final long readableBytes = composite.readableBytes();
+        long written = 0;
+        while (written < readableBytes) {
+            written += client.write(nioBuffers);
+        }
+        return written;
+    }
+}
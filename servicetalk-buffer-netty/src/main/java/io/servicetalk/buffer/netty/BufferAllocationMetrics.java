@@ -0,0 +1,288 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.buffer.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Collects allocation statistics of {@link BufferAllocator}s decorated via
+ * {@link #instrument(BufferAllocator, Category)}.
+ * <p>
+ * All counters are striped ({@link LongAdder}) so recording an allocation does not introduce contention between
+ * threads, which makes it cheap enough to be left enabled in production. Reading the counters is more expensive and is
+ * expected to be done periodically by a metrics reporter.
+ * <p>
+ * Only allocations done through the decorated {@link BufferAllocator} are recorded: buffers that merely wrap existing
+ * memory ({@link BufferAllocator#wrap(byte[])}, {@link BufferAllocator#wrap(java.nio.ByteBuffer)}) and
+ * {@link io.servicetalk.buffer.api.CompositeBuffer}s (which only reference other buffers) do not allocate memory and
+ * are not recorded. Netty handlers of the transport (e.g. codecs and compression) allocate through the
+ * {@link io.netty.buffer.ByteBufAllocator} returned by {@link BufferUtils#getByteBufAllocator(BufferAllocator)}, which
+ * records these allocations under the {@link Category} of the passed {@link BufferAllocator}.
+ * <p>
+ * When an instrumented {@link BufferAllocator} is configured on a client or server builder, the transport re-tags it
+ * via {@link #withCategory(BufferAllocator, Category)} for its own call sites, so allocations done while decoding,
+ * encoding, or serializing are recorded under the matching {@link Category} of the same
+ * {@link BufferAllocationMetrics} instance.
+ */
+public final class BufferAllocationMetrics {
+
+    /**
+     * Category of a call site which allocates {@link Buffer}s.
+     */
+    public enum Category {
+        /**
+         * Allocations done while decoding data read from the network.
+         */
+        DECODER,
+        /**
+         * Allocations done while encoding data to be written to the network.
+         */
+        ENCODER,
+        /**
+         * Allocations done by serializers of the payload body.
+         */
+        SERIALIZER,
+        /**
+         * Allocations done by user code.
+         */
+        USER
+    }
+
+    private static final int[] SIZE_CLASS_UPPER_BOUNDS = {64, 256, 1024, 4 * 1024, 16 * 1024, 64 * 1024,
+            Integer.MAX_VALUE};
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final CategoryCounters[] counters;
+
+    /**
+     * Creates a new instance.
+     */
+    public BufferAllocationMetrics() {
+        counters = new CategoryCounters[CATEGORIES.length];
+        for (int i = 0; i < counters.length; ++i) {
+            counters[i] = new CategoryCounters();
+        }
+    }
+
+    /**
+     * Decorates the passed {@link BufferAllocator} to record its allocations in this {@link BufferAllocationMetrics}.
+     *
+     * @param delegate {@link BufferAllocator} to decorate.
+     * @param category {@link Category} of the call sites which will use the returned {@link BufferAllocator}.
+     * @return a {@link BufferAllocator} that records all allocations under the passed {@link Category}.
+     */
+    public BufferAllocator instrument(final BufferAllocator delegate, final Category category) {
+        return new InstrumentedBufferAllocator(requireNonNull(delegate), this, category);
+    }
+
+    /**
+     * Returns a {@link BufferAllocator} which records its allocations under the passed {@link Category}, if the
+     * passed {@link BufferAllocator} was created by {@link #instrument(BufferAllocator, Category)}.
+     * <p>
+     * Allocations of the returned {@link BufferAllocator} are recorded in the same {@link BufferAllocationMetrics}
+     * instance as the passed {@link BufferAllocator}. If the passed {@link BufferAllocator} is not instrumented, it is
+     * returned as-is, so this method can be applied unconditionally by call sites that allocate on behalf of a
+     * {@link Category}.
+     *
+     * @param allocator {@link BufferAllocator} to re-tag.
+     * @param category {@link Category} of the call sites which will use the returned {@link BufferAllocator}.
+     * @return a {@link BufferAllocator} that records allocations under the passed {@link Category}, or the passed
+     * {@link BufferAllocator} if it is not instrumented.
+     */
+    public static BufferAllocator withCategory(final BufferAllocator allocator, final Category category) {
+        requireNonNull(category);
+        return allocator instanceof InstrumentedBufferAllocator ?
+                ((InstrumentedBufferAllocator) allocator).withCategory(category) : allocator;
+    }
+
+    /**
+     * Returns the number of recorded allocations.
+     *
+     * @param category {@link Category} of allocations.
+     * @param direct {@code true} to return the number of direct allocations, {@code false} for heap allocations.
+     * @return the number of recorded allocations.
+     */
+    public long allocations(final Category category, final boolean direct) {
+        final CategoryCounters c = counters[category.ordinal()];
+        return direct ? c.directAllocations.sum() : c.heapAllocations.sum();
+    }
+
+    /**
+     * Returns the number of allocated bytes, based on the capacity of the allocated {@link Buffer}s.
+     *
+     * @param category {@link Category} of allocations.
+     * @param direct {@code true} to return the number of direct bytes, {@code false} for heap bytes.
+     * @return the number of allocated bytes.
+     */
+    public long allocatedBytes(final Category category, final boolean direct) {
+        final CategoryCounters c = counters[category.ordinal()];
+        return direct ? c.directBytes.sum() : c.heapBytes.sum();
+    }
+
+    /**
+     * Returns the total number of recorded allocations, for all {@link Category categories}.
+     *
+     * @return the total number of recorded allocations.
+     */
+    public long totalAllocations() {
+        long total = 0;
+        for (Category category : CATEGORIES) {
+            total += allocations(category, true) + allocations(category, false);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the total number of allocated bytes, for all {@link Category categories}.
+     *
+     * @return the total number of allocated bytes.
+     */
+    public long totalAllocatedBytes() {
+        long total = 0;
+        for (Category category : CATEGORIES) {
+            total += allocatedBytes(category, true) + allocatedBytes(category, false);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of size classes in the histogram returned by {@link #sizeClassHistogram(Category, boolean)}.
+     *
+     * @return the number of size classes.
+     */
+    public static int numSizeClasses() {
+        return SIZE_CLASS_UPPER_BOUNDS.length;
+    }
+
+    /**
+     * Returns the inclusive upper bound (in bytes) of the size class at the passed index.
+     *
+     * @param sizeClass index of the size class, from {@code 0} (inclusive) to {@link #numSizeClasses()} (exclusive).
+     * @return the inclusive upper bound (in bytes) of the size class.
+     */
+    public static int sizeClassUpperBound(final int sizeClass) {
+        return SIZE_CLASS_UPPER_BOUNDS[sizeClass];
+    }
+
+    /**
+     * Returns a snapshot of the number of allocations per size class.
+     *
+     * @param category {@link Category} of allocations.
+     * @param direct {@code true} to return the histogram of direct allocations, {@code false} for heap allocations.
+     * @return an array of {@link #numSizeClasses()} elements, where the element at index {@code i} contains the number
+     * of allocations with a capacity not larger than {@link #sizeClassUpperBound(int) sizeClassUpperBound(i)} and
+     * larger than the upper bound of the previous size class.
+     */
+    public long[] sizeClassHistogram(final Category category, final boolean direct) {
+        final CategoryCounters c = counters[category.ordinal()];
+        final LongAdder[] histogram = direct ? c.directHistogram : c.heapHistogram;
+        final long[] snapshot = new long[histogram.length];
+        for (int i = 0; i < histogram.length; ++i) {
+            snapshot[i] = histogram[i].sum();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Resets all counters.
+     * <p>
+     * Allocations recorded concurrently with this call may or may not be reset.
+     */
+    public void reset() {
+        for (CategoryCounters c : counters) {
+            c.reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(getClass().getSimpleName()).append('{');
+        for (Category category : CATEGORIES) {
+            if (category.ordinal() > 0) {
+                sb.append(", ");
+            }
+            sb.append(category).append("={heap=").append(allocations(category, false))
+                    .append('/').append(allocatedBytes(category, false))
+                    .append("B, direct=").append(allocations(category, true))
+                    .append('/').append(allocatedBytes(category, true)).append("B}");
+        }
+        return sb.append('}').toString();
+    }
+
+    CategoryCounters counters(final Category category) {
+        return counters[category.ordinal()];
+    }
+
+    static int sizeClass(final int capacity) {
+        int i = 0;
+        while (capacity > SIZE_CLASS_UPPER_BOUNDS[i]) {
+            ++i;
+        }
+        return i;
+    }
+
+    static final class CategoryCounters {
+        final LongAdder heapAllocations = new LongAdder();
+        final LongAdder heapBytes = new LongAdder();
+        final LongAdder directAllocations = new LongAdder();
+        final LongAdder directBytes = new LongAdder();
+        final LongAdder[] heapHistogram = newHistogram();
+        final LongAdder[] directHistogram = newHistogram();
+
+        <T extends Buffer> T record(final T buffer) {
+            record(buffer.isDirect(), buffer.capacity());
+            return buffer;
+        }
+
+        void record(final boolean direct, final int capacity) {
+            if (direct) {
+                directAllocations.increment();
+                directBytes.add(capacity);
+                directHistogram[sizeClass(capacity)].increment();
+            } else {
+                heapAllocations.increment();
+                heapBytes.add(capacity);
+                heapHistogram[sizeClass(capacity)].increment();
+            }
+        }
+
+        void reset() {
+            heapAllocations.reset();
+            heapBytes.reset();
+            directAllocations.reset();
+            directBytes.reset();
+            for (LongAdder adder : heapHistogram) {
+                adder.reset();
+            }
+            for (LongAdder adder : directHistogram) {
+                adder.reset();
+            }
+        }
+
+        private static LongAdder[] newHistogram() {
+            final LongAdder[] histogram = new LongAdder[SIZE_CLASS_UPPER_BOUNDS.length];
+            for (int i = 0; i < histogram.length; ++i) {
+                histogram[i] = new LongAdder();
+            }
+            return histogram;
+        }
+    }
+}
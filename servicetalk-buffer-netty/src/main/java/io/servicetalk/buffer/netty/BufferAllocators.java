@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2019 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2019, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,10 @@ package io.servicetalk.buffer.netty;
 import io.servicetalk.buffer.api.Buffer;
 import io.servicetalk.buffer.api.BufferAllocator;
 
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import javax.annotation.Nullable;
+
 /**
  * Available {@link BufferAllocator}s.
  */
@@ -39,7 +43,54 @@ public final class BufferAllocators {
      */
     public static final BufferAllocator PREFER_HEAP_ALLOCATOR = BufferUtils.PREFER_HEAP_ALLOCATOR;
 
+    @Nullable
+    private static final BufferPoolMXBean DIRECT_BUFFER_POOL = findDirectBufferPool();
+
     private BufferAllocators() {
         // no instances
     }
+
+    /**
+     * Returns the number of bytes of direct memory currently used by the whole JVM process, as reported by the
+     * "direct" {@link BufferPoolMXBean}.
+     * <p>
+     * This is not the usage of a specific {@link BufferAllocator}. Direct memory of {@link Buffer}s allocated by
+     * {@link #DEFAULT_ALLOCATOR}, {@link #PREFER_DIRECT_ALLOCATOR} and {@link #PREFER_HEAP_ALLOCATOR} is released by
+     * the garbage collector and accounted by the JVM together with any other
+     * {@link java.nio.ByteBuffer#allocateDirect(int) direct ByteBuffer}, so the returned value also includes direct
+     * memory allocated by other components of the application. Use {@link BufferAllocationMetrics} for allocations of
+     * a specific {@link BufferAllocator}.
+     *
+     * @return the number of bytes of direct memory currently used by the JVM process, or {@code -1} if this
+     * information is not available.
+     */
+    public static long processDirectMemoryUsed() {
+        return DIRECT_BUFFER_POOL == null ? -1 : DIRECT_BUFFER_POOL.getMemoryUsed();
+    }
+
+    /**
+     * Returns the number of direct buffers of the whole JVM process that are currently not yet released by the garbage
+     * collector, as reported by the "direct" {@link BufferPoolMXBean}.
+     *
+     * @return the number of direct buffers currently allocated by the JVM process, or {@code -1} if this information
+     * is not available.
+     * @see #processDirectMemoryUsed()
+     */
+    public static long processDirectBufferCount() {
+        return DIRECT_BUFFER_POOL == null ? -1 : DIRECT_BUFFER_POOL.getCount();
+    }
+
+    @Nullable
+    private static BufferPoolMXBean findDirectBufferPool() {
+        try {
+            for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+                if ("direct".equals(pool.getName())) {
+                    return pool;
+                }
+            }
+        } catch (Throwable ignored) {
+            // java.management may not be available
+        }
+        return null;
+    }
 }
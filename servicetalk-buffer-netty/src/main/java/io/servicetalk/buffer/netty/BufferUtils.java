@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2020, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -100,11 +100,17 @@ public final class BufferUtils {
 
     /**
      * Returns the {@link ByteBufAllocator} taking the {@link BufferAllocator} into account.
+     * <p>
+     * If {@code allocator} was instrumented by {@link BufferAllocationMetrics}, allocations of the returned
+     * {@link ByteBufAllocator} are recorded the same way as allocations of {@code allocator}.
      *
      * @param allocator the {@link BufferAllocator} that is used.
      * @return the {@link ByteBufAllocator} to use.
      */
     public static ByteBufAllocator getByteBufAllocator(BufferAllocator allocator) {
+        if (allocator instanceof InstrumentedBufferAllocator) {
+            return ((InstrumentedBufferAllocator) allocator).byteBufAllocator();
+        }
         return (ByteBufAllocator) (allocator instanceof ByteBufAllocator ? allocator :
                 directBufferPreferred() ? PREFER_DIRECT_ALLOCATOR : PREFER_HEAP_ALLOCATOR);
     }
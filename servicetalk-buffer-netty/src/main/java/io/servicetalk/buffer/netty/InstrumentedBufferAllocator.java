@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.buffer.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.buffer.api.CompositeBuffer;
+import io.servicetalk.buffer.netty.BufferAllocationMetrics.Category;
+import io.servicetalk.buffer.netty.BufferAllocationMetrics.CategoryCounters;
+
+import io.netty.buffer.ByteBufAllocator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import static io.servicetalk.buffer.netty.BufferUtils.getByteBufAllocator;
+
+/**
+ * A {@link BufferAllocator} which records all allocations of the delegate in {@link CategoryCounters}.
+ * <p>
+ * {@link #wrap(byte[])}, {@link #wrap(ByteBuffer)} and {@link CompositeBuffer}s don't allocate memory for data and are
+ * not recorded.
+ */
+final class InstrumentedBufferAllocator implements BufferAllocator {
+    private final BufferAllocator delegate;
+    private final BufferAllocationMetrics metrics;
+    private final Category category;
+    private final CategoryCounters counters;
+    private final ByteBufAllocator byteBufAllocator;
+
+    InstrumentedBufferAllocator(final BufferAllocator delegate, final BufferAllocationMetrics metrics,
+                                final Category category) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.category = category;
+        this.counters = metrics.counters(category);
+        byteBufAllocator = new InstrumentedByteBufAllocator(getByteBufAllocator(delegate), counters);
+    }
+
+    /**
+     * Returns a {@link ByteBufAllocator} which records its allocations like this {@link BufferAllocator}.
+     *
+     * @return a {@link ByteBufAllocator} which records its allocations like this {@link BufferAllocator}.
+     */
+    ByteBufAllocator byteBufAllocator() {
+        return byteBufAllocator;
+    }
+
+    InstrumentedBufferAllocator withCategory(final Category category) {
+        return this.category == category ? this : new InstrumentedBufferAllocator(delegate, metrics, category);
+    }
+
+    @Override
+    public Buffer newBuffer(final int initialCapacity) {
+        return counters.record(delegate.newBuffer(initialCapacity));
+    }
+
+    @Override
+    public Buffer newBuffer(final int initialCapacity, final int maxCapacity) {
+        return counters.record(delegate.newBuffer(initialCapacity, maxCapacity));
+    }
+
+    @Override
+    public Buffer newBuffer(final int initialCapacity, final boolean direct) {
+        return counters.record(delegate.newBuffer(initialCapacity, direct));
+    }
+
+    @Override
+    public CompositeBuffer newCompositeBuffer() {
+        return delegate.newCompositeBuffer();
+    }
+
+    @Override
+    public CompositeBuffer newCompositeBuffer(final int maxComponents) {
+        return delegate.newCompositeBuffer(maxComponents);
+    }
+
+    @Override
+    public Buffer fromSequence(final CharSequence data, final Charset charset) {
+        return counters.record(delegate.fromSequence(data, charset));
+    }
+
+    @Override
+    public Buffer fromSequence(final CharSequence data, final Charset charset, final boolean direct) {
+        return counters.record(delegate.fromSequence(data, charset, direct));
+    }
+
+    @Override
+    public Buffer fromUtf8(final CharSequence data) {
+        return counters.record(delegate.fromUtf8(data));
+    }
+
+    @Override
+    public Buffer fromUtf8(final CharSequence data, final boolean direct) {
+        return counters.record(delegate.fromUtf8(data, direct));
+    }
+
+    @Override
+    public Buffer fromAscii(final CharSequence data) {
+        return counters.record(delegate.fromAscii(data));
+    }
+
+    @Override
+    public Buffer fromAscii(final CharSequence data, final boolean direct) {
+        return counters.record(delegate.fromAscii(data, direct));
+    }
+
+    @Override
+    public Buffer wrap(final byte[] bytes) {
+        return delegate.wrap(bytes);
+    }
+
+    @Override
+    public Buffer wrap(final ByteBuffer buffer) {
+        return delegate.wrap(buffer);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{delegate=" + delegate + ", category=" + category + '}';
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.buffer.netty;
+
+import io.servicetalk.buffer.netty.BufferAllocationMetrics.CategoryCounters;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+
+/**
+ * A {@link ByteBufAllocator} which records all allocations of the delegate in {@link CategoryCounters}, so that
+ * buffers allocated by netty handlers on behalf of an {@link InstrumentedBufferAllocator} are recorded too.
+ * <p>
+ * {@link CompositeByteBuf}s only reference other buffers and are not recorded, like
+ * {@link io.servicetalk.buffer.api.CompositeBuffer}s of {@link InstrumentedBufferAllocator}.
+ */
+final class InstrumentedByteBufAllocator implements ByteBufAllocator {
+    private final ByteBufAllocator delegate;
+    private final CategoryCounters counters;
+
+    InstrumentedByteBufAllocator(final ByteBufAllocator delegate, final CategoryCounters counters) {
+        this.delegate = delegate;
+        this.counters = counters;
+    }
+
+    @Override
+    public ByteBuf buffer() {
+        return record(delegate.buffer());
+    }
+
+    @Override
+    public ByteBuf buffer(final int initialCapacity) {
+        return record(delegate.buffer(initialCapacity));
+    }
+
+    @Override
+    public ByteBuf buffer(final int initialCapacity, final int maxCapacity) {
+        return record(delegate.buffer(initialCapacity, maxCapacity));
+    }
+
+    @Override
+    public ByteBuf ioBuffer() {
+        return record(delegate.ioBuffer());
+    }
+
+    @Override
+    public ByteBuf ioBuffer(final int initialCapacity) {
+        return record(delegate.ioBuffer(initialCapacity));
+    }
+
+    @Override
+    public ByteBuf ioBuffer(final int initialCapacity, final int maxCapacity) {
+        return record(delegate.ioBuffer(initialCapacity, maxCapacity));
+    }
+
+    @Override
+    public ByteBuf heapBuffer() {
+        return record(delegate.heapBuffer());
+    }
+
+    @Override
+    public ByteBuf heapBuffer(final int initialCapacity) {
+        return record(delegate.heapBuffer(initialCapacity));
+    }
+
+    @Override
+    public ByteBuf heapBuffer(final int initialCapacity, final int maxCapacity) {
+        return record(delegate.heapBuffer(initialCapacity, maxCapacity));
+    }
+
+    @Override
+    public ByteBuf directBuffer() {
+        return record(delegate.directBuffer());
+    }
+
+    @Override
+    public ByteBuf directBuffer(final int initialCapacity) {
+        return record(delegate.directBuffer(initialCapacity));
+    }
+
+    @Override
+    public ByteBuf directBuffer(final int initialCapacity, final int maxCapacity) {
+        return record(delegate.directBuffer(initialCapacity, maxCapacity));
+    }
+
+    @Override
+    public CompositeByteBuf compositeBuffer() {
+        return delegate.compositeBuffer();
+    }
+
+    @Override
+    public CompositeByteBuf compositeBuffer(final int maxNumComponents) {
+        return delegate.compositeBuffer(maxNumComponents);
+    }
+
+    @Override
+    public CompositeByteBuf compositeHeapBuffer() {
+        return delegate.compositeHeapBuffer();
+    }
+
+    @Override
+    public CompositeByteBuf compositeHeapBuffer(final int maxNumComponents) {
+        return delegate.compositeHeapBuffer(maxNumComponents);
+    }
+
+    @Override
+    public CompositeByteBuf compositeDirectBuffer() {
+        return delegate.compositeDirectBuffer();
+    }
+
+    @Override
+    public CompositeByteBuf compositeDirectBuffer(final int maxNumComponents) {
+        return delegate.compositeDirectBuffer(maxNumComponents);
+    }
+
+    @Override
+    public boolean isDirectBufferPooled() {
+        return delegate.isDirectBufferPooled();
+    }
+
+    @Override
+    public int calculateNewCapacity(final int minNewCapacity, final int maxCapacity) {
+        return delegate.calculateNewCapacity(minNewCapacity, maxCapacity);
+    }
+
+    private ByteBuf record(final ByteBuf buffer) {
+        counters.record(buffer.isDirect(), buffer.capacity());
+        return buffer;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{delegate=" + delegate + '}';
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.buffer.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.junit.jupiter.api.Test;
+
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.Category.DECODER;
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.Category.SERIALIZER;
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.Category.USER;
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.numSizeClasses;
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.sizeClass;
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.withCategory;
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.buffer.netty.BufferUtils.getByteBufAllocator;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+class BufferAllocationMetricsTest {
+
+    private final BufferAllocationMetrics metrics = new BufferAllocationMetrics();
+
+    @Test
+    void recordsHeapAndDirectPerCategory() {
+        BufferAllocator decoder = metrics.instrument(DEFAULT_ALLOCATOR, DECODER);
+        BufferAllocator user = metrics.instrument(DEFAULT_ALLOCATOR, USER);
+
+        decoder.newBuffer(100, true);
+        decoder.newBuffer(2000, false);
+        user.newBuffer(10, false);
+
+        assertThat(metrics.allocations(DECODER, true), is(1L));
+        assertThat(metrics.allocatedBytes(DECODER, true), is(100L));
+        assertThat(metrics.allocations(DECODER, false), is(1L));
+        assertThat(metrics.allocatedBytes(DECODER, false), is(2000L));
+        assertThat(metrics.allocations(USER, false), is(1L));
+        assertThat(metrics.allocatedBytes(USER, false), is(10L));
+        assertThat(metrics.allocations(SERIALIZER, false), is(0L));
+        assertThat(metrics.totalAllocations(), is(3L));
+        assertThat(metrics.totalAllocatedBytes(), is(2110L));
+
+        long[] direct = metrics.sizeClassHistogram(DECODER, true);
+        long[] heap = metrics.sizeClassHistogram(DECODER, false);
+        assertThat(direct.length, is(numSizeClasses()));
+        assertThat(heap.length, is(numSizeClasses()));
+        assertThat(direct[sizeClass(100)], is(1L));
+        assertThat(direct[sizeClass(2000)], is(0L));
+        assertThat(heap[sizeClass(100)], is(0L));
+        assertThat(heap[sizeClass(2000)], is(1L));
+    }
+
+    @Test
+    void withCategoryRecordsInSameMetrics() {
+        BufferAllocator user = metrics.instrument(DEFAULT_ALLOCATOR, USER);
+        BufferAllocator decoder = withCategory(user, DECODER);
+        assertThat(withCategory(user, USER), is(sameInstance(user)));
+
+        decoder.newBuffer(10, false);
+        assertThat(metrics.allocations(DECODER, false), is(1L));
+        assertThat(metrics.allocations(USER, false), is(0L));
+    }
+
+    @Test
+    void withCategoryIgnoresNotInstrumentedAllocator() {
+        assertThat(withCategory(DEFAULT_ALLOCATOR, DECODER), is(sameInstance(DEFAULT_ALLOCATOR)));
+    }
+
+    @Test
+    void wrapAndCompositeAreNotRecorded() {
+        BufferAllocator allocator = metrics.instrument(DEFAULT_ALLOCATOR, USER);
+        allocator.wrap(new byte[16]);
+        allocator.newCompositeBuffer();
+        assertThat(metrics.totalAllocations(), is(0L));
+    }
+
+    @Test
+    void byteBufAllocatorIsRecorded() {
+        BufferAllocator allocator = metrics.instrument(DEFAULT_ALLOCATOR, DECODER);
+        ByteBufAllocator byteBufAllocator = getByteBufAllocator(allocator);
+        ByteBuf heap = byteBufAllocator.heapBuffer(100);
+        ByteBuf direct = byteBufAllocator.directBuffer(200);
+        byteBufAllocator.compositeBuffer();
+        try {
+            assertThat(metrics.allocations(DECODER, false), is(1L));
+            assertThat(metrics.allocatedBytes(DECODER, false), is(100L));
+            assertThat(metrics.allocations(DECODER, true), is(1L));
+            assertThat(metrics.allocatedBytes(DECODER, true), is(200L));
+            assertThat(getByteBufAllocator(withCategory(allocator, DECODER)), is(sameInstance(byteBufAllocator)));
+
+            getByteBufAllocator(withCategory(allocator, SERIALIZER)).buffer(10).release();
+            assertThat(metrics.allocations(SERIALIZER, false) + metrics.allocations(SERIALIZER, true), is(1L));
+        } finally {
+            heap.release();
+            direct.release();
+        }
+    }
+
+    @Test
+    void fromSequenceIsRecorded() {
+        BufferAllocator allocator = metrics.instrument(DEFAULT_ALLOCATOR, SERIALIZER);
+        allocator.fromAscii("hello");
+        allocator.fromUtf8("world", true);
+        assertThat(metrics.allocations(SERIALIZER, false) + metrics.allocations(SERIALIZER, true), is(2L));
+        assertThat(metrics.allocations(SERIALIZER, true), greaterThanOrEqualTo(1L));
+    }
+
+    @Test
+    void reset() {
+        metrics.instrument(DEFAULT_ALLOCATOR, USER).newBuffer();
+        assertThat(metrics.totalAllocations(), is(1L));
+        metrics.reset();
+        assertThat(metrics.totalAllocations(), is(0L));
+        assertThat(metrics.sizeClassHistogram(USER, false)[sizeClass(128)], is(0L));
+    }
+
+    @Test
+    void sizeClasses() {
+        assertThat(sizeClass(0), is(0));
+        assertThat(sizeClass(64), is(0));
+        assertThat(sizeClass(65), is(1));
+        assertThat(sizeClass(Integer.MAX_VALUE), is(numSizeClasses() - 1));
+    }
+
+    @Test
+    void processDirectMemoryUsed() {
+        Buffer buffer = DEFAULT_ALLOCATOR.newBuffer(1024, true);
+        assertThat(BufferAllocators.processDirectMemoryUsed(), greaterThanOrEqualTo(1024L));
+        assertThat(BufferAllocators.processDirectBufferCount(), greaterThanOrEqualTo(1L));
+        // Keep the buffer reachable until the assertions are done
+        assertThat(buffer.capacity(), is(1024));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2019, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ import io.servicetalk.concurrent.PublisherSource.Subscriber;
 import io.servicetalk.concurrent.PublisherSource.Subscription;
 import io.servicetalk.concurrent.api.Publisher;
 import io.servicetalk.concurrent.internal.DuplicateSubscribeException;
+import io.servicetalk.concurrent.internal.SpinYieldParkStrategy;
 import io.servicetalk.concurrent.internal.TerminalNotification;
 import io.servicetalk.oio.api.PayloadWriter;
 
@@ -63,6 +64,9 @@ public final class ConnectablePayloadWriter<T> implements PayloadWriter<T> {
     private static final AtomicReferenceFieldUpdater<ConnectablePayloadWriter, Object> stateUpdater =
             newUpdater(ConnectablePayloadWriter.class, Object.class, "state");
 
+    // Only used by the writer thread while it waits for demand.
+    private final SpinYieldParkStrategy waitStrategy = new SpinYieldParkStrategy();
+
     /**
      * A field that assumes various states:
      * <ul>
@@ -89,15 +93,23 @@ public final class ConnectablePayloadWriter<T> implements PayloadWriter<T> {
 
     @Override
     public void write(final T t) throws IOException {
-        for (;;) {
+        for (int idleIteration = 0;;) {
             final long requested = this.requested;
             if (requested > 0) {
                 if (requestedUpdater.compareAndSet(this, requested, requested - 1)) {
+                    if (idleIteration != 0) {
+                        waitStrategy.waitDone(false);
+                    }
                     break;
                 }
             } else if (requested >= 0) {
-                waitForRequestNDemand();
-                break;
+                // Demand usually arrives shortly if the Subscriber keeps up with the writer, spin and yield before
+                // paying for park and unpark.
+                if (!waitStrategy.idle(idleIteration++)) {
+                    waitStrategy.waitDone(true);
+                    waitForRequestNDemand();
+                    break;
+                }
             } else {
                 // In the event that we have been terminated don't bother trying to wait. More importantly we don't
                 // want to reset the requested state to REQUESTN_ABOUT_TO_PARK because it may have been set to
@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api.test;
+
+import io.servicetalk.concurrent.api.TestExecutor;
+import io.servicetalk.concurrent.api.TestPublisher;
+import io.servicetalk.concurrent.api.TestSubscription;
+
+import org.junit.jupiter.api.Test;
+
+import static io.servicetalk.concurrent.api.Publisher.never;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitPublisherTest {
+    private final TestExecutor executor = new TestExecutor();
+    private final TestSubscription subscription = new TestSubscription();
+    private final TestPublisher<String> publisher = new TestPublisher.Builder<String>()
+            .disableAutoOnSubscribe().build();
+
+    @Test
+    void itemsAreRequestedAtRate() {
+        StepVerifiers.create(publisher.rateLimit(2, ofSeconds(1), 2, executor))
+                .then(() -> publisher.onSubscribe(subscription))
+                .thenRequest(10)
+                .then(() -> {
+                    assertThat(subscription.requested(), is(2L));
+                    publisher.onNext("a", "b");
+                })
+                .expectNext("a", "b")
+                .then(() -> {
+                    executor.advanceTimeBy(499, MILLISECONDS);
+                    assertThat(subscription.requested(), is(2L));
+                    executor.advanceTimeBy(2, MILLISECONDS);
+                    assertThat(subscription.requested(), is(3L));
+                    publisher.onNext("c");
+                    publisher.onComplete();
+                })
+                .expectNext("c")
+                .expectComplete()
+                .verify();
+        assertThat(executor.scheduledTasksPending(), is(0));
+    }
+
+    @Test
+    void burstIsCapped() {
+        StepVerifiers.create(publisher.rateLimit(1, ofSeconds(1), 3, executor))
+                .then(() -> publisher.onSubscribe(subscription))
+                .thenRequest(10)
+                .then(() -> {
+                    assertThat(subscription.requested(), is(3L));
+                    publisher.onNext("a", "b", "c");
+                })
+                .expectNext("a", "b", "c")
+                .then(() -> {
+                    executor.advanceTimeBy(1001, MILLISECONDS);
+                    assertThat(subscription.requested(), is(4L));
+                    // The outstanding item prevents a timer while the bucket refills.
+                    executor.advanceTimeBy(10, SECONDS);
+                    assertThat(subscription.requested(), is(4L));
+                    publisher.onNext("d");
+                    // The bucket holds at most 3 permits, one of which is used by the delivered item.
+                    assertThat(subscription.requested(), is(6L));
+                    publisher.onComplete();
+                })
+                .expectNext("d")
+                .expectComplete()
+                .verify();
+    }
+
+    @Test
+    void weightedItemsAreRequestedOneAtATime() {
+        StepVerifiers.create(publisher.rateLimit(10, ofSeconds(1), 10, String::length, executor))
+                .then(() -> publisher.onSubscribe(subscription))
+                .thenRequest(10)
+                .then(() -> {
+                    assertThat(subscription.requested(), is(1L));
+                    publisher.onNext("0123456789ab");
+                })
+                .expectNext("0123456789ab")
+                .then(() -> {
+                    // The item put the bucket 2 permits into debt, which takes 200ms to pay back.
+                    assertThat(subscription.requested(), is(1L));
+                    executor.advanceTimeBy(200, MILLISECONDS);
+                    assertThat(subscription.requested(), is(1L));
+                    executor.advanceTimeBy(1, MILLISECONDS);
+                    assertThat(subscription.requested(), is(2L));
+                    publisher.onNext("a");
+                })
+                .expectNext("a")
+                .then(() -> assertThat(subscription.requested(), is(3L)))
+                .thenCancel()
+                .verify();
+        assertTrue(subscription.isCancelled());
+    }
+
+    @Test
+    void cancelStopsTimer() {
+        StepVerifiers.create(publisher.rateLimit(1, ofSeconds(1), 1, executor))
+                .then(() -> publisher.onSubscribe(subscription))
+                .thenRequest(2)
+                .then(() -> publisher.onNext("a"))
+                .expectNext("a")
+                .then(() -> assertThat(executor.scheduledTasksPending(), is(1)))
+                .thenCancel()
+                .verify();
+        assertTrue(subscription.isCancelled());
+        assertThat(executor.scheduledTasksPending(), is(0));
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> never().rateLimit(0, ofSeconds(1), 1, executor));
+        assertThrows(IllegalArgumentException.class, () -> never().rateLimit(1, ofSeconds(0), 1, executor));
+        assertThrows(IllegalArgumentException.class, () -> never().rateLimit(1, ofSeconds(1), 0, executor));
+    }
+}
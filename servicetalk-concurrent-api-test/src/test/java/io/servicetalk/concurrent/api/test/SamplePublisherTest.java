@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api.test;
+
+import io.servicetalk.concurrent.api.TestExecutor;
+import io.servicetalk.concurrent.api.TestPublisher;
+import io.servicetalk.concurrent.api.TestSubscription;
+import io.servicetalk.concurrent.test.internal.TestPublisherSubscriber;
+
+import org.junit.jupiter.api.Test;
+
+import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SamplePublisherTest {
+    private final TestExecutor executor = new TestExecutor();
+    private final TestSubscription subscription = new TestSubscription();
+    private final TestPublisher<String> publisher = new TestPublisher.Builder<String>()
+            .disableAutoOnSubscribe().build();
+
+    @Test
+    void sampleDeliversLatestItemEachPeriod() {
+        StepVerifiers.create(publisher.sample(ofSeconds(1), executor))
+                .then(() -> publisher.onSubscribe(subscription))
+                .thenRequest(10)
+                .then(() -> {
+                    assertThat(subscription.requested(), is(Long.MAX_VALUE));
+                    assertThat(executor.scheduledTasksPending(), is(1));
+                    publisher.onNext("a", "b");
+                    executor.advanceTimeBy(1, SECONDS);
+                })
+                .expectNext("b")
+                .then(() -> {
+                    // No item within the period, nothing is delivered but the timer keeps running.
+                    executor.advanceTimeBy(1, SECONDS);
+                    assertThat(executor.scheduledTasksPending(), is(1));
+                    publisher.onNext("c");
+                    executor.advanceTimeBy(1, SECONDS);
+                    publisher.onComplete();
+                })
+                .expectNext("c")
+                .expectComplete()
+                .verify();
+        assertThat(executor.scheduledTasksPending(), is(0));
+    }
+
+    @Test
+    void sampleKeepsItemWithoutDemand() {
+        TestPublisherSubscriber<String> subscriber = new TestPublisherSubscriber<>();
+        toSource(publisher.sample(ofSeconds(1), executor)).subscribe(subscriber);
+        publisher.onSubscribe(subscription);
+        publisher.onNext("a");
+        executor.advanceTimeBy(1, SECONDS);
+        assertThat(subscriber.pollOnNext(10, MILLISECONDS), is(nullValue()));
+
+        subscriber.awaitSubscription().request(1);
+        executor.advanceTimeBy(1, SECONDS);
+        assertThat(subscriber.takeOnNext(), is("a"));
+
+        subscriber.awaitSubscription().cancel();
+        assertTrue(subscription.isCancelled());
+        assertThat(executor.scheduledTasksPending(), is(0));
+    }
+
+    @Test
+    void throttleLastStartsTimerWithFirstItem() {
+        StepVerifiers.create(publisher.throttleLast(ofSeconds(1), executor))
+                .then(() -> publisher.onSubscribe(subscription))
+                .thenRequest(10)
+                .then(() -> {
+                    assertThat(executor.scheduledTasksPending(), is(0));
+                    publisher.onNext("a");
+                    assertThat(executor.scheduledTasksPending(), is(1));
+                    publisher.onNext("b");
+                    executor.advanceTimeBy(1, SECONDS);
+                })
+                .expectNext("b")
+                .then(() -> {
+                    // No items arrived, so the timer is not rescheduled.
+                    assertThat(executor.scheduledTasksPending(), is(0));
+                    publisher.onNext("c");
+                    publisher.onComplete();
+                })
+                .expectComplete()
+                .verify();
+        assertThat(executor.scheduledTasksPending(), is(0));
+    }
+}
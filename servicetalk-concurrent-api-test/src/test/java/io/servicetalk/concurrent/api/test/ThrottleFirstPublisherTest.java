@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api.test;
+
+import io.servicetalk.concurrent.api.TestExecutor;
+import io.servicetalk.concurrent.api.TestPublisher;
+import io.servicetalk.concurrent.api.TestSubscription;
+
+import org.junit.jupiter.api.Test;
+
+import static io.servicetalk.concurrent.internal.DeliberateException.DELIBERATE_EXCEPTION;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+class ThrottleFirstPublisherTest {
+    private final TestExecutor executor = new TestExecutor();
+    private final TestSubscription subscription = new TestSubscription();
+    private final TestPublisher<String> publisher = new TestPublisher.Builder<String>()
+            .disableAutoOnSubscribe().build();
+
+    @Test
+    void itemsWithinWindowAreDropped() {
+        StepVerifiers.create(publisher.throttleFirst(ofSeconds(1), executor))
+                .then(() -> publisher.onSubscribe(subscription))
+                .thenRequest(2)
+                .then(() -> {
+                    final long requested = subscription.requested();
+                    publisher.onNext("a", "b", "c");
+                    // Dropped items are requested again.
+                    assertThat(subscription.requested(), greaterThanOrEqualTo(requested + 2));
+                })
+                .expectNext("a")
+                .then(() -> {
+                    executor.advanceTimeBy(999, MILLISECONDS);
+                    publisher.onNext("d");
+                    executor.advanceTimeBy(1, MILLISECONDS);
+                    publisher.onNext("e");
+                    publisher.onComplete();
+                })
+                .expectNext("e")
+                .expectComplete()
+                .verify();
+        assertThat(executor.scheduledTasksPending(), is(0));
+    }
+
+    @Test
+    void errorIsPropagated() {
+        StepVerifiers.create(publisher.throttleFirst(ofSeconds(1), executor))
+                .then(() -> publisher.onSubscribe(subscription))
+                .thenRequest(1)
+                .then(() -> publisher.onError(DELIBERATE_EXCEPTION))
+                .expectErrorMatches(t -> t == DELIBERATE_EXCEPTION)
+                .verify();
+    }
+}
@@ -46,4 +46,13 @@ abstract class AbstractSynchronousPublisherOperator<T, R> extends AbstractNoHand
                                ContextMap contextMap, AsyncContextProvider contextProvider) {
         original.delegateSubscribe(apply(subscriber), contextMap, contextProvider);
     }
+
+    /**
+     * Get the {@link Publisher} this operator is applied to.
+     *
+     * @return the {@link Publisher} this operator is applied to.
+     */
+    final Publisher<T> original() {
+        return original;
+    }
 }
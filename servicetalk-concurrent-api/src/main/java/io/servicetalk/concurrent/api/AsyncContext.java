@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2019, 2021 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2019, 2021, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -63,6 +63,10 @@ public final class AsyncContext {
      * best effort mechanism for performance reasons, and we can re-evaluate later if more strict behavior is required.
      */
     private static AsyncContextProvider provider = DefaultAsyncContextProvider.INSTANCE;
+    /**
+     * Follows the same visibility rules as {@link #provider}.
+     */
+    private static boolean boundariesOnly;
 
     private AsyncContext() {
         // no instances
@@ -513,6 +517,31 @@ public final class AsyncContext {
         }
     }
 
+    /**
+     * Capture and restore {@link AsyncContext} only at asynchronous boundaries: when a task is submitted to a wrapped
+     * {@link Executor} (which includes offloading) and when a {@code subscribe()} call enters an operator chain.
+     * Operators no longer wrap their {@code Subscriber}s, which avoids allocations for every operator on each
+     * {@code subscribe()}. As a consequence, operator callbacks observe the context of the thread which delivers a
+     * signal (e.g. an IO event loop) rather than the context that was captured when the chain was subscribed.
+     * <p>
+     * Like {@link #disable()}, it is assumed the application will call this once at start up and external
+     * synchronization should be used to ensure this change is visible to other threads. Has no effect if
+     * {@link #disable()} has been called.
+     */
+    public static void captureAtBoundariesOnly() {
+        captureAtBoundariesOnly(true);
+    }
+
+    static void captureAtBoundariesOnly(final boolean boundariesOnly) {
+        AsyncContext.boundariesOnly = boundariesOnly;
+        if (ENABLED_STATE.get() != STATE_DISABLED) {
+            provider = boundariesOnly ? BoundaryAsyncContextProvider.INSTANCE : DefaultAsyncContextProvider.INSTANCE;
+            if (ENABLED_STATE.get() == STATE_DISABLED) {
+                disable0();
+            }
+        }
+    }
+
     /**
      * Determine if {@link #disable()} has been previously called.
      *
@@ -547,7 +576,7 @@ public final class AsyncContext {
     }
 
     private static void enable0() {
-        provider = DefaultAsyncContextProvider.INSTANCE;
+        provider = boundariesOnly ? BoundaryAsyncContextProvider.INSTANCE : DefaultAsyncContextProvider.INSTANCE;
         EXECUTOR_PLUGINS.add(EXECUTOR_PLUGIN);
         LOGGER.debug("Enabled.");
 
@@ -0,0 +1,177 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.CompletableSource;
+import io.servicetalk.concurrent.PublisherSource.Subscriber;
+import io.servicetalk.concurrent.SingleSource;
+import io.servicetalk.context.api.ContextMap;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+
+/**
+ * An {@link AsyncContextProvider} which captures and restores {@link ContextMap} only where signals may change threads:
+ * <ul>
+ *     <li>Tasks submitted to wrapped {@link Executor}s, which includes offloading to an
+ *     {@link io.servicetalk.concurrent.api.Executor}.</li>
+ *     <li>The {@link Subscriber} passed to {@code subscribe()}, so that signals delivered from another thread (e.g. an
+ *     IO event loop) observe the {@link ContextMap} of the subscribe call.</li>
+ *     <li>The {@link Subscriber} which converts a {@link Publisher} to a {@link Single} or {@link Completable} (e.g.
+ *     {@link Publisher#firstOrError()}), because it subscribes to the upstream {@link Publisher} chain.</li>
+ * </ul>
+ * Operators don't wrap their {@link Subscriber}s, so a synchronous operator chain doesn't allocate any context
+ * preserving objects. The trade-off is that operator callbacks (e.g. {@link Publisher#map(Function)}) observe the
+ * {@link ContextMap} of the thread that delivers the signal rather than the one captured at subscribe time.
+ */
+final class BoundaryAsyncContextProvider implements AsyncContextProvider {
+    static final AsyncContextProvider INSTANCE = new BoundaryAsyncContextProvider();
+
+    private static final AsyncContextProvider DELEGATE = DefaultAsyncContextProvider.INSTANCE;
+    private static final AsyncContextMapThreadLocal CONTEXT_LOCAL = new AsyncContextMapThreadLocal();
+
+    private BoundaryAsyncContextProvider() {
+        // singleton
+    }
+
+    @Nonnull
+    @Override
+    public ContextMap context() {
+        return CONTEXT_LOCAL.get();
+    }
+
+    // wrapCancellable and wrapSubscription are used where a subscribe() enters an operator chain and where a
+    // Publisher is converted to a Single or Completable (e.g. AbstractPubToSingle, ReduceSingle and
+    // AbstractPubToCompletable), which subscribes to the upstream Publisher chain for the first time. Both are
+    // boundaries, the upstream may deliver signals on another thread, so both directions are wrapped there and the
+    // converting Subscriber (e.g. the reducer) observes the ContextMap of the subscribe. All other Subscriber wrapping
+    // happens per operator and is skipped.
+
+    @Override
+    public CompletableSource.Subscriber wrapCancellable(final CompletableSource.Subscriber subscriber,
+                                                        final ContextMap context) {
+        return DELEGATE.wrapCompletableSubscriberAndCancellable(subscriber, context);
+    }
+
+    @Override
+    public CompletableSource.Subscriber wrapCompletableSubscriber(final CompletableSource.Subscriber subscriber,
+                                                                  final ContextMap context) {
+        return subscriber;
+    }
+
+    @Override
+    public CompletableSource.Subscriber wrapCompletableSubscriberAndCancellable(
+            final CompletableSource.Subscriber subscriber, final ContextMap context) {
+        return subscriber;
+    }
+
+    @Override
+    public <T> SingleSource.Subscriber<T> wrapCancellable(final SingleSource.Subscriber<T> subscriber,
+                                                          final ContextMap context) {
+        return DELEGATE.wrapSingleSubscriberAndCancellable(subscriber, context);
+    }
+
+    @Override
+    public <T> SingleSource.Subscriber<T> wrapSingleSubscriber(final SingleSource.Subscriber<T> subscriber,
+                                                               final ContextMap context) {
+        return subscriber;
+    }
+
+    @Override
+    public <T> SingleSource.Subscriber<T> wrapSingleSubscriberAndCancellable(
+            final SingleSource.Subscriber<T> subscriber, final ContextMap context) {
+        return subscriber;
+    }
+
+    @Override
+    public <T> Subscriber<T> wrapSubscription(final Subscriber<T> subscriber, final ContextMap context) {
+        return DELEGATE.wrapPublisherSubscriberAndSubscription(subscriber, context);
+    }
+
+    @Override
+    public <T> Subscriber<T> wrapPublisherSubscriber(final Subscriber<T> subscriber, final ContextMap context) {
+        return subscriber;
+    }
+
+    @Override
+    public <T> Subscriber<T> wrapPublisherSubscriberAndSubscription(final Subscriber<T> subscriber,
+                                                                    final ContextMap context) {
+        return subscriber;
+    }
+
+    @Override
+    public Executor wrapJdkExecutor(final Executor executor) {
+        return DELEGATE.wrapJdkExecutor(executor);
+    }
+
+    @Override
+    public ExecutorService wrapJdkExecutorService(final ExecutorService executor) {
+        return DELEGATE.wrapJdkExecutorService(executor);
+    }
+
+    @Override
+    public io.servicetalk.concurrent.api.Executor wrapExecutor(final io.servicetalk.concurrent.api.Executor executor) {
+        return DELEGATE.wrapExecutor(executor);
+    }
+
+    @Override
+    public ScheduledExecutorService wrapJdkScheduledExecutorService(final ScheduledExecutorService executor) {
+        return DELEGATE.wrapJdkScheduledExecutorService(executor);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> wrapCompletableFuture(final CompletableFuture<T> future, final ContextMap context) {
+        return DELEGATE.wrapCompletableFuture(future, context);
+    }
+
+    @Override
+    public Runnable wrapRunnable(final Runnable runnable, final ContextMap context) {
+        return DELEGATE.wrapRunnable(runnable, context);
+    }
+
+    @Override
+    public <V> Callable<V> wrapCallable(final Callable<V> callable, final ContextMap context) {
+        return DELEGATE.wrapCallable(callable, context);
+    }
+
+    @Override
+    public <T> Consumer<T> wrapConsumer(final Consumer<T> consumer, final ContextMap context) {
+        return DELEGATE.wrapConsumer(consumer, context);
+    }
+
+    @Override
+    public <T, U> Function<T, U> wrapFunction(final Function<T, U> func, final ContextMap context) {
+        return DELEGATE.wrapFunction(func, context);
+    }
+
+    @Override
+    public <T, U> BiConsumer<T, U> wrapBiConsumer(final BiConsumer<T, U> consumer, final ContextMap context) {
+        return DELEGATE.wrapBiConsumer(consumer, context);
+    }
+
+    @Override
+    public <T, U, V> BiFunction<T, U, V> wrapBiFunction(final BiFunction<T, U, V> func, final ContextMap context) {
+        return DELEGATE.wrapBiFunction(func, context);
+    }
+}
@@ -38,8 +38,17 @@ import static java.util.Objects.requireNonNull;
  * Less than 7 elements was chosen because it is not common to have more than this number of
  * {@link ContextMap.Key}-value entries in a single {@link ContextMap}. Common {@link ContextMap.Key}-value entries are
  * (tracing, MDC, auth, 3-custom user entries).
+ * <p>
+ * Maps with at least {@value #HAMT_MIN_SIZE} entries are stored in a hash array mapped trie, which copies only the
+ * path to a modified entry and shares the rest of the structure with the previous version of the map. Their entries
+ * are iterated in hash order instead of insertion order.
  */
 final class CopyOnWriteContextMap implements ContextMap {
+    /**
+     * Minimum number of entries stored in a {@link HamtContextMap}. Below this size a linear scan of a flat array is
+     * faster than hashing, and copying the array on modification is cheap.
+     */
+    static final int HAMT_MIN_SIZE = 16;
     private static final AtomicReferenceFieldUpdater<CopyOnWriteContextMap, CopyContextMap> mapUpdater =
             AtomicReferenceFieldUpdater.newUpdater(CopyOnWriteContextMap.class, CopyContextMap.class, "map");
     private volatile CopyContextMap map;
@@ -2451,6 +2460,11 @@ final class CopyOnWriteContextMap implements ContextMap {
             this.context = context;
         }
 
+        private static CopyContextMap newContextMap(final Object[] context) {
+            return context.length >= HAMT_MIN_SIZE << 1 ? HamtContextMap.fromPairs(context, context.length) :
+                    new SevenOrMoreContextMap(context);
+        }
+
         private int findIndex(final Key<?> key) {
             for (int i = 0; i < context.length; i += 2) {
                 if (key.equals(context[i])) {
@@ -2530,7 +2544,7 @@ final class CopyOnWriteContextMap implements ContextMap {
                 arraycopy(this.context, 0, context, 0, this.context.length);
                 context[i + 1] = value;
             }
-            return mapUpdater.compareAndSet(owner, this, new SevenOrMoreContextMap(context)) ?
+            return mapUpdater.compareAndSet(owner, this, newContextMap(context)) ?
                     (T) returnValue : owner.put(key, value);
         }
 
@@ -2555,7 +2569,7 @@ final class CopyOnWriteContextMap implements ContextMap {
                 arraycopy(this.context, 0, context, 0, this.context.length);
                 context[i + 1] = value;
             }
-            return mapUpdater.compareAndSet(owner, this, new SevenOrMoreContextMap(context)) ?
+            return mapUpdater.compareAndSet(owner, this, newContextMap(context)) ?
                     null : owner.putIfAbsent(key, value);
         }
 
@@ -2584,7 +2598,7 @@ final class CopyOnWriteContextMap implements ContextMap {
                 arraycopy(this.context, 0, context, 0, this.context.length);
                 context[i + 1] = value;
             }
-            return mapUpdater.compareAndSet(owner, this, new SevenOrMoreContextMap(context)) ?
+            return mapUpdater.compareAndSet(owner, this, newContextMap(context)) ?
                     value : owner.computeIfAbsent(key, computeFunction);
         }
 
@@ -2900,6 +2914,483 @@ final class CopyOnWriteContextMap implements ContextMap {
         }
     }
 
+    /**
+     * A <a href="https://en.wikipedia.org/wiki/Hash_array_mapped_trie">hash array mapped trie</a> which uses 5 bits of
+     * the {@link Key#hashCode()} per level. Modifications copy only the nodes on the path to the modified entry.
+     */
+    private static final class HamtContextMap implements CopyContextMap {
+        private static final int BITS = 5;
+        private static final int MASK = (1 << BITS) - 1;
+        private static final Object[] EMPTY_ARRAY = new Object[0];
+        private static final Object NOT_FOUND = new Object();
+
+        private final HamtNode root;
+        private final int size;
+
+        private HamtContextMap(final HamtNode root, final int size) {
+            assert size >= HAMT_MIN_SIZE;
+            this.root = root;
+            this.size = size;
+        }
+
+        static HamtContextMap fromPairs(final Object[] pairs, final int length) {
+            assert length % 2 == 0;
+            HamtNode root = new BitmapIndexedNode(0, EMPTY_ARRAY);
+            for (int i = 0; i < length; i += 2) {
+                final Key<?> key = (Key<?>) pairs[i];
+                root = root.put(key, key.hashCode(), pairs[i + 1], 0);
+            }
+            return new HamtContextMap(root, length >>> 1);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public boolean containsKey(final Key<?> key) {
+            return root.find(key, key.hashCode(), 0) != NOT_FOUND;
+        }
+
+        @Override
+        public boolean containsValue(@Nullable final Object value) {
+            return root.forEach((k, v) -> !Objects.equals(value, v)) != null;
+        }
+
+        @Override
+        public <T> boolean contains(final Key<T> key, @Nullable final T value) {
+            final Object current = root.find(key, key.hashCode(), 0);
+            return current != NOT_FOUND && Objects.equals(value, current);
+        }
+
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(final Key<T> key) {
+            final Object current = root.find(key, key.hashCode(), 0);
+            return current == NOT_FOUND ? null : (T) current;
+        }
+
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getOrDefault(final Key<T> key, final T defaultValue) {
+            final Object current = root.find(key, key.hashCode(), 0);
+            return current == NOT_FOUND ? defaultValue : (T) current;
+        }
+
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T put(final Key<T> key, @Nullable final T value, final CopyOnWriteContextMap owner,
+                         final AtomicReferenceFieldUpdater<CopyOnWriteContextMap, CopyContextMap> mapUpdater) {
+            final int hash = key.hashCode();
+            final Object current = root.find(key, hash, 0);
+            final HamtContextMap newMap = new HamtContextMap(root.put(key, hash, value, 0),
+                    current == NOT_FOUND ? size + 1 : size);
+            return mapUpdater.compareAndSet(owner, this, newMap) ?
+                    (current == NOT_FOUND ? null : (T) current) : owner.put(key, value);
+        }
+
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T putIfAbsent(final Key<T> key, @Nullable final T value, final CopyOnWriteContextMap owner,
+                                 final AtomicReferenceFieldUpdater<CopyOnWriteContextMap, CopyContextMap> mapUpdater) {
+            final int hash = key.hashCode();
+            final Object current = root.find(key, hash, 0);
+            if (current != NOT_FOUND && current != null) {
+                return (T) current;
+            }
+            final HamtContextMap newMap = new HamtContextMap(root.put(key, hash, value, 0),
+                    current == NOT_FOUND ? size + 1 : size);
+            return mapUpdater.compareAndSet(owner, this, newMap) ? null : owner.putIfAbsent(key, value);
+        }
+
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T computeIfAbsent(final Key<T> key, final Function<Key<T>, T> computeFunction,
+                     final CopyOnWriteContextMap owner,
+                     final AtomicReferenceFieldUpdater<CopyOnWriteContextMap, CopyContextMap> mapUpdater) {
+            final int hash = key.hashCode();
+            final Object current = root.find(key, hash, 0);
+            if (current != NOT_FOUND && current != null) {
+                return (T) current;
+            }
+            final T value = computeFunction.apply(key);
+            final HamtContextMap newMap = new HamtContextMap(root.put(key, hash, value, 0),
+                    current == NOT_FOUND ? size + 1 : size);
+            return mapUpdater.compareAndSet(owner, this, newMap) ? value : owner.computeIfAbsent(key, computeFunction);
+        }
+
+        @Override
+        public CopyContextMap putAll(final int mapSize, final Consumer<PutAllBuilder> forEach) {
+            // Deduplicate the new entries first, then insert them into the trie to share the existing structure.
+            final PutAllBuilder builder = new PutAllBuilder(mapSize);
+            forEach.accept(builder);
+            HamtNode root = this.root;
+            int size = this.size;
+            for (int i = 0; i < builder.index; i += 2) {
+                final Key<?> key = (Key<?>) builder.pairs[i];
+                final int hash = key.hashCode();
+                if (root.find(key, hash, 0) == NOT_FOUND) {
+                    ++size;
+                }
+                root = root.put(key, hash, builder.pairs[i + 1], 0);
+            }
+            return new HamtContextMap(root, size);
+        }
+
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T remove(final Key<T> key, final CopyOnWriteContextMap owner,
+                            final AtomicReferenceFieldUpdater<CopyOnWriteContextMap, CopyContextMap> mapUpdater) {
+            final int hash = key.hashCode();
+            final Object current = root.find(key, hash, 0);
+            if (current == NOT_FOUND) {
+                return null;
+            }
+            final HamtNode newRoot = root.remove(key, hash, 0);
+            assert newRoot != null;
+            return mapUpdater.compareAndSet(owner, this, newContextMap(newRoot, size - 1)) ?
+                    (T) current : owner.remove(key);
+        }
+
+        @Override
+        public boolean removeAll(final Iterable<Key<?>> keys, final CopyOnWriteContextMap owner,
+                                 final AtomicReferenceFieldUpdater<CopyOnWriteContextMap, CopyContextMap> mapUpdater) {
+            HamtNode root = this.root;
+            int size = this.size;
+            for (Key<?> k : keys) {
+                final int hash = k.hashCode();
+                if (root.find(k, hash, 0) != NOT_FOUND) {
+                    if (--size == 0) {
+                        return mapUpdater.compareAndSet(owner, this, EmptyContextMap.INSTANCE) ||
+                                owner.removeAll(keys);
+                    }
+                    root = root.remove(k, hash, 0);
+                    assert root != null;
+                }
+            }
+            if (size == this.size) {
+                return false;
+            }
+            return mapUpdater.compareAndSet(owner, this, newContextMap(root, size)) || owner.removeAll(keys);
+        }
+
+        private static CopyContextMap newContextMap(final HamtNode root, final int size) {
+            if (size >= HAMT_MIN_SIZE) {
+                return new HamtContextMap(root, size);
+            }
+            final PutAllBuilder builder = new PutAllBuilder(size);
+            root.forEach(builder);
+            return builder.build();
+        }
+
+        @Nullable
+        @Override
+        public Key<?> forEach(final BiPredicate<Key<?>, Object> consumer) {
+            return root.forEach(consumer);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final HamtContextMap that = (HamtContextMap) o;
+            return size == that.size && that.root.forEach((k, v) -> {
+                final Object current = root.find(k, k.hashCode(), 0);
+                return current != NOT_FOUND && Objects.equals(v, current);
+            }) == null;
+        }
+
+        @Override
+        public int hashCode() {
+            // The layout of the trie doesn't depend on the insertion order, but the hash code must not depend on it
+            // either to be consistent with equals.
+            final int[] hash = new int[1];
+            root.forEach((k, v) -> {
+                hash[0] += k.hashCode() ^ Objects.hashCode(v);
+                return true;
+            });
+            return hash[0];
+        }
+
+        private static int bitpos(final int hash, final int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private static HamtNode newNode(final int shift,
+                                        final Key<?> key1, final int hash1, @Nullable final Object value1,
+                                        final Key<?> key2, final int hash2, @Nullable final Object value2) {
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+            }
+            final int bit1 = bitpos(hash1, shift);
+            final int bit2 = bitpos(hash2, shift);
+            if (bit1 == bit2) {
+                return new BitmapIndexedNode(bit1,
+                        new Object[] {null, newNode(shift + BITS, key1, hash1, value1, key2, hash2, value2)});
+            }
+            return new BitmapIndexedNode(bit1 | bit2, Integer.compareUnsigned(bit1, bit2) < 0 ?
+                    new Object[] {key1, value1, key2, value2} : new Object[] {key2, value2, key1, value1});
+        }
+
+        /**
+         * An immutable node of the trie. Nodes other than the root always hold at least 2 entries, a node which shrinks
+         * to a single entry is inlined into its parent.
+         */
+        private interface HamtNode {
+            /**
+             * Find the value associated with a {@link Key}.
+             *
+             * @return the value associated with the {@code key}, or {@link #NOT_FOUND}.
+             */
+            @Nullable
+            Object find(Key<?> key, int hash, int shift);
+
+            HamtNode put(Key<?> key, int hash, @Nullable Object value, int shift);
+
+            /**
+             * Remove a {@link Key} which is known to be present in this node.
+             *
+             * @return the new node, or {@code null} if the node is empty after the removal.
+             */
+            @Nullable
+            HamtNode remove(Key<?> key, int hash, int shift);
+
+            @Nullable
+            Key<?> forEach(BiPredicate<Key<?>, Object> consumer);
+
+            /**
+             * Get the {@link Key} of the only entry in this node.
+             *
+             * @return the {@link Key} of the only entry, or {@code null} if this node holds more than one entry.
+             */
+            @Nullable
+            Key<?> singleKey();
+
+            @Nullable
+            Object singleValue();
+        }
+
+        private static final class BitmapIndexedNode implements HamtNode {
+            private final int bitmap;
+            /**
+             * Array of <[i] = key, [i+1] = value> pairs, or <[i] = null, [i+1] = child node> for each bit set in
+             * {@link #bitmap}.
+             */
+            private final Object[] array;
+
+            BitmapIndexedNode(final int bitmap, final Object[] array) {
+                this.bitmap = bitmap;
+                this.array = array;
+            }
+
+            private int index(final int bit) {
+                return Integer.bitCount(bitmap & (bit - 1)) << 1;
+            }
+
+            @Nullable
+            @Override
+            public Object find(final Key<?> key, final int hash, final int shift) {
+                final int bit = bitpos(hash, shift);
+                if ((bitmap & bit) == 0) {
+                    return NOT_FOUND;
+                }
+                final int i = index(bit);
+                final Object k = array[i];
+                if (k == null) {
+                    return ((HamtNode) array[i + 1]).find(key, hash, shift + BITS);
+                }
+                return key.equals(k) ? array[i + 1] : NOT_FOUND;
+            }
+
+            @Override
+            public HamtNode put(final Key<?> key, final int hash, @Nullable final Object value, final int shift) {
+                final int bit = bitpos(hash, shift);
+                final int i = index(bit);
+                if ((bitmap & bit) == 0) {
+                    final Object[] array = new Object[this.array.length + 2];
+                    arraycopy(this.array, 0, array, 0, i);
+                    array[i] = key;
+                    array[i + 1] = value;
+                    arraycopy(this.array, i, array, i + 2, this.array.length - i);
+                    return new BitmapIndexedNode(bitmap | bit, array);
+                }
+                final Object k = this.array[i];
+                final Object[] array = this.array.clone();
+                if (k == null) {
+                    array[i + 1] = ((HamtNode) this.array[i + 1]).put(key, hash, value, shift + BITS);
+                } else if (key.equals(k)) {
+                    array[i + 1] = value;
+                } else {
+                    array[i] = null;
+                    array[i + 1] = newNode(shift + BITS, (Key<?>) k, k.hashCode(), this.array[i + 1],
+                            key, hash, value);
+                }
+                return new BitmapIndexedNode(bitmap, array);
+            }
+
+            @Nullable
+            @Override
+            public HamtNode remove(final Key<?> key, final int hash, final int shift) {
+                final int bit = bitpos(hash, shift);
+                final int i = index(bit);
+                if (this.array[i] == null) {
+                    final HamtNode child = ((HamtNode) this.array[i + 1]).remove(key, hash, shift + BITS);
+                    assert child != null;
+                    final Object[] array = this.array.clone();
+                    final Key<?> singleKey = child.singleKey();
+                    if (singleKey == null) {
+                        array[i + 1] = child;
+                    } else {
+                        array[i] = singleKey;
+                        array[i + 1] = child.singleValue();
+                    }
+                    return new BitmapIndexedNode(bitmap, array);
+                }
+                if (bitmap == bit) {
+                    return null;
+                }
+                final Object[] array = new Object[this.array.length - 2];
+                arraycopy(this.array, 0, array, 0, i);
+                arraycopy(this.array, i + 2, array, i, this.array.length - i - 2);
+                return new BitmapIndexedNode(bitmap ^ bit, array);
+            }
+
+            @Nullable
+            @Override
+            public Key<?> forEach(final BiPredicate<Key<?>, Object> consumer) {
+                for (int i = 0; i < array.length; i += 2) {
+                    final Object k = array[i];
+                    if (k == null) {
+                        final Key<?> stoppedAt = ((HamtNode) array[i + 1]).forEach(consumer);
+                        if (stoppedAt != null) {
+                            return stoppedAt;
+                        }
+                    } else if (!consumer.test((Key<?>) k, array[i + 1])) {
+                        return (Key<?>) k;
+                    }
+                }
+                return null;
+            }
+
+            @Nullable
+            @Override
+            public Key<?> singleKey() {
+                return array.length == 2 ? (Key<?>) array[0] : null;
+            }
+
+            @Nullable
+            @Override
+            public Object singleValue() {
+                return array[1];
+            }
+        }
+
+        /**
+         * Holds entries whose {@link Key}s have the same {@link Key#hashCode()}.
+         */
+        private static final class CollisionNode implements HamtNode {
+            private final int hash;
+            /**
+             * Array of <[i] = key, [i+1] = value> pairs.
+             */
+            private final Object[] pairs;
+
+            CollisionNode(final int hash, final Object[] pairs) {
+                this.hash = hash;
+                this.pairs = pairs;
+            }
+
+            private int findIndex(final Key<?> key) {
+                for (int i = 0; i < pairs.length; i += 2) {
+                    if (key.equals(pairs[i])) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+
+            @Nullable
+            @Override
+            public Object find(final Key<?> key, final int hash, final int shift) {
+                if (hash != this.hash) {
+                    return NOT_FOUND;
+                }
+                final int i = findIndex(key);
+                return i < 0 ? NOT_FOUND : pairs[i + 1];
+            }
+
+            @Override
+            public HamtNode put(final Key<?> key, final int hash, @Nullable final Object value, final int shift) {
+                if (hash != this.hash) {
+                    // Push this node one level down, next to the new entry.
+                    return new BitmapIndexedNode(bitpos(this.hash, shift), new Object[] {null, this})
+                            .put(key, hash, value, shift);
+                }
+                final int i = findIndex(key);
+                final Object[] pairs;
+                if (i < 0) {
+                    pairs = Arrays.copyOf(this.pairs, this.pairs.length + 2);
+                    pairs[this.pairs.length] = key;
+                    pairs[this.pairs.length + 1] = value;
+                } else {
+                    pairs = this.pairs.clone();
+                    pairs[i + 1] = value;
+                }
+                return new CollisionNode(hash, pairs);
+            }
+
+            @Override
+            public HamtNode remove(final Key<?> key, final int hash, final int shift) {
+                final int i = findIndex(key);
+                assert i >= 0 && this.pairs.length > 2;
+                final Object[] pairs = new Object[this.pairs.length - 2];
+                arraycopy(this.pairs, 0, pairs, 0, i);
+                arraycopy(this.pairs, i + 2, pairs, i, this.pairs.length - i - 2);
+                return new CollisionNode(hash, pairs);
+            }
+
+            @Nullable
+            @Override
+            public Key<?> forEach(final BiPredicate<Key<?>, Object> consumer) {
+                for (int i = 0; i < pairs.length; i += 2) {
+                    final Key<?> key = (Key<?>) pairs[i];
+                    if (!consumer.test(key, pairs[i + 1])) {
+                        return key;
+                    }
+                }
+                return null;
+            }
+
+            @Nullable
+            @Override
+            public Key<?> singleKey() {
+                return pairs.length == 2 ? (Key<?>) pairs[0] : null;
+            }
+
+            @Nullable
+            @Override
+            public Object singleValue() {
+                return pairs[1];
+            }
+        }
+    }
+
     private static final class PutAllBuilder implements BiConsumer<Key<?>, Object>, BiPredicate<Key<?>, Object> {
         private final Object[] pairs;
         private int index;
@@ -2966,6 +3457,9 @@ final class CopyOnWriteContextMap implements ContextMap {
                                 ", (expected an even number from 2 to 12");
                 }
             }
+            if (index >= HAMT_MIN_SIZE << 1) {
+                return HamtContextMap.fromPairs(pairs, index);
+            }
             if (index == pairs.length) {
                 return new SevenOrMoreContextMap(pairs);
             }
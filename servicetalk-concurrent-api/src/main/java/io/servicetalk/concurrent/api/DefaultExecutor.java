@@ -32,14 +32,18 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import javax.annotation.Nullable;
 
 import static io.servicetalk.concurrent.Cancellable.IGNORE_CANCEL;
 import static io.servicetalk.utils.internal.ThrowableUtils.throwException;
+import static java.lang.System.nanoTime;
 import static java.lang.Thread.NORM_PRIORITY;
+import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.concurrent.atomic.AtomicIntegerFieldUpdater.newUpdater;
 
 /**
  * An implementation of {@link Executor} that uses an implementation of {@link java.util.concurrent.Executor} to execute
@@ -60,6 +64,8 @@ final class DefaultExecutor extends AbstractExecutor implements Consumer<Runnabl
 
     private final InternalExecutor executor;
     private final InternalScheduler scheduler;
+    @Nullable
+    private final ExecutorObserver observer;
 
     static {
         // It isn't uncommon to set timers for longer intervals that required and cancel these timers. For example
@@ -73,6 +79,15 @@ final class DefaultExecutor extends AbstractExecutor implements Consumer<Runnabl
                 new SynchronousQueue<>(), threadFactory, DEFAULT_REJECTION_HANDLER));
     }
 
+    DefaultExecutor(int coreSize, int maxSize, ThreadFactory threadFactory, ExecutorObserver observer) {
+        // Timer ticks are offloaded to the observed pool, so their tasks are observed like any other task.
+        this(new ObservedThreadPoolExecutor(coreSize, maxSize, threadFactory, observer), observer);
+    }
+
+    private DefaultExecutor(ObservedThreadPoolExecutor jdkExecutor, ExecutorObserver observer) {
+        this(jdkExecutor, new SingleThreadedScheduler(jdkExecutor), true, observer);
+    }
+
     DefaultExecutor(java.util.concurrent.Executor jdkExecutor) {
         // Since we run blocking task, we should try interrupt when cancelled.
         this(jdkExecutor, true);
@@ -80,7 +95,7 @@ final class DefaultExecutor extends AbstractExecutor implements Consumer<Runnabl
 
     DefaultExecutor(java.util.concurrent.Executor jdkExecutor, boolean interruptOnCancel) {
         // Since we run blocking task, we should try interrupt when cancelled.
-        this(jdkExecutor, new SingleThreadedScheduler(jdkExecutor), interruptOnCancel);
+        this(jdkExecutor, new SingleThreadedScheduler(jdkExecutor), interruptOnCancel, null);
     }
 
     DefaultExecutor(java.util.concurrent.Executor jdkExecutor, ScheduledExecutorService scheduler) {
@@ -90,11 +105,11 @@ final class DefaultExecutor extends AbstractExecutor implements Consumer<Runnabl
 
     DefaultExecutor(java.util.concurrent.Executor jdkExecutor, ScheduledExecutorService scheduler,
                     boolean interruptOnCancel) {
-        this(jdkExecutor, newScheduler(scheduler, interruptOnCancel), interruptOnCancel);
+        this(jdkExecutor, newScheduler(scheduler, interruptOnCancel), interruptOnCancel, null);
     }
 
     private DefaultExecutor(@Nullable java.util.concurrent.Executor jdkExecutor, @Nullable InternalScheduler scheduler,
-                            boolean interruptOnCancel) {
+                            boolean interruptOnCancel, @Nullable ExecutorObserver observer) {
         if (jdkExecutor == null) {
             if (scheduler != null) {
                 scheduler.close();
@@ -107,6 +122,7 @@ final class DefaultExecutor extends AbstractExecutor implements Consumer<Runnabl
 
         executor = newInternalExecutor(jdkExecutor, interruptOnCancel);
         this.scheduler = scheduler;
+        this.observer = observer;
     }
 
     @Override
@@ -121,7 +137,26 @@ final class DefaultExecutor extends AbstractExecutor implements Consumer<Runnabl
 
     @Override
     public Cancellable schedule(final Runnable task, final long duration, final TimeUnit unit) {
-        return scheduler.schedule(task, duration, unit);
+        if (observer == null) {
+            return scheduler.schedule(task, duration, unit);
+        }
+        final ObservedTimer timer = new ObservedTimer(task, observer);
+        observer.onTimerScheduled();
+        final Cancellable cancellable;
+        try {
+            cancellable = scheduler.schedule(timer, duration, unit);
+        } catch (Throwable cause) {
+            if (timer.cancel()) {
+                observer.onTimerCancelled();
+            }
+            throw cause;
+        }
+        return () -> {
+            if (timer.cancel()) {
+                observer.onTimerCancelled();
+            }
+            cancellable.cancel();
+        };
     }
 
     @Override
@@ -289,4 +324,92 @@ final class DefaultExecutor extends AbstractExecutor implements Consumer<Runnabl
             return () -> future.cancel(true);
         }
     }
+
+    private static final class ObservedThreadPoolExecutor extends ThreadPoolExecutor {
+        private final ExecutorObserver observer;
+
+        ObservedThreadPoolExecutor(final int coreSize, final int maxSize, final ThreadFactory threadFactory,
+                                   final ExecutorObserver observer) {
+            super(coreSize, maxSize, DEFAULT_KEEP_ALIVE_TIME_SECONDS, SECONDS, new SynchronousQueue<>(),
+                    threadFactory, DEFAULT_REJECTION_HANDLER);
+            this.observer = requireNonNull(observer);
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            // ExecutorService#submit() delegates to this method, so every task is observed exactly once.
+            final ObservedTask task = new ObservedTask(requireNonNull(command), observer);
+            observer.onTaskSubmitted();
+            try {
+                super.execute(task);
+            } catch (RejectedExecutionException e) {
+                observer.onTaskRejected(e);
+                throw e;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ObservedThreadPoolExecutor{observer=" + observer + '}';
+        }
+    }
+
+    private static final class ObservedTask implements Runnable {
+        private final Runnable task;
+        private final ExecutorObserver observer;
+        private final long submitNanos;
+
+        ObservedTask(final Runnable task, final ExecutorObserver observer) {
+            this.task = task;
+            this.observer = observer;
+            submitNanos = nanoTime();
+        }
+
+        @Override
+        public void run() {
+            final long startNanos = nanoTime();
+            observer.onTaskStarted(startNanos - submitNanos);
+            try {
+                task.run();
+            } finally {
+                observer.onTaskCompleted(nanoTime() - startNanos);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+
+    private static final class ObservedTimer implements Runnable {
+        private static final AtomicIntegerFieldUpdater<ObservedTimer> doneUpdater =
+                newUpdater(ObservedTimer.class, "done");
+
+        private final Runnable task;
+        private final ExecutorObserver observer;
+        private volatile int done;
+
+        ObservedTimer(final Runnable task, final ExecutorObserver observer) {
+            this.task = task;
+            this.observer = observer;
+        }
+
+        boolean cancel() {
+            return doneUpdater.compareAndSet(this, 0, 1);
+        }
+
+        @Override
+        public void run() {
+            if (doneUpdater.compareAndSet(this, 0, 1)) {
+                observer.onTimerFired();
+            }
+            task.run();
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
 }
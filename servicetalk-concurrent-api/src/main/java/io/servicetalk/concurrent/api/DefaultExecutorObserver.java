@@ -0,0 +1,306 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+
+/**
+ * An {@link ExecutorObserver} which keeps counters for tasks and timers, and histograms of the time tasks wait before
+ * they run and of the time they run.
+ * <p>
+ * Counters are striped to keep contention low for executors with many threads. Values are read without coordination
+ * between counters, so derived values like {@link #pendingTasks()} are approximations while tasks are in flight.
+ */
+public final class DefaultExecutorObserver implements ExecutorObserver {
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder timersScheduled = new LongAdder();
+    private final LongAdder timersFired = new LongAdder();
+    private final LongAdder timersCancelled = new LongAdder();
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+
+    @Override
+    public void onTaskSubmitted() {
+        submitted.increment();
+    }
+
+    @Override
+    public void onTaskRejected(final Throwable cause) {
+        rejected.increment();
+    }
+
+    @Override
+    public void onTaskStarted(final long waitNanos) {
+        started.increment();
+        waitTime.record(waitNanos);
+    }
+
+    @Override
+    public void onTaskCompleted(final long runNanos) {
+        completed.increment();
+        runTime.record(runNanos);
+    }
+
+    @Override
+    public void onTimerScheduled() {
+        timersScheduled.increment();
+    }
+
+    @Override
+    public void onTimerFired() {
+        timersFired.increment();
+    }
+
+    @Override
+    public void onTimerCancelled() {
+        timersCancelled.increment();
+    }
+
+    /**
+     * Returns the number of submitted tasks.
+     *
+     * @return the number of submitted tasks.
+     */
+    public long submittedTasks() {
+        return submitted.sum();
+    }
+
+    /**
+     * Returns the number of rejected tasks.
+     *
+     * @return the number of rejected tasks.
+     */
+    public long rejectedTasks() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the number of tasks which started to run.
+     *
+     * @return the number of tasks which started to run.
+     */
+    public long startedTasks() {
+        return started.sum();
+    }
+
+    /**
+     * Returns the number of completed tasks.
+     *
+     * @return the number of completed tasks.
+     */
+    public long completedTasks() {
+        return completed.sum();
+    }
+
+    /**
+     * Returns the number of tasks which were submitted but did not start to run yet, the queue depth of the
+     * {@link Executor}.
+     *
+     * @return the number of tasks which were submitted but did not start to run yet.
+     */
+    public long pendingTasks() {
+        // Read terminal counters first, so that concurrent updates rather overestimate than underestimate.
+        final long done = rejected.sum() + started.sum();
+        return max(0, submitted.sum() - done);
+    }
+
+    /**
+     * Returns the number of tasks which are running.
+     *
+     * @return the number of tasks which are running.
+     */
+    public long activeTasks() {
+        final long done = completed.sum();
+        return max(0, started.sum() - done);
+    }
+
+    /**
+     * Returns the number of scheduled timers.
+     *
+     * @return the number of scheduled timers.
+     */
+    public long scheduledTimers() {
+        return timersScheduled.sum();
+    }
+
+    /**
+     * Returns the number of fired timers.
+     *
+     * @return the number of fired timers.
+     */
+    public long firedTimers() {
+        return timersFired.sum();
+    }
+
+    /**
+     * Returns the number of cancelled timers.
+     *
+     * @return the number of cancelled timers.
+     */
+    public long cancelledTimers() {
+        return timersCancelled.sum();
+    }
+
+    /**
+     * Returns the number of timers which neither fired nor were cancelled yet.
+     *
+     * @return the number of timers which neither fired nor were cancelled yet.
+     */
+    public long pendingTimers() {
+        final long done = timersFired.sum() + timersCancelled.sum();
+        return max(0, timersScheduled.sum() - done);
+    }
+
+    /**
+     * Returns the histogram of the time tasks waited after submission before they started to run.
+     *
+     * @return the histogram of the time tasks waited after submission before they started to run.
+     */
+    public LatencyHistogram waitTime() {
+        return waitTime;
+    }
+
+    /**
+     * Returns the histogram of the time it took to run tasks.
+     *
+     * @return the histogram of the time it took to run tasks.
+     */
+    public LatencyHistogram runTime() {
+        return runTime;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() +
+                "{submitted=" + submittedTasks() +
+                ", rejected=" + rejectedTasks() +
+                ", pending=" + pendingTasks() +
+                ", active=" + activeTasks() +
+                ", completed=" + completedTasks() +
+                ", scheduledTimers=" + scheduledTimers() +
+                ", pendingTimers=" + pendingTimers() +
+                ", waitTime=" + waitTime +
+                ", runTime=" + runTime +
+                '}';
+    }
+
+    /**
+     * A histogram of durations in nanoseconds with buckets of exponentially growing size.
+     * <p>
+     * The bucket {@code i > 0} counts durations in the range {@code [2^(i-1), 2^i - 1]} and the bucket {@code 0}
+     * counts durations of {@code 0}. This bounds the relative error of percentiles to a factor of {@code 2}, which is
+     * enough to tell apart microseconds, milliseconds and seconds while recording is a single striped increment.
+     */
+    public static final class LatencyHistogram {
+        private static final int BUCKETS = Long.SIZE;
+
+        private final LongAdder[] buckets;
+
+        LatencyHistogram() {
+            buckets = new LongAdder[BUCKETS];
+            for (int i = 0; i < buckets.length; ++i) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(final long nanos) {
+            buckets[bucketIndex(nanos)].increment();
+        }
+
+        /**
+         * Returns the number of recorded durations.
+         *
+         * @return the number of recorded durations.
+         */
+        public long count() {
+            long count = 0;
+            for (LongAdder bucket : buckets) {
+                count += bucket.sum();
+            }
+            return count;
+        }
+
+        /**
+         * Returns an upper bound of the duration below which the given fraction of the recorded durations fall.
+         *
+         * @param fraction the fraction in the range {@code [0, 1]}, for example {@code 0.99} for the 99th percentile.
+         * @return an upper bound in nanoseconds of the duration below which the given fraction of the recorded
+         * durations fall, or {@code 0} if nothing was recorded.
+         */
+        public long percentileNanos(final double fraction) {
+            if (fraction < 0 || fraction > 1) {
+                throw new IllegalArgumentException("fraction: " + fraction + " (expected [0, 1])");
+            }
+            final long[] counts = new long[buckets.length];
+            long total = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            final long rank = max(1, (long) ceil(fraction * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return bucketUpperBound(i);
+                }
+            }
+            return bucketUpperBound(counts.length - 1);
+        }
+
+        /**
+         * Returns an upper bound of the longest recorded duration.
+         *
+         * @return an upper bound in nanoseconds of the longest recorded duration, or {@code 0} if nothing was
+         * recorded.
+         */
+        public long maxNanos() {
+            for (int i = buckets.length - 1; i > 0; --i) {
+                if (buckets[i].sum() != 0) {
+                    return bucketUpperBound(i);
+                }
+            }
+            return 0;
+        }
+
+        static int bucketIndex(final long nanos) {
+            return nanos <= 0 ? 0 : Long.SIZE - numberOfLeadingZeros(nanos);
+        }
+
+        static long bucketUpperBound(final int index) {
+            return index >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << index) - 1;
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + count() +
+                    ", p50=" + percentileNanos(0.5) +
+                    ", p99=" + percentileNanos(0.99) +
+                    ", max=" + maxNanos() +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An observer that provides visibility into the tasks and timers of an {@link Executor}.
+ * <p>
+ * Callbacks are invoked on the threads which submit and run the tasks, implementations must be thread-safe and should
+ * not block.
+ *
+ * @see DefaultExecutorObserver
+ * @see Executors#newFixedSizeExecutor(int, java.util.concurrent.ThreadFactory, ExecutorObserver)
+ * @see Executors#newCachedThreadExecutor(java.util.concurrent.ThreadFactory, ExecutorObserver)
+ */
+public interface ExecutorObserver {
+
+    /**
+     * Notifies that a task was submitted to the {@link Executor}.
+     * <p>
+     * It is followed by either {@link #onTaskRejected(Throwable)} or {@link #onTaskStarted(long)}.
+     */
+    void onTaskSubmitted();
+
+    /**
+     * Notifies that a submitted task was rejected by the {@link Executor}.
+     * <p>
+     * This is one of the possible terminal events of a task.
+     *
+     * @param cause the cause of the rejection.
+     */
+    void onTaskRejected(Throwable cause);
+
+    /**
+     * Notifies that a submitted task started to run.
+     *
+     * @param waitNanos the time in nanoseconds the task waited after submission before it started to run.
+     */
+    void onTaskStarted(long waitNanos);
+
+    /**
+     * Notifies that a task completed, either normally or exceptionally.
+     * <p>
+     * This is one of the possible terminal events of a task.
+     *
+     * @param runNanos the time in nanoseconds it took to run the task.
+     */
+    void onTaskCompleted(long runNanos);
+
+    /**
+     * Notifies that a timer was scheduled via {@link Executor#schedule(Runnable, long, TimeUnit)}.
+     * <p>
+     * It is followed by either {@link #onTimerFired()} or {@link #onTimerCancelled()}.
+     */
+    void onTimerScheduled();
+
+    /**
+     * Notifies that a scheduled timer fired and its task is about to run. If timer ticks are offloaded to the
+     * {@link Executor}, the timer is observed as a submitted task before it fires.
+     */
+    void onTimerFired();
+
+    /**
+     * Notifies that a scheduled timer was cancelled before it fired.
+     */
+    void onTimerCancelled();
+}
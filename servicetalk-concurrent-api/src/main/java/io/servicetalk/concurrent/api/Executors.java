@@ -15,6 +15,7 @@
  */
 package io.servicetalk.concurrent.api;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -22,6 +23,9 @@ import java.util.concurrent.TimeUnit;
 
 import static io.servicetalk.concurrent.api.GlobalExecutor.GLOBAL_EXECUTOR;
 import static io.servicetalk.concurrent.api.ImmediateExecutor.IMMEDIATE_EXECUTOR;
+import static io.servicetalk.utils.internal.DurationUtils.ensurePositive;
+import static io.servicetalk.utils.internal.DurationUtils.toNanos;
+import static java.util.Objects.requireNonNull;
 
 /**
  * Utility methods to create various {@link Executor}s.
@@ -81,6 +85,19 @@ public final class Executors {
         return EXECUTOR_PLUGINS.wrapExecutor(new DefaultExecutor(size, size, threadFactory));
     }
 
+    /**
+     * Creates a new {@link Executor} that has a fixed number of threads as specified by the {@code size}, and
+     * notifies the passed {@link ExecutorObserver} about its tasks and timers.
+     *
+     * @param size Number of threads used by the newly created {@link Executor}.
+     * @param threadFactory {@link ThreadFactory} to use.
+     * @param observer {@link ExecutorObserver} to notify, for example a {@link DefaultExecutorObserver}.
+     * @return A new {@link Executor} that will use the {@code size} number of threads.
+     */
+    public static Executor newFixedSizeExecutor(int size, ThreadFactory threadFactory, ExecutorObserver observer) {
+        return EXECUTOR_PLUGINS.wrapExecutor(new DefaultExecutor(size, size, threadFactory, observer));
+    }
+
     /**
      * Creates a new {@link Executor} that creates as many threads as required but reuses threads when possible.
      *
@@ -100,6 +117,99 @@ public final class Executors {
         return EXECUTOR_PLUGINS.wrapExecutor(new DefaultExecutor(1, Integer.MAX_VALUE, threadFactory));
     }
 
+    /**
+     * Creates a new {@link Executor} that creates as many threads as required but reuses threads when possible, and
+     * notifies the passed {@link ExecutorObserver} about its tasks and timers.
+     *
+     * @param threadFactory {@link ThreadFactory} to use.
+     * @param observer {@link ExecutorObserver} to notify, for example a {@link DefaultExecutorObserver}.
+     * @return A new {@link Executor}.
+     */
+    public static Executor newCachedThreadExecutor(ThreadFactory threadFactory, ExecutorObserver observer) {
+        return EXECUTOR_PLUGINS.wrapExecutor(new DefaultExecutor(1, Integer.MAX_VALUE, threadFactory, observer));
+    }
+
+    /**
+     * Creates a new {@link Executor} that runs each task on a new <a href="https://openjdk.org/jeps/444">virtual
+     * thread</a>.
+     * <p>
+     * Virtual threads are cheap to create and to block, which makes this {@link Executor} a good fit for offloading
+     * user code which blocks on IO, for example the blocking client and service APIs. Delayed tasks are scheduled by a
+     * global scheduler and executed on a new virtual thread.
+     *
+     * @return A new {@link Executor}.
+     * @throws UnsupportedOperationException if virtual threads are not supported by the current JVM (JDK 21+ is
+     * required).
+     * @see #isVirtualThreadExecutorSupported()
+     */
+    public static Executor newVirtualThreadExecutor() {
+        return newVirtualThreadExecutor("servicetalk-virtual-executor-");
+    }
+
+    /**
+     * Creates a new {@link Executor} that runs each task on a new <a href="https://openjdk.org/jeps/444">virtual
+     * thread</a>.
+     *
+     * @param threadNamePrefix the name prefix used for the created virtual threads.
+     * @return A new {@link Executor}.
+     * @throws UnsupportedOperationException if virtual threads are not supported by the current JVM (JDK 21+ is
+     * required).
+     * @see #newVirtualThreadExecutor()
+     */
+    public static Executor newVirtualThreadExecutor(String threadNamePrefix) {
+        return EXECUTOR_PLUGINS.wrapExecutor(new DefaultExecutor(
+                VirtualThreads.newThreadPerTaskExecutor(requireNonNull(threadNamePrefix))));
+    }
+
+    /**
+     * Creates a new {@link Executor} that executes tasks on the passed {@link Executor} and schedules delayed tasks on
+     * a global <a href="http://www.cs.columbia.edu/~nahum/w6998/papers/sosp87-timing-wheels.pdf">hashed timing
+     * wheel</a> instead of the scheduler of the passed {@link Executor}.
+     * <p>
+     * Scheduling and cancelling delayed tasks are {@code O(1)} operations that don't acquire locks, which helps when
+     * a large number of timeouts is pending and most of them are cancelled, for example a timeout for each request.
+     * The price is precision: delayed tasks run up to 10 milliseconds after their delay elapsed. Delayed tasks are
+     * executed on the passed {@link Executor}.
+     *
+     * @param executor {@link Executor} to use for executing tasks. The lifetime of this object is transferred to the
+     * return value.
+     * @return A new {@link Executor}.
+     * @see #withHashedWheelTimer(Executor, Duration, int)
+     */
+    public static Executor withHashedWheelTimer(Executor executor) {
+        return EXECUTOR_PLUGINS.wrapExecutor(new HashedWheelTimerExecutor(executor));
+    }
+
+    /**
+     * Creates a new {@link Executor} that executes tasks on the passed {@link Executor} and schedules delayed tasks on
+     * a dedicated <a href="http://www.cs.columbia.edu/~nahum/w6998/papers/sosp87-timing-wheels.pdf">hashed timing
+     * wheel</a> instead of the scheduler of the passed {@link Executor}.
+     * <p>
+     * The timing wheel uses its own thread, which is stopped when the returned {@link Executor} is closed.
+     *
+     * @param executor {@link Executor} to use for executing tasks. The lifetime of this object is transferred to the
+     * return value.
+     * @param tickDuration the precision of the timing wheel, delayed tasks run up to this duration after their delay
+     * elapsed.
+     * @param ticksPerWheel the number of buckets of the timing wheel, rounded up to the next power of two. Delays
+     * longer than {@code tickDuration * ticksPerWheel} are visited once per rotation of the wheel.
+     * @return A new {@link Executor}.
+     * @see #withHashedWheelTimer(Executor)
+     */
+    public static Executor withHashedWheelTimer(Executor executor, Duration tickDuration, int ticksPerWheel) {
+        return EXECUTOR_PLUGINS.wrapExecutor(new HashedWheelTimerExecutor(executor,
+                toNanos(ensurePositive(tickDuration, "tickDuration")), ticksPerWheel));
+    }
+
+    /**
+     * Returns {@code true} if {@link #newVirtualThreadExecutor()} is supported by the current JVM.
+     *
+     * @return {@code true} if {@link #newVirtualThreadExecutor()} is supported by the current JVM.
+     */
+    public static boolean isVirtualThreadExecutorSupported() {
+        return VirtualThreads.isAvailable();
+    }
+
     /**
      * Creates a new {@link Executor} from the provided {@code jdkExecutor}. <p>
      * Delayed task execution will be delegated to a global scheduler, unless passed
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018, 2021 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018, 2021, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,14 +26,52 @@ import javax.annotation.Nullable;
 import static io.servicetalk.concurrent.internal.SubscriberUtils.checkDuplicateSubscription;
 import static java.util.Objects.requireNonNull;
 
+/**
+ * As returned from {@link Publisher#filter(Predicate)}.
+ * <p>
+ * Consecutive {@link FilterPublisher}s are fused at assembly time into a single operator which tests all predicates, so
+ * a chain of these operators only creates a single {@link Subscriber} per subscribe and a single
+ * {@link Subscription#request(long)} per dropped item. A {@link FilterPublisher} applied to a {@link MapPublisher} is
+ * fused into a {@link MapFilterPublisher}.
+ *
+ * @param <T> Type of items emitted by this {@link Publisher}.
+ */
 final class FilterPublisher<T> extends AbstractSynchronousPublisherOperator<T, T> {
-    private final Supplier<? extends Predicate<? super T>> filterSupplier;
+    final Supplier<? extends Predicate<? super T>> filterSupplier;
 
     FilterPublisher(final Publisher<T> source, final Supplier<? extends Predicate<? super T>> filterSupplier) {
         super(source);
         this.filterSupplier = filterSupplier;
     }
 
+    /**
+     * Create a {@link Publisher} which only emits items emitted by {@code source} that pass the {@link Predicate}
+     * obtained from {@code filterSupplier} for each subscribe.
+     *
+     * @param source The {@link Publisher} to filter.
+     * @param filterSupplier Used to obtain a new {@link Predicate} for each subscribe.
+     * @param <T> Type of items emitted by {@code source}.
+     * @return A {@link Publisher} which filters items emitted by {@code source}, fused with {@code source} if it is
+     * a {@link FilterPublisher}, {@link MapPublisher} or {@link MapFilterPublisher}.
+     */
+    static <T> Publisher<T> newFilterPublisher(final Publisher<T> source,
+                                               final Supplier<? extends Predicate<? super T>> filterSupplier) {
+        requireNonNull(filterSupplier);
+        if (source instanceof MapPublisher || source instanceof MapFilterPublisher) {
+            return MapFilterPublisher.fuseFilter((AbstractSynchronousPublisherOperator<?, T>) source, filterSupplier);
+        }
+        if (!(source instanceof FilterPublisher)) {
+            return new FilterPublisher<>(source, filterSupplier);
+        }
+        final FilterPublisher<T> first = (FilterPublisher<T>) source;
+        final Supplier<? extends Predicate<? super T>> firstSupplier = first.filterSupplier;
+        return new FilterPublisher<>(first.original(), () -> {
+            final Predicate<? super T> firstPredicate = newPredicate(firstSupplier);
+            final Predicate<? super T> secondPredicate = newPredicate(filterSupplier);
+            return t -> firstPredicate.test(t) && secondPredicate.test(t);
+        });
+    }
+
     static <T> Supplier<? extends Predicate<? super T>> newDistinctSupplier() {
         return () -> new Predicate<T>() {
             private final Set<T> set = new HashSet<>();
@@ -44,13 +82,16 @@ final class FilterPublisher<T> extends AbstractSynchronousPublisherOperator<T, T
         };
     }
 
+    static <T> Predicate<? super T> newPredicate(final Supplier<? extends Predicate<? super T>> supplier) {
+        return requireNonNull(supplier.get(), () -> "Supplier " + supplier + " returned null");
+    }
+
     @Override
     public Subscriber<? super T> apply(final Subscriber<? super T> subscriber) {
         return new Subscriber<T>() {
             @Nullable
             private Subscription subscription;
-            private final Predicate<? super T> predicate = requireNonNull(filterSupplier.get(),
-                    () -> "Supplier " + filterSupplier + " returned null");
+            private final Predicate<? super T> predicate = newPredicate(filterSupplier);
 
             @Override
             public void onSubscribe(Subscription s) {
@@ -0,0 +1,283 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.Cancellable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.utils.internal.PlatformDependent.newUnboundedMpscQueue;
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.atomic.AtomicIntegerFieldUpdater.newUpdater;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static java.util.concurrent.locks.LockSupport.unpark;
+
+/**
+ * A timer which keeps timeouts in a <a href="http://www.cs.columbia.edu/~nahum/w6998/papers/sosp87-timing-wheels.pdf">
+ * hashed timing wheel</a>.
+ * <p>
+ * Scheduling and cancelling a timeout only enqueue it into lock-free queues, and the worker thread moves timeouts into
+ * and out of the buckets of the wheel once per tick. The cost of both operations is therefore {@code O(1)} and
+ * independent of the number of pending timeouts, which makes this timer a good fit for many short-lived timeouts that
+ * are mostly cancelled before they expire. The price is precision: timeouts expire on the first tick after their
+ * deadline.
+ * <p>
+ * Tasks run on the worker thread and hence must not block.
+ */
+final class HashedWheelTimer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashedWheelTimer.class);
+    /**
+     * Upper bound of timeouts moved into the wheel per tick, to not delay the expiration of due timeouts when a lot of
+     * timeouts are scheduled at once.
+     */
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final Queue<Timeout> scheduled = newUnboundedMpscQueue();
+    private final Queue<Timeout> cancelled = newUnboundedMpscQueue();
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long tickNanos;
+    private final long startNanos;
+    private final Thread worker;
+    private volatile boolean stopped;
+    /**
+     * Only accessed from the {@link #worker} thread.
+     */
+    private long tick;
+
+    HashedWheelTimer(final ThreadFactory threadFactory, final long tickNanos, final int ticksPerWheel) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("tickNanos: " + tickNanos + " (expected >0)");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("ticksPerWheel: " + ticksPerWheel + " (expected (0, 2^30])");
+        }
+        final int wheelSize = ticksPerWheel == highestOneBit(ticksPerWheel) ? ticksPerWheel :
+                highestOneBit(ticksPerWheel) << 1;
+        wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheel.length; ++i) {
+            wheel[i] = new Bucket();
+        }
+        mask = wheelSize - 1;
+        this.tickNanos = tickNanos;
+        startNanos = nanoTime();
+        worker = threadFactory.newThread(this::run);
+        worker.start();
+    }
+
+    /**
+     * Schedules a task to run on the worker thread after the given delay.
+     *
+     * @param task the task to run, must not block.
+     * @param delay the delay after which the task runs.
+     * @param unit the unit of {@code delay}.
+     * @return {@link Cancellable} to cancel the timeout.
+     * @throws RejectedExecutionException if this timer was stopped.
+     */
+    Cancellable schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        if (stopped) {
+            throw new RejectedExecutionException("Timer stopped: " + this);
+        }
+        final long now = nanoTime() - startNanos;
+        final long delayNanos = max(0, unit.toNanos(delay));
+        // Saturate instead of overflowing for very long delays.
+        final Timeout timeout = new Timeout(this, task,
+                delayNanos > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + delayNanos);
+        scheduled.offer(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the worker thread. Pending timeouts never expire.
+     */
+    void stop() {
+        stopped = true;
+        unpark(worker);
+    }
+
+    @Override
+    public String toString() {
+        return HashedWheelTimer.class.getSimpleName() + "{worker=" + worker.getName() +
+                ", tickNanos=" + tickNanos +
+                ", ticksPerWheel=" + wheel.length +
+                ", stopped=" + stopped +
+                '}';
+    }
+
+    private void run() {
+        while (!stopped) {
+            final long deadline = tickNanos * (tick + 1);
+            if (!awaitDeadline(deadline)) {
+                break;
+            }
+            processCancelled();
+            transferScheduled();
+            wheel[(int) (tick & mask)].expire();
+            ++tick;
+        }
+        scheduled.clear();
+        cancelled.clear();
+    }
+
+    private boolean awaitDeadline(final long deadline) {
+        for (;;) {
+            final long remaining = deadline - (nanoTime() - startNanos);
+            if (remaining <= 0) {
+                return true;
+            }
+            if (stopped) {
+                return false;
+            }
+            parkNanos(this, remaining);
+        }
+    }
+
+    private void processCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            final Bucket bucket = timeout.bucket;
+            if (bucket != null) {
+                bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferScheduled() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; ++i) {
+            final Timeout timeout = scheduled.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.state != Timeout.STATE_PENDING) {
+                continue;
+            }
+            final long expirationTick = timeout.deadlineNanos / tickNanos;
+            timeout.remainingRounds = (expirationTick - tick) / wheel.length;
+            // Timeouts whose deadline already passed expire on the current tick.
+            wheel[(int) (max(expirationTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    private static final class Timeout implements Cancellable {
+        static final int STATE_PENDING = 0;
+        static final int STATE_CANCELLED = 1;
+        static final int STATE_EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> stateUpdater = newUpdater(Timeout.class, "state");
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        final long deadlineNanos;
+        volatile int state;
+
+        // Only accessed from the worker thread.
+        long remainingRounds;
+        @Nullable
+        Bucket bucket;
+        @Nullable
+        Timeout prev;
+        @Nullable
+        Timeout next;
+
+        Timeout(final HashedWheelTimer timer, final Runnable task, final long deadlineNanos) {
+            this.timer = timer;
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public void cancel() {
+            if (stateUpdater.compareAndSet(this, STATE_PENDING, STATE_CANCELLED)) {
+                // Removal from the bucket is deferred to the worker thread, which owns the buckets.
+                timer.cancelled.offer(this);
+            }
+        }
+
+        void expire() {
+            if (stateUpdater.compareAndSet(this, STATE_PENDING, STATE_EXPIRED)) {
+                try {
+                    task.run();
+                } catch (Throwable cause) {
+                    LOGGER.error("Timer task {} threw an exception on the timer thread.", task, cause);
+                }
+            }
+        }
+    }
+
+    /**
+     * A doubly-linked list of {@link Timeout}s, only accessed from the worker thread.
+     */
+    private static final class Bucket {
+        @Nullable
+        private Timeout head;
+        @Nullable
+        private Timeout tail;
+
+        void add(final Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                assert tail != null;
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.state == Timeout.STATE_CANCELLED) {
+                    remove(timeout);
+                } else {
+                    --timeout.remainingRounds;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(final Timeout timeout) {
+            final Timeout prev = timeout.prev;
+            final Timeout next = timeout.next;
+            if (prev == null) {
+                head = next;
+            } else {
+                prev.next = next;
+            }
+            if (next == null) {
+                tail = prev;
+            } else {
+                next.prev = prev;
+            }
+            timeout.prev = timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.Cancellable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static io.servicetalk.utils.internal.DurationUtils.toNanos;
+import static java.lang.Thread.NORM_PRIORITY;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * An {@link Executor} which executes tasks on another {@link Executor} and schedules delayed tasks on a
+ * {@link HashedWheelTimer}.
+ */
+final class HashedWheelTimerExecutor extends DelegatingExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashedWheelTimerExecutor.class);
+    static final long DEFAULT_TICK_NANOS = MILLISECONDS.toNanos(10);
+    static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private final HashedWheelTimer timer;
+    private final boolean ownsTimer;
+
+    HashedWheelTimerExecutor(final Executor delegate) {
+        this(delegate, GlobalTimerHolder.GLOBAL_TIMER, false);
+    }
+
+    HashedWheelTimerExecutor(final Executor delegate, final long tickNanos, final int ticksPerWheel) {
+        this(delegate, new HashedWheelTimer(new DefaultThreadFactory("servicetalk-wheel-timer", true, NORM_PRIORITY),
+                tickNanos, ticksPerWheel), true);
+    }
+
+    private HashedWheelTimerExecutor(final Executor delegate, final HashedWheelTimer timer,
+                                     final boolean ownsTimer) {
+        super(delegate);
+        this.timer = timer;
+        this.ownsTimer = ownsTimer;
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + "{delegate=" + delegate() + ", timer=" + timer + "}";
+    }
+
+    @Override
+    public Cancellable schedule(final Runnable task, final long delay, final TimeUnit unit)
+            throws RejectedExecutionException {
+        // The timer thread is shared by all timeouts and must not run user code which may block, offload instead.
+        return timer.schedule(() -> {
+            try {
+                delegate().execute(task);
+            } catch (RejectedExecutionException e) {
+                LOGGER.error("Executor {} rejected a scheduled task: {}. Fallback to executing the task on the " +
+                        "current timer thread: {}", delegate(), task, Thread.currentThread().getName(), e);
+                task.run();
+            }
+        }, delay, unit);
+    }
+
+    @Override
+    public Cancellable schedule(final Runnable task, final Duration delay) throws RejectedExecutionException {
+        return schedule(task, toNanos(delay), NANOSECONDS);
+    }
+
+    @Override
+    public Completable timer(final long delay, final TimeUnit unit) {
+        return new TimerCompletable(delay, unit, this);
+    }
+
+    @Override
+    public Completable timer(final Duration delay) {
+        return new TimerCompletable(delay, this);
+    }
+
+    @Override
+    public Completable closeAsync() {
+        return ownsTimer ? super.closeAsync().beforeFinally(timer::stop) : super.closeAsync();
+    }
+
+    @Override
+    public Completable closeAsyncGracefully() {
+        return ownsTimer ? super.closeAsyncGracefully().beforeFinally(timer::stop) : super.closeAsyncGracefully();
+    }
+
+    private static final class GlobalTimerHolder {
+        // Lazily started, so that the thread only exists if the global timer is used. Like the global scheduler of
+        // DefaultExecutor it is never stopped and uses a daemon thread.
+        static final HashedWheelTimer GLOBAL_TIMER = new HashedWheelTimer(
+                new DefaultThreadFactory("servicetalk-global-wheel-timer", true, NORM_PRIORITY),
+                DEFAULT_TICK_NANOS, DEFAULT_TICKS_PER_WHEEL);
+
+        private GlobalTimerHolder() {
+            // no instances
+        }
+    }
+}
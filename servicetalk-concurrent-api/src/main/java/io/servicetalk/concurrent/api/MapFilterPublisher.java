@@ -0,0 +1,166 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.internal.ConcurrentSubscription;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.api.FilterPublisher.newPredicate;
+import static io.servicetalk.concurrent.internal.SubscriberUtils.checkDuplicateSubscription;
+
+/**
+ * Fuses a chain of {@link MapPublisher}s and {@link FilterPublisher}s which alternate (e.g.
+ * {@code filter(..).map(..).filter(..)}) into a single operator, so the chain only creates a single
+ * {@link Subscriber} per subscribe and a single {@link Subscriber#onNext(Object)} call per item.
+ * <p>
+ * Each subscribe obtains a new stage {@link Function} which applies all mappers and predicates in order and returns
+ * {@link #DROPPED} if an item is filtered. Operators which emit items on termination, such as
+ * {@link Publisher#scanWith(Supplier)}, can't be expressed as a stage and are not fused.
+ *
+ * @param <T> Type of items emitted by source {@link Publisher}
+ * @param <R> Type of items emitted by this {@link Publisher}
+ */
+final class MapFilterPublisher<T, R> extends AbstractSynchronousPublisherOperator<T, R> {
+    /**
+     * Returned by a stage for an item which is filtered.
+     */
+    private static final Object DROPPED = new Object();
+
+    private final Supplier<? extends Function<? super T, ?>> stageSupplier;
+
+    private MapFilterPublisher(final Publisher<T> source,
+                               final Supplier<? extends Function<? super T, ?>> stageSupplier) {
+        super(source);
+        this.stageSupplier = stageSupplier;
+    }
+
+    /**
+     * Fuse {@code mapper} with {@code source}.
+     *
+     * @param source A {@link FilterPublisher} or {@link MapFilterPublisher}.
+     * @param mapper Function to transform each item emitted by {@code source}.
+     * @param <T> Type of items emitted by {@code source}.
+     * @param <R> Type of items emitted by the returned {@link Publisher}.
+     * @return A single operator which applies the stages of {@code source} and then {@code mapper}.
+     */
+    static <T, R> Publisher<R> fuseMap(final AbstractSynchronousPublisherOperator<?, T> source,
+                                       final Function<? super T, ? extends R> mapper) {
+        return fuse(source, () -> mapper);
+    }
+
+    /**
+     * Fuse the {@link Predicate}s obtained from {@code filterSupplier} with {@code source}.
+     *
+     * @param source A {@link MapPublisher} or {@link MapFilterPublisher}.
+     * @param filterSupplier Used to obtain a new {@link Predicate} for each subscribe.
+     * @param <T> Type of items emitted by {@code source}.
+     * @return A single operator which applies the stages of {@code source} and then the {@link Predicate}.
+     */
+    static <T> Publisher<T> fuseFilter(final AbstractSynchronousPublisherOperator<?, T> source,
+                                       final Supplier<? extends Predicate<? super T>> filterSupplier) {
+        return fuse(source, filterStage(filterSupplier));
+    }
+
+    private static <S, T, R> Publisher<R> fuse(final AbstractSynchronousPublisherOperator<S, T> first,
+                                               final Supplier<? extends Function<? super T, ?>> second) {
+        final Supplier<? extends Function<? super S, ?>> firstSupplier = stageSupplier(first);
+        return new MapFilterPublisher<>(first.original(), () -> {
+            final Function<? super S, ?> firstStage = firstSupplier.get();
+            final Function<? super T, ?> secondStage = second.get();
+            return s -> {
+                final Object t = firstStage.apply(s);
+                @SuppressWarnings("unchecked")
+                final T item = (T) t;
+                return t == DROPPED ? DROPPED : secondStage.apply(item);
+            };
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S, T> Supplier<? extends Function<? super S, ?>> stageSupplier(
+            final AbstractSynchronousPublisherOperator<S, T> operator) {
+        if (operator instanceof MapPublisher) {
+            final Function<? super S, ? extends T> mapper = ((MapPublisher<T, S>) operator).mapper;
+            return () -> mapper;
+        }
+        if (operator instanceof FilterPublisher) {
+            return filterStage(((FilterPublisher<S>) operator).filterSupplier);
+        }
+        return ((MapFilterPublisher<S, T>) operator).stageSupplier;
+    }
+
+    private static <T> Supplier<Function<? super T, ?>> filterStage(
+            final Supplier<? extends Predicate<? super T>> filterSupplier) {
+        return () -> {
+            final Predicate<? super T> predicate = newPredicate(filterSupplier);
+            return t -> predicate.test(t) ? t : DROPPED;
+        };
+    }
+
+    @Override
+    public Subscriber<? super T> apply(final Subscriber<? super R> subscriber) {
+        return new MapFilterSubscriber<>(subscriber, stageSupplier.get());
+    }
+
+    private static final class MapFilterSubscriber<T, R> implements Subscriber<T> {
+        private final Subscriber<? super R> subscriber;
+        private final Function<? super T, ?> stage;
+        @Nullable
+        private Subscription subscription;
+
+        MapFilterSubscriber(final Subscriber<? super R> subscriber, final Function<? super T, ?> stage) {
+            this.subscriber = subscriber;
+            this.stage = stage;
+        }
+
+        @Override
+        public void onSubscribe(final Subscription s) {
+            if (checkDuplicateSubscription(subscription, s)) {
+                subscription = ConcurrentSubscription.wrap(s);
+                subscriber.onSubscribe(subscription);
+            }
+        }
+
+        @Override
+        public void onNext(@Nullable final T t) {
+            // If a mapper or predicate throws we propagate to the caller which is responsible to terminate its
+            // subscriber and cancel the subscription.
+            final Object r = stage.apply(t);
+            if (r == DROPPED) {
+                assert subscription != null;
+                subscription.request(1); // Since we filtered one item.
+            } else {
+                @SuppressWarnings("unchecked")
+                final R item = (R) r;
+                subscriber.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            subscriber.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            subscriber.onComplete();
+        }
+    }
+}
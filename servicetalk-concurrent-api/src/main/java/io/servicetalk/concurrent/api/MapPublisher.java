@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,24 +15,75 @@
  */
 package io.servicetalk.concurrent.api;
 
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static java.util.Objects.requireNonNull;
 
 /**
- * As returned from {@link Publisher#map(Function)}.
+ * As returned from {@link Publisher#map(Function)} and {@link Publisher#beforeOnNext(Consumer)}.
+ * <p>
+ * Consecutive {@link MapPublisher}s are fused at assembly time into a single operator which applies all mappers, so a
+ * chain of these operators only creates a single {@link Subscriber} per subscribe and a single
+ * {@link Subscriber#onNext(Object)} call per item. A {@link MapPublisher} applied to a {@link FilterPublisher} is fused
+ * into a {@link MapFilterPublisher}.
  *
  * @param <R> Type of items emitted by this {@link Publisher}
  * @param <T> Type of items emitted by source {@link Publisher}
  */
 final class MapPublisher<R, T> extends AbstractSynchronousPublisherOperator<T, R> {
-    private final Function<? super T, ? extends R> mapper;
+    final Function<? super T, ? extends R> mapper;
 
     MapPublisher(Publisher<T> source, Function<? super T, ? extends R> mapper) {
         super(source);
         this.mapper = requireNonNull(mapper);
     }
 
+    /**
+     * Create a {@link Publisher} which applies {@code mapper} to each item emitted by {@code source}.
+     *
+     * @param source The {@link Publisher} to map.
+     * @param mapper Function to transform each item emitted by {@code source}.
+     * @param <T> Type of items emitted by {@code source}.
+     * @param <R> Type of items emitted by the returned {@link Publisher}.
+     * @return A {@link Publisher} which applies {@code mapper} to each item emitted by {@code source}, fused with
+     * {@code source} if it is a {@link MapPublisher}, {@link FilterPublisher} or {@link MapFilterPublisher}.
+     */
+    static <T, R> Publisher<R> newMapPublisher(Publisher<T> source, Function<? super T, ? extends R> mapper) {
+        requireNonNull(mapper);
+        if (source instanceof MapPublisher) {
+            return fuse((MapPublisher<T, ?>) source, mapper);
+        }
+        if (source instanceof FilterPublisher || source instanceof MapFilterPublisher) {
+            return MapFilterPublisher.fuseMap((AbstractSynchronousPublisherOperator<?, T>) source, mapper);
+        }
+        return new MapPublisher<>(source, mapper);
+    }
+
+    /**
+     * Create a {@link Publisher} which invokes {@code onNext} for each item emitted by {@code source} before the item
+     * is delivered downstream.
+     *
+     * @param source The {@link Publisher} to observe.
+     * @param onNext Invoked for each item emitted by {@code source}.
+     * @param <T> Type of items emitted by {@code source}.
+     * @return A {@link Publisher} which invokes {@code onNext} for each item emitted by {@code source}, fused with
+     * {@code source} if it is a {@link MapPublisher}.
+     */
+    static <T> Publisher<T> newBeforeOnNextPublisher(Publisher<T> source, Consumer<? super T> onNext) {
+        requireNonNull(onNext);
+        return newMapPublisher(source, t -> {
+            onNext.accept(t);
+            return t;
+        });
+    }
+
+    private static <S, T, R> MapPublisher<R, S> fuse(MapPublisher<T, S> first,
+                                                       Function<? super T, ? extends R> second) {
+        final Function<? super S, ? extends T> firstMapper = first.mapper;
+        return new MapPublisher<>(first.original(), s -> second.apply(firstMapper.apply(s)));
+    }
+
     @Override
     public Subscriber<? super T> apply(Subscriber<? super R> originalSubscriber) {
         return new MapSubscriber<>(originalSubscriber, mapper);
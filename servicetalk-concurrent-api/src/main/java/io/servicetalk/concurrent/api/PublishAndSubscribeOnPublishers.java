@@ -43,7 +43,18 @@ final class PublishAndSubscribeOnPublishers {
     static <T> Publisher<T> publishOn(final Publisher<T> original,
                                       final BooleanSupplier shouldOffload,
                                       final io.servicetalk.concurrent.Executor executor) {
-        return immediate() == executor ? original : new PublishOn<>(original, shouldOffload, executor);
+        return immediate() == executor ? original : new PublishOn<>(original, shouldOffload, executor, 0);
+    }
+
+    static <T> Publisher<T> publishOn(final Publisher<T> original,
+                                      final BooleanSupplier shouldOffload,
+                                      final io.servicetalk.concurrent.Executor executor,
+                                      final int maxSignalsPerTask) {
+        if (maxSignalsPerTask <= 0) {
+            throw new IllegalArgumentException("maxSignalsPerTask: " + maxSignalsPerTask + " (expected >0)");
+        }
+        return immediate() == executor ? original :
+                new PublishOn<>(original, shouldOffload, executor, maxSignalsPerTask);
     }
 
     static <T> Publisher<T> subscribeOn(final Publisher<T> original,
@@ -60,11 +71,17 @@ final class PublishAndSubscribeOnPublishers {
      * @param <T> type of items
      */
     private static final class PublishOn<T> extends TaskBasedAsyncPublisherOperator<T> {
+        /**
+         * Maximum number of signals delivered per task in batching mode, or {@code 0} if batching is disabled.
+         */
+        private final int maxSignalsPerTask;
 
         PublishOn(final Publisher<T> original,
                   final BooleanSupplier shouldOffload,
-                  final io.servicetalk.concurrent.Executor executor) {
+                  final io.servicetalk.concurrent.Executor executor,
+                  final int maxSignalsPerTask) {
             super(original, shouldOffload, executor);
+            this.maxSignalsPerTask = maxSignalsPerTask;
         }
 
         @Override
@@ -73,7 +90,8 @@ final class PublishAndSubscribeOnPublishers {
             final Subscriber<? super T> upstreamSubscriber;
             try {
                 BooleanSupplier shouldOffload = shouldOffload();
-                upstreamSubscriber =
+                upstreamSubscriber = maxSignalsPerTask > 0 ?
+                        OffloadedSubscriber.batching(subscriber, shouldOffload, executor(), maxSignalsPerTask) :
                         new OffloadedSubscriber<>(subscriber, shouldOffload, executor());
 
                 // Note that the Executor is wrapped by default to preserve AsyncContext, so we don't have to re-wrap
@@ -49,6 +49,7 @@ import java.util.function.LongConsumer;
 import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import javax.annotation.Nullable;
 
 import static io.servicetalk.concurrent.api.Completable.completed;
@@ -115,7 +116,7 @@ public abstract class Publisher<T> {
      * @see <a href="https://reactivex.io/documentation/operators/map.html">ReactiveX map operator.</a>
      */
     public final <R> Publisher<R> map(Function<? super T, ? extends R> mapper) {
-        return new MapPublisher<>(this, mapper);
+        return MapPublisher.newMapPublisher(this, mapper);
     }
 
     /**
@@ -206,7 +207,7 @@ public abstract class Publisher<T> {
      * @see <a href="https://reactivex.io/documentation/operators/distinct.html">ReactiveX distinct operator.</a>
      */
     final Publisher<T> filter(Supplier<? extends Predicate<? super T>> filterSupplier) {
-        return new FilterPublisher<>(this, filterSupplier);
+        return FilterPublisher.newFilterPublisher(this, filterSupplier);
     }
 
     /**
@@ -1879,6 +1880,175 @@ public abstract class Publisher<T> {
         return new TimeoutPublisher<>(this, duration, unit, false, timeoutExecutor);
     }
 
+    /**
+     * Creates a new {@link Publisher} that limits the rate of items to {@code permits} per {@code period} with a token
+     * bucket, allowing bursts of up to {@code burst} items.
+     * <p>
+     * Items are not buffered. Demand from downstream is propagated upstream only while the bucket has permits, so this
+     * operator respects backpressure.
+     * @param permits The number of items allowed per {@code period}.
+     * @param period The period of time in which {@code permits} items are allowed.
+     * @param burst The maximum number of permits that can be accumulated while there is no demand, which is also the
+     * number of permits available when the returned {@link Publisher} is subscribed.
+     * @return a new {@link Publisher} that limits the rate of items to {@code permits} per {@code period}.
+     * @see #rateLimit(long, Duration, long, io.servicetalk.concurrent.Executor)
+     */
+    public final Publisher<T> rateLimit(long permits, Duration period, long burst) {
+        return rateLimit(permits, period, burst, global());
+    }
+
+    /**
+     * Creates a new {@link Publisher} that limits the rate of items to {@code permits} per {@code period} with a token
+     * bucket, allowing bursts of up to {@code burst} items.
+     * <p>
+     * Items are not buffered. Demand from downstream is propagated upstream only while the bucket has permits, so this
+     * operator respects backpressure.
+     * @param permits The number of items allowed per {@code period}.
+     * @param period The period of time in which {@code permits} items are allowed.
+     * @param burst The maximum number of permits that can be accumulated while there is no demand, which is also the
+     * number of permits available when the returned {@link Publisher} is subscribed.
+     * @param executor The {@link io.servicetalk.concurrent.Executor} to use as time source and to schedule timers
+     * when the bucket has to be refilled.
+     * @return a new {@link Publisher} that limits the rate of items to {@code permits} per {@code period}.
+     */
+    public final Publisher<T> rateLimit(long permits, Duration period, long burst,
+                                        io.servicetalk.concurrent.Executor executor) {
+        return new RateLimitPublisher<>(this, permits, toNanos(period), burst, null, executor);
+    }
+
+    /**
+     * Creates a new {@link Publisher} that limits the rate of items with a token bucket which refills with
+     * {@code permits} per {@code period}, where each item uses the number of permits computed by
+     * {@code permitsFunction} (e.g. its size in bytes).
+     * <p>
+     * Items are not buffered. Because the number of permits of an item is only known when it is delivered, a single
+     * item is requested at a time while the bucket has permits. An item that uses more permits than available puts the
+     * bucket into debt, which has to be paid back before the next item is requested.
+     * @param permits The number of permits added to the bucket per {@code period}.
+     * @param period The period of time in which {@code permits} permits are added.
+     * @param burst The maximum number of permits that can be accumulated while there is no demand, which is also the
+     * number of permits available when the returned {@link Publisher} is subscribed.
+     * @param permitsFunction Computes the number of permits an item uses.
+     * @return a new {@link Publisher} that limits the rate of items to {@code permits} per {@code period}.
+     * @see #rateLimit(long, Duration, long, ToLongFunction, io.servicetalk.concurrent.Executor)
+     */
+    public final Publisher<T> rateLimit(long permits, Duration period, long burst,
+                                        ToLongFunction<? super T> permitsFunction) {
+        return rateLimit(permits, period, burst, permitsFunction, global());
+    }
+
+    /**
+     * Creates a new {@link Publisher} that limits the rate of items with a token bucket which refills with
+     * {@code permits} per {@code period}, where each item uses the number of permits computed by
+     * {@code permitsFunction} (e.g. its size in bytes).
+     * <p>
+     * Items are not buffered. Because the number of permits of an item is only known when it is delivered, a single
+     * item is requested at a time while the bucket has permits. An item that uses more permits than available puts the
+     * bucket into debt, which has to be paid back before the next item is requested.
+     * @param permits The number of permits added to the bucket per {@code period}.
+     * @param period The period of time in which {@code permits} permits are added.
+     * @param burst The maximum number of permits that can be accumulated while there is no demand, which is also the
+     * number of permits available when the returned {@link Publisher} is subscribed.
+     * @param permitsFunction Computes the number of permits an item uses.
+     * @param executor The {@link io.servicetalk.concurrent.Executor} to use as time source and to schedule timers
+     * when the bucket has to be refilled.
+     * @return a new {@link Publisher} that limits the rate of items to {@code permits} per {@code period}.
+     */
+    public final Publisher<T> rateLimit(long permits, Duration period, long burst,
+                                        ToLongFunction<? super T> permitsFunction,
+                                        io.servicetalk.concurrent.Executor executor) {
+        return new RateLimitPublisher<>(this, permits, toNanos(period), burst, requireNonNull(permitsFunction),
+                executor);
+    }
+
+    /**
+     * Creates a new {@link Publisher} that delivers an item and then drops all items which arrive within
+     * {@code window} after it.
+     * <p>
+     * Dropped items are replaced by requesting more items from upstream, so the demand of downstream is honored.
+     * @param window The duration after a delivered item during which items are dropped.
+     * @return a new {@link Publisher} that delivers at most one item per {@code window}.
+     * @see <a href="https://reactivex.io/documentation/operators/sample.html">ReactiveX sample operator.</a>
+     * @see #throttleFirst(Duration, io.servicetalk.concurrent.Executor)
+     */
+    public final Publisher<T> throttleFirst(Duration window) {
+        return throttleFirst(window, global());
+    }
+
+    /**
+     * Creates a new {@link Publisher} that delivers an item and then drops all items which arrive within
+     * {@code window} after it.
+     * <p>
+     * Dropped items are replaced by requesting more items from upstream, so the demand of downstream is honored.
+     * @param window The duration after a delivered item during which items are dropped.
+     * @param executor The {@link io.servicetalk.concurrent.Executor} to use as time source.
+     * @return a new {@link Publisher} that delivers at most one item per {@code window}.
+     * @see <a href="https://reactivex.io/documentation/operators/sample.html">ReactiveX sample operator.</a>
+     */
+    public final Publisher<T> throttleFirst(Duration window, io.servicetalk.concurrent.Executor executor) {
+        return new ThrottleFirstPublisher<>(this, toNanos(window), executor);
+    }
+
+    /**
+     * Creates a new {@link Publisher} that delivers the latest item at the end of a {@code window} which starts with
+     * the first item after the previously delivered item, and drops all other items.
+     * <p>
+     * Upstream is requested without bounds. If there is no demand from downstream at the end of a window, the latest
+     * item is kept until the end of the next window. An item that is pending when upstream terminates is dropped.
+     * @param window The duration after the first item of a window at which the latest item is delivered.
+     * @return a new {@link Publisher} that delivers at most one item per {@code window}.
+     * @see <a href="https://reactivex.io/documentation/operators/sample.html">ReactiveX sample operator.</a>
+     * @see #throttleLast(Duration, io.servicetalk.concurrent.Executor)
+     */
+    public final Publisher<T> throttleLast(Duration window) {
+        return throttleLast(window, global());
+    }
+
+    /**
+     * Creates a new {@link Publisher} that delivers the latest item at the end of a {@code window} which starts with
+     * the first item after the previously delivered item, and drops all other items.
+     * <p>
+     * Upstream is requested without bounds. If there is no demand from downstream at the end of a window, the latest
+     * item is kept until the end of the next window. An item that is pending when upstream terminates is dropped.
+     * @param window The duration after the first item of a window at which the latest item is delivered.
+     * @param executor The {@link io.servicetalk.concurrent.Executor} to use for managing the timer notifications.
+     * @return a new {@link Publisher} that delivers at most one item per {@code window}.
+     * @see <a href="https://reactivex.io/documentation/operators/sample.html">ReactiveX sample operator.</a>
+     */
+    public final Publisher<T> throttleLast(Duration window, io.servicetalk.concurrent.Executor executor) {
+        return new SamplePublisher<>(this, toNanos(window), false, executor);
+    }
+
+    /**
+     * Creates a new {@link Publisher} that delivers the latest item every {@code period}, and drops all other items.
+     * The timer starts when the returned {@link Publisher} is subscribed.
+     * <p>
+     * Upstream is requested without bounds. If there is no demand from downstream when the timer fires, the latest
+     * item is kept until the timer fires again. An item that is pending when upstream terminates is dropped.
+     * @param period The period at which the latest item is delivered.
+     * @return a new {@link Publisher} that delivers at most one item per {@code period}.
+     * @see <a href="https://reactivex.io/documentation/operators/sample.html">ReactiveX sample operator.</a>
+     * @see #sample(Duration, io.servicetalk.concurrent.Executor)
+     */
+    public final Publisher<T> sample(Duration period) {
+        return sample(period, global());
+    }
+
+    /**
+     * Creates a new {@link Publisher} that delivers the latest item every {@code period}, and drops all other items.
+     * The timer starts when the returned {@link Publisher} is subscribed.
+     * <p>
+     * Upstream is requested without bounds. If there is no demand from downstream when the timer fires, the latest
+     * item is kept until the timer fires again. An item that is pending when upstream terminates is dropped.
+     * @param period The period at which the latest item is delivered.
+     * @param executor The {@link io.servicetalk.concurrent.Executor} to use for managing the timer notifications.
+     * @return a new {@link Publisher} that delivers at most one item per {@code period}.
+     * @see <a href="https://reactivex.io/documentation/operators/sample.html">ReactiveX sample operator.</a>
+     */
+    public final Publisher<T> sample(Duration period, io.servicetalk.concurrent.Executor executor) {
+        return new SamplePublisher<>(this, toNanos(period), true, executor);
+    }
+
     /**
      * Emits items emitted by {@code next} {@link Publisher} after {@code this} {@link Publisher} terminates
      * successfully.
@@ -2813,7 +2983,7 @@ public abstract class Publisher<T> {
      * @see <a href="https://reactivex.io/documentation/operators/do.html">ReactiveX do operator.</a>
      */
     public final Publisher<T> beforeOnNext(Consumer<? super T> onNext) {
-        return beforeSubscriber(doOnNextSupplier(onNext));
+        return MapPublisher.newBeforeOnNextPublisher(this, onNext);
     }
 
     /**
@@ -3289,6 +3459,38 @@ public abstract class Publisher<T> {
         return PublishAndSubscribeOnPublishers.publishOn(this, shouldOffload, executor);
     }
 
+    /**
+     * Creates a new {@link Publisher} that may use the passed {@link io.servicetalk.concurrent.Executor} to invoke all
+     * {@link Subscriber} methods, batching signals to reduce the number of tasks submitted to the
+     * {@link io.servicetalk.concurrent.Executor}.
+     * This method does <strong>not</strong> override preceding {@link io.servicetalk.concurrent.Executor}s, if any,
+     * specified for {@code this} {@link Publisher}. Only subsequent operations, if any, added in this execution chain
+     * will use this {@link io.servicetalk.concurrent.Executor}.
+     * <p>
+     * Like {@link #publishOn(io.servicetalk.concurrent.Executor, BooleanSupplier)}, a task delivers all signals which
+     * are queued when it runs. In addition:
+     * <ul>
+     *     <li>A task delivers at most {@code maxSignalsPerTask} signals before it submits a new task for the remaining
+     *     signals, which lets other tasks of the {@link io.servicetalk.concurrent.Executor} run.</li>
+     *     <li>A task briefly spins for more signals before it finishes, so that signals which arrive in quick
+     *     succession, like many small chunks of a payload body, don't require a new task and thread wakeup each.</li>
+     *     <li>{@link Subscription#request(long)} calls made while the downstream {@link Subscriber} receives signals
+     *     are coalesced into a single request to the upstream {@link Subscription}.</li>
+     * </ul>
+     *
+     * @param executor {@link io.servicetalk.concurrent.Executor} to use.
+     * @param shouldOffload Provides a hint whether offloading to the executor can be omitted or not. Offloading may
+     * still occur even if {@code false} is returned in order to preserve signal ordering.
+     * @param maxSignalsPerTask Maximum number of signals delivered by a single task.
+     * @return A new {@link Publisher} that may use the passed {@link io.servicetalk.concurrent.Executor} to invoke all
+     * {@link Subscriber} methods.
+     * @see #publishOn(io.servicetalk.concurrent.Executor, BooleanSupplier)
+     */
+    public final Publisher<T> publishOn(io.servicetalk.concurrent.Executor executor, BooleanSupplier shouldOffload,
+                                        int maxSignalsPerTask) {
+        return PublishAndSubscribeOnPublishers.publishOn(this, shouldOffload, executor, maxSignalsPerTask);
+    }
+
     /**
      * Creates a new {@link Publisher} that will use the passed {@link io.servicetalk.concurrent.Executor} to invoke the
      * following methods:
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import io.servicetalk.concurrent.PublisherSource.Subscription;
 import io.servicetalk.concurrent.internal.ConcurrentSubscription;
 import io.servicetalk.concurrent.internal.DelayedSubscription;
 import io.servicetalk.concurrent.internal.QueueFullException;
+import io.servicetalk.concurrent.internal.SpinYieldParkStrategy;
 import io.servicetalk.concurrent.internal.TerminalNotification;
 
 import org.slf4j.Logger;
@@ -29,18 +30,21 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Queue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 import javax.annotation.Nullable;
 
 import static io.servicetalk.concurrent.api.SubscriberApiUtils.unwrapNullUnchecked;
 import static io.servicetalk.concurrent.api.SubscriberApiUtils.wrapNull;
 import static io.servicetalk.concurrent.internal.TerminalNotification.complete;
 import static io.servicetalk.concurrent.internal.TerminalNotification.error;
+import static io.servicetalk.utils.internal.PlatformDependent.newUnboundedMpscQueue;
 import static io.servicetalk.utils.internal.PlatformDependent.throwException;
 import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
 import static java.util.Objects.requireNonNull;
 
@@ -77,8 +81,12 @@ final class PublisherAsBlockingIterable<T> implements BlockingIterable<T> {
         private static final Logger LOGGER = LoggerFactory.getLogger(SubscriberAndIterator.class);
         private static final Object CANCELLED_SIGNAL = new Object();
         private static final TerminalNotification COMPLETE_NOTIFICATION = complete();
-        private final BlockingQueue<Object> data;
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<SubscriberAndIterator, Thread> waiterUpdater =
+                AtomicReferenceFieldUpdater.newUpdater(SubscriberAndIterator.class, Thread.class, "waiter");
+        private final Queue<Object> data;
         private final DelayedSubscription subscription = new DelayedSubscription();
+        private final SpinYieldParkStrategy waitStrategy = new SpinYieldParkStrategy();
         private final int requestN;
         /**
          * Number of items to emit from {@link #next()} till we request more.
@@ -98,10 +106,17 @@ final class PublisherAsBlockingIterable<T> implements BlockingIterable<T> {
         @Nullable
         private Object next;
         private boolean terminated;
+        /**
+         * The {@link Iterator} thread if it is parked, waiting for {@link #data}. Producers only unpark it once per
+         * park, all items enqueued until it wakes up are consumed without further handoffs.
+         */
+        @Nullable
+        private volatile Thread waiter;
 
         SubscriberAndIterator(int queueCapacity) {
             requestN = queueCapacity;
-            data = new LinkedBlockingQueue<>();
+            // Producers are the Subscriber methods and close().
+            data = newUnboundedMpscQueue(queueCapacity);
         }
 
         @Override
@@ -143,6 +158,66 @@ final class PublisherAsBlockingIterable<T> implements BlockingIterable<T> {
             if (!data.offer(o)) {
                 enqueueFailed(o);
             }
+            // Offering to the MPSC queue updates the producer index atomically, so either we observe the waiter or
+            // the waiter observes the new item before it parks.
+            final Thread waiter = this.waiter;
+            if (waiter != null && waiterUpdater.compareAndSet(this, waiter, null)) {
+                LockSupport.unpark(waiter);
+            }
+        }
+
+        /**
+         * Takes the next signal from {@link #data}, spinning and yielding before parking if it is empty.
+         *
+         * @param timed {@code true} if {@code timeoutNanos} applies, {@code false} to wait without a timeout.
+         * @param timeoutNanos maximum time to wait if {@code timed}.
+         * @return the next signal, or {@code null} if the timeout elapsed.
+         * @throws InterruptedException if the thread was interrupted before or while waiting.
+         */
+        @Nullable
+        private Object take(final boolean timed, final long timeoutNanos) throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            Object signal = data.poll();
+            if (signal != null) {
+                return signal;
+            }
+            final long deadline = timed ? nanoTime() + timeoutNanos : 0;
+            for (int i = 0; waitStrategy.idle(i); ++i) {
+                signal = data.poll();
+                if (signal != null) {
+                    waitStrategy.waitDone(false);
+                    return signal;
+                }
+                if (timed && nanoTime() - deadline >= 0) {
+                    return null;
+                }
+            }
+            waitStrategy.waitDone(true);
+            final Thread currentThread = currentThread();
+            for (;;) {
+                waiter = currentThread;
+                signal = data.poll();
+                if (signal != null) {
+                    waiter = null;
+                    return signal;
+                }
+                if (Thread.interrupted()) {
+                    waiter = null;
+                    throw new InterruptedException();
+                }
+                if (!timed) {
+                    LockSupport.park(this);
+                } else {
+                    final long remainingNanos = deadline - nanoTime();
+                    if (remainingNanos <= 0) {
+                        waiter = null;
+                        return null;
+                    }
+                    LockSupport.parkNanos(this, remainingNanos);
+                }
+            }
         }
 
         @Override
@@ -154,7 +229,7 @@ final class PublisherAsBlockingIterable<T> implements BlockingIterable<T> {
                 return true; // Keep returning true till next() is called which sets next to null
             }
             try {
-                next = data.take();
+                next = take(false, 0);
                 requestMoreIfRequired();
             } catch (InterruptedException e) {
                 return hasNextInterrupted(e);
@@ -171,7 +246,7 @@ final class PublisherAsBlockingIterable<T> implements BlockingIterable<T> {
                 return true; // Keep returning true till next() is called which sets next to null
             }
             try {
-                next = data.poll(timeout, unit);
+                next = take(true, unit.toNanos(timeout));
                 if (next == null) {
                     terminated = true;
                     subscription.cancel();
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2022 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2022-2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package io.servicetalk.concurrent.api;
 
 import io.servicetalk.concurrent.Cancellable;
 import io.servicetalk.concurrent.SingleSource;
+import io.servicetalk.context.api.ContextMap;
 
 import java.util.Queue;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -66,90 +67,104 @@ final class PublisherFlatMapConcatUtils {
                         .shareContextOnSubscribe());
     }
 
-    private static final class OrderedMapper<T, R> implements Function<T, Single<R>> {
+    /**
+     * Maps each item to an {@link OrderedSingle} which withholds its result until all results of previous items have
+     * been delivered. {@code flatMapMergeSingle} counts a mapped {@link Single} as active until it terminates, so the
+     * reorder buffer is bounded by its {@code maxConcurrency}.
+     */
+    static final class OrderedMapper<T, R> implements Function<T, Single<R>> {
         @SuppressWarnings("rawtypes")
         private static final AtomicIntegerFieldUpdater<OrderedMapper> consumerLockUpdater =
                 AtomicIntegerFieldUpdater.newUpdater(OrderedMapper.class, "consumerLock");
         private final Function<? super T, ? extends Single<? extends R>> mapper;
-        private final Queue<Item<R>> results;
+        private final Queue<OrderedSingle<R>> results;
         @SuppressWarnings("unused")
         private volatile int consumerLock;
 
-        private OrderedMapper(final Function<? super T, ? extends Single<? extends R>> mapper,
-                              final Queue<Item<R>> results) {
+        OrderedMapper(final Function<? super T, ? extends Single<? extends R>> mapper,
+                              final Queue<OrderedSingle<R>> results) {
             this.mapper = mapper;
             this.results = results;
         }
 
         @Override
         public Single<R> apply(final T t) {
-            final Single<? extends R> single = mapper.apply(t);
-            final Item<R> item = new Item<>();
-            results.add(item);
-            return new Single<R>() {
-                @Override
-                protected void handleSubscribe(final SingleSource.Subscriber<? super R> subscriber) {
-                    assert item.subscriber == null; // flatMapMergeSingle only does a single subscribe.
-                    item.subscriber = subscriber;
-                    toSource(single).subscribe(new SingleSource.Subscriber<R>() {
-                        @Override
-                        public void onSubscribe(final Cancellable cancellable) {
-                            subscriber.onSubscribe(cancellable);
-                        }
-
-                        @Override
-                        public void onSuccess(@Nullable final R result) {
-                            item.onSuccess(result);
-                            tryPollQueue();
-                        }
-
-                        @Override
-                        public void onError(final Throwable t) {
-                            item.onError(t);
-                            tryPollQueue();
-                        }
-
-                        private void tryPollQueue() {
-                            boolean tryAcquire = true;
-                            while (tryAcquire && tryAcquireLock(consumerLockUpdater, OrderedMapper.this)) {
-                                try {
-                                    Item<R> i;
-                                    while ((i = results.peek()) != null && i.tryTerminate()) {
-                                        results.poll();
-                                    }
-                                    // flatMapMergeSingle takes care of exception propagation / cleanup
-                                } finally {
-                                    tryAcquire = !releaseLock(consumerLockUpdater, OrderedMapper.this);
-                                }
-                            }
-                        }
-                    });
+            final OrderedSingle<R> single = new OrderedSingle<>(this, mapper.apply(t));
+            results.add(single);
+            return single;
+        }
+
+        void tryPollQueue() {
+            boolean tryAcquire = true;
+            while (tryAcquire && tryAcquireLock(consumerLockUpdater, this)) {
+                try {
+                    OrderedSingle<R> i;
+                    while ((i = results.peek()) != null && i.tryTerminate()) {
+                        results.poll();
+                    }
+                    // flatMapMergeSingle takes care of exception propagation / cleanup
+                } finally {
+                    tryAcquire = !releaseLock(consumerLockUpdater, this);
                 }
             }
-            // The inner Single will determine if a copy is justified when we subscribe to it.
-            .shareContextOnSubscribe();
         }
     }
 
-    private static final class Item<R> {
+    /**
+     * A mapped {@link Single} which is also the {@link SingleSource.Subscriber} of the original {@link Single} and the
+     * entry in the reorder buffer, so each item only allocates a single object in addition to the original
+     * {@link Single}. It shares the {@link ContextMap} on subscribe itself instead of being wrapped by
+     * {@link Single#shareContextOnSubscribe()}.
+     */
+    static final class OrderedSingle<R> extends Single<R> implements SingleSource.Subscriber<R> {
+        private final OrderedMapper<?, R> parent;
+        private final Single<? extends R> original;
         @Nullable
-        SingleSource.Subscriber<? super R> subscriber;
+        private SingleSource.Subscriber<? super R> subscriber;
         /**
          * Visibility is provided by {@link OrderedMapper#consumerLockUpdater}. There are multiple producer threads
-         * modifying independent {@link Item}s, but only a single thread consumes and calls {@link #tryTerminate()}.
-         * Since the state is a single reference either the consumer thread sees the state, or it doesn't. If it does
-         * then the item can be consumed and we are done. If it doesn't then the
+         * modifying independent {@link OrderedSingle}s, but only a single thread consumes and calls
+         * {@link #tryTerminate()}. Since the state is a single reference either the consumer thread sees the state, or
+         * it doesn't. If it does then the item can be consumed and we are done. If it doesn't then the
          * {@link OrderedMapper#consumerLockUpdater} requires another lock attempt and the state becomes visible.
          */
         @Nullable
         private Object result;
 
-        void onError(Throwable cause) {
-            result = new ThrowableWrapper(cause);
+        OrderedSingle(final OrderedMapper<?, R> parent, final Single<? extends R> original) {
+            this.parent = parent;
+            this.original = original;
         }
 
-        void onSuccess(@Nullable R r) {
+        @Override
+        ContextMap contextForSubscribe(final AsyncContextProvider provider) {
+            // The inner Single will determine if a copy is justified when we subscribe to it.
+            return provider.context();
+        }
+
+        @Override
+        protected void handleSubscribe(final SingleSource.Subscriber<? super R> subscriber) {
+            assert this.subscriber == null; // flatMapMergeSingle only does a single subscribe.
+            this.subscriber = subscriber;
+            toSource(original).subscribe(this);
+        }
+
+        @Override
+        public void onSubscribe(final Cancellable cancellable) {
+            assert subscriber != null;
+            subscriber.onSubscribe(cancellable);
+        }
+
+        @Override
+        public void onSuccess(@Nullable final R r) {
             result = wrapNull(r);
+            parent.tryPollQueue();
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            result = new ThrowableWrapper(t);
+            parent.tryPollQueue();
         }
 
         boolean tryTerminate() {
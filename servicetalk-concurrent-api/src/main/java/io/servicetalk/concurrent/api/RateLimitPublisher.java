@@ -0,0 +1,271 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.Cancellable;
+import io.servicetalk.concurrent.Executor;
+import io.servicetalk.concurrent.internal.ConcurrentSubscription;
+import io.servicetalk.concurrent.internal.FlowControlUtils;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.ToLongFunction;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.internal.FlowControlUtils.addWithOverflowProtection;
+import static io.servicetalk.concurrent.internal.SubscriberUtils.checkDuplicateSubscription;
+import static io.servicetalk.concurrent.internal.SubscriberUtils.isRequestNValid;
+import static java.lang.Math.ceil;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Paces {@link Subscriber#onNext(Object)} signals with a token bucket. Items are never queued, instead items are only
+ * requested from upstream while permits are available, so demand from downstream is propagated upstream at the
+ * configured rate.
+ * <p>
+ * The bucket starts full and holds at most {@code burst} permits. If each item has a weight (e.g. its size in bytes),
+ * a single item is requested at a time and an item which weighs more than the available permits puts the bucket into
+ * debt which has to be refilled before the next item is requested.
+ *
+ * @param <T> Type of items.
+ */
+final class RateLimitPublisher<T> extends AbstractSynchronousPublisherOperator<T, T> {
+    private final double permitsPerNano;
+    private final long burst;
+    @Nullable
+    private final ToLongFunction<? super T> permitsFunction;
+    private final Executor executor;
+
+    RateLimitPublisher(final Publisher<T> original, final long permits, final long periodNanos, final long burst,
+                       @Nullable final ToLongFunction<? super T> permitsFunction, final Executor executor) {
+        super(original);
+        if (permits <= 0) {
+            throw new IllegalArgumentException("permits: " + permits + " (expected > 0)");
+        }
+        if (periodNanos <= 0) {
+            throw new IllegalArgumentException("periodNanos: " + periodNanos + " (expected > 0)");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst: " + burst + " (expected > 0)");
+        }
+        this.permitsPerNano = (double) permits / periodNanos;
+        this.burst = burst;
+        this.permitsFunction = permitsFunction;
+        this.executor = requireNonNull(executor);
+    }
+
+    @Override
+    public Subscriber<? super T> apply(final Subscriber<? super T> subscriber) {
+        return new RateLimitSubscriber<>(this, subscriber);
+    }
+
+    private static final class RateLimitSubscriber<T> implements Subscriber<T>, Subscription {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<RateLimitSubscriber> wipUpdater =
+                AtomicIntegerFieldUpdater.newUpdater(RateLimitSubscriber.class, "wip");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<RateLimitSubscriber> terminatedUpdater =
+                AtomicIntegerFieldUpdater.newUpdater(RateLimitSubscriber.class, "terminated");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicLongFieldUpdater<RateLimitSubscriber> requestedUpdater =
+                AtomicLongFieldUpdater.newUpdater(RateLimitSubscriber.class, "requested");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicLongFieldUpdater<RateLimitSubscriber> receivedUpdater =
+                AtomicLongFieldUpdater.newUpdater(RateLimitSubscriber.class, "received");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicLongFieldUpdater<RateLimitSubscriber> usedPermitsUpdater =
+                AtomicLongFieldUpdater.newUpdater(RateLimitSubscriber.class, "usedPermits");
+
+        private final RateLimitPublisher<T> parent;
+        private final Subscriber<? super T> target;
+        @Nullable
+        private Subscription subscription;
+        private volatile int wip;
+        /**
+         * Demand from downstream which was not yet processed by {@link #drain()}.
+         */
+        private volatile long requested;
+        /**
+         * Items received from upstream which were not yet processed by {@link #drain()}.
+         */
+        private volatile long received;
+        /**
+         * Permits used by received items which were not yet processed by {@link #drain()}.
+         */
+        private volatile long usedPermits;
+        private volatile int terminated;
+        private volatile boolean timerFired;
+        @Nullable
+        private volatile Cancellable timer;
+
+        // The following state is only accessed from drain().
+        private long demand;
+        private long outstanding;
+        private double permits;
+        private long lastRefillNanos;
+        private boolean timerPending;
+
+        RateLimitSubscriber(final RateLimitPublisher<T> parent, final Subscriber<? super T> target) {
+            this.parent = parent;
+            this.target = target;
+        }
+
+        @Override
+        public void onSubscribe(final Subscription s) {
+            if (checkDuplicateSubscription(subscription, s)) {
+                subscription = ConcurrentSubscription.wrap(s);
+                permits = parent.burst;
+                lastRefillNanos = parent.executor.currentTime(NANOSECONDS);
+                target.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(@Nullable final T t) {
+            final ToLongFunction<? super T> permitsFunction = parent.permitsFunction;
+            usedPermitsUpdater.addAndGet(this, permitsFunction == null ? 1 : permitsFunction.applyAsLong(t));
+            target.onNext(t);
+            // Count the item only after delivery. If drain() sees no outstanding items, no onNext is in progress and
+            // it is safe to terminate the target from another thread.
+            receivedUpdater.incrementAndGet(this);
+            drain();
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            if (terminate()) {
+                target.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (terminate()) {
+                target.onComplete();
+            }
+        }
+
+        @Override
+        public void request(final long n) {
+            assert subscription != null;
+            if (!isRequestNValid(n)) {
+                subscription.request(n);
+                return;
+            }
+            requestedUpdater.accumulateAndGet(this, n, FlowControlUtils::addWithOverflowProtection);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            assert subscription != null;
+            try {
+                terminate();
+            } finally {
+                subscription.cancel();
+            }
+        }
+
+        private boolean terminate() {
+            if (!terminatedUpdater.compareAndSet(this, 0, 1)) {
+                return false;
+            }
+            final Cancellable timer = this.timer;
+            if (timer != null) {
+                timer.cancel();
+            }
+            return true;
+        }
+
+        private void timerFires() {
+            timerFired = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wipUpdater.getAndIncrement(this) != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (terminated == 0) {
+                    drain0();
+                }
+                missed = wipUpdater.addAndGet(this, -missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void drain0() {
+            final long received = receivedUpdater.getAndSet(this, 0);
+            demand = addWithOverflowProtection(demand, requestedUpdater.getAndSet(this, 0)) - received;
+            outstanding -= received;
+            if (timerFired) {
+                timerFired = false;
+                timerPending = false;
+            }
+            final long nowNanos = parent.executor.currentTime(NANOSECONDS);
+            permits = min(parent.burst, permits + (nowNanos - lastRefillNanos) * parent.permitsPerNano) -
+                    usedPermitsUpdater.getAndSet(this, 0);
+            lastRefillNanos = nowNanos;
+            if (demand <= outstanding) {
+                return;
+            }
+
+            final long toRequest;
+            if (parent.permitsFunction == null) {
+                // Each outstanding item uses a single permit, so only request what the bucket can cover.
+                toRequest = min(demand, (long) permits) - outstanding;
+            } else {
+                // The weight of an item is only known once it is delivered, so request items one at a time.
+                toRequest = outstanding == 0 && permits > 0 ? 1 : 0;
+            }
+            if (toRequest > 0) {
+                outstanding += toRequest;
+                assert subscription != null;
+                subscription.request(toRequest);
+            } else if (outstanding == 0 && !timerPending) {
+                scheduleTimer();
+            }
+        }
+
+        private void scheduleTimer() {
+            // Wait until the bucket holds a single permit, or is out of debt for weighted items.
+            final double missingPermits = parent.permitsFunction == null ? 1 - permits : -permits;
+            final long delayNanos = (long) ceil(missingPermits / parent.permitsPerNano) + 1;
+            final Cancellable timer;
+            try {
+                timer = parent.executor.schedule(this::timerFires, delayNanos, NANOSECONDS);
+            } catch (Throwable cause) {
+                if (terminate()) {
+                    assert subscription != null;
+                    subscription.cancel();
+                    target.onError(cause);
+                }
+                return;
+            }
+            timerPending = true;
+            this.timer = timer;
+            if (terminated != 0) {
+                timer.cancel();
+            }
+        }
+    }
+}
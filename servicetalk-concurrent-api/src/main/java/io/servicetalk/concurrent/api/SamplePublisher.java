@@ -0,0 +1,203 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.Cancellable;
+import io.servicetalk.concurrent.Executor;
+import io.servicetalk.concurrent.internal.ConcurrentSubscription;
+import io.servicetalk.concurrent.internal.ConcurrentTerminalSubscriber;
+import io.servicetalk.concurrent.internal.FlowControlUtils;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.internal.SubscriberUtils.checkDuplicateSubscription;
+import static io.servicetalk.concurrent.internal.SubscriberUtils.isRequestNValid;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Delivers the latest item received from upstream when a timer fires and drops all other items. Two timer modes are
+ * offered:
+ * <ul>
+ *     <li>A periodic timer which starts with the subscription ({@link Publisher#sample(java.time.Duration)}).</li>
+ *     <li>A timer which starts with the first item after the previous item was delivered
+ *     ({@link Publisher#throttleLast(java.time.Duration)}). No timer is scheduled while no items arrive.</li>
+ * </ul>
+ * Upstream is requested without bounds because items are dropped. If there is no demand from downstream when the timer
+ * fires, the latest item is kept until the next time the timer fires.
+ *
+ * @param <T> Type of items.
+ */
+final class SamplePublisher<T> extends AbstractAsynchronousPublisherOperator<T, T> {
+    private final long periodNanos;
+    private final boolean periodic;
+    private final Executor executor;
+
+    SamplePublisher(final Publisher<T> original, final long periodNanos, final boolean periodic,
+                    final Executor executor) {
+        super(original);
+        if (periodNanos <= 0) {
+            throw new IllegalArgumentException("periodNanos: " + periodNanos + " (expected > 0)");
+        }
+        this.periodNanos = periodNanos;
+        this.periodic = periodic;
+        this.executor = requireNonNull(executor);
+    }
+
+    @Override
+    public Subscriber<? super T> apply(final Subscriber<? super T> subscriber) {
+        return new SampleSubscriber<>(this, subscriber);
+    }
+
+    private static final class SampleSubscriber<T> implements Subscriber<T>, Subscription {
+        private static final Object NONE = new Object();
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<SampleSubscriber, Object> latestUpdater =
+                AtomicReferenceFieldUpdater.newUpdater(SampleSubscriber.class, Object.class, "latest");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicLongFieldUpdater<SampleSubscriber> requestedUpdater =
+                AtomicLongFieldUpdater.newUpdater(SampleSubscriber.class, "requested");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<SampleSubscriber> timerActiveUpdater =
+                AtomicIntegerFieldUpdater.newUpdater(SampleSubscriber.class, "timerActive");
+
+        private final SamplePublisher<T> parent;
+        private final ConcurrentTerminalSubscriber<? super T> target;
+        @Nullable
+        private Subscription subscription;
+        @Nullable
+        private volatile Object latest = NONE;
+        private volatile long requested;
+        private volatile int timerActive;
+        private volatile boolean terminated;
+        @Nullable
+        private volatile Cancellable timer;
+
+        SampleSubscriber(final SamplePublisher<T> parent, final Subscriber<? super T> target) {
+            this.parent = parent;
+            this.target = new ConcurrentTerminalSubscriber<>(target, false);
+        }
+
+        @Override
+        public void onSubscribe(final Subscription s) {
+            if (checkDuplicateSubscription(subscription, s)) {
+                subscription = ConcurrentSubscription.wrap(s);
+                target.onSubscribe(this);
+                if (parent.periodic) {
+                    timerActive = 1;
+                    scheduleTimer();
+                }
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(@Nullable final T t) {
+            latest = t;
+            if (!parent.periodic && timerActiveUpdater.compareAndSet(this, 0, 1)) {
+                scheduleTimer();
+            }
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            stopTimer();
+            target.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            stopTimer();
+            target.onComplete();
+        }
+
+        @Override
+        public void request(final long n) {
+            assert subscription != null;
+            if (isRequestNValid(n)) {
+                requestedUpdater.accumulateAndGet(this, n, FlowControlUtils::addWithOverflowProtection);
+            } else {
+                subscription.request(n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            assert subscription != null;
+            try {
+                stopTimer();
+            } finally {
+                subscription.cancel();
+            }
+        }
+
+        private void stopTimer() {
+            terminated = true;
+            final Cancellable timer = this.timer;
+            if (timer != null) {
+                timer.cancel();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void timerFires() {
+            if (terminated) {
+                return;
+            }
+            // Only a single timer is active at a time, so onNext is not invoked concurrently.
+            final long requested = this.requested;
+            if (requested > 0) {
+                final Object item = latestUpdater.getAndSet(this, NONE);
+                if (item != NONE) {
+                    if (requested != Long.MAX_VALUE) {
+                        requestedUpdater.decrementAndGet(this);
+                    }
+                    target.onNext((T) item);
+                }
+            }
+            if (parent.periodic || latest != NONE) {
+                scheduleTimer();
+            } else {
+                timerActive = 0;
+                // An item may have arrived after the check above but before the timer became inactive.
+                if (latest != NONE && timerActiveUpdater.compareAndSet(this, 0, 1)) {
+                    scheduleTimer();
+                }
+            }
+        }
+
+        private void scheduleTimer() {
+            final Cancellable timer;
+            try {
+                // We rely upon the Executor to save/restore the AsyncContext when the timer fires.
+                timer = parent.executor.schedule(this::timerFires, parent.periodNanos, NANOSECONDS);
+            } catch (Throwable cause) {
+                terminated = true;
+                assert subscription != null;
+                subscription.cancel();
+                target.onError(cause);
+                return;
+            }
+            this.timer = timer;
+            if (terminated) {
+                timer.cancel();
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2019, 2021 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2019, 2021, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,9 @@ import javax.annotation.Nullable;
 
 import static io.servicetalk.concurrent.api.TaskBasedAsyncCompletableOperator.safeShouldOffload;
 import static io.servicetalk.concurrent.internal.EmptySubscriptions.EMPTY_SUBSCRIPTION;
+import static io.servicetalk.concurrent.internal.FlowControlUtils.addWithOverflowProtection;
+import static io.servicetalk.concurrent.internal.SpinWaitUtils.SPINNING_ENABLED;
+import static io.servicetalk.concurrent.internal.SpinWaitUtils.onSpinWait;
 import static io.servicetalk.concurrent.internal.SubscriberUtils.isRequestNValid;
 import static io.servicetalk.concurrent.internal.SubscriberUtils.safeCancel;
 import static io.servicetalk.concurrent.internal.SubscriberUtils.safeOnComplete;
@@ -87,10 +90,21 @@ abstract class TaskBasedAsyncPublisherOperator<T> extends AbstractNoHandleSubscr
 
     /**
      * Offloads the {@link io.servicetalk.concurrent.PublisherSource.Subscriber} methods.
+     * <p>
+     * All signals which are queued when a task runs are delivered by the same task. In batching mode a task delivers
+     * at most a configured number of signals before it yields the thread to other tasks of the executor, it spins
+     * briefly for more signals before it returns to idle instead of submitting a new task for every burst, and
+     * {@link Subscription#request(long) requests} made by the target while it receives a batch are coalesced into a
+     * single request to the upstream {@link Subscription}.
      *
      * @param <T> type of items
      */
     static final class OffloadedSubscriber<T> implements Subscriber<T> {
+        /**
+         * Number of times to check for new signals before returning to idle in batching mode. Short enough to not
+         * waste a measurable amount of CPU, long enough to catch the next signal of a burst from an event loop.
+         */
+        static final int BATCHING_SPINS_BEFORE_IDLE = SPINNING_ENABLED ? 256 : 0;
         private static final int STATE_IDLE = 0;
         private static final int STATE_ENQUEUED = 1;
         private static final int STATE_EXECUTING = 2;
@@ -106,12 +120,20 @@ abstract class TaskBasedAsyncPublisherOperator<T> extends AbstractNoHandleSubscr
         private final BooleanSupplier shouldOffload;
         private final io.servicetalk.concurrent.Executor executor;
         private final Queue<Object> signals;
+        private final int maxSignalsPerTask;
+        private final int spinsBeforeIdle;
+        private final boolean coalesceRequestN;
         // Set in onSubscribe before we enqueue the task which provides memory visibility inside the task.
         // Since any further action happens after onSubscribe, we always guarantee visibility of this field inside
         // run()
         @Nullable
         private Subscription subscription;
         private boolean hasOffloaded;
+        // Thread which is delivering signals, requests from this thread are coalesced. Only used if coalesceRequestN.
+        @Nullable
+        private volatile Thread deliveringThread;
+        // Only accessed from the deliveringThread.
+        private long pendingRequestN;
 
         OffloadedSubscriber(final Subscriber<? super T> target,
                             final BooleanSupplier shouldOffload,
@@ -123,11 +145,45 @@ abstract class TaskBasedAsyncPublisherOperator<T> extends AbstractNoHandleSubscr
                             final BooleanSupplier shouldOffload,
                             final io.servicetalk.concurrent.Executor executor,
                             final int publisherSignalQueueInitialCapacity) {
+            this(target, shouldOffload, executor, publisherSignalQueueInitialCapacity, Integer.MAX_VALUE, 0, false);
+        }
+
+        /**
+         * Creates a new instance in batching mode.
+         *
+         * @param target the {@link Subscriber} to offload.
+         * @param shouldOffload hint whether offloading can be omitted.
+         * @param executor the executor to offload to.
+         * @param maxSignalsPerTask maximum number of signals delivered by a single task.
+         * @param <T> type of items
+         * @return a new instance in batching mode.
+         */
+        static <T> OffloadedSubscriber<T> batching(final Subscriber<? super T> target,
+                                                   final BooleanSupplier shouldOffload,
+                                                   final io.servicetalk.concurrent.Executor executor,
+                                                   final int maxSignalsPerTask) {
+            return new OffloadedSubscriber<>(target, shouldOffload, executor, 2, maxSignalsPerTask,
+                    BATCHING_SPINS_BEFORE_IDLE, true);
+        }
+
+        private OffloadedSubscriber(final Subscriber<? super T> target,
+                                    final BooleanSupplier shouldOffload,
+                                    final io.servicetalk.concurrent.Executor executor,
+                                    final int publisherSignalQueueInitialCapacity,
+                                    final int maxSignalsPerTask,
+                                    final int spinsBeforeIdle,
+                                    final boolean coalesceRequestN) {
+            if (maxSignalsPerTask <= 0) {
+                throw new IllegalArgumentException("maxSignalsPerTask: " + maxSignalsPerTask + " (expected >0)");
+            }
             this.target = target;
             this.shouldOffload = shouldOffload;
             this.executor = executor;
             // Queue is bounded by request-n
             signals = newUnboundedSpscQueue(publisherSignalQueueInitialCapacity);
+            this.maxSignalsPerTask = maxSignalsPerTask;
+            this.spinsBeforeIdle = spinsBeforeIdle;
+            this.coalesceRequestN = coalesceRequestN;
         }
 
         private boolean shouldOffload() {
@@ -169,13 +225,19 @@ abstract class TaskBasedAsyncPublisherOperator<T> extends AbstractNoHandleSubscr
 
         void deliverSignals() {
             state = STATE_EXECUTING;
+            int delivered = 0;
             for (;;) {
+                if (coalesceRequestN) {
+                    deliveringThread = Thread.currentThread();
+                }
+                boolean yieldTask = false;
                 Object signal;
                 while ((signal = signals.poll()) != null) {
                     if (signal instanceof Subscription) {
                         Subscription subscription = (Subscription) signal;
                         try {
-                            target.onSubscribe(subscription);
+                            target.onSubscribe(coalesceRequestN ? new CoalescingSubscription(subscription) :
+                                    subscription);
                         } catch (Throwable t) {
                             clearSignalsFromExecutorThread();
                             safeOnError(target, t);
@@ -204,6 +266,33 @@ abstract class TaskBasedAsyncPublisherOperator<T> extends AbstractNoHandleSubscr
                             return; // We can't interact with the queue any more because we terminated, so bail.
                         }
                     }
+                    if (++delivered == maxSignalsPerTask && hasOffloaded && !signals.isEmpty()) {
+                        yieldTask = true;
+                        break;
+                    }
+                }
+                if (coalesceRequestN) {
+                    // Requests are no longer coalesced, so that a later request from this thread is not lost if no
+                    // task runs on it.
+                    deliveringThread = null;
+                    if (!flushRequestN()) {
+                        return;
+                    }
+                }
+                if (yieldTask) {
+                    if (yieldToExecutor()) {
+                        return;
+                    }
+                    delivered = 0;
+                    continue;
+                }
+                if (hasOffloaded) {
+                    // Signals are only delivered on this thread after we offloaded, otherwise the producer is the
+                    // current thread and there is nothing to wait for.
+                    for (int i = 0; i < spinsBeforeIdle && state == STATE_EXECUTING; ++i) {
+                        // Busy spin, a signal which arrives now is delivered without submitting a new task.
+                        onSpinWait();
+                    }
                 }
                 for (;;) {
                     final int cState = state;
@@ -222,6 +311,48 @@ abstract class TaskBasedAsyncPublisherOperator<T> extends AbstractNoHandleSubscr
             }
         }
 
+        /**
+         * Submits a new task to deliver the remaining signals.
+         *
+         * @return {@code true} if a new task was submitted, {@code false} if the signals must be delivered by the
+         * current task.
+         */
+        private boolean yieldToExecutor() {
+            // Producers only transition from STATE_EXECUTING to STATE_ENQUEUED, which makes them skip submitting a
+            // task, so the queue still has a single consumer.
+            state = STATE_ENQUEUED;
+            try {
+                executor.execute(this::deliverSignals);
+                return true;
+            } catch (Throwable t) {
+                // The executor is inadequately provisioned, keep delivering on the current thread.
+                state = STATE_EXECUTING;
+                return false;
+            }
+        }
+
+        /**
+         * Requests the demand which was coalesced while delivering signals from the upstream {@link Subscription}.
+         *
+         * @return {@code false} if requesting failed and this {@link Subscriber} terminated.
+         */
+        private boolean flushRequestN() {
+            final long n = pendingRequestN;
+            if (n != 0) {
+                pendingRequestN = 0;
+                assert subscription != null;
+                try {
+                    subscription.request(n);
+                } catch (Throwable t) {
+                    clearSignalsFromExecutorThread();
+                    safeOnError(target, t);
+                    safeCancel(subscription);
+                    return false;
+                }
+            }
+            return true;
+        }
+
         private void clearSignalsFromExecutorThread() {
             do {
                 state = STATE_TERMINATING;
@@ -291,6 +422,29 @@ abstract class TaskBasedAsyncPublisherOperator<T> extends AbstractNoHandleSubscr
                 safeCancel(subscription);
             }
         }
+
+        private final class CoalescingSubscription implements Subscription {
+            private final Subscription delegate;
+
+            CoalescingSubscription(final Subscription delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void request(final long n) {
+                if (n > 0 && deliveringThread == Thread.currentThread()) {
+                    // Requested from inside of the target while receiving signals, request once the batch is done.
+                    pendingRequestN = addWithOverflowProtection(pendingRequestN, n);
+                } else {
+                    delegate.request(n);
+                }
+            }
+
+            @Override
+            public void cancel() {
+                delegate.cancel();
+            }
+        }
     }
 
     /**
@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.Executor;
+import io.servicetalk.concurrent.internal.ConcurrentSubscription;
+
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.internal.SubscriberUtils.checkDuplicateSubscription;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Delivers an item and then drops all items that arrive within a window of time after it. Only the time source of the
+ * {@link Executor} is used, so no timer is scheduled.
+ *
+ * @param <T> Type of items.
+ */
+final class ThrottleFirstPublisher<T> extends AbstractSynchronousPublisherOperator<T, T> {
+    private final long windowNanos;
+    private final Executor executor;
+
+    ThrottleFirstPublisher(final Publisher<T> original, final long windowNanos, final Executor executor) {
+        super(original);
+        if (windowNanos <= 0) {
+            throw new IllegalArgumentException("windowNanos: " + windowNanos + " (expected > 0)");
+        }
+        this.windowNanos = windowNanos;
+        this.executor = requireNonNull(executor);
+    }
+
+    @Override
+    public Subscriber<? super T> apply(final Subscriber<? super T> subscriber) {
+        return new Subscriber<T>() {
+            @Nullable
+            private Subscription subscription;
+            private boolean windowOpen;
+            private long windowStartNanos;
+
+            @Override
+            public void onSubscribe(final Subscription s) {
+                if (checkDuplicateSubscription(subscription, s)) {
+                    subscription = ConcurrentSubscription.wrap(s);
+                    subscriber.onSubscribe(subscription);
+                }
+            }
+
+            @Override
+            public void onNext(@Nullable final T t) {
+                final long nowNanos = executor.currentTime(NANOSECONDS);
+                if (!windowOpen || nowNanos - windowStartNanos >= windowNanos) {
+                    windowOpen = true;
+                    windowStartNanos = nowNanos;
+                    subscriber.onNext(t);
+                } else {
+                    assert subscription != null;
+                    subscription.request(1); // Since we dropped one item.
+                }
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+                subscriber.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        };
+    }
+}
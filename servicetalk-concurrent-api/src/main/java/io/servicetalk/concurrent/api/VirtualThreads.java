@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import javax.annotation.Nullable;
+
+/**
+ * Access to <a href="https://openjdk.org/jeps/444">virtual threads</a> which doesn't require compiling against JDK 21.
+ */
+final class VirtualThreads {
+    @Nullable
+    private static final Method OF_VIRTUAL;
+    @Nullable
+    private static final Method NAME;
+    @Nullable
+    private static final Method FACTORY;
+    @Nullable
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+    @Nullable
+    private static final Throwable UNAVAILABILITY_CAUSE;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Method newThreadPerTaskExecutor = null;
+        Throwable cause = null;
+        try {
+            final Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = ofVirtualClass.getMethod("name", String.class, long.class);
+            factory = ofVirtualClass.getMethod("factory");
+            newThreadPerTaskExecutor = java.util.concurrent.Executors.class.getMethod("newThreadPerTaskExecutor",
+                    ThreadFactory.class);
+            // Virtual threads are a preview feature on JDK 19 and 20, verify they can be created.
+            ofVirtual.invoke(null);
+        } catch (Throwable t) {
+            ofVirtual = null;
+            cause = t;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+        UNAVAILABILITY_CAUSE = cause;
+    }
+
+    private VirtualThreads() {
+        // No instances
+    }
+
+    static boolean isAvailable() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates an {@link ExecutorService} that starts a new virtual thread for each task.
+     *
+     * @param threadNamePrefix the name prefix used for the created threads.
+     * @return an {@link ExecutorService} that starts a new virtual thread for each task.
+     * @throws UnsupportedOperationException if virtual threads are not available.
+     */
+    static ExecutorService newThreadPerTaskExecutor(final String threadNamePrefix) {
+        if (OF_VIRTUAL == null) {
+            throw new UnsupportedOperationException("Virtual threads are not available in Java " +
+                    System.getProperty("java.version") + ", JDK 21+ is required", UNAVAILABILITY_CAUSE);
+        }
+        assert NAME != null && FACTORY != null && NEW_THREAD_PER_TASK_EXECUTOR != null;
+        try {
+            final Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), threadNamePrefix, 0L);
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, FACTORY.invoke(builder));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create a virtual thread executor", e);
+        }
+    }
+}
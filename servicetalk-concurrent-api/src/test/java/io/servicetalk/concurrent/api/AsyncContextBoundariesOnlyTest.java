@@ -0,0 +1,188 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.Cancellable;
+import io.servicetalk.concurrent.PublisherSource.Subscriber;
+import io.servicetalk.concurrent.test.internal.TestPublisherSubscriber;
+import io.servicetalk.context.api.ContextMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.servicetalk.context.api.ContextMap.Key.newKey;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+class AsyncContextBoundariesOnlyTest {
+    private static final ContextMap.Key<String> K1 = newKey("k1", String.class);
+
+    @BeforeEach
+    void setUp() {
+        AsyncContext.captureAtBoundariesOnly(true);
+        AsyncContext.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        AsyncContext.clear();
+        AsyncContext.captureAtBoundariesOnly(false);
+    }
+
+    @Test
+    void operatorsDoNotWrapSubscribers() {
+        final AsyncContextProvider provider = AsyncContext.provider();
+        assertThat(provider, is(sameInstance(BoundaryAsyncContextProvider.INSTANCE)));
+        final ContextMap context = AsyncContext.context();
+        final Subscriber<Integer> subscriber = new TestPublisherSubscriber<>();
+        assertThat(provider.wrapPublisherSubscriber(subscriber, context), is(sameInstance(subscriber)));
+        assertThat(provider.wrapPublisherSubscriberAndSubscription(subscriber, context), is(sameInstance(subscriber)));
+    }
+
+    @Test
+    void contextIsPreservedAcrossOffloading() throws Exception {
+        final Executor executor = Executors.newCachedThreadExecutor();
+        try {
+            AsyncContext.put(K1, "v1");
+            final AtomicReference<String> actual = new AtomicReference<>();
+            Publisher.from(1, 2).map(i -> i + 1).publishOn(executor)
+                    .beforeOnComplete(() -> actual.set(AsyncContext.get(K1))).toFuture().get();
+            assertThat(actual.get(), is("v1"));
+            assertThat(executor.submit(() -> AsyncContext.get(K1)).toFuture().get(), is("v1"));
+        } finally {
+            executor.closeAsync().toFuture().get();
+        }
+    }
+
+    @Test
+    void subscriberObservesContextOfSubscribe() throws Exception {
+        final TestSingle<String> source = new TestSingle<>();
+        final AtomicReference<String> actual = new AtomicReference<>();
+        final CountDownLatch received = new CountDownLatch(1);
+        AsyncContext.put(K1, "v1");
+        source.map(s -> s + "!").subscribe(s -> {
+            actual.set(AsyncContext.get(K1));
+            received.countDown();
+        });
+        AsyncContext.clear();
+
+        // Simulates a signal which is delivered from an IO thread.
+        final Thread thread = new Thread(() -> {
+            AsyncContext.put(K1, "other");
+            source.onSuccess("value");
+        });
+        thread.start();
+        thread.join();
+        received.await();
+        assertThat(actual.get(), is("v1"));
+    }
+
+    @Test
+    void publisherToSingleObservesContextOfSubscribe() throws Exception {
+        final TestPublisher<String> source = new TestPublisher<>();
+        final AtomicReference<String> actual = new AtomicReference<>();
+        final CountDownLatch received = new CountDownLatch(1);
+        AsyncContext.put(K1, "v1");
+        source.firstOrError().subscribe(s -> {
+            actual.set(AsyncContext.get(K1));
+            received.countDown();
+        });
+        AsyncContext.clear();
+
+        deliverFromOtherThread(() -> {
+            source.onSubscribe(new TestSubscription());
+            source.onNext("value");
+            source.onComplete();
+        });
+        received.await();
+        assertThat(actual.get(), is("v1"));
+    }
+
+    @Test
+    void reduceObservesContextOfSubscribe() throws Exception {
+        final TestPublisher<String> source = new TestPublisher<>();
+        final AtomicReference<String> reducerContext = new AtomicReference<>();
+        final AtomicReference<String> actual = new AtomicReference<>();
+        final CountDownLatch received = new CountDownLatch(1);
+        AsyncContext.put(K1, "v1");
+        source.collect(StringBuilder::new, (sb, s) -> {
+            reducerContext.set(AsyncContext.get(K1));
+            return sb.append(s);
+        }).subscribe(sb -> {
+            actual.set(AsyncContext.get(K1));
+            received.countDown();
+        });
+        AsyncContext.clear();
+
+        deliverFromOtherThread(() -> {
+            source.onSubscribe(new TestSubscription());
+            source.onNext("value");
+            source.onComplete();
+        });
+        received.await();
+        assertThat(reducerContext.get(), is("v1"));
+        assertThat(actual.get(), is("v1"));
+    }
+
+    @Test
+    void publisherToCompletableObservesContextOfSubscribe() throws Exception {
+        final TestPublisher<String> source = new TestPublisher<>();
+        final AtomicReference<String> actual = new AtomicReference<>();
+        final CountDownLatch received = new CountDownLatch(1);
+        AsyncContext.put(K1, "v1");
+        source.ignoreElements().whenOnComplete(() -> actual.set(AsyncContext.get(K1)))
+                .subscribe(received::countDown);
+        AsyncContext.clear();
+
+        deliverFromOtherThread(() -> {
+            source.onSubscribe(new TestSubscription());
+            source.onComplete();
+        });
+        received.await();
+        assertThat(actual.get(), is("v1"));
+    }
+
+    @Test
+    void publisherToSingleCancelObservesContextOfSubscribe() throws Exception {
+        final TestPublisher<String> source = new TestPublisher<>();
+        final AtomicReference<String> actual = new AtomicReference<>();
+        AsyncContext.put(K1, "v1");
+        final Cancellable cancellable = source.whenCancel(() -> actual.set(AsyncContext.get(K1)))
+                .firstOrError().subscribe(s -> { });
+        AsyncContext.clear();
+        source.onSubscribe(new TestSubscription());
+
+        deliverFromOtherThread(cancellable::cancel);
+        assertThat(actual.get(), is("v1"));
+    }
+
+    /**
+     * Simulates signals which are delivered from an IO thread.
+     */
+    private static void deliverFromOtherThread(final Runnable signals) throws InterruptedException {
+        final Thread thread = new Thread(() -> {
+            AsyncContext.put(K1, "other");
+            signals.run();
+        });
+        thread.start();
+        thread.join();
+    }
+}
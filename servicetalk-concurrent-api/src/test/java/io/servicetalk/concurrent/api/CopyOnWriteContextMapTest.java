@@ -0,0 +1,188 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.context.api.ContextMap;
+import io.servicetalk.context.api.ContextMap.Key;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.servicetalk.concurrent.api.CopyOnWriteContextMap.HAMT_MIN_SIZE;
+import static io.servicetalk.context.api.ContextMap.Key.newKey;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+class CopyOnWriteContextMapTest {
+
+    private static List<Key<Integer>> newKeys(int count) {
+        final List<Key<Integer>> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            keys.add(newKey("k" + i, Integer.class));
+        }
+        return keys;
+    }
+
+    private static void assertEntries(ContextMap map, List<Key<Integer>> keys, int from, int to) {
+        assertThat(map.size(), is(to - from));
+        for (int i = 0; i < keys.size(); ++i) {
+            final Key<Integer> key = keys.get(i);
+            if (i >= from && i < to) {
+                assertThat(map.get(key), is(i));
+                assertThat(map.contains(key, i), is(true));
+            } else {
+                assertThat(map.containsKey(key), is(false));
+                assertThat(map.get(key), is(nullValue()));
+            }
+        }
+        final Map<Key<?>, Object> visited = new HashMap<>();
+        assertThat(map.forEach((k, v) -> visited.put(k, v) == null), is(nullValue()));
+        assertThat(visited.size(), is(to - from));
+    }
+
+    @Test
+    void growAndShrinkAcrossHamtThreshold() {
+        final int count = HAMT_MIN_SIZE * 4;
+        final List<Key<Integer>> keys = newKeys(count);
+        final ContextMap map = new CopyOnWriteContextMap();
+        for (int i = 0; i < count; ++i) {
+            assertThat(map.put(keys.get(i), i), is(nullValue()));
+            assertEntries(map, keys, 0, i + 1);
+        }
+        assertThat(map.containsValue(count - 1), is(true));
+        assertThat(map.containsValue(count), is(false));
+        assertThat(map.put(keys.get(0), 0), is(0));
+        assertThat(map.putIfAbsent(keys.get(1), -1), is(1));
+        assertThat(map.computeIfAbsent(keys.get(2), k -> -1), is(2));
+        for (int i = 0; i < count; ++i) {
+            assertThat(map.remove(keys.get(i)), is(i));
+            assertThat(map.remove(keys.get(i)), is(nullValue()));
+            assertEntries(map, keys, i + 1, count);
+        }
+        assertThat(map.isEmpty(), is(true));
+    }
+
+    @Test
+    void copyIsNotAffectedByModifications() {
+        final int count = HAMT_MIN_SIZE * 2;
+        final List<Key<Integer>> keys = newKeys(count + 1);
+        final ContextMap map = new CopyOnWriteContextMap();
+        for (int i = 0; i < count; ++i) {
+            map.put(keys.get(i), i);
+        }
+        final ContextMap copy = map.copy();
+        assertThat(copy, equalTo(map));
+        assertThat(copy.hashCode(), is(map.hashCode()));
+
+        map.put(keys.get(count), count);
+        map.put(keys.get(0), -1);
+        assertThat(copy, not(equalTo(map)));
+        assertEntries(copy, keys, 0, count);
+    }
+
+    @Test
+    void equalsIgnoresInsertionOrder() {
+        final int count = HAMT_MIN_SIZE * 2;
+        final List<Key<Integer>> keys = newKeys(count);
+        final ContextMap map1 = new CopyOnWriteContextMap();
+        final ContextMap map2 = new CopyOnWriteContextMap();
+        for (int i = 0; i < count; ++i) {
+            map1.put(keys.get(i), i);
+            map2.put(keys.get(count - i - 1), count - i - 1);
+        }
+        assertThat(map1, equalTo(map2));
+        assertThat(map1.hashCode(), is(map2.hashCode()));
+    }
+
+    @Test
+    void forEachVisitsEachEntryOnceInUnspecifiedOrder() {
+        final int count = HAMT_MIN_SIZE * 2;
+        final List<Key<Integer>> keys = newKeys(count);
+        final ContextMap map = new CopyOnWriteContextMap();
+        for (int i = 0; i < count; ++i) {
+            map.put(keys.get(i), i);
+        }
+        // The order isn't pinned, only that every entry is visited exactly once.
+        final List<Key<?>> visited = new ArrayList<>();
+        assertThat(map.forEach((k, v) -> {
+            assertThat(v, is(keys.indexOf(k)));
+            return visited.add(k);
+        }), is(nullValue()));
+        assertThat(visited, containsInAnyOrder(keys.toArray()));
+
+        // Iteration stops at the key of the first false result of the consumer.
+        final List<Key<?>> stoppedEarly = new ArrayList<>();
+        assertThat(map.forEach((k, v) -> stoppedEarly.add(k) && stoppedEarly.size() < HAMT_MIN_SIZE),
+                is(visited.get(HAMT_MIN_SIZE - 1)));
+        assertThat(stoppedEarly, equalTo(visited.subList(0, HAMT_MIN_SIZE)));
+    }
+
+    @Test
+    void putAllAndRemoveAll() {
+        final int count = HAMT_MIN_SIZE * 3;
+        final List<Key<Integer>> keys = newKeys(count);
+        final Map<Key<?>, Object> entries = new HashMap<>();
+        for (int i = 0; i < HAMT_MIN_SIZE * 2; ++i) {
+            entries.put(keys.get(i), i);
+        }
+        final ContextMap map = new CopyOnWriteContextMap();
+        map.putAll(entries);
+        assertEntries(map, keys, 0, HAMT_MIN_SIZE * 2);
+
+        final ContextMap other = new CopyOnWriteContextMap();
+        for (int i = HAMT_MIN_SIZE; i < count; ++i) {
+            other.put(keys.get(i), i);
+        }
+        map.putAll(other);
+        assertEntries(map, keys, 0, count);
+
+        assertThat(map.removeAll(new ArrayList<>(keys.subList(0, HAMT_MIN_SIZE * 2 + 1))), is(true));
+        assertEntries(map, keys, HAMT_MIN_SIZE * 2 + 1, count);
+        assertThat(map.removeAll(new ArrayList<>(keys.subList(0, HAMT_MIN_SIZE))), is(false));
+        assertThat(map.removeAll(new ArrayList<>(keys)), is(true));
+        assertThat(map.isEmpty(), is(true));
+    }
+
+    @Test
+    void manyEntries() {
+        // Enough keys for identity hash codes to collide.
+        final int count = 1 << 16;
+        final List<Key<Integer>> keys = newKeys(count);
+        final ContextMap map = new CopyOnWriteContextMap();
+        for (int i = 0; i < count; ++i) {
+            map.put(keys.get(i), i);
+        }
+        assertThat(map.size(), is(count));
+        for (int i = 0; i < count; ++i) {
+            assertThat(map.get(keys.get(i)), is(i));
+        }
+        for (int i = 0; i < count; i += 2) {
+            map.remove(keys.get(i));
+        }
+        assertThat(map.size(), is(count / 2));
+        for (int i = 0; i < count; ++i) {
+            assertThat(map.get(keys.get(i)), is((i & 1) == 0 ? null : i));
+        }
+    }
+}
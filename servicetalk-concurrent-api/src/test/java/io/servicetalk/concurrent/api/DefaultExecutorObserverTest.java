@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.api.DefaultExecutorObserver.LatencyHistogram;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static io.servicetalk.concurrent.api.DefaultExecutorObserver.LatencyHistogram.bucketIndex;
+import static io.servicetalk.concurrent.api.DefaultExecutorObserver.LatencyHistogram.bucketUpperBound;
+import static io.servicetalk.concurrent.api.Executors.newFixedSizeExecutor;
+import static java.util.concurrent.TimeUnit.DAYS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DefaultExecutorObserverTest {
+
+    private final DefaultExecutorObserver observer = new DefaultExecutorObserver();
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private final Executor executor = newFixedSizeExecutor(1, new DefaultThreadFactory(),
+            new DelegatingExecutorObserver(observer) {
+                @Override
+                public void onTaskCompleted(final long runNanos) {
+                    super.onTaskCompleted(runNanos);
+                    completed.countDown();
+                }
+            });
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.closeAsync().toFuture().get();
+    }
+
+    @Test
+    void tasksAreObserved() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        running.await();
+        assertThat(observer.activeTasks(), is(1L));
+
+        // The only thread is busy and the executor does not queue, so the next task is rejected.
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        assertThat(observer.rejectedTasks(), is(1L));
+        assertThat(observer.pendingTasks(), is(0L));
+
+        release.countDown();
+        completed.await();
+        assertThat(observer.submittedTasks(), is(2L));
+        assertThat(observer.startedTasks(), is(1L));
+        assertThat(observer.completedTasks(), is(1L));
+        assertThat(observer.activeTasks(), is(0L));
+        assertThat(observer.waitTime().count(), is(1L));
+        assertThat(observer.runTime().count(), is(1L));
+    }
+
+    @Test
+    void timersAreObserved() throws Exception {
+        executor.timer(1, DAYS).toFuture().cancel(true);
+        assertThat(observer.scheduledTimers(), is(1L));
+        assertThat(observer.cancelledTimers(), is(1L));
+
+        executor.timer(1, MILLISECONDS).toFuture().get();
+        assertThat(observer.scheduledTimers(), is(2L));
+        assertThat(observer.firedTimers(), is(1L));
+        assertThat(observer.pendingTimers(), is(0L));
+        // The tick of the fired timer is offloaded to the executor.
+        completed.await();
+        assertThat(observer.completedTasks(), is(1L));
+    }
+
+    @Test
+    void histogramBuckets() {
+        assertThat(bucketIndex(-1), is(0));
+        assertThat(bucketIndex(0), is(0));
+        assertThat(bucketIndex(1), is(1));
+        assertThat(bucketIndex(2), is(2));
+        assertThat(bucketIndex(3), is(2));
+        assertThat(bucketIndex(4), is(3));
+        assertThat(bucketIndex(Long.MAX_VALUE), is(Long.SIZE - 1));
+        assertThat(bucketUpperBound(0), is(0L));
+        assertThat(bucketUpperBound(2), is(3L));
+        assertThat(bucketUpperBound(Long.SIZE - 1), is(Long.MAX_VALUE));
+    }
+
+    @Test
+    void histogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.percentileNanos(0.99), is(0L));
+        assertThat(histogram.maxNanos(), is(0L));
+        for (int i = 0; i < 99; ++i) {
+            histogram.record(100);
+        }
+        histogram.record(1_000_000);
+        assertThat(histogram.count(), is(100L));
+        assertThat(histogram.percentileNanos(0.5), is(127L));
+        assertThat(histogram.percentileNanos(0.99), is(127L));
+        assertThat(histogram.percentileNanos(1), is((1L << 20) - 1));
+        assertThat(histogram.maxNanos(), is((1L << 20) - 1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentileNanos(1.5));
+    }
+
+    private static class DelegatingExecutorObserver implements ExecutorObserver {
+        private final ExecutorObserver delegate;
+
+        DelegatingExecutorObserver(final ExecutorObserver delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onTaskSubmitted() {
+            delegate.onTaskSubmitted();
+        }
+
+        @Override
+        public void onTaskRejected(final Throwable cause) {
+            delegate.onTaskRejected(cause);
+        }
+
+        @Override
+        public void onTaskStarted(final long waitNanos) {
+            delegate.onTaskStarted(waitNanos);
+        }
+
+        @Override
+        public void onTaskCompleted(final long runNanos) {
+            delegate.onTaskCompleted(runNanos);
+        }
+
+        @Override
+        public void onTimerScheduled() {
+            delegate.onTimerScheduled();
+        }
+
+        @Override
+        public void onTimerFired() {
+            delegate.onTimerFired();
+        }
+
+        @Override
+        public void onTimerCancelled() {
+            delegate.onTimerCancelled();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.test.internal.TestPublisherSubscriber;
+
+import org.junit.jupiter.api.Test;
+
+import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+class FilterPublisherTest {
+    private final TestPublisher<Integer> source = new TestPublisher.Builder<Integer>()
+            .disableAutoOnSubscribe().build();
+    private final TestPublisherSubscriber<Integer> subscriber = new TestPublisherSubscriber<>();
+
+    @Test
+    void consecutiveFiltersAreFused() {
+        Publisher<Integer> filter = source.filter(v -> v > 0).distinct().filter(v -> v % 2 == 0);
+        assertThat(filter, instanceOf(FilterPublisher.class));
+        assertThat(((FilterPublisher<?>) filter).original(), sameInstance(source));
+
+        toSource(filter).subscribe(subscriber);
+        TestSubscription subscription = new TestSubscription();
+        source.onSubscribe(subscription);
+
+        subscriber.awaitSubscription().request(2);
+        assertThat(subscription.requested(), is((long) 2));
+        source.onNext(-2, 2, 2, 3, 4);
+        assertThat(subscriber.takeOnNext(2), contains(2, 4));
+        // Each dropped item is requested once, regardless of the number of fused filters.
+        assertThat(subscription.requested(), is((long) 5));
+        source.onComplete();
+        subscriber.awaitOnComplete();
+    }
+
+    @Test
+    void fusedFiltersKeepStatePerSubscribe() {
+        Publisher<Integer> filter = Publisher.from(1, 2, 2, 3).filter(v -> v < 3).distinct();
+        for (int i = 0; i < 2; ++i) {
+            TestPublisherSubscriber<Integer> subscriber2 = new TestPublisherSubscriber<>();
+            toSource(filter).subscribe(subscriber2);
+            subscriber2.awaitSubscription().request(3);
+            assertThat(subscriber2.takeOnNext(2), contains(1, 2));
+            subscriber2.awaitOnComplete();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.context.api.ContextMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.servicetalk.concurrent.api.Executors.newCachedThreadExecutor;
+import static io.servicetalk.concurrent.api.Executors.withHashedWheelTimer;
+import static io.servicetalk.context.api.ContextMap.Key.newKey;
+import static java.time.Duration.ofMillis;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HashedWheelTimerExecutorTest {
+    private static final ContextMap.Key<String> KEY = newKey("key", String.class);
+
+    private final Executor executor = withHashedWheelTimer(
+            newCachedThreadExecutor(new DefaultThreadFactory("wheel-test-executor")), ofMillis(1), 8);
+
+    @AfterEach
+    void tearDown() throws Exception {
+        AsyncContext.remove(KEY);
+        executor.closeAsync().toFuture().get();
+    }
+
+    @Test
+    void scheduledTaskRunsOnExecutorAfterDelay() throws Exception {
+        AsyncContext.put(KEY, "value");
+        final AtomicReference<String> thread = new AtomicReference<>();
+        final AtomicReference<String> context = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final long startNanos = System.nanoTime();
+        // The delay is longer than a rotation of the wheel.
+        executor.schedule(() -> {
+            thread.set(Thread.currentThread().getName());
+            context.set(AsyncContext.get(KEY));
+            latch.countDown();
+        }, 20, MILLISECONDS);
+        latch.await();
+        assertThat(System.nanoTime() - startNanos, greaterThanOrEqualTo(MILLISECONDS.toNanos(20)));
+        assertThat(thread.get(), startsWith("wheel-test-executor"));
+        assertThat(context.get(), is("value"));
+    }
+
+    @Test
+    void cancelledTaskDoesNotRun() throws Exception {
+        final AtomicBoolean ran = new AtomicBoolean();
+        executor.schedule(() -> ran.set(true), 5, MILLISECONDS).cancel();
+        executor.timer(ofMillis(20)).toFuture().get();
+        assertThat(ran.get(), is(false));
+    }
+
+    @Test
+    void timerCompletes() throws Exception {
+        executor.timer(0, NANOSECONDS).toFuture().get();
+        executor.timer(ofMillis(10)).toFuture().get();
+    }
+
+    @Test
+    void closeStopsTimer() throws Exception {
+        executor.closeAsync().toFuture().get();
+        assertThrows(RejectedExecutionException.class, () -> executor.schedule(() -> { }, 1, SECONDS));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.test.internal.TestPublisherSubscriber;
+
+import org.junit.jupiter.api.Test;
+
+import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static io.servicetalk.concurrent.internal.DeliberateException.DELIBERATE_EXCEPTION;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+class MapFilterPublisherTest {
+    private final TestPublisher<Integer> source = new TestPublisher.Builder<Integer>()
+            .disableAutoOnSubscribe().build();
+    private final TestPublisherSubscriber<String> subscriber = new TestPublisherSubscriber<>();
+
+    @Test
+    void alternatingMapsAndFiltersAreFused() {
+        Publisher<String> chain = source.filter(v -> v > 0)
+                .map(v -> v * 2)
+                .distinct()
+                .map(v -> v + 1)
+                .filter(v -> v % 3 != 0)
+                .map(String::valueOf);
+        assertThat(chain, instanceOf(MapFilterPublisher.class));
+        assertThat(((MapFilterPublisher<?, ?>) chain).original(), sameInstance(source));
+
+        toSource(chain).subscribe(subscriber);
+        TestSubscription subscription = new TestSubscription();
+        source.onSubscribe(subscription);
+
+        subscriber.awaitSubscription().request(2);
+        assertThat(subscription.requested(), is((long) 2));
+        // -1 is dropped by the first filter, the second 2 by distinct and 4 (mapped to 9) by the last filter.
+        source.onNext(-1, 2, 2, 4, 3);
+        assertThat(subscriber.takeOnNext(2), contains("5", "7"));
+        // Each dropped item is requested once, regardless of the number of fused filters.
+        assertThat(subscription.requested(), is((long) 5));
+        source.onComplete();
+        subscriber.awaitOnComplete();
+    }
+
+    @Test
+    void mapOfFilterIsFused() {
+        Publisher<String> chain = source.filter(v -> v > 0).map(String::valueOf);
+        assertThat(chain, instanceOf(MapFilterPublisher.class));
+        assertThat(((MapFilterPublisher<?, ?>) chain).original(), sameInstance(source));
+    }
+
+    @Test
+    void fusedFiltersKeepStatePerSubscribe() {
+        Publisher<Integer> chain = Publisher.from(1, 2, 2, 3).map(v -> v * 2).distinct();
+        for (int i = 0; i < 2; ++i) {
+            TestPublisherSubscriber<Integer> subscriber2 = new TestPublisherSubscriber<>();
+            toSource(chain).subscribe(subscriber2);
+            subscriber2.awaitSubscription().request(4);
+            assertThat(subscriber2.takeOnNext(3), contains(2, 4, 6));
+            subscriber2.awaitOnComplete();
+        }
+    }
+
+    @Test
+    void nullItemsAreNotDropped() {
+        toSource(source.map(v -> (String) null).filter(v -> true)).subscribe(subscriber);
+        source.onSubscribe(new TestSubscription());
+
+        subscriber.awaitSubscription().request(2);
+        source.onNext(1, 2);
+        assertThat(subscriber.takeOnNext(2), contains((String) null, null));
+    }
+
+    @Test
+    void fusedPredicateThrows() {
+        toSource(source.map(String::valueOf).filter(v -> {
+            throw DELIBERATE_EXCEPTION;
+        })).subscribe(subscriber);
+        source.onSubscribe(new TestSubscription());
+
+        subscriber.awaitSubscription().request(1);
+        source.onNext(1);
+        assertThat(subscriber.awaitOnError(), sameInstance(DELIBERATE_EXCEPTION));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2019, 2021 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2019, 2021, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,10 +19,16 @@ import io.servicetalk.concurrent.test.internal.TestPublisherSubscriber;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static io.servicetalk.concurrent.internal.DeliberateException.DELIBERATE_EXCEPTION;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 
 class MapPublisherTest {
 
@@ -44,4 +50,41 @@ class MapPublisherTest {
         source.onNext(1, 2);
         assertThat(subscriber.takeOnNext(2), contains((Integer) null, null));
     }
+
+    @Test
+    void consecutiveMapsAreFused() {
+        List<String> observed = new ArrayList<>();
+        Publisher<String> map = source.map(v -> v + 1)
+                .beforeOnNext(v -> observed.add("before " + v))
+                .map(v -> v * 2)
+                .whenOnNext(v -> observed.add("when " + v))
+                .map(String::valueOf);
+        assertThat(map, instanceOf(MapPublisher.class));
+        assertThat(((MapPublisher<?, ?>) map).original(), sameInstance(source));
+
+        toSource(map).subscribe(subscriber);
+        TestSubscription subscription = new TestSubscription();
+        source.onSubscribe(subscription);
+
+        subscriber.awaitSubscription().request(2);
+        assertThat(subscription.requested(), is((long) 2));
+        source.onNext(1, 2);
+        assertThat(subscriber.takeOnNext(2), contains("4", "6"));
+        assertThat(observed, contains("before 2", "when 4", "before 3", "when 6"));
+        source.onComplete();
+        subscriber.awaitOnComplete();
+    }
+
+    @Test
+    void fusedMapperThrows() {
+        toSource(source.map(v -> v + 1).<String>map(v -> {
+            throw DELIBERATE_EXCEPTION;
+        })).subscribe(subscriber);
+        TestSubscription subscription = new TestSubscription();
+        source.onSubscribe(subscription);
+
+        subscriber.awaitSubscription().request(1);
+        source.onNext(1);
+        assertThat(subscriber.awaitOnError(), sameInstance(DELIBERATE_EXCEPTION));
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.PublisherSource.Subscriber;
+import io.servicetalk.concurrent.PublisherSource.Subscription;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PublishOnBatchingTest {
+
+    private final TestPublisher<Integer> publisher = new TestPublisher.Builder<Integer>()
+            .disableAutoOnSubscribe().build();
+    private final TestSubscription subscription = new TestSubscription();
+    private final TestExecutor executor = new TestExecutor();
+    private final List<Long> upstreamRequests = new CopyOnWriteArrayList<>();
+    private final RequestOnNextSubscriber subscriber = new RequestOnNextSubscriber();
+
+    private void subscribe(int maxSignalsPerTask) {
+        toSource(publisher.beforeRequest(upstreamRequests::add)
+                .publishOn(executor, () -> true, maxSignalsPerTask)).subscribe(subscriber);
+        publisher.onSubscribe(subscription);
+        executor.executeNextTask();
+        assertThat(upstreamRequests, contains(3L));
+    }
+
+    @Test
+    void requestNIsCoalesced() {
+        subscribe(16);
+        publisher.onNext(1, 2, 3);
+        // All items are delivered by a single task.
+        assertThat(executor.queuedTasksPending(), is(1));
+        executor.executeNextTask();
+        assertThat(subscriber.items, contains(1, 2, 3));
+        // Each item requested one more, which arrives upstream as a single request.
+        assertThat(upstreamRequests, contains(3L, 3L));
+        assertThat(subscription.requested(), is(6L));
+        publisher.onComplete();
+        executor.executeNextTask();
+        assertThat(subscriber.terminated, is(true));
+    }
+
+    @Test
+    void maxSignalsPerTask() {
+        subscribe(2);
+        publisher.onNext(1, 2, 3);
+        executor.executeNextTask();
+        assertThat(subscriber.items, contains(1, 2));
+        // Demand is requested before the remaining items are handed over to a new task.
+        assertThat(upstreamRequests, contains(3L, 2L));
+        assertThat(executor.queuedTasksPending(), is(1));
+        executor.executeNextTask();
+        assertThat(subscriber.items, contains(1, 2, 3));
+        assertThat(upstreamRequests, contains(3L, 2L, 1L));
+        assertThat(executor.queuedTasksPending(), is(0));
+    }
+
+    @Test
+    void requestsOutsideOfDeliveryAreNotDelayed() {
+        subscribe(16);
+        final Subscription s = subscriber.subscription;
+        assertThat(s, is(notNullValue()));
+        s.request(5);
+        assertThat(upstreamRequests, contains(3L, 5L));
+    }
+
+    @Test
+    void invalidMaxSignalsPerTask() {
+        assertThrows(IllegalArgumentException.class, () -> publisher.publishOn(executor, () -> true, 0));
+    }
+
+    private static final class RequestOnNextSubscriber implements Subscriber<Integer> {
+        final List<Integer> items = new CopyOnWriteArrayList<>();
+        @Nullable
+        Subscription subscription;
+        volatile boolean terminated;
+
+        @Override
+        public void onSubscribe(final Subscription s) {
+            subscription = s;
+            s.request(1);
+            s.request(2);
+        }
+
+        @Override
+        public void onNext(@Nullable final Integer integer) {
+            items.add(integer);
+            assert subscription != null;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            terminated = true;
+        }
+
+        @Override
+        public void onComplete() {
+            terminated = true;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2019, 2021 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2019, 2021, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import java.util.Spliterator;
 import java.util.concurrent.TimeoutException;
 
 import static io.servicetalk.concurrent.api.Publisher.from;
+import static java.time.Duration.ofMillis;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.StreamSupport.stream;
@@ -373,6 +374,67 @@ final class PublisherAsBlockingIterableTest {
         assertThat("Unexpected item found.", iterator.next(), is(nullValue()));
     }
 
+    @Test
+    void itemsFromOtherThreadAreReturned() throws Exception {
+        Executor executor = Executors.newCachedThreadExecutor();
+        try {
+            int sum = 0;
+            for (Integer item : Publisher.range(0, 10_000).publishOn(executor).toIterable()) {
+                sum += item;
+            }
+            assertThat("Unexpected sum of items.", sum, is(49_995_000));
+        } finally {
+            executor.closeAsync().toFuture().get();
+        }
+    }
+
+    @Test
+    void slowItemsFromOtherThreadAreReturned() throws Exception {
+        Executor executor = Executors.newCachedThreadExecutor();
+        try {
+            List<Integer> result = new ArrayList<>();
+            for (Integer item : Publisher.range(0, 5).publishOn(executor)
+                    .flatMapConcatSingle(i -> executor.timer(ofMillis(10)).concat(Single.succeeded(i))).toIterable()) {
+                result.add(item);
+            }
+            assertThat("Unexpected items.", result, contains(0, 1, 2, 3, 4));
+        } finally {
+            executor.closeAsync().toFuture().get();
+        }
+    }
+
+    @Test
+    void interruptWhileWaiting() {
+        Iterator<Integer> iterator = source.toIterable().iterator();
+        TestSubscription subscription = new TestSubscription();
+        source.onSubscribe(subscription);
+        Thread.currentThread().interrupt();
+        try {
+            assertThat("Item expected but not found.", iterator.hasNext(), is(true));
+            assertThrows(InterruptedException.class, iterator::next);
+            assertThat("Subscription not cancelled.", subscription.isCancelled(), is(true));
+        } finally {
+            assertThat("Interrupt flag not restored.", Thread.interrupted(), is(true));
+        }
+    }
+
+    @Test
+    void interruptWithQueuedItem() {
+        Iterator<Integer> iterator = source.toIterable().iterator();
+        TestSubscription subscription = new TestSubscription();
+        source.onSubscribe(subscription);
+        source.onNext(1);
+        Thread.currentThread().interrupt();
+        try {
+            // Like BlockingQueue.take(), an interrupt is reported even if an item is available.
+            assertThat("Item expected but not found.", iterator.hasNext(), is(true));
+            assertThrows(InterruptedException.class, iterator::next);
+            assertThat("Subscription not cancelled.", subscription.isCancelled(), is(true));
+        } finally {
+            assertThat("Interrupt flag not restored.", Thread.interrupted(), is(true));
+        }
+    }
+
     private void verifyNextIs(final Iterator<Integer> iterator, final int expected) {
         assertThat("Item expected but not found.", iterator.hasNext(), is(true));
         assertThat("Unexpected item found.", iterator.next(), is(expected));
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2022 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2022-2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,16 +15,22 @@
  */
 package io.servicetalk.concurrent.api;
 
+import io.servicetalk.concurrent.api.PublisherFlatMapConcatUtils.OrderedMapper;
+import io.servicetalk.concurrent.api.PublisherFlatMapConcatUtils.OrderedSingle;
 import io.servicetalk.concurrent.test.internal.TestPublisherSubscriber;
 import io.servicetalk.context.api.ContextMap;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 
@@ -33,9 +39,13 @@ import static io.servicetalk.concurrent.api.Single.succeeded;
 import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
 import static io.servicetalk.concurrent.internal.DeliberateException.DELIBERATE_EXCEPTION;
 import static java.time.Duration.ofMillis;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
 
@@ -128,6 +138,36 @@ class PublisherFlatMapConcatSingleTest {
         subscription.awaitCancelled();
     }
 
+    @ParameterizedTest(name = "{displayName} [{index}] delayError={0}")
+    @ValueSource(booleans = {true, false})
+    void reorderBufferBoundedByMaxConcurrency(boolean delayError) {
+        TestPublisher<Integer> source = new TestPublisher.Builder<Integer>().disableAutoOnSubscribe().build(
+                subscriber1 -> {
+            subscriber1.onSubscribe(subscription);
+            return subscriber1;
+        });
+        final List<TestSingle<String>> singles = new ArrayList<>();
+        toSource(concatSingle(source, i -> {
+            TestSingle<String> single = new TestSingle<>();
+            singles.add(single);
+            return single;
+        }, 3, delayError)).subscribe(subscriber);
+        subscriber.awaitSubscription().request(10);
+        assertThat(subscription.requested(), equalTo(3L));
+        source.onNext(0, 1, 2);
+        // Results after a pending result are buffered and keep counting against the concurrency.
+        singles.get(1).onSuccess("1x");
+        singles.get(2).onSuccess("2x");
+        assertThat(subscriber.pollOnNext(10, MILLISECONDS), is(nullValue()));
+        assertThat(subscription.requested(), equalTo(3L));
+
+        singles.get(0).onSuccess("0x");
+        assertThat(subscriber.takeOnNext(3), contains("0x", "1x", "2x"));
+        assertThat(subscription.requested(), equalTo(6L));
+        source.onComplete();
+        subscriber.awaitOnComplete();
+    }
+
     @ParameterizedTest(name = "{displayName} [{index}] delayError={0}")
     @ValueSource(booleans = {true, false})
     void singleTerminalThrows(boolean delayError) {
@@ -163,6 +203,14 @@ class PublisherFlatMapConcatSingleTest {
         subscriber.awaitOnComplete();
     }
 
+    @Test
+    void mappedSingleSharesContextWithoutWrapping() {
+        final Single<String> mapped = new OrderedMapper<Integer, String>(i -> succeeded(i + "x"),
+                new ArrayDeque<>()).apply(0);
+        assertThat(mapped, instanceOf(OrderedSingle.class));
+        assertThat(mapped.contextForSubscribe(AsyncContext.provider()), sameInstance(AsyncContext.context()));
+    }
+
     private static Duration getDuration() {
         // Introduce randomness to increase the likelihood of out of order task completion.
         return ofMillis(ThreadLocalRandom.current().nextInt(5));
@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.context.api.ContextMap;
+
+import org.junit.jupiter.api.Test;
+
+import static io.servicetalk.concurrent.api.Executors.isVirtualThreadExecutorSupported;
+import static io.servicetalk.concurrent.api.Executors.newVirtualThreadExecutor;
+import static io.servicetalk.context.api.ContextMap.Key.newKey;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadExecutorTest {
+    private static final ContextMap.Key<String> KEY = newKey("key", String.class);
+
+    @Test
+    void tasksRunOnVirtualThreadsWithAsyncContext() throws Exception {
+        assumeTrue(isVirtualThreadExecutorSupported(), "virtual threads require JDK 21+");
+        final Executor executor = newVirtualThreadExecutor("virtual-test-");
+        try {
+            AsyncContext.put(KEY, "value");
+            assertThat(executor.submit(() -> Thread.currentThread().getName()).toFuture().get(),
+                    startsWith("virtual-test-"));
+            assertThat(Single.fromCallable(() -> AsyncContext.get(KEY)).subscribeOn(executor).toFuture().get(),
+                    is("value"));
+        } finally {
+            AsyncContext.remove(KEY);
+            executor.closeAsync().toFuture().get();
+        }
+    }
+
+    @Test
+    void unsupportedJvm() {
+        assumeFalse(isVirtualThreadExecutorSupported());
+        assertThrows(UnsupportedOperationException.class, Executors::newVirtualThreadExecutor);
+    }
+}
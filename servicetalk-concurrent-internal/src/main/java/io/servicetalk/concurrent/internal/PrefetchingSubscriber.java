@@ -0,0 +1,273 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.internal;
+
+import io.servicetalk.concurrent.PublisherSource.Subscriber;
+import io.servicetalk.concurrent.PublisherSource.Subscription;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.internal.SubscriberUtils.checkDuplicateSubscription;
+import static io.servicetalk.concurrent.internal.SubscriberUtils.isRequestNValid;
+import static io.servicetalk.concurrent.internal.SubscriberUtils.newExceptionForInvalidRequestN;
+import static io.servicetalk.concurrent.internal.TerminalNotification.complete;
+import static io.servicetalk.concurrent.internal.TerminalNotification.error;
+import static io.servicetalk.utils.internal.PlatformDependent.newSpscQueue;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Subscriber} which requests items from its {@link Subscription} in batches, independent of the demand of its
+ * delegate {@link Subscriber}, and queues them until they are requested by the delegate.
+ * <p>
+ * Initially {@code prefetch} items are requested. Each time the delegate consumed {@code replenishThreshold} items,
+ * the same amount is requested again, so there are never more than {@code prefetch} items outstanding or queued. This
+ * avoids a {@link Subscription#request(long)} call to the {@link Subscription} for each
+ * {@link Subscription#request(long)} call of the delegate, e.g. if the delegate requests one item at a time.
+ * <p>
+ * Terminal signals are delivered to the delegate after all queued items, except for the error caused by an invalid
+ * {@link Subscription#request(long)} of the delegate.
+ *
+ * @param <T> Type of items.
+ */
+public final class PrefetchingSubscriber<T> implements Subscriber<T>, Subscription {
+    private static final Object NULL_ITEM = new Object();
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<PrefetchingSubscriber> wipUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(PrefetchingSubscriber.class, "wip");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<PrefetchingSubscriber> requestedUpdater =
+            AtomicLongFieldUpdater.newUpdater(PrefetchingSubscriber.class, "requested");
+
+    private final Subscriber<? super T> delegate;
+    private final int prefetch;
+    private final int replenishThreshold;
+    private final Queue<Object> queue;
+    @Nullable
+    private Subscription subscription;
+    @Nullable
+    private TerminalNotification terminal;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    @Nullable
+    private volatile Throwable invalidRequestNError;
+    private volatile int wip;
+    private volatile long requested;
+    // Only accessed while wip is acquired.
+    private int consumed;
+
+    /**
+     * Create a new instance.
+     *
+     * @param delegate The {@link Subscriber} to deliver items to.
+     * @param prefetch The number of items to request before the delegate requested any items.
+     * @param replenishThreshold The number of items consumed by the delegate after which the same number of items are
+     * requested again.
+     */
+    public PrefetchingSubscriber(final Subscriber<? super T> delegate, final int prefetch,
+                                 final int replenishThreshold) {
+        validatePrefetch(prefetch, replenishThreshold);
+        this.delegate = requireNonNull(delegate);
+        this.prefetch = prefetch;
+        this.replenishThreshold = replenishThreshold;
+        // Start with a small capacity as prefetch can be large.
+        queue = newSpscQueue(min(16, prefetch), prefetch);
+    }
+
+    /**
+     * Validates the arguments of {@link #PrefetchingSubscriber(Subscriber, int, int)}.
+     *
+     * @param prefetch The number of items to request before the delegate requested any items.
+     * @param replenishThreshold The number of items consumed by the delegate after which the same number of items are
+     * requested again.
+     * @throws IllegalArgumentException if {@code prefetch} is not positive or {@code replenishThreshold} is not in the
+     * range {@code (0, prefetch]}.
+     */
+    public static void validatePrefetch(final int prefetch, final int replenishThreshold) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch: " + prefetch + " (expected > 0)");
+        }
+        if (replenishThreshold <= 0 || replenishThreshold > prefetch) {
+            throw new IllegalArgumentException("replenishThreshold: " + replenishThreshold +
+                    " (expected > 0 and <= prefetch " + prefetch + ")");
+        }
+    }
+
+    @Override
+    public void onSubscribe(final Subscription s) {
+        if (checkDuplicateSubscription(subscription, s)) {
+            subscription = ConcurrentSubscription.wrap(s);
+            delegate.onSubscribe(this);
+            subscription.request(prefetch);
+        }
+    }
+
+    @Override
+    public void onNext(@Nullable final T t) {
+        if (wipUpdater.compareAndSet(this, 0, 1)) {
+            final long r = requested;
+            if (r != 0 && queue.isEmpty() && !cancelled && invalidRequestNError == null) {
+                // Nothing is queued and the delegate has demand, deliver the item without the queue.
+                if (r != Long.MAX_VALUE) {
+                    requestedUpdater.decrementAndGet(this);
+                }
+                delegate.onNext(t);
+                itemConsumed();
+                final int missed = wipUpdater.decrementAndGet(this);
+                if (missed != 0) {
+                    drainLoop(missed);
+                }
+            } else {
+                offer(t);
+                drainLoop(1);
+            }
+        } else {
+            offer(t);
+            drain();
+        }
+    }
+
+    private void offer(@Nullable final T t) {
+        if (!queue.offer(t == null ? NULL_ITEM : t)) {
+            assert subscription != null;
+            subscription.cancel();
+            if (!done) {
+                terminal = error(new QueueFullException("prefetch", prefetch));
+                done = true;
+            }
+        }
+    }
+
+    @Override
+    public void onError(final Throwable t) {
+        if (!done) {
+            terminal = error(t);
+            done = true;
+            drain();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (!done) {
+            terminal = complete();
+            done = true;
+            drain();
+        }
+    }
+
+    @Override
+    public void request(final long n) {
+        assert subscription != null;
+        if (!isRequestNValid(n)) {
+            // The delegate can't consume queued items anymore, deliver the error without waiting for them.
+            invalidRequestNError = newExceptionForInvalidRequestN(n);
+            subscription.cancel();
+            drain();
+            return;
+        }
+        requestedUpdater.accumulateAndGet(this, n, FlowControlUtils::addWithOverflowProtection);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        assert subscription != null;
+        cancelled = true;
+        try {
+            subscription.cancel();
+        } finally {
+            drain();
+        }
+    }
+
+    private void drain() {
+        if (wipUpdater.getAndIncrement(this) == 0) {
+            drainLoop(1);
+        }
+    }
+
+    private void drainLoop(int missed) {
+        for (;;) {
+            final long r = requested;
+            long emitted = 0;
+            for (;;) {
+                if (cancelled) {
+                    queue.clear();
+                    return;
+                }
+                final Throwable invalidRequestNCause = invalidRequestNError;
+                if (invalidRequestNCause != null) {
+                    cancelled = true;
+                    queue.clear();
+                    delegate.onError(invalidRequestNCause);
+                    return;
+                }
+                // Read done before polling, so an empty queue means there are no more items.
+                final boolean isDone = done;
+                if (emitted == r) {
+                    if (isDone && queue.isEmpty()) {
+                        terminate();
+                        return;
+                    }
+                    break;
+                }
+                final Object item = queue.poll();
+                if (item == null) {
+                    if (isDone) {
+                        terminate();
+                        return;
+                    }
+                    break;
+                }
+                ++emitted;
+                delegate.onNext(unwrapItem(item));
+                itemConsumed();
+            }
+            if (emitted != 0 && r != Long.MAX_VALUE) {
+                requestedUpdater.addAndGet(this, -emitted);
+            }
+            missed = wipUpdater.addAndGet(this, -missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private T unwrapItem(final Object item) {
+        return item == NULL_ITEM ? null : (T) item;
+    }
+
+    private void itemConsumed() {
+        if (++consumed == replenishThreshold) {
+            consumed = 0;
+            assert subscription != null;
+            subscription.request(replenishThreshold);
+        }
+    }
+
+    private void terminate() {
+        // Prevent any further delivery, wip is never decremented again.
+        cancelled = true;
+        assert terminal != null;
+        terminal.terminate(delegate);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Utilities for threads which busy spin while waiting for a signal from another thread.
+ */
+public final class SpinWaitUtils {
+    /**
+     * {@code true} if busy spinning can help to receive a signal sooner. The other thread can't make progress while we
+     * spin on a single CPU, so there should be no spinning in that case.
+     */
+    public static final boolean SPINNING_ENABLED = Runtime.getRuntime().availableProcessors() > 1;
+
+    private static final MethodHandle ON_SPIN_WAIT = onSpinWaitHandle();
+
+    private SpinWaitUtils() {
+        // No instances.
+    }
+
+    /**
+     * Hints the processor that the caller is in a spin loop, see {@code Thread.onSpinWait()}. Does nothing on JDKs
+     * which don't provide the hint.
+     */
+    public static void onSpinWait() {
+        try {
+            ON_SPIN_WAIT.invokeExact();
+        } catch (Throwable ignored) {
+            // Neither Thread.onSpinWait() nor the no-op fallback throw.
+        }
+    }
+
+    private static MethodHandle onSpinWaitHandle() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Thread.class, "onSpinWait", methodType(void.class));
+        } catch (Throwable ignored) {
+            // Not available before Java 9.
+        }
+        try {
+            return MethodHandles.lookup().findStatic(SpinWaitUtils.class, "noSpinWaitHint", methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static void noSpinWaitHint() {
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.internal;
+
+import static io.servicetalk.concurrent.internal.SpinWaitUtils.SPINNING_ENABLED;
+import static io.servicetalk.concurrent.internal.SpinWaitUtils.onSpinWait;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Decides how a thread waits for a signal from another thread: it first spins, then yields and only parks if the
+ * signal still didn't arrive. Parking and unparking a thread takes several microseconds, which dominates the handoff of
+ * small items between a producer and a consumer that operate at a similar rate.
+ * <p>
+ * The number of spins adapts to previous waits. It grows if a wait ended without parking and shrinks if the thread had
+ * to park, so a thread that mostly waits for a slow producer doesn't waste CPU.
+ * <p>
+ * Not thread-safe, each waiting thread is expected to use its own instance.
+ */
+public final class SpinYieldParkStrategy {
+    /**
+     * Upper bound for the number of spins before yielding. There is no spinning or yielding unless
+     * {@link SpinWaitUtils#SPINNING_ENABLED}.
+     */
+    private static final int MAX_SPINS = SPINNING_ENABLED ? 1024 : 0;
+    private static final int MIN_SPINS = min(MAX_SPINS, 16);
+    private static final int YIELDS = MAX_SPINS == 0 ? 0 : 8;
+
+    private int spins = MAX_SPINS >>> 2;
+
+    /**
+     * Waits without parking for the {@code iteration}th time of the current wait.
+     *
+     * @param iteration The number of times this method was called before for the current wait.
+     * @return {@code true} if the caller should check for the signal again, {@code false} if it should park.
+     */
+    public boolean idle(final int iteration) {
+        if (iteration < spins) {
+            onSpinWait();
+            return true;
+        }
+        if (iteration < spins + YIELDS) {
+            Thread.yield();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adapts the number of spins of the next wait after the current wait ended.
+     *
+     * @param parked {@code true} if the thread had to park during the current wait.
+     */
+    public void waitDone(final boolean parked) {
+        spins = parked ? max(MIN_SPINS, spins >>> 1) : min(MAX_SPINS, spins << 1);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2019, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,11 +17,13 @@ package io.servicetalk.concurrent.jdkflow;
 
 import io.servicetalk.concurrent.PublisherSource;
 import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.internal.PrefetchingSubscriber;
 
 import java.util.concurrent.Flow.Subscriber;
 import java.util.concurrent.Flow.Subscription;
 
 import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static io.servicetalk.concurrent.internal.PrefetchingSubscriber.validatePrefetch;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -45,7 +47,31 @@ public final class JdkFlowAdapters {
      * @return A {@link Publisher} representation of the passed {@link java.util.concurrent.Flow.Publisher}.
      */
     public static <T> Publisher<T> fromFlowPublisher(java.util.concurrent.Flow.Publisher<T> source) {
-        return new FlowToStPublisher<>(source);
+        return new FlowToStPublisher<>(source, 0, 0);
+    }
+
+    /**
+     * Converts the passed <a href="https://docs.oracle.com/javase/9/docs/api/java/util/concurrent/Flow.html">JDK
+     * Flow</a> {@link java.util.concurrent.Flow.Publisher} to a {@link Publisher}, requesting items from the
+     * {@code source} in batches.
+     * <p>
+     * Initially {@code prefetch} items are requested from the {@code source}, and each time {@code replenishThreshold}
+     * items have been consumed by the {@link PublisherSource.Subscriber} of the returned {@link Publisher}, the same
+     * number of items is requested again. Items are queued until they are requested, so small requests from the
+     * {@link PublisherSource.Subscriber} (e.g. one item at a time) do not translate into a
+     * {@link Subscription#request(long)} call each.
+     *
+     * @param source {@link java.util.concurrent.Flow.Publisher} to convert to a {@link Publisher}.
+     * @param prefetch The maximum number of items outstanding from the {@code source} or queued.
+     * @param replenishThreshold The number of consumed items after which the same number of items are requested from
+     * the {@code source}, in the range {@code (0, prefetch]}.
+     * @param <T> Type of items emitted from the {@code source} and the returned {@link Publisher}.
+     * @return A {@link Publisher} representation of the passed {@link java.util.concurrent.Flow.Publisher}.
+     */
+    public static <T> Publisher<T> fromFlowPublisher(java.util.concurrent.Flow.Publisher<T> source,
+                                                     int prefetch, int replenishThreshold) {
+        validatePrefetch(prefetch, replenishThreshold);
+        return new FlowToStPublisher<>(source, prefetch, replenishThreshold);
     }
 
     /**
@@ -58,7 +84,31 @@ public final class JdkFlowAdapters {
      * @return A {@link java.util.concurrent.Flow.Publisher} representation of the passed {@link Publisher}.
      */
     public static <T> java.util.concurrent.Flow.Publisher<T> toFlowPublisher(Publisher<T> publisher) {
-        return new StToFlowPublisher<>(toSource(publisher));
+        return new StToFlowPublisher<>(toSource(publisher), 0, 0);
+    }
+
+    /**
+     * Converts the passed {@link Publisher} to a
+     * <a href="https://docs.oracle.com/javase/9/docs/api/java/util/concurrent/Flow.html">JDK Flow</a>
+     * {@link java.util.concurrent.Flow.Publisher}, requesting items from the {@code publisher} in batches.
+     * <p>
+     * Initially {@code prefetch} items are requested from the {@code publisher}, and each time
+     * {@code replenishThreshold} items have been consumed by the {@link Subscriber} of the returned
+     * {@link java.util.concurrent.Flow.Publisher}, the same number of items is requested again. Items are queued until
+     * they are requested, so small requests from the {@link Subscriber} (e.g. one item at a time) do not translate
+     * into a {@link PublisherSource.Subscription#request(long)} call each.
+     *
+     * @param publisher {@link Publisher} to convert to a {@link java.util.concurrent.Flow.Publisher}.
+     * @param prefetch The maximum number of items outstanding from the {@code publisher} or queued.
+     * @param replenishThreshold The number of consumed items after which the same number of items are requested from
+     * the {@code publisher}, in the range {@code (0, prefetch]}.
+     * @param <T> Type of items emitted from the {@code publisher} and the returned
+     * {@link java.util.concurrent.Flow.Publisher}.
+     * @return A {@link java.util.concurrent.Flow.Publisher} representation of the passed {@link Publisher}.
+     */
+    public static <T> java.util.concurrent.Flow.Publisher<T> toFlowPublisher(Publisher<T> publisher,
+                                                                             int prefetch, int replenishThreshold) {
+        return toFlowPublisher(toSource(publisher), prefetch, replenishThreshold);
     }
 
     /**
@@ -72,19 +122,45 @@ public final class JdkFlowAdapters {
      * @return A {@link java.util.concurrent.Flow.Publisher} representation of the passed {@link PublisherSource}.
      */
     public static <T> java.util.concurrent.Flow.Publisher<T> toFlowPublisher(PublisherSource<T> source) {
-        return new StToFlowPublisher<>(source);
+        return new StToFlowPublisher<>(source, 0, 0);
+    }
+
+    /**
+     * Converts the passed {@link PublisherSource} to a
+     * <a href="https://docs.oracle.com/javase/9/docs/api/java/util/concurrent/Flow.html">JDK Flow</a>
+     * {@link java.util.concurrent.Flow.Publisher}, requesting items from the {@code source} in batches.
+     *
+     * @param source {@link PublisherSource} to convert to a {@link java.util.concurrent.Flow.Publisher}.
+     * @param prefetch The maximum number of items outstanding from the {@code source} or queued.
+     * @param replenishThreshold The number of consumed items after which the same number of items are requested from
+     * the {@code source}, in the range {@code (0, prefetch]}.
+     * @param <T> Type of items emitted from the {@code source} and the returned
+     * {@link java.util.concurrent.Flow.Publisher}.
+     * @return A {@link java.util.concurrent.Flow.Publisher} representation of the passed {@link PublisherSource}.
+     * @see #toFlowPublisher(Publisher, int, int)
+     */
+    public static <T> java.util.concurrent.Flow.Publisher<T> toFlowPublisher(PublisherSource<T> source,
+                                                                             int prefetch, int replenishThreshold) {
+        validatePrefetch(prefetch, replenishThreshold);
+        return new StToFlowPublisher<>(source, prefetch, replenishThreshold);
     }
 
     private static final class StToFlowPublisher<T> implements java.util.concurrent.Flow.Publisher<T> {
         private final PublisherSource<T> source;
+        private final int prefetch;
+        private final int replenishThreshold;
 
-        StToFlowPublisher(final PublisherSource<T> source) {
+        StToFlowPublisher(final PublisherSource<T> source, final int prefetch, final int replenishThreshold) {
             this.source = requireNonNull(source);
+            this.prefetch = prefetch;
+            this.replenishThreshold = replenishThreshold;
         }
 
         @Override
         public void subscribe(final Subscriber<? super T> subscriber) {
-            source.subscribe(new FlowToStSubscriber<>(subscriber));
+            final FlowToStSubscriber<T> stSubscriber = new FlowToStSubscriber<>(subscriber);
+            source.subscribe(prefetch == 0 ? stSubscriber :
+                    new PrefetchingSubscriber<>(stSubscriber, prefetch, replenishThreshold));
         }
     }
 
@@ -128,14 +204,20 @@ public final class JdkFlowAdapters {
 
     private static final class FlowToStPublisher<T> extends Publisher<T> {
         private final java.util.concurrent.Flow.Publisher<T> source;
+        private final int prefetch;
+        private final int replenishThreshold;
 
-        FlowToStPublisher(final java.util.concurrent.Flow.Publisher<T> source) {
+        FlowToStPublisher(final java.util.concurrent.Flow.Publisher<T> source, final int prefetch,
+                          final int replenishThreshold) {
             this.source = requireNonNull(source);
+            this.prefetch = prefetch;
+            this.replenishThreshold = replenishThreshold;
         }
 
         @Override
         protected void handleSubscribe(final PublisherSource.Subscriber<? super T> subscriber) {
-            source.subscribe(new StToFlowSubscriber<>(subscriber));
+            source.subscribe(new StToFlowSubscriber<>(prefetch == 0 ? subscriber :
+                    new PrefetchingSubscriber<>(subscriber, prefetch, replenishThreshold)));
         }
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2019, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import io.servicetalk.concurrent.SingleSource;
 import io.servicetalk.concurrent.api.Completable;
 import io.servicetalk.concurrent.api.Publisher;
 import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.concurrent.internal.PrefetchingSubscriber;
 
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
@@ -29,6 +30,7 @@ import javax.annotation.Nullable;
 
 import static io.servicetalk.concurrent.api.SourceAdapters.fromSource;
 import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static io.servicetalk.concurrent.internal.PrefetchingSubscriber.validatePrefetch;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -51,7 +53,31 @@ public final class ReactiveStreamsAdapters {
      * @return A {@link Publisher} representation of the passed {@link org.reactivestreams.Publisher}.
      */
     public static <T> Publisher<T> fromReactiveStreamsPublisher(org.reactivestreams.Publisher<T> source) {
-        return new RsToStPublisher<>(source);
+        return new RsToStPublisher<>(source, 0, 0);
+    }
+
+    /**
+     * Converts the passed <a href="https://github.com/reactive-streams/reactive-streams-jvm">Reactive Streams</a>
+     * {@link org.reactivestreams.Publisher} to a {@link Publisher}, requesting items from the {@code source} in
+     * batches.
+     * <p>
+     * Initially {@code prefetch} items are requested from the {@code source}, and each time {@code replenishThreshold}
+     * items have been consumed by the {@link PublisherSource.Subscriber} of the returned {@link Publisher}, the same
+     * number of items is requested again. Items are queued until they are requested, so small requests from the
+     * {@link PublisherSource.Subscriber} (e.g. one item at a time) do not translate into a
+     * {@link Subscription#request(long)} call each.
+     *
+     * @param source {@link org.reactivestreams.Publisher} to convert to a {@link Publisher}.
+     * @param prefetch The maximum number of items outstanding from the {@code source} or queued.
+     * @param replenishThreshold The number of consumed items after which the same number of items are requested from
+     * the {@code source}, in the range {@code (0, prefetch]}.
+     * @param <T> Type of items emitted from the {@code source} and the returned {@link Publisher}.
+     * @return A {@link Publisher} representation of the passed {@link org.reactivestreams.Publisher}.
+     */
+    public static <T> Publisher<T> fromReactiveStreamsPublisher(org.reactivestreams.Publisher<T> source,
+                                                                int prefetch, int replenishThreshold) {
+        validatePrefetch(prefetch, replenishThreshold);
+        return new RsToStPublisher<>(source, prefetch, replenishThreshold);
     }
 
     /**
@@ -64,7 +90,32 @@ public final class ReactiveStreamsAdapters {
      * @return A {@link org.reactivestreams.Publisher} representation of the passed {@link Publisher}.
      */
     public static <T> org.reactivestreams.Publisher<T> toReactiveStreamsPublisher(Publisher<T> publisher) {
-        return new StToRsPublisher<>(toSource(publisher));
+        return new StToRsPublisher<>(toSource(publisher), 0, 0);
+    }
+
+    /**
+     * Converts the passed {@link Publisher} to a
+     * <a href="https://github.com/reactive-streams/reactive-streams-jvm">Reactive Streams</a>
+     * {@link org.reactivestreams.Publisher}, requesting items from the {@code publisher} in batches.
+     * <p>
+     * Initially {@code prefetch} items are requested from the {@code publisher}, and each time
+     * {@code replenishThreshold} items have been consumed by the {@link Subscriber} of the returned
+     * {@link org.reactivestreams.Publisher}, the same number of items is requested again. Items are queued until they
+     * are requested, so small requests from the {@link Subscriber} (e.g. one item at a time) do not translate into a
+     * {@link PublisherSource.Subscription#request(long)} call each.
+     *
+     * @param publisher {@link Publisher} to convert to a {@link org.reactivestreams.Publisher}.
+     * @param prefetch The maximum number of items outstanding from the {@code publisher} or queued.
+     * @param replenishThreshold The number of consumed items after which the same number of items are requested from
+     * the {@code publisher}, in the range {@code (0, prefetch]}.
+     * @param <T> Type of items emitted from the {@code publisher} and the returned
+     * {@link org.reactivestreams.Publisher}.
+     * @return A {@link org.reactivestreams.Publisher} representation of the passed {@link Publisher}.
+     */
+    public static <T> org.reactivestreams.Publisher<T> toReactiveStreamsPublisher(Publisher<T> publisher,
+                                                                                  int prefetch,
+                                                                                  int replenishThreshold) {
+        return toReactiveStreamsPublisher(toSource(publisher), prefetch, replenishThreshold);
     }
 
     /**
@@ -77,7 +128,27 @@ public final class ReactiveStreamsAdapters {
      * @return A {@link org.reactivestreams.Publisher} representation of the passed {@link PublisherSource}.
      */
     public static <T> org.reactivestreams.Publisher<T> toReactiveStreamsPublisher(PublisherSource<T> source) {
-        return new StToRsPublisher<>(source);
+        return new StToRsPublisher<>(source, 0, 0);
+    }
+
+    /**
+     * Converts the passed {@link PublisherSource} to a
+     * <a href="https://github.com/reactive-streams/reactive-streams-jvm">Reactive Streams</a>
+     * {@link org.reactivestreams.Publisher}, requesting items from the {@code source} in batches.
+     *
+     * @param source {@link PublisherSource} to convert to a {@link org.reactivestreams.Publisher}.
+     * @param prefetch The maximum number of items outstanding from the {@code source} or queued.
+     * @param replenishThreshold The number of consumed items after which the same number of items are requested from
+     * the {@code source}, in the range {@code (0, prefetch]}.
+     * @param <T> Type of items emitted from the {@code source} and the returned {@link org.reactivestreams.Publisher}.
+     * @return A {@link org.reactivestreams.Publisher} representation of the passed {@link PublisherSource}.
+     * @see #toReactiveStreamsPublisher(Publisher, int, int)
+     */
+    public static <T> org.reactivestreams.Publisher<T> toReactiveStreamsPublisher(PublisherSource<T> source,
+                                                                                  int prefetch,
+                                                                                  int replenishThreshold) {
+        validatePrefetch(prefetch, replenishThreshold);
+        return new StToRsPublisher<>(source, prefetch, replenishThreshold);
     }
 
     /**
@@ -130,14 +201,20 @@ public final class ReactiveStreamsAdapters {
 
     private static final class StToRsPublisher<T> implements org.reactivestreams.Publisher<T> {
         private final PublisherSource<T> source;
+        private final int prefetch;
+        private final int replenishThreshold;
 
-        StToRsPublisher(final PublisherSource<T> source) {
+        StToRsPublisher(final PublisherSource<T> source, final int prefetch, final int replenishThreshold) {
             this.source = requireNonNull(source);
+            this.prefetch = prefetch;
+            this.replenishThreshold = replenishThreshold;
         }
 
         @Override
         public void subscribe(final Subscriber<? super T> subscriber) {
-            source.subscribe(new RsToStSubscriber<>(subscriber));
+            final RsToStSubscriber<T> stSubscriber = new RsToStSubscriber<>(subscriber);
+            source.subscribe(prefetch == 0 ? stSubscriber :
+                    new PrefetchingSubscriber<>(stSubscriber, prefetch, replenishThreshold));
         }
     }
 
@@ -181,14 +258,20 @@ public final class ReactiveStreamsAdapters {
 
     private static final class RsToStPublisher<T> extends Publisher<T> {
         private final org.reactivestreams.Publisher<T> source;
+        private final int prefetch;
+        private final int replenishThreshold;
 
-        RsToStPublisher(final org.reactivestreams.Publisher<T> source) {
+        RsToStPublisher(final org.reactivestreams.Publisher<T> source, final int prefetch,
+                        final int replenishThreshold) {
             this.source = requireNonNull(source);
+            this.prefetch = prefetch;
+            this.replenishThreshold = replenishThreshold;
         }
 
         @Override
         protected void handleSubscribe(final PublisherSource.Subscriber<? super T> subscriber) {
-            source.subscribe(new StToRsSubscriber<>(subscriber));
+            source.subscribe(new StToRsSubscriber<>(prefetch == 0 ? subscriber :
+                    new PrefetchingSubscriber<>(subscriber, prefetch, replenishThreshold)));
         }
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2019, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -55,6 +55,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -258,6 +259,57 @@ class ReactiveStreamsAdaptersTest {
         verify(srcSubscription).cancel();
     }
 
+    @Test
+    void toRSPrefetch() {
+        TestPublisher<Integer> stPublisher = new TestPublisher<>();
+        io.servicetalk.concurrent.api.Publisher<Integer> source = stPublisher;
+        verifyPrefetch(stPublisher, toReactiveStreamsPublisher(source, 8, 6));
+    }
+
+    @Test
+    void fromRSPrefetch() {
+        TestPublisher<Integer> stPublisher = new TestPublisher<>();
+        io.servicetalk.concurrent.api.Publisher<Integer> source = stPublisher;
+        verifyPrefetch(stPublisher, toReactiveStreamsPublisher(
+                fromReactiveStreamsPublisher(toReactiveStreamsPublisher(source), 8, 6)));
+    }
+
+    @Test
+    void invalidPrefetch() {
+        io.servicetalk.concurrent.api.Publisher<Integer> stPublisher = from(1);
+        assertThrows(IllegalArgumentException.class, () -> toReactiveStreamsPublisher(stPublisher, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> toReactiveStreamsPublisher(stPublisher, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> toReactiveStreamsPublisher(stPublisher, 8, 9));
+        assertThrows(IllegalArgumentException.class,
+                () -> fromReactiveStreamsPublisher(toReactiveStreamsPublisher(stPublisher), 8, 9));
+    }
+
+    private static void verifyPrefetch(final TestPublisher<Integer> stPublisher,
+                                       final Publisher<Integer> rsPublisher) {
+        Subscriber<Integer> subscriber = subscribeToRSPublisher(rsPublisher, false);
+        ArgumentCaptor<Subscription> subscriptionCaptor = ArgumentCaptor.forClass(Subscription.class);
+        verify(subscriber).onSubscribe(subscriptionCaptor.capture());
+        TestSubscription subscription = new TestSubscription();
+        stPublisher.onSubscribe(subscription);
+        assertThat("Unexpected prefetch.", subscription.requested(), is(8L));
+
+        stPublisher.onNext(0, 1, 2, 3, 4, 5, 6, 7);
+        stPublisher.onComplete();
+        verify(subscriber, never()).onNext(any());
+        for (int i = 0; i < 6; ++i) {
+            subscriptionCaptor.getValue().request(1);
+            verify(subscriber).onNext(i);
+        }
+        assertThat("Unexpected replenish.", subscription.requested(), is(14L));
+        verify(subscriber, never()).onComplete();
+
+        subscriptionCaptor.getValue().request(2);
+        verify(subscriber).onNext(6);
+        verify(subscriber).onNext(7);
+        verify(subscriber).onComplete();
+        assertThat(subscription.requested(), is(14L));
+    }
+
     private static Subscriber<Integer> toRSPublisherAndSubscribe(
             final io.servicetalk.concurrent.api.Single<Integer> stSingle) {
         Publisher<Integer> rsPublisher = toReactiveStreamsPublisher(stSingle);
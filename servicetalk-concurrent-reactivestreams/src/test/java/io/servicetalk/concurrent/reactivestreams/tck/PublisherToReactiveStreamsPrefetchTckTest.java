@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.reactivestreams.tck;
+
+import org.reactivestreams.Publisher;
+import org.testng.annotations.Test;
+
+import static io.servicetalk.concurrent.reactivestreams.ReactiveStreamsAdapters.toReactiveStreamsPublisher;
+
+@Test
+public class PublisherToReactiveStreamsPrefetchTckTest extends AbstractTckTest<Integer> {
+    @Override
+    public Publisher<Integer> createPublisher(final long elements) {
+        return toReactiveStreamsPublisher(TckUtils.newPublisher(TckUtils.requestNToInt(elements)), 8, 6);
+    }
+
+    @Override
+    public Publisher<Integer> createFailedPublisher() {
+        return toReactiveStreamsPublisher(TckUtils.<Integer>newFailedPublisher(), 8, 6);
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        return TckUtils.maxElementsFromPublisher();
+    }
+}
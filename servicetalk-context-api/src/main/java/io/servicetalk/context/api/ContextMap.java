@@ -1,5 +1,5 @@
 /*
- * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2021, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -333,6 +333,9 @@ public interface ContextMap {
 
     /**
      * Iterate over the entries contained in this {@link ContextMap}.
+     * <p>
+     * The iteration order is unspecified, it doesn't have to match the insertion order and may change when entries are
+     * added or removed.
      *
      * @param consumer Each entry will be passed as key and value arguments to this {@link BiPredicate}. A consumer
      * predicate should return {@code true} if it wants to keep iterating or {@code false} to stop iteration at the
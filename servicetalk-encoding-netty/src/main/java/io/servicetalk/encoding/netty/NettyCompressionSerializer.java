@@ -1,5 +1,5 @@
 /*
- * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2021, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,9 @@ import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
 import static io.netty.util.internal.PlatformDependent.throwException;
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.Category.DECODER;
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.Category.ENCODER;
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.withCategory;
 import static io.servicetalk.buffer.netty.BufferUtils.extractByteBufOrCreate;
 import static io.servicetalk.buffer.netty.BufferUtils.getByteBufAllocator;
 import static io.servicetalk.buffer.netty.BufferUtils.toByteBuf;
@@ -54,7 +57,7 @@ final class NettyCompressionSerializer implements SerializerDeserializer<Buffer>
     public void serialize(final Buffer toSerialize, final BufferAllocator allocator, final Buffer buffer) {
         final ByteBuf nettyDst = toByteBuf(buffer);
         final MessageToByteEncoder<ByteBuf> encoder = encoderSupplier.get();
-        final EmbeddedChannel channel = newEmbeddedChannel(encoder, allocator);
+        final EmbeddedChannel channel = newEmbeddedChannel(encoder, withCategory(allocator, ENCODER));
         try {
             writeAndUpdateIndex(channel, toSerialize, false);
             // May produce footer
@@ -70,17 +73,19 @@ final class NettyCompressionSerializer implements SerializerDeserializer<Buffer>
 
     @Override
     public Buffer serialize(final Buffer toSerialize, final BufferAllocator allocator) {
-        Buffer buffer = allocator.newBuffer(toSerialize.readableBytes());
-        serialize(toSerialize, allocator, buffer);
+        final BufferAllocator encoderAllocator = withCategory(allocator, ENCODER);
+        Buffer buffer = encoderAllocator.newBuffer(toSerialize.readableBytes());
+        serialize(toSerialize, encoderAllocator, buffer);
         return buffer;
     }
 
     @Override
     public Buffer deserialize(final Buffer serializedData, final BufferAllocator allocator) {
-        final Buffer buffer = allocator.newBuffer(serializedData.readableBytes());
+        final BufferAllocator decoderAllocator = withCategory(allocator, DECODER);
+        final Buffer buffer = decoderAllocator.newBuffer(serializedData.readableBytes());
         final ByteBuf nettyDst = toByteBuf(buffer);
         final ByteToMessageDecoder decoder = decoderSupplier.get();
-        final EmbeddedChannel channel = newEmbeddedChannel(decoder, allocator);
+        final EmbeddedChannel channel = newEmbeddedChannel(decoder, decoderAllocator);
         try {
             writeAndUpdateIndex(channel, serializedData, true);
             drainChannelQueueToSingleBuffer(channel.inboundMessages(), nettyDst);
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2021, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,9 @@ import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
 import static io.servicetalk.buffer.api.ReadOnlyBufferAllocators.DEFAULT_RO_ALLOCATOR;
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.Category.DECODER;
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.Category.ENCODER;
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.withCategory;
 import static io.servicetalk.buffer.netty.BufferUtils.getByteBufAllocator;
 import static io.servicetalk.buffer.netty.BufferUtils.newBufferFrom;
 import static io.servicetalk.concurrent.api.Single.succeeded;
@@ -59,9 +62,10 @@ final class NettyCompressionStreamingSerializer implements StreamingSerializerDe
 
     @Override
     public Publisher<Buffer> deserialize(final Publisher<Buffer> serializedData, final BufferAllocator allocator) {
+        final BufferAllocator decoderAllocator = withCategory(allocator, DECODER);
         return serializedData.liftSync(subscriber -> new Subscriber<Buffer>() {
             private final ByteToMessageDecoder decoder = decoderSupplier.get();
-            private final EmbeddedChannel channel = newEmbeddedChannel(decoder, allocator);
+            private final EmbeddedChannel channel = newEmbeddedChannel(decoder, decoderAllocator);
             @Nullable
             private Subscription subscription;
 
@@ -81,7 +85,7 @@ final class NettyCompressionStreamingSerializer implements StreamingSerializerDe
 
                 try { // onNext will produce AT-MOST N items (as received)
                     writeAndUpdateIndex(channel, next, true);
-                    Buffer buffer = drainChannelQueueToSingleBuffer(channel.inboundMessages(), allocator);
+                    Buffer buffer = drainChannelQueueToSingleBuffer(channel.inboundMessages(), decoderAllocator);
                     if (buffer != null && buffer.readableBytes() > 0) {
                         subscriber.onNext(buffer);
                     } else { // Not enough data to decompress, ask for more
@@ -114,11 +118,12 @@ final class NettyCompressionStreamingSerializer implements StreamingSerializerDe
 
     @Override
     public Publisher<Buffer> serialize(final Publisher<Buffer> toSerialize, final BufferAllocator allocator) {
+        final BufferAllocator encoderAllocator = withCategory(allocator, ENCODER);
         return toSerialize
                 .concat(succeeded(END_OF_STREAM))
                 .liftSync(subscriber -> new Subscriber<Buffer>() {
                     private final MessageToByteEncoder<ByteBuf> encoder = encoderSupplier.get();
-                    private final EmbeddedChannel channel = newEmbeddedChannel(encoder, allocator);
+                    private final EmbeddedChannel channel = newEmbeddedChannel(encoder, encoderAllocator);
                     @Nullable
                     private Subscription subscription;
 
@@ -142,13 +147,15 @@ final class NettyCompressionStreamingSerializer implements StreamingSerializerDe
                             if (next == END_OF_STREAM) {
                                 // May produce footer
                                 preparePendingData(channel);
-                                Buffer buffer = drainChannelQueueToSingleBuffer(channel.outboundMessages(), allocator);
+                                Buffer buffer = drainChannelQueueToSingleBuffer(channel.outboundMessages(),
+                                        encoderAllocator);
                                 if (buffer != null) {
                                     subscriber.onNext(buffer);
                                 }
                             } else {
                                 writeAndUpdateIndex(channel, next, false);
-                                Buffer buffer = drainChannelQueueToSingleBuffer(channel.outboundMessages(), allocator);
+                                Buffer buffer = drainChannelQueueToSingleBuffer(channel.outboundMessages(),
+                                        encoderAllocator);
                                 if (buffer != null && buffer.readableBytes() > 0) {
                                     subscriber.onNext(buffer);
                                 } else {
@@ -0,0 +1,995 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.buffer.api.CharSequences.caseInsensitiveHashCode;
+import static io.servicetalk.buffer.api.CharSequences.contentEquals;
+import static io.servicetalk.buffer.api.CharSequences.contentEqualsIgnoreCase;
+import static io.servicetalk.http.api.DefaultHttpSetCookie.parseSetCookie;
+import static io.servicetalk.http.api.HeaderUtils.DEFAULT_HEADER_FILTER;
+import static io.servicetalk.http.api.HeaderUtils.domainMatches;
+import static io.servicetalk.http.api.HeaderUtils.isSetCookieNameMatches;
+import static io.servicetalk.http.api.HeaderUtils.parseCookiePair;
+import static io.servicetalk.http.api.HeaderUtils.pathMatches;
+import static io.servicetalk.http.api.HeaderUtils.removeCookiePairs;
+import static io.servicetalk.http.api.HeaderUtils.validateToken;
+import static io.servicetalk.http.api.HttpHeaderNames.COOKIE;
+import static io.servicetalk.http.api.HttpHeaderNames.SET_COOKIE;
+import static java.lang.Math.max;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.emptySet;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link HttpHeaders} implementation backed by parallel arrays of names, values and name hash codes.
+ * <p>
+ * Entries are kept in insertion order and looked up with a linear scan, which for the typical small number of headers
+ * is cheaper than maintaining a hash table. Once the number of entries reaches {@link #INDEX_THRESHOLD} a hashed index
+ * over the arrays is built on demand for name lookups. The index is dropped on removal and rebuilt on the next lookup.
+ */
+final class ArrayHttpHeaders implements HttpHeaders {
+    /**
+     * Number of entries from which name lookups go through a hashed index instead of a linear scan.
+     */
+    static final int INDEX_THRESHOLD = 16;
+    private static final int MIN_CAPACITY = 4;
+    private static final CharSequence[] EMPTY_SEQUENCES = new CharSequence[0];
+    private static final int[] EMPTY_INTS = new int[0];
+
+    private final boolean validateNames;
+    private final boolean validateCookies;
+    private final boolean validateValues;
+    private CharSequence[] names;
+    private CharSequence[] values;
+    private int[] hashes;
+    private int size;
+    private int modCount;
+    /**
+     * Heads of the index chains, each value is an entry index + 1 or {@code 0} for an empty bucket.
+     */
+    @Nullable
+    private int[] buckets;
+    /**
+     * Next entry in the index chain for each entry, encoded the same way as {@link #buckets}. Entries are linked in
+     * reverse insertion order.
+     */
+    private int[] chain = EMPTY_INTS;
+    /**
+     * The {@link HttpHeadersTemplate} these headers were created from, or {@code null} if the entries copied from the
+     * template have been modified since.
+     */
+    @Nullable
+    private HttpHeadersTemplate template;
+
+    /**
+     * Create a new instance.
+     *
+     * @param initialCapacity The initial number of entries to allocate space for.
+     * @param validateNames {@code true} to validate header names.
+     * @param validateCookies {@code true} to validate cookie contents when parsing.
+     * @param validateValues {@code true} to validate header values.
+     */
+    ArrayHttpHeaders(final int initialCapacity, final boolean validateNames, final boolean validateCookies,
+                     final boolean validateValues) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity: " + initialCapacity + " (expected >=0)");
+        }
+        this.validateNames = validateNames;
+        this.validateCookies = validateCookies;
+        this.validateValues = validateValues;
+        if (initialCapacity == 0) {
+            names = EMPTY_SEQUENCES;
+            values = EMPTY_SEQUENCES;
+            hashes = EMPTY_INTS;
+        } else {
+            names = new CharSequence[initialCapacity];
+            values = new CharSequence[initialCapacity];
+            hashes = new int[initialCapacity];
+        }
+    }
+
+    /**
+     * Create a new instance which starts with the entries of a {@link HttpHeadersTemplate}.
+     *
+     * @param template The {@link HttpHeadersTemplate} to start with.
+     * @param templateHeaders The entries of the {@code template}.
+     * @param extraCapacity The number of entries to allocate space for in addition to the {@code template} entries.
+     * @param validateNames {@code true} to validate header names.
+     * @param validateCookies {@code true} to validate cookie contents when parsing.
+     * @param validateValues {@code true} to validate header values.
+     */
+    ArrayHttpHeaders(final HttpHeadersTemplate template, final ArrayHttpHeaders templateHeaders,
+                     final int extraCapacity, final boolean validateNames, final boolean validateCookies,
+                     final boolean validateValues) {
+        this(templateHeaders.size + extraCapacity, validateNames, validateCookies, validateValues);
+        System.arraycopy(templateHeaders.names, 0, names, 0, templateHeaders.size);
+        System.arraycopy(templateHeaders.values, 0, values, 0, templateHeaders.size);
+        System.arraycopy(templateHeaders.hashes, 0, hashes, 0, templateHeaders.size);
+        size = templateHeaders.size;
+        this.template = template;
+    }
+
+    /**
+     * Returns the {@link HttpHeadersTemplate} these headers were created from if the entries copied from it are still
+     * unmodified, and therefore are the first {@link HttpHeadersTemplate#size()} entries of these headers.
+     *
+     * @return the unmodified {@link HttpHeadersTemplate} or {@code null}.
+     */
+    @Nullable
+    HttpHeadersTemplate template() {
+        return template;
+    }
+
+    /**
+     * Appends a name/value pair which was already validated.
+     *
+     * @param name The header name.
+     * @param value The header value.
+     */
+    void addValidated(final CharSequence name, final CharSequence value) {
+        append(name, value, caseInsensitiveHashCode(name));
+    }
+
+    @Nullable
+    @Override
+    public CharSequence get(final CharSequence name) {
+        final int i = firstIndexOf(name, caseInsensitiveHashCode(name));
+        return i < 0 ? null : values[i];
+    }
+
+    @Nullable
+    @Override
+    public CharSequence getAndRemove(final CharSequence name) {
+        final int hash = caseInsensitiveHashCode(name);
+        final int i = firstIndexOf(name, hash);
+        if (i < 0) {
+            return null;
+        }
+        final CharSequence value = values[i];
+        removeMatching(name, hash, null, false);
+        return value;
+    }
+
+    @Override
+    public Iterator<? extends CharSequence> valuesIterator(final CharSequence name) {
+        return new ValuesIterator(name);
+    }
+
+    @Override
+    public boolean contains(final CharSequence name, final CharSequence value) {
+        return contains(name, value, true);
+    }
+
+    @Override
+    public boolean containsIgnoreCase(final CharSequence name, final CharSequence value) {
+        return contains(name, value, false);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Set<? extends CharSequence> names() {
+        if (size == 0) {
+            return emptySet();
+        }
+        // Overall iteration order does not need to be preserved.
+        final Set<CharSequence> result = new HashSet<>((int) (size / .75), .75f);
+        for (int i = 0; i < size; ++i) {
+            result.add(names[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public HttpHeaders add(final CharSequence name, final CharSequence value) {
+        append(validateName(name), validateValue(value), caseInsensitiveHashCode(name));
+        return this;
+    }
+
+    @Override
+    public HttpHeaders add(final CharSequence name, final Iterable<? extends CharSequence> values) {
+        final int hash = caseInsensitiveHashCode(validateName(name));
+        for (CharSequence value : values) {
+            append(name, validateValue(value), hash);
+        }
+        return this;
+    }
+
+    @Override
+    public HttpHeaders add(final CharSequence name, final CharSequence... values) {
+        final int hash = caseInsensitiveHashCode(validateName(name));
+        for (CharSequence value : values) {
+            append(name, validateValue(value), hash);
+        }
+        return this;
+    }
+
+    @Override
+    public HttpHeaders add(final HttpHeaders headers) {
+        if (headers == this) {
+            return this;
+        }
+        if (headers instanceof ArrayHttpHeaders) {
+            final ArrayHttpHeaders rhs = (ArrayHttpHeaders) headers;
+            final boolean validate = validateNames && !rhs.validateNames || validateValues && !rhs.validateValues;
+            for (int i = 0; i < rhs.size; ++i) {
+                if (validate) {
+                    validateName(rhs.names[i]);
+                    validateValue(rhs.values[i]);
+                }
+                append(rhs.names[i], rhs.values[i], rhs.hashes[i]);
+            }
+        } else { // Slow copy
+            for (final Entry<? extends CharSequence, ? extends CharSequence> header : headers) {
+                add(header.getKey(), header.getValue());
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public HttpHeaders set(final CharSequence name, final CharSequence value) {
+        final int hash = caseInsensitiveHashCode(validateName(name));
+        validateValue(value);
+        removeMatching(name, hash, null, false);
+        append(name, value, hash);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders set(final CharSequence name, final Iterable<? extends CharSequence> values) {
+        final int hash = caseInsensitiveHashCode(validateName(name));
+        removeMatching(name, hash, null, false);
+        for (CharSequence value : values) {
+            append(name, validateValue(value), hash);
+        }
+        return this;
+    }
+
+    @Override
+    public HttpHeaders set(final CharSequence name, final CharSequence... values) {
+        final int hash = caseInsensitiveHashCode(validateName(name));
+        removeMatching(name, hash, null, false);
+        for (CharSequence value : values) {
+            append(name, validateValue(value), hash);
+        }
+        return this;
+    }
+
+    @Override
+    public boolean remove(final CharSequence name) {
+        return removeMatching(name, caseInsensitiveHashCode(name), null, false);
+    }
+
+    @Override
+    public boolean remove(final CharSequence name, final CharSequence value) {
+        return removeMatching(name, caseInsensitiveHashCode(name), value, true);
+    }
+
+    @Override
+    public boolean removeIgnoreCase(final CharSequence name, final CharSequence value) {
+        return removeMatching(name, caseInsensitiveHashCode(name), value, false);
+    }
+
+    @Override
+    public HttpHeaders clear() {
+        if (size != 0) {
+            Arrays.fill(names, 0, size, null);
+            Arrays.fill(values, 0, size, null);
+            size = 0;
+            buckets = null;
+            template = null;
+            ++modCount;
+        }
+        return this;
+    }
+
+    @Override
+    public Iterator<Entry<CharSequence, CharSequence>> iterator() {
+        return size == 0 ? emptyIterator() : new EntryIterator();
+    }
+
+    @Nullable
+    @Override
+    public HttpCookiePair getCookie(final CharSequence name) {
+        final Iterator<CharSequence> valueItr = new ValuesIterator(COOKIE);
+        while (valueItr.hasNext()) {
+            HttpCookiePair cookiePair = parseCookiePair(valueItr.next(), name);
+            if (cookiePair != null) {
+                return cookiePair;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public HttpSetCookie getSetCookie(final CharSequence name) {
+        final Iterator<CharSequence> valueItr = new ValuesIterator(SET_COOKIE);
+        while (valueItr.hasNext()) {
+            HttpSetCookie setCookie = HeaderUtils.parseSetCookie(valueItr.next(), name, validateCookies);
+            if (setCookie != null) {
+                return setCookie;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Iterator<? extends HttpCookiePair> getCookiesIterator() {
+        final Iterator<CharSequence> valueItr = new ValuesIterator(COOKIE);
+        return valueItr.hasNext() ? new CookiesIterator(valueItr) : emptyIterator();
+    }
+
+    @Override
+    public Iterator<? extends HttpCookiePair> getCookiesIterator(final CharSequence name) {
+        final Iterator<CharSequence> valueItr = new ValuesIterator(COOKIE);
+        return valueItr.hasNext() ? new CookiesByNameIterator(valueItr, name) : emptyIterator();
+    }
+
+    @Override
+    public Iterator<? extends HttpSetCookie> getSetCookiesIterator() {
+        final Iterator<CharSequence> valueItr = new ValuesIterator(SET_COOKIE);
+        return valueItr.hasNext() ? new SetCookiesIterator(valueItr) : emptyIterator();
+    }
+
+    @Override
+    public Iterator<? extends HttpSetCookie> getSetCookiesIterator(final CharSequence name) {
+        final Iterator<CharSequence> valueItr = new ValuesIterator(SET_COOKIE);
+        while (valueItr.hasNext()) {
+            HttpSetCookie setCookie = HeaderUtils.parseSetCookie(valueItr.next(), name, validateCookies);
+            if (setCookie != null) {
+                return new SetCookiesByNameIterator(valueItr, setCookie);
+            }
+        }
+        return emptyIterator();
+    }
+
+    @Override
+    public Iterator<? extends HttpSetCookie> getSetCookiesIterator(final CharSequence name, final CharSequence domain,
+                                                                   final CharSequence path) {
+        final Iterator<CharSequence> valueItr = new ValuesIterator(SET_COOKIE);
+        while (valueItr.hasNext()) {
+            // In the future we could attempt to delay full parsing of the cookie until after the domain/path have
+            // been matched, but for simplicity just do the parsing ahead of time.
+            HttpSetCookie setCookie = HeaderUtils.parseSetCookie(valueItr.next(), name, validateCookies);
+            if (setCookie != null && domainMatches(domain, setCookie.domain()) &&
+                    pathMatches(path, setCookie.path())) {
+                return new SetCookiesByNameDomainPathIterator(valueItr, setCookie, domain, path);
+            }
+        }
+        return emptyIterator();
+    }
+
+    @Override
+    public HttpHeaders addCookie(final HttpCookiePair cookie) {
+        // HTTP/1.x requires that all cookies/crumbs are combined into a single Cookie header.
+        // https://tools.ietf.org/html/rfc6265#section-5.4
+        final CharSequence encoded = cookie.encoded();
+        final int i = firstIndexOf(COOKIE, caseInsensitiveHashCode(COOKIE));
+        if (i < 0) {
+            add(COOKIE, encoded);
+        } else {
+            modifiedAt(i);
+            values[i] = values[i] + "; " + encoded;
+        }
+        return this;
+    }
+
+    @Override
+    public HttpHeaders addSetCookie(final HttpSetCookie cookie) {
+        add(SET_COOKIE, cookie.encoded());
+        return this;
+    }
+
+    @Override
+    public boolean removeCookies(final CharSequence name) {
+        final Iterator<CharSequence> valuesItr = new ValuesIterator(COOKIE);
+        List<CharSequence> cookiesToAdd = null;
+        final int sizeBefore = size();
+        while (valuesItr.hasNext()) {
+            CharSequence newHeaderValue = removeCookiePairs(valuesItr.next(), name);
+            if (newHeaderValue != null) {
+                if (newHeaderValue.length() != 0) {
+                    if (cookiesToAdd == null) {
+                        cookiesToAdd = new ArrayList<>(4);
+                    }
+                    cookiesToAdd.add(newHeaderValue);
+                }
+                valuesItr.remove();
+            }
+        }
+        if (cookiesToAdd != null) {
+            for (CharSequence cookies : cookiesToAdd) {
+                add(COOKIE, cookies);
+            }
+            return true;
+        }
+        return sizeBefore != size();
+    }
+
+    @Override
+    public boolean removeSetCookies(final CharSequence name) {
+        final int sizeBefore = size();
+        final Iterator<CharSequence> valueItr = new ValuesIterator(SET_COOKIE);
+        while (valueItr.hasNext()) {
+            if (isSetCookieNameMatches(valueItr.next(), name)) {
+                valueItr.remove();
+            }
+        }
+        return sizeBefore != size();
+    }
+
+    @Override
+    public boolean removeSetCookies(final CharSequence name, final CharSequence domain, final CharSequence path) {
+        final int sizeBefore = size();
+        final Iterator<CharSequence> valueItr = new ValuesIterator(SET_COOKIE);
+        while (valueItr.hasNext()) {
+            // In the future we could attempt to delay full parsing of the cookie until after the domain/path have
+            // been matched, but for simplicity just do the parsing ahead of time.
+            HttpSetCookie setCookie = HeaderUtils.parseSetCookie(valueItr.next(), name, false);
+            if (setCookie != null && domainMatches(domain, setCookie.domain()) &&
+                    pathMatches(path, setCookie.path())) {
+                valueItr.remove();
+            }
+        }
+        return sizeBefore != size();
+    }
+
+    @Override
+    public int hashCode() {
+        // Entries for different names may be interleaved differently in equal instances, so the hash code has to be
+        // independent of the overall order.
+        int result = 0;
+        for (int i = 0; i < size; ++i) {
+            result += 31 * hashes[i] + caseInsensitiveHashCode(values[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArrayHttpHeaders)) {
+            return false;
+        }
+        final ArrayHttpHeaders rhs = (ArrayHttpHeaders) o;
+        if (size != rhs.size) {
+            return false;
+        }
+        // Only the relative order of values for the same name is significant.
+        for (final CharSequence name : names()) {
+            final Iterator<? extends CharSequence> valueItr = valuesIterator(name);
+            final Iterator<? extends CharSequence> rhsValueItr = rhs.valuesIterator(name);
+            while (valueItr.hasNext() && rhsValueItr.hasNext()) {
+                if (!contentEquals(valueItr.next(), rhsValueItr.next())) {
+                    return false;
+                }
+            }
+            if (valueItr.hasNext() != rhsValueItr.hasNext()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return toString(DEFAULT_HEADER_FILTER);
+    }
+
+    private CharSequence validateName(@Nullable final CharSequence name) {
+        if (name == null || name.length() == 0) {
+            throw new IllegalArgumentException("Empty header names are not allowed");
+        }
+        if (validateNames) {
+            validateToken(name);
+        }
+        return name;
+    }
+
+    private CharSequence validateValue(final CharSequence value) {
+        requireNonNull(value);
+        if (validateValues) {
+            HeaderUtils.validateHeaderValue(value);
+        }
+        return value;
+    }
+
+    private boolean nameMatches(final int i, final CharSequence name, final int hash) {
+        return hashes[i] == hash && contentEqualsIgnoreCase(names[i], name);
+    }
+
+    private static boolean valueMatches(final CharSequence value1, final CharSequence value2,
+                                        final boolean caseSensitive) {
+        return caseSensitive ? contentEquals(value1, value2) : contentEqualsIgnoreCase(value1, value2);
+    }
+
+    private int firstIndexOf(final CharSequence name, final int hash) {
+        if (size < INDEX_THRESHOLD) {
+            return nextIndexOf(name, hash, 0);
+        }
+        final int[] buckets = index();
+        int first = -1;
+        // Chains are in reverse insertion order, the last match is the first entry for the name.
+        for (int e = buckets[bucketIndex(hash, buckets.length)]; e != 0; e = chain[e - 1]) {
+            if (nameMatches(e - 1, name, hash)) {
+                first = e - 1;
+            }
+        }
+        return first;
+    }
+
+    private int nextIndexOf(final CharSequence name, final int hash, final int fromIndex) {
+        for (int i = fromIndex; i < size; ++i) {
+            if (nameMatches(i, name, hash)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean contains(final CharSequence name, final CharSequence value, final boolean caseSensitive) {
+        final int hash = caseInsensitiveHashCode(name);
+        if (size < INDEX_THRESHOLD) {
+            for (int i = 0; i < size; ++i) {
+                if (nameMatches(i, name, hash) && valueMatches(value, values[i], caseSensitive)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        final int[] buckets = index();
+        for (int e = buckets[bucketIndex(hash, buckets.length)]; e != 0; e = chain[e - 1]) {
+            if (nameMatches(e - 1, name, hash) && valueMatches(value, values[e - 1], caseSensitive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void append(final CharSequence name, final CharSequence value, final int hash) {
+        if (size == names.length) {
+            grow();
+        }
+        names[size] = name;
+        values[size] = value;
+        hashes[size] = hash;
+        final int[] buckets = this.buckets;
+        if (buckets != null) {
+            if (size < buckets.length >>> 1) {
+                link(buckets, size);
+            } else {
+                // Keep the load factor bounded, the index is rebuilt with more buckets on the next lookup.
+                this.buckets = null;
+            }
+        }
+        ++size;
+        ++modCount;
+    }
+
+    private void grow() {
+        final int newCapacity = max(MIN_CAPACITY, names.length << 1);
+        names = Arrays.copyOf(names, newCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+        hashes = Arrays.copyOf(hashes, newCapacity);
+        if (buckets != null) {
+            chain = Arrays.copyOf(chain, newCapacity);
+        }
+    }
+
+    private boolean removeMatching(final CharSequence name, final int hash, @Nullable final CharSequence value,
+                                   final boolean caseSensitive) {
+        int newSize = 0;
+        for (int i = 0; i < size; ++i) {
+            if (nameMatches(i, name, hash) && (value == null || valueMatches(value, values[i], caseSensitive))) {
+                modifiedAt(i);
+                continue;
+            }
+            if (newSize != i) {
+                names[newSize] = names[i];
+                values[newSize] = values[i];
+                hashes[newSize] = hashes[i];
+            }
+            ++newSize;
+        }
+        if (newSize == size) {
+            return false;
+        }
+        Arrays.fill(names, newSize, size, null);
+        Arrays.fill(values, newSize, size, null);
+        size = newSize;
+        buckets = null;
+        ++modCount;
+        return true;
+    }
+
+    private void removeAt(final int i) {
+        modifiedAt(i);
+        final int moved = size - i - 1;
+        if (moved > 0) {
+            System.arraycopy(names, i + 1, names, i, moved);
+            System.arraycopy(values, i + 1, values, i, moved);
+            System.arraycopy(hashes, i + 1, hashes, i, moved);
+        }
+        --size;
+        names[size] = null;
+        values[size] = null;
+        buckets = null;
+        ++modCount;
+    }
+
+    private void modifiedAt(final int i) {
+        final HttpHeadersTemplate template = this.template;
+        if (template != null && i < template.size()) {
+            this.template = null;
+        }
+    }
+
+    private int[] index() {
+        int[] buckets = this.buckets;
+        if (buckets == null) {
+            // At least twice as many buckets as entries, append() drops the index once this load factor is exceeded.
+            buckets = new int[Integer.highestOneBit(size) << 2];
+            if (chain.length < names.length) {
+                chain = new int[names.length];
+            }
+            for (int i = 0; i < size; ++i) {
+                link(buckets, i);
+            }
+            this.buckets = buckets;
+        }
+        return buckets;
+    }
+
+    private void link(final int[] buckets, final int i) {
+        final int bucket = bucketIndex(hashes[i], buckets.length);
+        chain[i] = buckets[bucket];
+        buckets[bucket] = i + 1;
+    }
+
+    private static int bucketIndex(final int hash, final int length) {
+        return (hash ^ (hash >>> 16)) & (length - 1);
+    }
+
+    private final class ValuesIterator implements Iterator<CharSequence> {
+        private final CharSequence name;
+        private final int hash;
+        private int nextIndex;
+        @Nullable
+        private CharSequence next;
+        private int previousIndex = -1;
+        private int expectedModCount = modCount;
+
+        ValuesIterator(final CharSequence name) {
+            this.name = name;
+            hash = caseInsensitiveHashCode(name);
+            // The first value is eagerly loaded.
+            findNext(firstIndexOf(name, hash));
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public CharSequence next() {
+            final CharSequence current = next;
+            if (current == null) {
+                throw new NoSuchElementException();
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            previousIndex = nextIndex;
+            findNext(nextIndexOf(name, hash, nextIndex + 1));
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (previousIndex < 0) {
+                throw new IllegalStateException();
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(previousIndex);
+            if (nextIndex > previousIndex) {
+                --nextIndex;
+            }
+            previousIndex = -1;
+            expectedModCount = modCount;
+        }
+
+        private void findNext(final int i) {
+            nextIndex = i;
+            next = i < 0 ? null : values[i];
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<CharSequence, CharSequence>> {
+        private int nextIndex;
+        private int previousIndex = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public Entry<CharSequence, CharSequence> next() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (nextIndex >= size) {
+                throw new NoSuchElementException();
+            }
+            previousIndex = nextIndex++;
+            return new ArrayEntry(previousIndex);
+        }
+
+        @Override
+        public void remove() {
+            if (previousIndex < 0) {
+                throw new IllegalStateException();
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(previousIndex);
+            nextIndex = previousIndex;
+            previousIndex = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class ArrayEntry implements Entry<CharSequence, CharSequence> {
+        private final int index;
+        private final CharSequence key;
+        private CharSequence value;
+
+        ArrayEntry(final int index) {
+            this.index = index;
+            key = names[index];
+            value = values[index];
+        }
+
+        @Override
+        public CharSequence getKey() {
+            return key;
+        }
+
+        @Override
+        public CharSequence getValue() {
+            return value;
+        }
+
+        @Override
+        public CharSequence setValue(final CharSequence value) {
+            validateValue(value);
+            if (index >= size || names[index] != key) {
+                throw new ConcurrentModificationException();
+            }
+            final CharSequence oldValue = this.value;
+            modifiedAt(index);
+            values[index] = this.value = value;
+            return oldValue;
+        }
+
+        @Override
+        public String toString() {
+            return key.toString() + '=' + value.toString();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> other = (Entry<?, ?>) o;
+            return key.equals(other.getKey()) && value.equals(other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ value.hashCode();
+        }
+    }
+
+    @SuppressWarnings("ClassNameSameAsAncestorName")
+    private static final class CookiesIterator extends HeaderUtils.CookiesIterator {
+        private final Iterator<CharSequence> valueItr;
+        @Nullable
+        private CharSequence headerValue;
+
+        CookiesIterator(final Iterator<CharSequence> valueItr) {
+            this.valueItr = valueItr;
+            if (valueItr.hasNext()) {
+                headerValue = valueItr.next();
+                initNext(headerValue);
+            }
+        }
+
+        @Nullable
+        @Override
+        protected CharSequence cookieHeaderValue() {
+            return headerValue;
+        }
+
+        @Override
+        protected void advanceCookieHeaderValue() {
+            headerValue = valueItr.hasNext() ? valueItr.next() : null;
+        }
+    }
+
+    @SuppressWarnings("ClassNameSameAsAncestorName")
+    private static final class CookiesByNameIterator extends HeaderUtils.CookiesByNameIterator {
+        private final Iterator<CharSequence> valueItr;
+        @Nullable
+        private CharSequence headerValue;
+
+        CookiesByNameIterator(final Iterator<CharSequence> valueItr, final CharSequence name) {
+            super(name);
+            this.valueItr = valueItr;
+            if (valueItr.hasNext()) {
+                headerValue = valueItr.next();
+                initNext(headerValue);
+            }
+        }
+
+        @Nullable
+        @Override
+        protected CharSequence cookieHeaderValue() {
+            return headerValue;
+        }
+
+        @Override
+        protected void advanceCookieHeaderValue() {
+            headerValue = valueItr.hasNext() ? valueItr.next() : null;
+        }
+    }
+
+    private final class SetCookiesIterator implements Iterator<HttpSetCookie> {
+        private final Iterator<CharSequence> valueItr;
+
+        SetCookiesIterator(final Iterator<CharSequence> valueItr) {
+            this.valueItr = valueItr;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return valueItr.hasNext();
+        }
+
+        @Override
+        public HttpSetCookie next() {
+            return parseSetCookie(valueItr.next(), validateCookies);
+        }
+
+        @Override
+        public void remove() {
+            valueItr.remove();
+        }
+    }
+
+    private final class SetCookiesByNameIterator implements Iterator<HttpSetCookie> {
+        private final Iterator<CharSequence> valueItr;
+        @Nullable
+        private HttpSetCookie next;
+
+        SetCookiesByNameIterator(final Iterator<CharSequence> valueItr, final HttpSetCookie next) {
+            this.valueItr = valueItr;
+            this.next = next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public HttpSetCookie next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            HttpSetCookie currentCookie = next;
+            next = null;
+            while (valueItr.hasNext()) {
+                next = HeaderUtils.parseSetCookie(valueItr.next(), currentCookie.name(), validateCookies);
+                if (next != null) {
+                    break;
+                }
+            }
+            return currentCookie;
+        }
+
+        @Override
+        public void remove() {
+            valueItr.remove();
+        }
+    }
+
+    private final class SetCookiesByNameDomainPathIterator implements Iterator<HttpSetCookie> {
+        private final Iterator<CharSequence> valueItr;
+        private final CharSequence domain;
+        private final CharSequence path;
+        @Nullable
+        private HttpSetCookie next;
+
+        SetCookiesByNameDomainPathIterator(final Iterator<CharSequence> valueItr, final HttpSetCookie next,
+                                           final CharSequence domain, final CharSequence path) {
+            this.valueItr = valueItr;
+            this.domain = domain;
+            this.path = path;
+            this.next = next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public HttpSetCookie next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            HttpSetCookie currentCookie = next;
+            next = null;
+            while (valueItr.hasNext()) {
+                // In the future we could attempt to delay full parsing of the cookie until after the domain/path have
+                // been matched, but for simplicity just do the parsing ahead of time.
+                HttpSetCookie setCookie = HeaderUtils.parseSetCookie(valueItr.next(), currentCookie.name(),
+                        validateCookies);
+                if (setCookie != null && domainMatches(domain, setCookie.domain()) &&
+                        pathMatches(path, setCookie.path())) {
+                    next = setCookie;
+                    break;
+                }
+            }
+            return currentCookie;
+        }
+
+        @Override
+        public void remove() {
+            valueItr.remove();
+        }
+    }
+}
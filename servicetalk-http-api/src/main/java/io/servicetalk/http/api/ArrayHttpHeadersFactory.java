@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.api;
+
+/**
+ * {@link HttpHeadersFactory} which creates {@link HttpHeaders} backed by flat arrays.
+ * <p>
+ * Lookups scan the arrays linearly, which avoids the per-entry allocations and hashing of
+ * {@link DefaultHttpHeadersFactory} and is typically faster for the small number of headers most messages carry.
+ * Once a message accumulates more headers, name lookups transparently switch to a hashed index.
+ */
+public final class ArrayHttpHeadersFactory implements HttpHeadersFactory {
+
+    public static final HttpHeadersFactory INSTANCE = new ArrayHttpHeadersFactory(true, true, false);
+
+    private final boolean validateNames;
+    private final boolean validateCookies;
+    private final boolean validateValues;
+    private final int headersInitialCapacity;
+    private final int trailersInitialCapacity;
+
+    /**
+     * Create an instance of the factory with the default initial capacity.
+     *
+     * @param validateNames {@code true} to validate header/trailer names.
+     * @param validateCookies {@code true} to validate cookie contents when parsing.
+     * @param validateValues {@code true} to validate header/trailer values.
+     */
+    public ArrayHttpHeadersFactory(final boolean validateNames, final boolean validateCookies,
+                                   final boolean validateValues) {
+        this(validateNames, validateCookies, validateValues, 16, 4);
+    }
+
+    /**
+     * Create an instance of the factory.
+     *
+     * @param validateNames {@code true} to validate header/trailer names.
+     * @param validateCookies {@code true} to validate cookie contents when parsing.
+     * @param validateValues {@code true} to validate header/trailer values.
+     * @param headersInitialCapacity The number of header entries to allocate space for upfront.
+     * @param trailersInitialCapacity The number of trailer entries to allocate space for upfront.
+     */
+    public ArrayHttpHeadersFactory(final boolean validateNames, final boolean validateCookies,
+                                   final boolean validateValues,
+                                   final int headersInitialCapacity, final int trailersInitialCapacity) {
+        if (headersInitialCapacity < 0) {
+            throw new IllegalArgumentException("headersInitialCapacity: " + headersInitialCapacity +
+                    " (expected >=0)");
+        }
+        if (trailersInitialCapacity < 0) {
+            throw new IllegalArgumentException("trailersInitialCapacity: " + trailersInitialCapacity +
+                    " (expected >=0)");
+        }
+        this.validateNames = validateNames;
+        this.validateCookies = validateCookies;
+        this.validateValues = validateValues;
+        this.headersInitialCapacity = headersInitialCapacity;
+        this.trailersInitialCapacity = trailersInitialCapacity;
+    }
+
+    @Override
+    public HttpHeaders newHeaders() {
+        return new ArrayHttpHeaders(headersInitialCapacity, validateNames, validateCookies, validateValues);
+    }
+
+    @Override
+    public HttpHeaders newTrailers() {
+        return new ArrayHttpHeaders(trailersInitialCapacity, validateNames, validateCookies, validateValues);
+    }
+
+    @Override
+    public HttpHeaders newEmptyTrailers() {
+        return new ArrayHttpHeaders(0, validateNames, validateCookies, validateValues);
+    }
+
+    @Override
+    public boolean validateNames() {
+        return validateNames;
+    }
+
+    @Override
+    public boolean validateCookies() {
+        return validateCookies;
+    }
+
+    @Override
+    public boolean validateValues() {
+        return validateValues;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() +
+                "{validateNames=" + validateNames +
+                ", validateCookies=" + validateCookies +
+                ", validateValues=" + validateValues +
+                ", headersInitialCapacity=" + headersInitialCapacity +
+                ", trailersInitialCapacity=" + trailersInitialCapacity +
+                '}';
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.api;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.buffer.api.CharSequences.newAsciiString;
+
+/**
+ * Caches the value of the {@link HttpHeaderNames#DATE} header, which only changes once per second.
+ * <p>
+ * The value is cached per thread, so event loop threads never contend with each other and format the value at most
+ * once per second. Headers created from a template carry a {@link #lazyCurrentDate() lazy value}, which reads the cache
+ * of the thread that encodes them, at the time they are encoded.
+ */
+final class HttpDateHeaderValue {
+    /**
+     * IMF-fixdate, see <a href="https://tools.ietf.org/html/rfc7231#section-7.1.1.1">RFC7231, section 7.1.1.1</a>.
+     */
+    private static final DateTimeFormatter IMF_FIXDATE =
+            DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US).withZone(ZoneOffset.UTC);
+    private static final ThreadLocal<HttpDateHeaderValue> CACHE = ThreadLocal.withInitial(HttpDateHeaderValue::new);
+
+    private long second = Long.MIN_VALUE;
+    @Nullable
+    private CharSequence value;
+
+    /**
+     * Returns the value of the {@link HttpHeaderNames#DATE} header for the current time.
+     *
+     * @return the value of the {@link HttpHeaderNames#DATE} header for the current time.
+     */
+    static CharSequence currentDate() {
+        return CACHE.get().value(System.currentTimeMillis());
+    }
+
+    /**
+     * Returns a value of the {@link HttpHeaderNames#DATE} header which is resolved to the current time when it is
+     * accessed for the first time, typically when the headers are encoded.
+     *
+     * @return a lazily resolved value of the {@link HttpHeaderNames#DATE} header.
+     */
+    static CharSequence lazyCurrentDate() {
+        return new LazyDate();
+    }
+
+    /**
+     * Returns the value of the {@link HttpHeaderNames#DATE} header for the specified time.
+     *
+     * @param timeMillis the time in milliseconds since the epoch.
+     * @return the value of the {@link HttpHeaderNames#DATE} header for the specified time.
+     */
+    CharSequence value(final long timeMillis) {
+        final long second = timeMillis / 1000;
+        CharSequence value = this.value;
+        if (value == null || second != this.second) {
+            this.second = second;
+            this.value = value = newAsciiString(IMF_FIXDATE.format(Instant.ofEpochSecond(second)));
+        }
+        return value;
+    }
+
+    private static final class LazyDate implements CharSequence {
+        @Nullable
+        private CharSequence resolved;
+
+        private CharSequence resolve() {
+            CharSequence resolved = this.resolved;
+            if (resolved == null) {
+                this.resolved = resolved = currentDate();
+            }
+            return resolved;
+        }
+
+        @Override
+        public int length() {
+            return resolve().length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return resolve().charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return resolve().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return resolve().toString();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.api;
+
+import io.servicetalk.buffer.api.Buffer;
+
+import java.util.Map.Entry;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.buffer.api.ReadOnlyBufferAllocators.PREFER_DIRECT_RO_ALLOCATOR;
+import static io.servicetalk.http.api.BufferUtils.writeReadOnlyBuffer;
+import static io.servicetalk.http.api.HttpDateHeaderValue.lazyCurrentDate;
+import static io.servicetalk.http.api.HttpHeaderNames.DATE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A reusable set of header entries which is pre-encoded once, so that messages created with the same headers don't
+ * encode them again.
+ * <p>
+ * {@link HttpHeaders} created by {@link #newHeaders()} start with the entries of this template and can be modified
+ * like any other {@link HttpHeaders}. As long as the entries copied from the template remain unmodified, the HTTP/1.x
+ * encoder writes them with a single copy of the pre-encoded bytes, see {@link #templateOf(HttpHeaders)}. Modifying
+ * any of those entries transparently falls back to encoding every header individually.
+ * <p>
+ * To let a client or server create all outgoing messages from the template, configure the
+ * {@link HttpHeadersFactory} returned by {@link #headersFactory(HttpHeadersFactory)} on its protocol config. Headers of
+ * received messages are created by the wrapped factory, see {@link #inboundHeadersFactory(HttpHeadersFactory)}.
+ */
+public final class HttpHeadersTemplate {
+    private static final int EXTRA_CAPACITY = 8;
+
+    private final ArrayHttpHeaders headers;
+    private final Buffer encoded;
+    private final boolean addDate;
+
+    private HttpHeadersTemplate(final ArrayHttpHeaders headers, final boolean addDate) {
+        this.headers = headers;
+        this.addDate = addDate;
+        final StringBuilder sb = new StringBuilder(headers.size() * 32);
+        for (Entry<CharSequence, CharSequence> header : headers) {
+            sb.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n");
+        }
+        encoded = PREFER_DIRECT_RO_ALLOCATOR.fromAscii(sb);
+    }
+
+    /**
+     * Creates a new {@link HttpHeadersTemplate}.
+     *
+     * @param headers The header entries of the template. The entries are copied and validated.
+     * @return a new {@link HttpHeadersTemplate}.
+     */
+    public static HttpHeadersTemplate of(final HttpHeaders headers) {
+        return of(headers, false);
+    }
+
+    /**
+     * Creates a new {@link HttpHeadersTemplate}.
+     *
+     * @param headers The header entries of the template. The entries are copied and validated.
+     * @param addDate {@code true} to add a {@link HttpHeaderNames#DATE} header to every {@link HttpHeaders} created by
+     * {@link #newHeaders()}. The value is resolved to the current time when it is first accessed, typically when the
+     * headers are encoded, and is formatted at most once per second per thread.
+     * @return a new {@link HttpHeadersTemplate}.
+     */
+    public static HttpHeadersTemplate of(final HttpHeaders headers, final boolean addDate) {
+        final ArrayHttpHeaders copy = new ArrayHttpHeaders(headers.size(), true, true, true);
+        copy.add(headers);
+        return new HttpHeadersTemplate(copy, addDate);
+    }
+
+    /**
+     * Creates new {@link HttpHeaders} which start with the entries of this template.
+     *
+     * @return new {@link HttpHeaders} which start with the entries of this template.
+     */
+    public HttpHeaders newHeaders() {
+        return newHeaders(true, true, false);
+    }
+
+    /**
+     * Returns a {@link HttpHeadersFactory} which creates {@link HttpHeaders} from this template via
+     * {@link HttpHeadersFactory#newHeaders()}, and delegates everything else to the passed {@link HttpHeadersFactory}.
+     *
+     * @param inboundFactory {@link HttpHeadersFactory} used for trailers, for headers of received messages, and to
+     * determine validation settings.
+     * @return a {@link HttpHeadersFactory} which creates {@link HttpHeaders} from this template.
+     */
+    public HttpHeadersFactory headersFactory(final HttpHeadersFactory inboundFactory) {
+        return new TemplateHeadersFactory(this, requireNonNull(inboundFactory));
+    }
+
+    /**
+     * Returns the {@link HttpHeadersFactory} to use for headers of received messages, which must not start with
+     * the entries of a template.
+     *
+     * @param factory the configured {@link HttpHeadersFactory}.
+     * @return the factory passed to {@link #headersFactory(HttpHeadersFactory)} if {@code factory} was created by it,
+     * otherwise {@code factory}.
+     */
+    public static HttpHeadersFactory inboundHeadersFactory(final HttpHeadersFactory factory) {
+        return factory instanceof TemplateHeadersFactory ? ((TemplateHeadersFactory) factory).inboundFactory : factory;
+    }
+
+    private HttpHeaders newHeaders(final boolean validateNames, final boolean validateCookies,
+                                   final boolean validateValues) {
+        final ArrayHttpHeaders newHeaders = new ArrayHttpHeaders(this, headers, EXTRA_CAPACITY, validateNames,
+                validateCookies, validateValues);
+        if (addDate) {
+            newHeaders.addValidated(DATE, lazyCurrentDate());
+        }
+        return newHeaders;
+    }
+
+    /**
+     * Returns the number of header entries in this template.
+     *
+     * @return the number of header entries in this template.
+     */
+    public int size() {
+        return headers.size();
+    }
+
+    /**
+     * Write the HTTP/1.x encoded header entries of this template, each terminated with {@code CRLF}, to the specified
+     * {@link Buffer}.
+     *
+     * @param buffer The {@link Buffer} to write to.
+     */
+    public void writeTo(final Buffer buffer) {
+        buffer.ensureWritable(encoded.readableBytes());
+        writeReadOnlyBuffer(encoded, buffer);
+    }
+
+    /**
+     * Returns the {@link HttpHeadersTemplate} which the specified {@link HttpHeaders} were created from, if the entries
+     * copied from the template are still unmodified. In that case, the first {@link #size()} entries returned by the
+     * {@link HttpHeaders#iterator()} are the entries of the template.
+     *
+     * @param headers The {@link HttpHeaders} to inspect.
+     * @return the {@link HttpHeadersTemplate} the {@code headers} were created from or {@code null} if the
+     * {@code headers} were not created from a template or the template entries were modified.
+     */
+    @Nullable
+    public static HttpHeadersTemplate templateOf(final HttpHeaders headers) {
+        return headers instanceof ArrayHttpHeaders ? ((ArrayHttpHeaders) headers).template() : null;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{headers=" + headers + ", addDate=" + addDate + '}';
+    }
+
+    private static final class TemplateHeadersFactory implements HttpHeadersFactory {
+        private final HttpHeadersTemplate template;
+        private final HttpHeadersFactory inboundFactory;
+
+        TemplateHeadersFactory(final HttpHeadersTemplate template, final HttpHeadersFactory inboundFactory) {
+            this.template = template;
+            this.inboundFactory = inboundFactory;
+        }
+
+        @Override
+        public HttpHeaders newHeaders() {
+            return template.newHeaders(inboundFactory.validateNames(), inboundFactory.validateCookies(),
+                    inboundFactory.validateValues());
+        }
+
+        @Override
+        public HttpHeaders newTrailers() {
+            return inboundFactory.newTrailers();
+        }
+
+        @Override
+        public HttpHeaders newEmptyTrailers() {
+            return inboundFactory.newEmptyTrailers();
+        }
+
+        @Override
+        public boolean validateNames() {
+            return inboundFactory.validateNames();
+        }
+
+        @Override
+        public boolean validateCookies() {
+            return inboundFactory.validateCookies();
+        }
+
+        @Override
+        public boolean validateValues() {
+            return inboundFactory.validateValues();
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "{template=" + template + ", inboundFactory=" + inboundFactory + '}';
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+
+import static io.servicetalk.http.api.ArrayHttpHeaders.INDEX_THRESHOLD;
+import static io.servicetalk.http.api.HttpHeaderNames.COOKIE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArrayHttpHeadersTest extends AbstractHttpHeadersTest {
+    @Override
+    protected HttpHeaders newHeaders() {
+        return ArrayHttpHeadersFactory.INSTANCE.newHeaders();
+    }
+
+    @Override
+    protected HttpHeaders newHeaders(final int initialSizeHint) {
+        return new ArrayHttpHeaders(initialSizeHint, true, true, true);
+    }
+
+    @Test
+    void lookupsAboveIndexThreshold() {
+        final HttpHeaders headers = newHeaders(0);
+        final int count = INDEX_THRESHOLD * 4;
+        for (int i = 0; i < count; ++i) {
+            headers.add("name" + (i % INDEX_THRESHOLD), "value" + i);
+        }
+        assertEquals(count, headers.size());
+        for (int i = 0; i < INDEX_THRESHOLD; ++i) {
+            assertEquals("value" + i, headers.get("NAME" + i));
+            assertTrue(headers.contains("name" + i, "value" + (i + INDEX_THRESHOLD * 3)));
+            assertFalse(headers.contains("name" + i, "value" + (i + 1)));
+        }
+        assertNull(headers.get("name" + INDEX_THRESHOLD));
+
+        // Removal drops the index, lookups must still see the remaining values in insertion order.
+        assertEquals("value0", headers.getAndRemove("name0"));
+        assertNull(headers.get("name0"));
+        assertTrue(headers.remove("name1", "value1"));
+        assertEquals("value" + (1 + INDEX_THRESHOLD), headers.get("name1"));
+        assertEquals(count - 5, headers.size());
+
+        headers.add("name0", "newValue");
+        assertEquals("newValue", headers.get("name0"));
+        final Iterator<? extends CharSequence> itr = headers.valuesIterator("name2");
+        assertEquals("value2", itr.next());
+        itr.remove();
+        assertEquals("value" + (2 + INDEX_THRESHOLD), headers.get("name2"));
+    }
+
+    @Test
+    void valuesIteratorFailsFastOnModification() {
+        final HttpHeaders headers = newHeaders();
+        headers.add("name", "value1");
+        headers.add("name", "value2");
+        final Iterator<? extends CharSequence> itr = headers.valuesIterator("name");
+        assertEquals("value1", itr.next());
+        headers.add("name", "value3");
+        assertThrows(ConcurrentModificationException.class, itr::next);
+    }
+
+    @Test
+    void entryIteratorFailsFastOnModification() {
+        final HttpHeaders headers = newHeaders();
+        headers.add("name1", "value1");
+        headers.add("name2", "value2");
+        final Iterator<Map.Entry<CharSequence, CharSequence>> itr = headers.iterator();
+        itr.next();
+        headers.remove("name2");
+        assertThrows(ConcurrentModificationException.class, itr::next);
+    }
+
+    @Test
+    void addCookieCombinesIntoSingleHeader() {
+        final HttpHeaders headers = newHeaders();
+        headers.addCookie("name1", "value1");
+        headers.addCookie("name2", "value2");
+        assertEquals(1, headers.size());
+        assertEquals("name1=value1; name2=value2", headers.get(COOKIE));
+        assertEquals("value2", headers.getCookie("name2").value());
+        assertTrue(headers.removeCookies("name1"));
+        assertEquals("name2=value2", headers.get(COOKIE));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.api;
+
+import io.servicetalk.buffer.api.Buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_TYPE;
+import static io.servicetalk.http.api.HttpHeaderNames.DATE;
+import static io.servicetalk.http.api.HttpHeaderNames.SERVER;
+import static io.servicetalk.http.api.HttpHeaderValues.TEXT_PLAIN;
+import static io.servicetalk.http.api.HttpHeadersTemplate.templateOf;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpHeadersTemplateTest {
+
+    private final HttpHeadersTemplate template = HttpHeadersTemplate.of(ArrayHttpHeadersFactory.INSTANCE.newHeaders()
+            .add(CONTENT_TYPE, TEXT_PLAIN)
+            .add(SERVER, "unit-test"));
+
+    @Test
+    void writeTo() {
+        Buffer buffer = DEFAULT_ALLOCATOR.newBuffer(0);
+        template.writeTo(buffer);
+        assertEquals(CONTENT_TYPE + ": " + TEXT_PLAIN + "\r\n" + SERVER + ": unit-test\r\n",
+                buffer.toString(US_ASCII));
+    }
+
+    @Test
+    void newHeadersStartWithTemplateEntries() {
+        HttpHeaders headers = template.newHeaders().add("name", "value");
+        assertSame(template, templateOf(headers));
+        assertEquals(3, headers.size());
+        Iterator<Entry<CharSequence, CharSequence>> itr = headers.iterator();
+        assertEquals(CONTENT_TYPE, itr.next().getKey());
+        assertEquals(SERVER, itr.next().getKey());
+        assertEquals("name", itr.next().getKey());
+
+        // Entries added after the template entries don't affect the template.
+        headers.remove("name");
+        assertSame(template, templateOf(headers));
+        // Every instance gets its own copy of the entries.
+        assertEquals(2, template.newHeaders().size());
+    }
+
+    @Test
+    void modifyingTemplateEntriesDetachesTemplate() {
+        HttpHeaders headers = template.newHeaders();
+        headers.remove(SERVER);
+        assertNull(templateOf(headers));
+
+        headers = template.newHeaders();
+        headers.iterator().next().setValue("text/html");
+        assertNull(templateOf(headers));
+
+        headers = template.newHeaders().clear();
+        assertNull(templateOf(headers));
+
+        assertNull(templateOf(DefaultHttpHeadersFactory.INSTANCE.newHeaders()));
+    }
+
+    @Test
+    void templateEntriesAreValidated() {
+        HttpHeaders invalid = new DefaultHttpHeadersFactory(false, false, false).newHeaders().add("na me", "value");
+        assertThrows(IllegalArgumentException.class, () -> HttpHeadersTemplate.of(invalid));
+    }
+
+    @Test
+    void addDate() {
+        HttpHeaders headers = HttpHeadersTemplate.of(EmptyHttpHeaders.INSTANCE, true).newHeaders();
+        assertNotNull(headers.get(DATE));
+        assertEquals(1, headers.size());
+    }
+
+    @Test
+    void dateIsResolvedWhenAccessed() throws Exception {
+        HttpDateHeaderValue formatter = new HttpDateHeaderValue();
+        String created = formatter.value(System.currentTimeMillis()).toString();
+        CharSequence date = HttpDateHeaderValue.lazyCurrentDate();
+        Thread.sleep(1100);
+        long before = System.currentTimeMillis();
+        String resolved = date.toString();
+        long after = System.currentTimeMillis();
+        assertFalse(created.equals(resolved));
+        assertTrue(resolved.equals(formatter.value(before).toString()) ||
+                resolved.equals(formatter.value(after).toString()));
+        assertEquals(resolved, date.toString());
+    }
+
+    @Test
+    void headersFactory() {
+        HttpHeadersFactory inbound = new ArrayHttpHeadersFactory(true, false, true);
+        HttpHeadersFactory factory = template.headersFactory(inbound);
+        HttpHeaders headers = factory.newHeaders();
+        assertSame(template, templateOf(headers));
+        assertEquals(2, headers.size());
+        assertNull(templateOf(factory.newTrailers()));
+        assertEquals(inbound.validateCookies(), factory.validateCookies());
+        assertEquals(inbound.validateValues(), factory.validateValues());
+
+        assertSame(inbound, HttpHeadersTemplate.inboundHeadersFactory(factory));
+        assertSame(inbound, HttpHeadersTemplate.inboundHeadersFactory(inbound));
+    }
+
+    @Test
+    void dateFormat() {
+        HttpDateHeaderValue value = new HttpDateHeaderValue();
+        CharSequence date = value.value(784111777000L);
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", date.toString());
+        assertSame(date, value.value(784111777999L));
+        assertEquals("Sun, 06 Nov 1994 08:49:38 GMT", value.value(784111778000L).toString());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty.h3.internal;
+
+import io.servicetalk.transport.api.ConnectionObserver.MultiplexedObserver;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.incubator.codec.http3.Http3;
+import io.netty.incubator.codec.http3.Http3ClientConnectionHandler;
+import io.netty.incubator.codec.http3.Http3ServerConnectionHandler;
+import io.netty.incubator.codec.quic.QuicChannel;
+import io.netty.incubator.codec.quic.QuicCodecBuilder;
+import io.netty.incubator.codec.quic.QuicSslContext;
+import io.netty.incubator.codec.quic.QuicSslContextBuilder;
+import io.netty.incubator.codec.quic.QuicStreamChannel;
+import io.netty.incubator.codec.quic.QuicTokenHandler;
+import io.netty.util.concurrent.Future;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Creates netty QUIC codecs for <a href="https://www.rfc-editor.org/rfc/rfc9114">HTTP/3</a> from an
+ * {@link H3ProtocolConfig}.
+ * <p>
+ * The codecs are added to the pipeline of a {@link io.netty.channel.socket.DatagramChannel}. Every request stream is
+ * reported to a {@link MultiplexedObserver}, as streams of HTTP/2 connections are.
+ */
+public final class H3Codecs {
+
+    private H3Codecs() {
+        // No instances
+    }
+
+    /**
+     * Builds a {@link QuicSslContext} which negotiates HTTP/3 and applies the 0-RTT setting of the
+     * {@link H3ProtocolConfig}.
+     *
+     * @param builder {@link QuicSslContextBuilder} with the keys and trust configuration of the client or server
+     * @param config {@link H3ProtocolConfig} of the client or server
+     * @return a new {@link QuicSslContext}
+     */
+    public static QuicSslContext sslContext(final QuicSslContextBuilder builder, final H3ProtocolConfig config) {
+        return builder.applicationProtocols(Http3.supportedApplicationProtocols())
+                .earlyData(config.earlyDataEnabled())
+                .build();
+    }
+
+    /**
+     * Creates a server codec which accepts HTTP/3 connections.
+     *
+     * @param config {@link H3ProtocolConfig} of the server
+     * @param sslContext {@link QuicSslContext} created by {@link #sslContext(QuicSslContextBuilder, H3ProtocolConfig)}
+     * @param tokenHandler {@link QuicTokenHandler} which generates and validates address validation tokens
+     * @param requestStreamHandler {@link ChannelHandler} added to each request stream, must be
+     * {@link ChannelHandler.Sharable}
+     * @param observer {@link MultiplexedObserver} notified about request streams
+     * @return a new {@link ChannelHandler} for a {@link io.netty.channel.socket.DatagramChannel}
+     */
+    public static ChannelHandler newServerCodec(final H3ProtocolConfig config, final QuicSslContext sslContext,
+                                                final QuicTokenHandler tokenHandler,
+                                                final ChannelHandler requestStreamHandler,
+                                                final MultiplexedObserver observer) {
+        return configure(Http3.newQuicServerCodecBuilder(), config)
+                .sslContext(requireNonNull(sslContext))
+                .tokenHandler(requireNonNull(tokenHandler))
+                .handler(new Http3ServerConnectionHandler(
+                        new H3StreamObserverInitializer(observer, requestStreamHandler)))
+                .build();
+    }
+
+    /**
+     * Creates a client codec which opens HTTP/3 connections. Connections are opened by
+     * {@link QuicChannel#newBootstrap(io.netty.channel.Channel) bootstrapping} a {@link QuicChannel} with the
+     * {@link #newClientConnectionHandler() connection handler}.
+     *
+     * @param config {@link H3ProtocolConfig} of the client
+     * @param sslContext {@link QuicSslContext} created by {@link #sslContext(QuicSslContextBuilder, H3ProtocolConfig)}
+     * @return a new {@link ChannelHandler} for a {@link io.netty.channel.socket.DatagramChannel}
+     */
+    public static ChannelHandler newClientCodec(final H3ProtocolConfig config, final QuicSslContext sslContext) {
+        return configure(Http3.newQuicClientCodecBuilder(), config)
+                .sslContext(requireNonNull(sslContext))
+                .build();
+    }
+
+    /**
+     * Creates the handler of a client {@link QuicChannel}.
+     *
+     * @return a new handler of a client {@link QuicChannel}
+     */
+    public static ChannelHandler newClientConnectionHandler() {
+        return new Http3ClientConnectionHandler();
+    }
+
+    /**
+     * Opens a new request stream on a client {@link QuicChannel}.
+     *
+     * @param channel the client {@link QuicChannel}
+     * @param requestStreamHandler {@link ChannelHandler} added to the request stream
+     * @param observer {@link MultiplexedObserver} notified about the request stream
+     * @return {@link Future} which completes when the request stream is opened
+     */
+    public static Future<QuicStreamChannel> newRequestStream(final QuicChannel channel,
+                                                             final ChannelHandler requestStreamHandler,
+                                                             final MultiplexedObserver observer) {
+        return Http3.newRequestStream(channel, new H3StreamObserverInitializer(observer, requestStreamHandler));
+    }
+
+    private static <B extends QuicCodecBuilder<B>> B configure(final B builder, final H3ProtocolConfig config) {
+        return builder.maxIdleTimeout(config.maxIdleTimeout().toMillis(), MILLISECONDS)
+                .initialMaxData(config.initialMaxData())
+                .initialMaxStreamDataBidirectionalLocal(config.initialMaxStreamData())
+                .initialMaxStreamDataBidirectionalRemote(config.initialMaxStreamData())
+                .initialMaxStreamsBidirectional(config.maxConcurrentStreams())
+                .activeMigration(config.activeMigrationEnabled());
+    }
+}
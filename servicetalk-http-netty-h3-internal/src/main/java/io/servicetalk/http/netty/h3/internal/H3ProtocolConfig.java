@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty.h3.internal;
+
+import io.servicetalk.http.api.HttpProtocolConfig;
+
+import java.time.Duration;
+
+/**
+ * Configuration for <a href="https://www.rfc-editor.org/rfc/rfc9114">HTTP/3</a> over
+ * <a href="https://www.rfc-editor.org/rfc/rfc9000">QUIC</a>.
+ *
+ * @see H3ProtocolConfigs#h3Default()
+ */
+public interface H3ProtocolConfig extends HttpProtocolConfig {
+
+    @Override
+    default String alpnId() {
+        return "h3";
+    }
+
+    /**
+     * Maximum duration a connection can stay idle before it is closed, see
+     * <a href="https://www.rfc-editor.org/rfc/rfc9000#section-18.2">max_idle_timeout</a>.
+     *
+     * @return maximum duration a connection can stay idle before it is closed
+     */
+    Duration maxIdleTimeout();
+
+    /**
+     * Initial number of bytes the peer can send on a connection, see
+     * <a href="https://www.rfc-editor.org/rfc/rfc9000#section-18.2">initial_max_data</a>.
+     *
+     * @return initial number of bytes the peer can send on a connection
+     */
+    long initialMaxData();
+
+    /**
+     * Initial number of bytes the peer can send on each bidirectional stream, see
+     * <a href="https://www.rfc-editor.org/rfc/rfc9000#section-18.2">initial_max_stream_data_bidi_local</a> and
+     * <a href="https://www.rfc-editor.org/rfc/rfc9000#section-18.2">initial_max_stream_data_bidi_remote</a>.
+     *
+     * @return initial number of bytes the peer can send on each bidirectional stream
+     */
+    long initialMaxStreamData();
+
+    /**
+     * Maximum number of concurrent request streams the peer can open, see
+     * <a href="https://www.rfc-editor.org/rfc/rfc9000#section-18.2">initial_max_streams_bidi</a>.
+     *
+     * @return maximum number of concurrent request streams the peer can open
+     */
+    long maxConcurrentStreams();
+
+    /**
+     * Whether <a href="https://www.rfc-editor.org/rfc/rfc9001#section-4.6">0-RTT</a> early data is accepted by
+     * servers and sent by clients which resume a session.
+     *
+     * @return {@code true} if 0-RTT early data is enabled
+     */
+    boolean earlyDataEnabled();
+
+    /**
+     * Whether the peer is allowed to <a href="https://www.rfc-editor.org/rfc/rfc9000#section-9">migrate</a> a
+     * connection to a new address.
+     *
+     * @return {@code true} if the peer is allowed to migrate a connection to a new address
+     */
+    boolean activeMigrationEnabled();
+}
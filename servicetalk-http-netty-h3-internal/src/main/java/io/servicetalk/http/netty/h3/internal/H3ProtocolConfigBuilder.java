@@ -0,0 +1,227 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty.h3.internal;
+
+import io.servicetalk.http.api.DefaultHttpHeadersFactory;
+import io.servicetalk.http.api.HttpHeaders;
+import io.servicetalk.http.api.HttpHeadersFactory;
+
+import java.time.Duration;
+
+import static java.time.Duration.ofSeconds;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Builder for {@link H3ProtocolConfig}.
+ *
+ * @see H3ProtocolConfigs#h3()
+ */
+public final class H3ProtocolConfigBuilder {
+
+    private HttpHeadersFactory headersFactory = DefaultHttpHeadersFactory.INSTANCE;
+    private Duration maxIdleTimeout = ofSeconds(30);
+    private long initialMaxData = 16 * 1024 * 1024;
+    private long initialMaxStreamData = 1024 * 1024;
+    private long maxConcurrentStreams = 100;
+    private boolean earlyDataEnabled;
+    private boolean activeMigrationEnabled = true;
+
+    H3ProtocolConfigBuilder() {
+    }
+
+    /**
+     * Sets the {@link HttpHeadersFactory} to be used for creating {@link HttpHeaders} when decoding HTTP messages.
+     *
+     * @param headersFactory {@link HttpHeadersFactory} to be used for creating {@link HttpHeaders} when decoding HTTP
+     * messages
+     * @return {@code this}
+     */
+    public H3ProtocolConfigBuilder headersFactory(final HttpHeadersFactory headersFactory) {
+        this.headersFactory = requireNonNull(headersFactory);
+        return this;
+    }
+
+    /**
+     * Sets the maximum duration a connection can stay idle before it is closed.
+     *
+     * @param maxIdleTimeout the maximum duration a connection can stay idle before it is closed
+     * @return {@code this}
+     * @see H3ProtocolConfig#maxIdleTimeout()
+     */
+    public H3ProtocolConfigBuilder maxIdleTimeout(final Duration maxIdleTimeout) {
+        if (maxIdleTimeout.isNegative() || maxIdleTimeout.isZero()) {
+            throw new IllegalArgumentException("maxIdleTimeout " + maxIdleTimeout + " (expected >0)");
+        }
+        this.maxIdleTimeout = maxIdleTimeout;
+        return this;
+    }
+
+    /**
+     * Sets the initial number of bytes the peer can send on a connection.
+     *
+     * @param initialMaxData the initial number of bytes the peer can send on a connection
+     * @return {@code this}
+     * @see H3ProtocolConfig#initialMaxData()
+     */
+    public H3ProtocolConfigBuilder initialMaxData(final long initialMaxData) {
+        if (initialMaxData <= 0) {
+            throw new IllegalArgumentException("initialMaxData " + initialMaxData + " (expected >0)");
+        }
+        this.initialMaxData = initialMaxData;
+        return this;
+    }
+
+    /**
+     * Sets the initial number of bytes the peer can send on each bidirectional stream.
+     *
+     * @param initialMaxStreamData the initial number of bytes the peer can send on each bidirectional stream
+     * @return {@code this}
+     * @see H3ProtocolConfig#initialMaxStreamData()
+     */
+    public H3ProtocolConfigBuilder initialMaxStreamData(final long initialMaxStreamData) {
+        if (initialMaxStreamData <= 0) {
+            throw new IllegalArgumentException("initialMaxStreamData " + initialMaxStreamData + " (expected >0)");
+        }
+        this.initialMaxStreamData = initialMaxStreamData;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of concurrent request streams the peer can open.
+     *
+     * @param maxConcurrentStreams the maximum number of concurrent request streams the peer can open
+     * @return {@code this}
+     * @see H3ProtocolConfig#maxConcurrentStreams()
+     */
+    public H3ProtocolConfigBuilder maxConcurrentStreams(final long maxConcurrentStreams) {
+        if (maxConcurrentStreams <= 0) {
+            throw new IllegalArgumentException("maxConcurrentStreams " + maxConcurrentStreams + " (expected >0)");
+        }
+        this.maxConcurrentStreams = maxConcurrentStreams;
+        return this;
+    }
+
+    /**
+     * Sets whether 0-RTT early data is enabled. Early data can be replayed by an attacker, only enable it if the
+     * requests sent as early data are idempotent. Disabled by default.
+     *
+     * @param earlyDataEnabled {@code true} to enable 0-RTT early data
+     * @return {@code this}
+     * @see H3ProtocolConfig#earlyDataEnabled()
+     */
+    public H3ProtocolConfigBuilder earlyDataEnabled(final boolean earlyDataEnabled) {
+        this.earlyDataEnabled = earlyDataEnabled;
+        return this;
+    }
+
+    /**
+     * Sets whether the peer is allowed to migrate a connection to a new address, for example when a mobile client
+     * switches networks. Enabled by default.
+     *
+     * @param activeMigrationEnabled {@code true} to allow the peer to migrate a connection to a new address
+     * @return {@code this}
+     * @see H3ProtocolConfig#activeMigrationEnabled()
+     */
+    public H3ProtocolConfigBuilder activeMigrationEnabled(final boolean activeMigrationEnabled) {
+        this.activeMigrationEnabled = activeMigrationEnabled;
+        return this;
+    }
+
+    /**
+     * Builds {@link H3ProtocolConfig}.
+     *
+     * @return {@link H3ProtocolConfig}
+     */
+    public H3ProtocolConfig build() {
+        return new DefaultH3ProtocolConfig(headersFactory, maxIdleTimeout, initialMaxData, initialMaxStreamData,
+                maxConcurrentStreams, earlyDataEnabled, activeMigrationEnabled);
+    }
+
+    private static final class DefaultH3ProtocolConfig implements H3ProtocolConfig {
+        private final HttpHeadersFactory headersFactory;
+        private final Duration maxIdleTimeout;
+        private final long initialMaxData;
+        private final long initialMaxStreamData;
+        private final long maxConcurrentStreams;
+        private final boolean earlyDataEnabled;
+        private final boolean activeMigrationEnabled;
+
+        DefaultH3ProtocolConfig(final HttpHeadersFactory headersFactory,
+                                final Duration maxIdleTimeout,
+                                final long initialMaxData,
+                                final long initialMaxStreamData,
+                                final long maxConcurrentStreams,
+                                final boolean earlyDataEnabled,
+                                final boolean activeMigrationEnabled) {
+            this.headersFactory = headersFactory;
+            this.maxIdleTimeout = maxIdleTimeout;
+            this.initialMaxData = initialMaxData;
+            this.initialMaxStreamData = initialMaxStreamData;
+            this.maxConcurrentStreams = maxConcurrentStreams;
+            this.earlyDataEnabled = earlyDataEnabled;
+            this.activeMigrationEnabled = activeMigrationEnabled;
+        }
+
+        @Override
+        public HttpHeadersFactory headersFactory() {
+            return headersFactory;
+        }
+
+        @Override
+        public Duration maxIdleTimeout() {
+            return maxIdleTimeout;
+        }
+
+        @Override
+        public long initialMaxData() {
+            return initialMaxData;
+        }
+
+        @Override
+        public long initialMaxStreamData() {
+            return initialMaxStreamData;
+        }
+
+        @Override
+        public long maxConcurrentStreams() {
+            return maxConcurrentStreams;
+        }
+
+        @Override
+        public boolean earlyDataEnabled() {
+            return earlyDataEnabled;
+        }
+
+        @Override
+        public boolean activeMigrationEnabled() {
+            return activeMigrationEnabled;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() +
+                    "{alpnId=" + alpnId() +
+                    ", headersFactory=" + headersFactory +
+                    ", maxIdleTimeout=" + maxIdleTimeout +
+                    ", initialMaxData=" + initialMaxData +
+                    ", initialMaxStreamData=" + initialMaxStreamData +
+                    ", maxConcurrentStreams=" + maxConcurrentStreams +
+                    ", earlyDataEnabled=" + earlyDataEnabled +
+                    ", activeMigrationEnabled=" + activeMigrationEnabled +
+                    '}';
+        }
+    }
+}
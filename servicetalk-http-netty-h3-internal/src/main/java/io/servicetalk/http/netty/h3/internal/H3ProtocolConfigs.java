@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty.h3.internal;
+
+/**
+ * Factory methods for {@link H3ProtocolConfig} and a builder for its customization.
+ */
+public final class H3ProtocolConfigs {
+
+    private static final H3ProtocolConfig H3_DEFAULT = h3().build();
+
+    private H3ProtocolConfigs() {
+        // No instances
+    }
+
+    /**
+     * Returns {@link H3ProtocolConfig} with the default configuration for
+     * <a href="https://www.rfc-editor.org/rfc/rfc9114">HTTP/3</a>.
+     *
+     * @return {@link H3ProtocolConfig} with the default configuration for
+     * <a href="https://www.rfc-editor.org/rfc/rfc9114">HTTP/3</a>
+     */
+    public static H3ProtocolConfig h3Default() {
+        return H3_DEFAULT;
+    }
+
+    /**
+     * Returns a builder for {@link H3ProtocolConfig}.
+     *
+     * @return {@link H3ProtocolConfigBuilder}
+     */
+    public static H3ProtocolConfigBuilder h3() {
+        return new H3ProtocolConfigBuilder();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty.h3.internal;
+
+import io.servicetalk.transport.api.ConnectionObserver.MultiplexedObserver;
+import io.servicetalk.transport.api.ConnectionObserver.StreamObserver;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.incubator.codec.quic.QuicStreamChannel;
+
+import javax.annotation.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reports each QUIC stream to a {@link MultiplexedObserver} and adds the stream handler to its pipeline.
+ */
+final class H3StreamObserverInitializer extends ChannelInitializer<QuicStreamChannel> {
+    private final MultiplexedObserver observer;
+    private final ChannelHandler streamHandler;
+
+    H3StreamObserverInitializer(final MultiplexedObserver observer, final ChannelHandler streamHandler) {
+        this.observer = requireNonNull(observer);
+        this.streamHandler = requireNonNull(streamHandler);
+    }
+
+    @Override
+    protected void initChannel(final QuicStreamChannel channel) {
+        final StreamObserver streamObserver = observer.onNewStream();
+        // QUIC assigns the stream id when the stream is created, it's known before the stream is used.
+        streamObserver.streamIdAssigned(channel.streamId());
+        streamObserver.streamEstablished();
+        final StreamErrorRecorder errorRecorder = new StreamErrorRecorder();
+        channel.closeFuture().addListener(__ -> {
+            final Throwable cause = errorRecorder.cause;
+            if (cause == null) {
+                streamObserver.streamClosed();
+            } else {
+                streamObserver.streamClosed(cause);
+            }
+        });
+        channel.pipeline().addLast(streamHandler, errorRecorder);
+    }
+
+    /**
+     * Records the first exception of a stream which isn't handled by the stream handler.
+     */
+    private static final class StreamErrorRecorder extends ChannelInboundHandlerAdapter {
+        @Nullable
+        Throwable cause;
+
+        @Override
+        public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+            if (this.cause == null) {
+                this.cause = cause;
+            }
+            ctx.fireExceptionCaught(cause);
+        }
+    }
+}
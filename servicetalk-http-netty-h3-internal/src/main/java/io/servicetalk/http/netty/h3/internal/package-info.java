@@ -0,0 +1,28 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Internal <a href="https://www.rfc-editor.org/rfc/rfc9114">HTTP/3</a> codec plumbing based on the netty QUIC and
+ * HTTP/3 codecs.
+ * <p>
+ * {@code HttpServers} and {@code HttpClients} don't support HTTP/3 yet. This package provides the protocol
+ * configuration, QUIC codecs created from it for UDP channels, and observation of QUIC streams through the same
+ * {@link io.servicetalk.transport.api.ConnectionObserver.MultiplexedObserver} model as HTTP/2. It is not a public API
+ * and may change in incompatible ways without prior notice.
+ */
+@ElementsAreNonnullByDefault
+package io.servicetalk.http.netty.h3.internal;
+
+import io.servicetalk.annotations.ElementsAreNonnullByDefault;
@@ -0,0 +1,227 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty.h3.internal;
+
+import io.servicetalk.test.resources.DefaultTestCerts;
+import io.servicetalk.transport.api.ConnectionObserver.DataObserver;
+import io.servicetalk.transport.api.ConnectionObserver.MultiplexedObserver;
+import io.servicetalk.transport.api.ConnectionObserver.ReadObserver;
+import io.servicetalk.transport.api.ConnectionObserver.StreamObserver;
+import io.servicetalk.transport.api.ConnectionObserver.WriteObserver;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.incubator.codec.http3.DefaultHttp3HeadersFrame;
+import io.netty.incubator.codec.http3.Http3DataFrame;
+import io.netty.incubator.codec.http3.Http3HeadersFrame;
+import io.netty.incubator.codec.http3.Http3RequestStreamInboundHandler;
+import io.netty.incubator.codec.quic.InsecureQuicTokenHandler;
+import io.netty.incubator.codec.quic.Quic;
+import io.netty.incubator.codec.quic.QuicChannel;
+import io.netty.incubator.codec.quic.QuicSslContextBuilder;
+import io.netty.incubator.codec.quic.QuicStreamChannel;
+import io.netty.util.NetUtil;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.http.netty.h3.internal.H3ProtocolConfigs.h3Default;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class H3LoopbackTest {
+
+    private final BlockingQueue<String> serverStreamEvents = new LinkedBlockingQueue<>();
+    private final BlockingQueue<String> clientStreamEvents = new LinkedBlockingQueue<>();
+    @Nullable
+    private EventLoopGroup group;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(Quic.isAvailable(), "QUIC native library is not available");
+        group = new NioEventLoopGroup(1);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (group != null) {
+            group.shutdownGracefully().sync();
+        }
+    }
+
+    @Test
+    void requestResponse(@TempDir Path tempDir) throws Exception {
+        assert group != null;
+        final H3ProtocolConfig config = h3Default();
+        Channel server = new Bootstrap().group(group).channel(NioDatagramChannel.class)
+                .handler(H3Codecs.newServerCodec(config, H3Codecs.sslContext(QuicSslContextBuilder.forServer(
+                                copy(DefaultTestCerts::loadServerKey, tempDir.resolve("server.key")), null,
+                                copy(DefaultTestCerts::loadServerPem, tempDir.resolve("server.pem"))), config),
+                        InsecureQuicTokenHandler.INSTANCE, new ChannelInitializer<QuicStreamChannel>() {
+                            @Override
+                            protected void initChannel(final QuicStreamChannel channel) {
+                                channel.pipeline().addLast(new OkResponseHandler());
+                            }
+                        }, new RecordingMultiplexedObserver(serverStreamEvents)))
+                .bind(new InetSocketAddress(NetUtil.LOCALHOST4, 0)).sync().channel();
+        Channel client = new Bootstrap().group(group).channel(NioDatagramChannel.class)
+                .handler(H3Codecs.newClientCodec(config, H3Codecs.sslContext(QuicSslContextBuilder.forClient()
+                        .trustManager(InsecureTrustManagerFactory.INSTANCE), config)))
+                .bind(0).sync().channel();
+        try {
+            QuicChannel connection = QuicChannel.newBootstrap(client)
+                    .handler(H3Codecs.newClientConnectionHandler())
+                    .remoteAddress(server.localAddress())
+                    .connect().get();
+            CompletableFuture<CharSequence> status = new CompletableFuture<>();
+            QuicStreamChannel stream = H3Codecs.newRequestStream(connection, new StatusHandler(status),
+                    new RecordingMultiplexedObserver(clientStreamEvents)).sync().getNow();
+            Http3HeadersFrame request = new DefaultHttp3HeadersFrame();
+            request.headers().method("GET").path("/").scheme("https")
+                    .authority(DefaultTestCerts.serverPemHostname());
+            stream.writeAndFlush(request).addListener(QuicStreamChannel.SHUTDOWN_OUTPUT).sync();
+
+            assertThat(status.get().toString(), is("200"));
+            stream.closeFuture().sync();
+            assertThat(clientStreamEvents.take(), is("id=0"));
+            assertThat(clientStreamEvents.take(), is("established"));
+            assertThat(clientStreamEvents.take(), is("closed"));
+            assertThat(serverStreamEvents.take(), is("id=0"));
+            assertThat(serverStreamEvents.take(), is("established"));
+            assertThat(serverStreamEvents.take(), is("closed"));
+            assertThat(serverStreamEvents.poll(), is(nullValue()));
+            connection.close().sync();
+        } finally {
+            client.close().sync();
+            server.close().sync();
+        }
+    }
+
+    private static File copy(final Supplier<InputStream> resource, final Path path) throws Exception {
+        try (InputStream in = resource.get()) {
+            Files.copy(in, path);
+        }
+        return path.toFile();
+    }
+
+    private static final class OkResponseHandler extends Http3RequestStreamInboundHandler {
+        @Override
+        protected void channelRead(final ChannelHandlerContext ctx, final Http3HeadersFrame frame) {
+            ReferenceCountUtil.release(frame);
+        }
+
+        @Override
+        protected void channelRead(final ChannelHandlerContext ctx, final Http3DataFrame frame) {
+            ReferenceCountUtil.release(frame);
+        }
+
+        @Override
+        protected void channelInputClosed(final ChannelHandlerContext ctx) {
+            Http3HeadersFrame response = new DefaultHttp3HeadersFrame();
+            response.headers().status("200");
+            ctx.writeAndFlush(response).addListener(QuicStreamChannel.SHUTDOWN_OUTPUT);
+        }
+    }
+
+    private static final class StatusHandler extends Http3RequestStreamInboundHandler {
+        private final CompletableFuture<CharSequence> status;
+
+        StatusHandler(final CompletableFuture<CharSequence> status) {
+            this.status = status;
+        }
+
+        @Override
+        protected void channelRead(final ChannelHandlerContext ctx, final Http3HeadersFrame frame) {
+            status.complete(frame.headers().status());
+            ReferenceCountUtil.release(frame);
+        }
+
+        @Override
+        protected void channelRead(final ChannelHandlerContext ctx, final Http3DataFrame frame) {
+            ReferenceCountUtil.release(frame);
+        }
+
+        @Override
+        protected void channelInputClosed(final ChannelHandlerContext ctx) {
+            ctx.close();
+        }
+    }
+
+    private static final class RecordingMultiplexedObserver implements MultiplexedObserver {
+        private final BlockingQueue<String> events;
+
+        RecordingMultiplexedObserver(final BlockingQueue<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public StreamObserver onNewStream() {
+            return new StreamObserver() {
+                @Override
+                public void streamIdAssigned(final long streamId) {
+                    events.add("id=" + streamId);
+                }
+
+                @Override
+                public DataObserver streamEstablished() {
+                    events.add("established");
+                    return new DataObserver() {
+                        @Override
+                        public ReadObserver onNewRead() {
+                            throw new UnsupportedOperationException();
+                        }
+
+                        @Override
+                        public WriteObserver onNewWrite() {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+
+                @Override
+                public void streamClosed(final Throwable error) {
+                    events.add("failed: " + error);
+                }
+
+                @Override
+                public void streamClosed() {
+                    events.add("closed");
+                }
+            };
+        }
+    }
+}
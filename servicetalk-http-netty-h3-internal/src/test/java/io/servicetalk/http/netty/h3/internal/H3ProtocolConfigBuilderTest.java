@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty.h3.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static io.servicetalk.http.netty.h3.internal.H3ProtocolConfigs.h3;
+import static io.servicetalk.http.netty.h3.internal.H3ProtocolConfigs.h3Default;
+import static java.time.Duration.ZERO;
+import static java.time.Duration.ofSeconds;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class H3ProtocolConfigBuilderTest {
+
+    @Test
+    void defaults() {
+        H3ProtocolConfig config = h3Default();
+        assertThat(config.alpnId(), is("h3"));
+        assertThat(config.maxIdleTimeout(), is(ofSeconds(30)));
+        assertThat(config.maxConcurrentStreams(), is(100L));
+        assertThat(config.earlyDataEnabled(), is(false));
+        assertThat(config.activeMigrationEnabled(), is(true));
+    }
+
+    @Test
+    void customValues() {
+        H3ProtocolConfig config = h3()
+                .maxIdleTimeout(ofSeconds(5))
+                .initialMaxData(1000)
+                .initialMaxStreamData(100)
+                .maxConcurrentStreams(10)
+                .earlyDataEnabled(true)
+                .activeMigrationEnabled(false)
+                .build();
+        assertThat(config.maxIdleTimeout(), is(ofSeconds(5)));
+        assertThat(config.initialMaxData(), is(1000L));
+        assertThat(config.initialMaxStreamData(), is(100L));
+        assertThat(config.maxConcurrentStreams(), is(10L));
+        assertThat(config.earlyDataEnabled(), is(true));
+        assertThat(config.activeMigrationEnabled(), is(false));
+    }
+
+    @Test
+    void invalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> h3().maxIdleTimeout(ZERO));
+        assertThrows(IllegalArgumentException.class, () -> h3().initialMaxData(0));
+        assertThrows(IllegalArgumentException.class, () -> h3().initialMaxStreamData(-1));
+        assertThrows(IllegalArgumentException.class, () -> h3().maxConcurrentStreams(0));
+    }
+}
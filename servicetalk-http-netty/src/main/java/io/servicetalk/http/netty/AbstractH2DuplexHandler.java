@@ -1,5 +1,5 @@
 /*
- * Copyright © 2019-2021 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2019-2021, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -39,6 +39,8 @@ import io.netty.util.ReferenceCountUtil;
 
 import javax.annotation.Nullable;
 
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.Category.DECODER;
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.withCategory;
 import static io.servicetalk.buffer.netty.BufferUtils.toByteBuf;
 import static io.servicetalk.http.api.Http2ErrorCode.PROTOCOL_ERROR;
 import static io.servicetalk.http.netty.H2ToStH1Utils.h1HeadersToH2Headers;
@@ -55,7 +57,7 @@ abstract class AbstractH2DuplexHandler extends ChannelDuplexHandler {
 
     AbstractH2DuplexHandler(BufferAllocator allocator, HttpHeadersFactory headersFactory, CloseHandler closeHandler,
                             StreamObserver observer) {
-        this.allocator = allocator;
+        this.allocator = withCategory(allocator, DECODER);
         this.headersFactory = headersFactory;
         this.closeHandler = closeHandler;
         this.observer = observer;
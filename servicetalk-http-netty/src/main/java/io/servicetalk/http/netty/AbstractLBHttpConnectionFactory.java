@@ -121,7 +121,7 @@ abstract class AbstractLBHttpConnectionFactory<ResolvedAddress>
                     // Apply connection filters:
                     FilterableStreamingHttpConnection filteredConnection =
                             connectionFilterFunction != null ? connectionFilterFunction.create(conn) : conn;
-                    return protocolBinding.bind(filteredConnection, newConcurrencyController(
+                    return protocolBinding.bind(filteredConnection, newConcurrencyController(resolvedAddress,
                             filteredConnection.transportEventStream(MAX_CONCURRENCY_NO_OFFLOADING)
                                     .beforeOnNext(event -> LOGGER.debug("{} Received {} event: {}",
                                             conn, MAX_CONCURRENCY_NO_OFFLOADING, event)),
@@ -139,7 +139,7 @@ abstract class AbstractLBHttpConnectionFactory<ResolvedAddress>
     abstract Single<FilterableStreamingHttpConnection> newFilterableConnection(
             ResolvedAddress resolvedAddress, TransportObserver observer);
 
-    abstract ReservableRequestConcurrencyController newConcurrencyController(
+    abstract ReservableRequestConcurrencyController newConcurrencyController(ResolvedAddress resolvedAddress,
             Publisher<? extends ConsumableEvent<Integer>> maxConcurrency, Completable onClosing);
 
     @Override
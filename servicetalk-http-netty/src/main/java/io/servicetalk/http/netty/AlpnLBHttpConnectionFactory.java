@@ -26,6 +26,7 @@ import io.servicetalk.http.api.HttpExecutionContext;
 import io.servicetalk.http.api.HttpProtocolVersion;
 import io.servicetalk.http.api.StreamingHttpConnectionFilterFactory;
 import io.servicetalk.http.api.StreamingHttpRequestResponseFactory;
+import io.servicetalk.http.netty.ReservableRequestConcurrencyControllers.ConnectionGroups;
 import io.servicetalk.http.netty.AlpnChannelSingle.NoopChannelInitializer;
 import io.servicetalk.tcp.netty.internal.ReadOnlyTcpClientConfig;
 import io.servicetalk.tcp.netty.internal.TcpClientChannelInitializer;
@@ -42,10 +43,13 @@ import javax.annotation.Nullable;
 import static io.servicetalk.concurrent.api.Single.failed;
 import static io.servicetalk.http.netty.AlpnIds.HTTP_1_1;
 import static io.servicetalk.http.netty.AlpnIds.HTTP_2;
+import static io.servicetalk.http.netty.ReservableRequestConcurrencyControllers.newConnectionGroups;
 import static io.servicetalk.http.netty.ReservableRequestConcurrencyControllers.newController;
 import static io.servicetalk.http.netty.StreamingConnectionFactory.withSslConfigPeerHost;
 
 final class AlpnLBHttpConnectionFactory<ResolvedAddress> extends AbstractLBHttpConnectionFactory<ResolvedAddress> {
+    @Nullable
+    private final ConnectionGroups<ResolvedAddress> connectionGroups;
 
     AlpnLBHttpConnectionFactory(
             final ReadOnlyHttpClientConfig config, final HttpExecutionContext executionContext,
@@ -57,6 +61,7 @@ final class AlpnLBHttpConnectionFactory<ResolvedAddress> extends AbstractLBHttpC
         super(config, executionContext, reqRespFactoryFunc, connectStrategy, connectionFactoryFilter,
                 connectionFilterFunction, protocolBinding);
         assert config.h1Config() != null && config.h2Config() != null;
+        connectionGroups = newConnectionGroups(config.h2Config());
     }
 
     @Override
@@ -100,11 +105,12 @@ final class AlpnLBHttpConnectionFactory<ResolvedAddress> extends AbstractLBHttpC
     }
 
     @Override
-    ReservableRequestConcurrencyController newConcurrencyController(
+    ReservableRequestConcurrencyController newConcurrencyController(final ResolvedAddress resolvedAddress,
             final Publisher<? extends ConsumableEvent<Integer>> maxConcurrency, final Completable onClosing) {
         // We set initialMaxConcurrency to 1 here because we don't know what type of connection will be created when
         // ALPN completes. The actual maxConcurrency value will be updated by the MAX_CONCURRENCY stream,
         // when we create a connection.
-        return newController(maxConcurrency, onClosing, 1);
+        return connectionGroups == null ? newController(maxConcurrency, onClosing, 1) :
+                newController(maxConcurrency, onClosing, 1, connectionGroups, resolvedAddress);
     }
 }
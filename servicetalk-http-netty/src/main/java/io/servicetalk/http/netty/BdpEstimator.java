@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Estimates the bandwidth-delay product (BDP) of a connection from the number of bytes received during the round trip
+ * of a PING.
+ * <p>
+ * When data is received and no PING is outstanding, a PING is sent and all bytes received until its acknowledgment
+ * form a sample. If a sample fills most of the current window and the bandwidth it represents is the highest observed
+ * so far, the window is likely limiting the throughput and grows to twice the sample, up to a configured maximum.
+ * <p>
+ * Not thread-safe, expected to be used from the event loop of the connection.
+ */
+final class BdpEstimator {
+    /**
+     * Weight of a new RTT sample once enough samples have been collected.
+     */
+    private static final double RTT_ALPHA = 0.9;
+    /**
+     * The fraction of the current window a sample must reach for the window to grow.
+     */
+    private static final double GROW_THRESHOLD = 0.66;
+    private static final double GROW_FACTOR = 2;
+    private static final int MIN_RTT_SAMPLES = 10;
+
+    private final int maxWindow;
+    private int window;
+    private boolean pingOutstanding;
+    private long pingSentNanos;
+    private long sample;
+    private int rttSamples;
+    private double rttNanos;
+    private double maxBandwidth;
+
+    BdpEstimator(final int initialWindow, final int maxWindow) {
+        this.window = initialWindow;
+        this.maxWindow = maxWindow;
+    }
+
+    /**
+     * Accounts received flow-controlled bytes.
+     *
+     * @param bytes number of received bytes.
+     * @param nowNanos current time in nanoseconds.
+     * @return {@code true} if a BDP PING should be sent.
+     */
+    boolean dataReceived(final int bytes, final long nowNanos) {
+        if (window >= maxWindow) {
+            return false;
+        }
+        if (!pingOutstanding) {
+            pingOutstanding = true;
+            pingSentNanos = nowNanos;
+            sample = bytes;
+            return true;
+        }
+        sample += bytes;
+        return false;
+    }
+
+    /**
+     * Completes a sample when the BDP PING is acknowledged.
+     *
+     * @param nowNanos current time in nanoseconds.
+     * @return the new window size if the window should grow, or {@code 0} if it remains unchanged.
+     */
+    int pingAckReceived(final long nowNanos) {
+        if (!pingOutstanding) {
+            return 0;
+        }
+        pingOutstanding = false;
+        final double rttSample = max(1, nowNanos - pingSentNanos);
+        if (rttSamples < MIN_RTT_SAMPLES) {
+            // Plain average until there are enough samples to smooth.
+            ++rttSamples;
+            rttNanos += (rttSample - rttNanos) / rttSamples;
+        } else {
+            rttNanos += (rttSample - rttNanos) * RTT_ALPHA;
+        }
+        // Processing delay of the peer inflates the RTT, the factor compensates for it like grpc-go does.
+        final double bandwidth = sample / (rttNanos * 1.5);
+        if (bandwidth <= maxBandwidth) {
+            return 0;
+        }
+        maxBandwidth = bandwidth;
+        if (sample < GROW_THRESHOLD * window) {
+            return 0;
+        }
+        final int newWindow = (int) min(maxWindow, (long) (GROW_FACTOR * sample));
+        if (newWindow <= window) {
+            return 0;
+        }
+        window = newWindow;
+        return newWindow;
+    }
+
+    int window() {
+        return window;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() +
+                "{window=" + window +
+                ", maxWindow=" + maxWindow +
+                ", rttNanos=" + (long) rttNanos +
+                ", maxBandwidth=" + maxBandwidth +
+                '}';
+    }
+}
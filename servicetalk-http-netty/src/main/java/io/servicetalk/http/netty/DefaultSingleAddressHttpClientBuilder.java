@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2022 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -70,6 +70,8 @@ import java.util.function.Predicate;
 import javax.annotation.Nullable;
 
 import static io.netty.util.NetUtil.toSocketAddressString;
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.Category.SERIALIZER;
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.withCategory;
 import static io.servicetalk.concurrent.api.AsyncCloseables.newCompositeCloseable;
 import static io.servicetalk.concurrent.api.Processors.newCompletableProcessor;
 import static io.servicetalk.concurrent.api.RetryStrategies.retryWithConstantBackoffDeltaJitter;
@@ -348,7 +350,9 @@ final class DefaultSingleAddressHttpClientBuilder<U, R> implements SingleAddress
     }
 
     private static StreamingHttpRequestResponseFactory defaultReqRespFactory(ReadOnlyHttpClientConfig roConfig,
-                                                                             BufferAllocator allocator) {
+                                                                             BufferAllocator executionAllocator) {
+        // Payload bodies of requests and responses are (de)serialized with the allocator of the factory.
+        final BufferAllocator allocator = withCategory(executionAllocator, SERIALIZER);
         if (roConfig.isH2PriorKnowledge()) {
             H2ProtocolConfig h2Config = roConfig.h2Config();
             assert h2Config != null;
@@ -796,7 +800,7 @@ final class DefaultSingleAddressHttpClientBuilder<U, R> implements SingleAddress
 
         AlpnReqRespFactoryFunc(final BufferAllocator allocator, @Nullable final HttpHeadersFactory h1HeadersFactory,
                                @Nullable final HttpHeadersFactory h2HeadersFactory) {
-            this.allocator = allocator;
+            this.allocator = withCategory(allocator, SERIALIZER);
             this.h1HeadersFactory = h1HeadersFactory;
             this.h2HeadersFactory = h2HeadersFactory;
         }
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http2.DefaultHttp2PingFrame;
+import io.netty.handler.codec.http2.DefaultHttp2SettingsFrame;
+import io.netty.handler.codec.http2.DefaultHttp2WindowUpdateFrame;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2PingFrame;
+import io.netty.handler.codec.http2.Http2Settings;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+import static java.lang.Math.max;
+
+/**
+ * Grows the local flow control windows of an HTTP/2 connection based on the estimated bandwidth-delay product.
+ * <p>
+ * Must be placed between the {@link io.netty.handler.codec.http2.Http2FrameCodec} and the
+ * {@link io.netty.handler.codec.http2.Http2MultiplexHandler} to observe DATA frames of all streams. Acknowledgments of
+ * PING frames sent by this handler are consumed here and never reach {@link KeepAliveManager}.
+ */
+final class H2BdpFlowControlHandler extends ChannelInboundHandlerAdapter {
+    private static final long BDP_PING_CONTENT = ThreadLocalRandom.current().nextLong();
+
+    private final BdpEstimator estimator;
+    private final LongSupplier nanoTime;
+    private int connectionWindow;
+
+    H2BdpFlowControlHandler(final Http2Settings localSettings, final int connectionWindowIncrement,
+                            final int maxWindow) {
+        this(localSettings, connectionWindowIncrement, maxWindow, System::nanoTime);
+    }
+
+    H2BdpFlowControlHandler(final Http2Settings localSettings, final int connectionWindowIncrement,
+                            final int maxWindow, final LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        final Integer initialWindowSize = localSettings.initialWindowSize();
+        final int streamWindow = initialWindowSize == null ? DEFAULT_WINDOW_SIZE : initialWindowSize;
+        // Http2FrameCodec expands the connection window by twice the difference to the default window size, and the
+        // configured increment is applied on top of that.
+        connectionWindow = DEFAULT_WINDOW_SIZE + max(0, (streamWindow - DEFAULT_WINDOW_SIZE) << 1) +
+                connectionWindowIncrement;
+        estimator = new BdpEstimator(streamWindow, maxWindow);
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+        if (msg instanceof Http2DataFrame) {
+            if (estimator.dataReceived(((Http2DataFrame) msg).initialFlowControlledBytes(), nanoTime.getAsLong())) {
+                ctx.writeAndFlush(new DefaultHttp2PingFrame(BDP_PING_CONTENT));
+            }
+        } else if (msg instanceof Http2PingFrame) {
+            final Http2PingFrame pingFrame = (Http2PingFrame) msg;
+            if (pingFrame.ack() && pingFrame.content() == BDP_PING_CONTENT) {
+                final int newWindow = estimator.pingAckReceived(nanoTime.getAsLong());
+                if (newWindow > 0) {
+                    growWindows(ctx, newWindow);
+                }
+                return;
+            }
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    private void growWindows(final ChannelHandlerContext ctx, final int newWindow) {
+        if (newWindow > connectionWindow) {
+            ctx.write(new DefaultHttp2WindowUpdateFrame(newWindow - connectionWindow));
+            connectionWindow = newWindow;
+        }
+        // The new initial window size applies to the local window of all existing and future streams once the peer
+        // acknowledges the settings.
+        ctx.writeAndFlush(new DefaultHttp2SettingsFrame(new Http2Settings().initialWindowSize(newWindow)));
+    }
+}
@@ -65,8 +65,12 @@ final class H2ClientParentChannelInitializer implements ChannelInitializer {
 
         // TODO(scott): more configuration. header validation, etc...
 
-        channel.pipeline().addLast(multiplexCodecBuilder.build(),
-                new Http2MultiplexHandler(H2PushStreamHandler.INSTANCE));
+        channel.pipeline().addLast(multiplexCodecBuilder.build());
+        if (config.adaptiveFlowControlMaxWindow() > 0) {
+            channel.pipeline().addLast(new H2BdpFlowControlHandler(nettySettings, config.flowControlWindowIncrement(),
+                    config.adaptiveFlowControlMaxWindow()));
+        }
+        channel.pipeline().addLast(new Http2MultiplexHandler(H2PushStreamHandler.INSTANCE));
         if (config.flowControlWindowIncrement() > 0) {
             // Must be after Http2ConnectionHandler does its initialization. The client must wait until after
             // the connection preface and settings are sent.
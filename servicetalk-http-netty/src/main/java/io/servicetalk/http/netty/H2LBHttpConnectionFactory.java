@@ -25,6 +25,7 @@ import io.servicetalk.http.api.FilterableStreamingHttpConnection;
 import io.servicetalk.http.api.HttpExecutionContext;
 import io.servicetalk.http.api.StreamingHttpConnectionFilterFactory;
 import io.servicetalk.http.api.StreamingHttpRequestResponseFactory;
+import io.servicetalk.http.netty.ReservableRequestConcurrencyControllers.ConnectionGroups;
 import io.servicetalk.tcp.netty.internal.ReadOnlyTcpClientConfig;
 import io.servicetalk.tcp.netty.internal.TcpClientChannelInitializer;
 import io.servicetalk.tcp.netty.internal.TcpConnector;
@@ -35,10 +36,14 @@ import javax.annotation.Nullable;
 
 import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_2_0;
 import static io.servicetalk.http.netty.H2ClientParentConnectionContext.DEFAULT_H2_MAX_CONCURRENCY_EVENT;
+import static io.servicetalk.http.netty.ReservableRequestConcurrencyControllers.newConnectionGroups;
 import static io.servicetalk.http.netty.ReservableRequestConcurrencyControllers.newController;
 import static io.servicetalk.http.netty.StreamingConnectionFactory.withSslConfigPeerHost;
 
 final class H2LBHttpConnectionFactory<ResolvedAddress> extends AbstractLBHttpConnectionFactory<ResolvedAddress> {
+    @Nullable
+    private final ConnectionGroups<ResolvedAddress> connectionGroups;
+
     H2LBHttpConnectionFactory(
             final ReadOnlyHttpClientConfig config, final HttpExecutionContext executionContext,
             @Nullable final StreamingHttpConnectionFilterFactory connectionFilterFunction,
@@ -48,6 +53,8 @@ final class H2LBHttpConnectionFactory<ResolvedAddress> extends AbstractLBHttpCon
             final ProtocolBinding protocolBinding) {
         super(config, executionContext, version -> reqRespFactory,
                 connectStrategy, connectionFactoryFilter, connectionFilterFunction, protocolBinding);
+        assert config.h2Config() != null;
+        connectionGroups = newConnectionGroups(config.h2Config());
     }
 
     @Override
@@ -67,8 +74,10 @@ final class H2LBHttpConnectionFactory<ResolvedAddress> extends AbstractLBHttpCon
     }
 
     @Override
-    ReservableRequestConcurrencyController newConcurrencyController(
+    ReservableRequestConcurrencyController newConcurrencyController(final ResolvedAddress resolvedAddress,
             final Publisher<? extends ConsumableEvent<Integer>> maxConcurrency, final Completable onClosing) {
-        return newController(maxConcurrency, onClosing, DEFAULT_H2_MAX_CONCURRENCY_EVENT.event());
+        final int initialConcurrency = DEFAULT_H2_MAX_CONCURRENCY_EVENT.event();
+        return connectionGroups == null ? newController(maxConcurrency, onClosing, initialConcurrency) :
+                newController(maxConcurrency, onClosing, initialConcurrency, connectionGroups, resolvedAddress);
     }
 }
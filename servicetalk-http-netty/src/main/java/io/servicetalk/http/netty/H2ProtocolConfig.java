@@ -100,6 +100,54 @@ public interface H2ProtocolConfig extends HttpProtocolConfig {
                 getClass());
     }
 
+    /**
+     * Number of connections a client opens to each host before it lets the pending requests of a connection grow
+     * beyond {@link #newConnectionThreshold()} of the peer's
+     * <a href="https://www.rfc-editor.org/rfc/rfc7540#section-6.5.2">SETTINGS_MAX_CONCURRENT_STREAMS</a>.
+     * <p>
+     * If greater than {@code 1}, requests are also spread across all connections to the same host by selecting the
+     * connection with the least active streams. This allows a client to use multiple event loops and TCP congestion
+     * windows for a single host. Otherwise, a single connection is used until it reaches the max concurrent streams.
+     * <p>
+     * This setting is ignored by servers.
+     * @return The number of connections a client opens to each host before a connection is filled beyond
+     * {@link #newConnectionThreshold()}.
+     */
+    default int targetConnectionsPerHost() {
+        return 1;
+    }
+
+    /**
+     * Fraction of the peer's
+     * <a href="https://www.rfc-editor.org/rfc/rfc7540#section-6.5.2">SETTINGS_MAX_CONCURRENT_STREAMS</a> after which
+     * a client opens a new connection to the same host, as long as it has less than
+     * {@link #targetConnectionsPerHost()} connections to that host.
+     * <p>
+     * This setting is ignored by servers.
+     * @return A value in the range {@code (0, 1]}.
+     */
+    default float newConnectionThreshold() {
+        return 1f;
+    }
+
+    /**
+     * Maximum size of the local flow control windows when they are adjusted automatically based on an estimate of the
+     * <a href="https://en.wikipedia.org/wiki/Bandwidth-delay_product">bandwidth-delay product</a> (BDP) of the
+     * connection.
+     * <p>
+     * If positive, a <a href="https://www.rfc-editor.org/rfc/rfc7540#section-6.7">PING</a> is sent together with the
+     * acknowledgment of received DATA frames to measure how many bytes arrive within a round trip. When the windows
+     * limit the throughput, the connection window grows via
+     * <a href="https://www.rfc-editor.org/rfc/rfc7540#section-6.9">WINDOW_UPDATE</a> and the stream windows grow via
+     * <a href="https://www.rfc-editor.org/rfc/rfc7540#section-6.5.2">SETTINGS_INITIAL_WINDOW_SIZE</a>, up to this
+     * value. Windows never shrink.
+     * @return The maximum size of the local flow control windows in bytes, or {@code 0} if the windows are not
+     * adjusted automatically.
+     */
+    default int adaptiveFlowControlMaxWindow() {
+        return 0;
+    }
+
     /**
      * A policy for sending <a href="https://tools.ietf.org/html/rfc7540#section-6.7">PING frames</a> to the peer.
      */
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2019-2022 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2019-2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -64,6 +64,9 @@ public final class H2ProtocolConfigBuilder {
     private KeepAlivePolicy keepAlivePolicy;
     private int flowControlQuantum = DEFAULT_FLOW_CONTROL_QUANTUM;
     private int flowControlIncrement = CONNECTION_STREAM_FLOW_CONTROL_INCREMENT;
+    private int targetConnectionsPerHost = 1;
+    private float newConnectionThreshold = 1f;
+    private int adaptiveFlowControlMaxWindow;
 
     H2ProtocolConfigBuilder() {
     }
@@ -166,6 +169,51 @@ public final class H2ProtocolConfigBuilder {
         return this;
     }
 
+    /**
+     * Sets the number of connections a client opens to each host before it lets the pending requests of a connection
+     * grow beyond {@code newConnectionThreshold} of the peer's
+     * <a href="https://www.rfc-editor.org/rfc/rfc7540#section-6.5.2">SETTINGS_MAX_CONCURRENT_STREAMS</a>. Requests
+     * are spread across the connections to the same host by selecting the connection with the least active streams.
+     * <p>
+     * This setting is ignored by servers.
+     * @param targetConnectionsPerHost The number of connections a client opens to each host.
+     * @param newConnectionThreshold The fraction of the max concurrent streams of a connection after which a new
+     * connection is opened, in the range {@code (0, 1]}.
+     * @return {@code this}
+     * @see H2ProtocolConfig#targetConnectionsPerHost()
+     * @see H2ProtocolConfig#newConnectionThreshold()
+     */
+    public H2ProtocolConfigBuilder connectionsPerHost(final int targetConnectionsPerHost,
+                                                      final float newConnectionThreshold) {
+        if (targetConnectionsPerHost <= 0) {
+            throw new IllegalArgumentException("targetConnectionsPerHost " + targetConnectionsPerHost +
+                    " (expected >0)");
+        }
+        if (!(newConnectionThreshold > 0f && newConnectionThreshold <= 1f)) {
+            throw new IllegalArgumentException("newConnectionThreshold " + newConnectionThreshold +
+                    " (expected (0, 1])");
+        }
+        this.targetConnectionsPerHost = targetConnectionsPerHost;
+        this.newConnectionThreshold = newConnectionThreshold;
+        return this;
+    }
+
+    /**
+     * Enables automatic growth of the local flow control windows based on an estimate of the bandwidth-delay product
+     * of each connection. The connection and stream windows start from their configured sizes and grow as long as they
+     * limit the throughput, up to {@code maxWindowSize}.
+     * @param maxWindowSize The maximum size of the local flow control windows in bytes.
+     * @return {@code this}
+     * @see H2ProtocolConfig#adaptiveFlowControlMaxWindow()
+     */
+    public H2ProtocolConfigBuilder adaptiveFlowControlWindow(final int maxWindowSize) {
+        if (maxWindowSize <= 0) {
+            throw new IllegalArgumentException("maxWindowSize " + maxWindowSize + " (expected >0)");
+        }
+        this.adaptiveFlowControlMaxWindow = maxWindowSize;
+        return this;
+    }
+
     /**
      * Builds {@link H2ProtocolConfig}.
      *
@@ -173,7 +221,8 @@ public final class H2ProtocolConfigBuilder {
      */
     public H2ProtocolConfig build() {
         return new DefaultH2ProtocolConfig(h2Settings, headersFactory, headersSensitivityDetector, frameLoggerConfig,
-                keepAlivePolicy, flowControlQuantum, flowControlIncrement);
+                keepAlivePolicy, flowControlQuantum, flowControlIncrement, targetConnectionsPerHost,
+                newConnectionThreshold, adaptiveFlowControlMaxWindow);
     }
 
     private static final class DefaultH2ProtocolConfig implements H2ProtocolConfig {
@@ -186,6 +235,9 @@ public final class H2ProtocolConfigBuilder {
         private final KeepAlivePolicy keepAlivePolicy;
         private final int flowControlQuantum;
         private final int flowControlIncrement;
+        private final int targetConnectionsPerHost;
+        private final float newConnectionThreshold;
+        private final int adaptiveFlowControlMaxWindow;
 
         DefaultH2ProtocolConfig(final Http2Settings h2Settings,
                                 final HttpHeadersFactory headersFactory,
@@ -193,7 +245,10 @@ public final class H2ProtocolConfigBuilder {
                                 @Nullable final UserDataLoggerConfig frameLoggerConfig,
                                 @Nullable final KeepAlivePolicy keepAlivePolicy,
                                 final int flowControlQuantum,
-                                final int flowControlIncrement) {
+                                final int flowControlIncrement,
+                                final int targetConnectionsPerHost,
+                                final float newConnectionThreshold,
+                                final int adaptiveFlowControlMaxWindow) {
             this.h2Settings = h2Settings;
             this.headersFactory = headersFactory;
             this.headersSensitivityDetector = headersSensitivityDetector;
@@ -201,6 +256,9 @@ public final class H2ProtocolConfigBuilder {
             this.keepAlivePolicy = keepAlivePolicy;
             this.flowControlQuantum = flowControlQuantum;
             this.flowControlIncrement = flowControlIncrement;
+            this.targetConnectionsPerHost = targetConnectionsPerHost;
+            this.newConnectionThreshold = newConnectionThreshold;
+            this.adaptiveFlowControlMaxWindow = adaptiveFlowControlMaxWindow;
         }
 
         @Override
@@ -240,6 +298,21 @@ public final class H2ProtocolConfigBuilder {
             return flowControlIncrement;
         }
 
+        @Override
+        public int targetConnectionsPerHost() {
+            return targetConnectionsPerHost;
+        }
+
+        @Override
+        public float newConnectionThreshold() {
+            return newConnectionThreshold;
+        }
+
+        @Override
+        public int adaptiveFlowControlMaxWindow() {
+            return adaptiveFlowControlMaxWindow;
+        }
+
         @Override
         public String toString() {
             return getClass().getSimpleName() +
@@ -251,6 +324,9 @@ public final class H2ProtocolConfigBuilder {
                     ", keepAlivePolicy=" + keepAlivePolicy +
                     ", flowControlQuantum=" + flowControlQuantum +
                     ", flowControlIncrement=" + flowControlIncrement +
+                    ", targetConnectionsPerHost=" + targetConnectionsPerHost +
+                    ", newConnectionThreshold=" + newConnectionThreshold +
+                    ", adaptiveFlowControlMaxWindow=" + adaptiveFlowControlMaxWindow +
                     ", h2Settings=" + h2Settings + '}';
         }
     }
@@ -70,7 +70,12 @@ final class H2ServerParentChannelInitializer implements ChannelInitializer {
 
         // TODO(scott): more configuration. header validation, etc...
 
-        channel.pipeline().addLast(multiplexCodecBuilder.build(), new Http2MultiplexHandler(streamChannelInitializer));
+        channel.pipeline().addLast(multiplexCodecBuilder.build());
+        if (config.adaptiveFlowControlMaxWindow() > 0) {
+            channel.pipeline().addLast(new H2BdpFlowControlHandler(nettySettings, config.flowControlWindowIncrement(),
+                    config.adaptiveFlowControlMaxWindow()));
+        }
+        channel.pipeline().addLast(new Http2MultiplexHandler(streamChannelInitializer));
         if (config.flowControlWindowIncrement() > 0) {
             // Must be after Http2ConnectionHandler does its initialization in handlerAdded above.
             // The server will not send a connection preface so we are good to send a window update.
@@ -48,7 +48,6 @@ import static io.servicetalk.http.api.HttpResponseMetaDataFactory.newResponseMet
 import static io.servicetalk.http.api.HttpResponseStatus.StatusClass.INFORMATIONAL_1XX;
 import static io.servicetalk.http.api.HttpResponseStatus.StatusClass.SUCCESSFUL_2XX;
 import static io.servicetalk.http.netty.H2ToStH1Utils.h1HeadersToH2Headers;
-import static io.servicetalk.http.netty.H2ToStH1Utils.h2HeadersSanitizeForH1;
 import static io.servicetalk.http.netty.HeaderUtils.REQ_EXPECT_CONTINUE;
 import static io.servicetalk.http.netty.HeaderUtils.responseMayHaveContent;
 import static io.servicetalk.http.netty.HeaderUtils.serverMaySendPayloadBodyFor;
@@ -200,7 +199,6 @@ final class H2ToStH1ClientDuplexHandler extends AbstractH2DuplexHandler {
                                                                    final boolean fullResponse,
                                                                    final int streamId) throws Http2Exception {
         assert method != null;
-        h2HeadersSanitizeForH1(h2Headers);
         if (httpStatus != null) {
             final int statusCode = httpStatus.code();
             if (!h2Headers.contains(CONTENT_LENGTH)) {
@@ -214,7 +212,7 @@ final class H2ToStH1ClientDuplexHandler extends AbstractH2DuplexHandler {
             }
         }
         return new NettyH2HeadersToHttpHeaders(h2Headers, headersFactory.validateCookies(),
-                headersFactory.validateValues());
+                headersFactory.validateValues(), true);
     }
 
     static boolean isInterim(final HttpResponseStatus status) {
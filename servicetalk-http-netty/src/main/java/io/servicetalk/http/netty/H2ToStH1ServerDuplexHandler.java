@@ -44,7 +44,6 @@ import static io.servicetalk.http.api.HttpRequestMetaDataFactory.newRequestMetaD
 import static io.servicetalk.http.api.HttpRequestMethod.Properties.NONE;
 import static io.servicetalk.http.netty.H2ToStH1ClientDuplexHandler.isInterim;
 import static io.servicetalk.http.netty.H2ToStH1Utils.h1HeadersToH2Headers;
-import static io.servicetalk.http.netty.H2ToStH1Utils.h2HeadersSanitizeForH1;
 import static io.servicetalk.http.netty.HeaderUtils.clientMaySendPayloadBodyFor;
 import static io.servicetalk.http.netty.HeaderUtils.shouldAddZeroContentLength;
 
@@ -149,7 +148,6 @@ final class H2ToStH1ServerDuplexHandler extends AbstractH2DuplexHandler {
             h2Headers.set(HOST, value);
         }
         h2Headers.remove(Http2Headers.PseudoHeaderName.SCHEME.value());
-        h2HeadersSanitizeForH1(h2Headers);
         if (httpMethod != null) {
             final boolean containsContentLength = h2Headers.contains(CONTENT_LENGTH);
             if (clientMaySendPayloadBodyFor(httpMethod)) {
@@ -162,7 +160,7 @@ final class H2ToStH1ServerDuplexHandler extends AbstractH2DuplexHandler {
             }
         }
         return new NettyH2HeadersToHttpHeaders(h2Headers, headersFactory.validateCookies(),
-                headersFactory.validateValues());
+                headersFactory.validateValues(), true);
     }
 
     private NettyH2HeadersToHttpHeaders h2TrailersToH1TrailersServer(Http2Headers h2Headers) {
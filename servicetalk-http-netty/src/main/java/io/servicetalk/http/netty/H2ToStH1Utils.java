@@ -18,13 +18,11 @@ package io.servicetalk.http.netty;
 import io.servicetalk.http.api.HttpHeaders;
 
 import io.netty.handler.codec.http.HttpHeaderNames;
-import io.netty.handler.codec.http2.DefaultHttp2Headers;
 import io.netty.handler.codec.http2.Http2Headers;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.TE;
 import static io.netty.handler.codec.http.HttpHeaderValues.TRAILERS;
@@ -58,10 +56,6 @@ final class H2ToStH1Utils {
         // no instances.
     }
 
-    static void h2HeadersSanitizeForH1(Http2Headers h2Headers) {
-        h2HeadersCompressCookieCrumbs(h2Headers);
-    }
-
     /**
      * Combine the cookie values into 1 header entry as required by
      * <a href="https://tools.ietf.org/html/rfc7540#section-8.1.2.5">RFC 7540, 8.1.2.5</a>.
@@ -159,7 +153,7 @@ final class H2ToStH1Utils {
             if (h1Headers instanceof NettyH2HeadersToHttpHeaders) {
                 return ((NettyH2HeadersToHttpHeaders) h1Headers).nettyHeaders();
             }
-            return new DefaultHttp2Headers(false, 0);
+            return new HttpHeadersToNettyH2Headers(h1Headers);
         }
 
         // H2 doesn't support connection headers, so remove each one, and the headers corresponding to the
@@ -233,24 +227,19 @@ final class H2ToStH1Utils {
             h1Headers.add(TE, TRAILERS);
         }
 
-        h1HeadersSplitCookieCrumbs(h1Headers);
-
         if (h1Headers instanceof NettyH2HeadersToHttpHeaders) {
+            final NettyH2HeadersToHttpHeaders h2Headers = (NettyH2HeadersToHttpHeaders) h1Headers;
+            // Cookies received over HTTP/2 which haven't been accessed are still split.
+            if (!h2Headers.hasCookieCrumbs()) {
+                h1HeadersSplitCookieCrumbs(h1Headers);
+            }
             // Assume header field names are already lowercase if they reside in the Http2Headers. We may want to be
             // more strict in the future, but that would require iteration.
-            return ((NettyH2HeadersToHttpHeaders) h1Headers).nettyHeaders();
+            return h2Headers.nettyHeaders();
         }
 
-        if (h1Headers.isEmpty()) {
-            return new DefaultHttp2Headers(false, 0);
-        }
-
-        DefaultHttp2Headers http2Headers = new DefaultHttp2Headers(false);
-        for (Map.Entry<CharSequence, CharSequence> h1Entry : h1Headers) {
-            // header field names MUST be converted to lowercase prior to their encoding in HTTP/2
-            // https://tools.ietf.org/html/rfc7540#section-8.1.2
-            http2Headers.add(h1Entry.getKey().toString().toLowerCase(), h1Entry.getValue());
-        }
-        return http2Headers;
+        h1HeadersSplitCookieCrumbs(h1Headers);
+        // Take a snapshot, the frame may be encoded later while the user keeps modifying the original headers.
+        return new HttpHeadersToNettyH2Headers(h1Headers);
     }
 }
@@ -0,0 +1,393 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.http.api.HttpHeaders;
+
+import io.netty.handler.codec.EmptyHeaders;
+import io.netty.handler.codec.HeadersUtils;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.util.AsciiString;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+import static io.netty.handler.codec.http2.Http2Headers.PseudoHeaderName.AUTHORITY;
+import static io.netty.handler.codec.http2.Http2Headers.PseudoHeaderName.METHOD;
+import static io.netty.handler.codec.http2.Http2Headers.PseudoHeaderName.PATH;
+import static io.netty.handler.codec.http2.Http2Headers.PseudoHeaderName.SCHEME;
+import static io.netty.handler.codec.http2.Http2Headers.PseudoHeaderName.STATUS;
+import static io.netty.handler.codec.http2.Http2Headers.PseudoHeaderName.getPseudoHeader;
+import static io.servicetalk.buffer.api.CharSequences.contentEquals;
+import static io.servicetalk.buffer.api.CharSequences.contentEqualsIgnoreCase;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.singletonList;
+
+/**
+ * {@link Http2Headers} snapshot of {@link HttpHeaders} which is used to encode outgoing HTTP/2 headers, without
+ * copying them into the hash table of {@code DefaultHttp2Headers}.
+ * <p>
+ * The names and values are copied into flat arrays when this object is created, so the frame which carries it can be
+ * queued and encoded later (potentially on another thread) without observing modifications made to the
+ * {@link HttpHeaders} after they were written. Pseudo-headers are iterated first, as required by
+ * <a href="https://tools.ietf.org/html/rfc7540#section-8.1.2.1">RFC 7540, 8.1.2.1</a>. Header field names are
+ * converted to lowercase while copying, but only if they contain uppercase characters.
+ */
+final class HttpHeadersToNettyH2Headers extends EmptyHeaders<CharSequence, CharSequence, Http2Headers>
+        implements Http2Headers {
+    private static final PseudoHeaderName[] PSEUDO_HEADERS = PseudoHeaderName.values();
+    private static final CharSequence[] EMPTY = new CharSequence[0];
+
+    private final CharSequence[] names;
+    private final CharSequence[] values;
+    private int size;
+    private final CharSequence[] pseudoHeaders = new CharSequence[PSEUDO_HEADERS.length];
+
+    HttpHeadersToNettyH2Headers(final HttpHeaders headers) {
+        final int headersSize = headers.size();
+        if (headersSize == 0) {
+            names = EMPTY;
+            values = EMPTY;
+            return;
+        }
+        names = new CharSequence[headersSize];
+        values = new CharSequence[headersSize];
+        int i = 0;
+        for (Entry<CharSequence, CharSequence> entry : headers) {
+            names[i] = toLowerCase(entry.getKey());
+            values[i] = entry.getValue();
+            ++i;
+        }
+        size = i;
+    }
+
+    @Nullable
+    @Override
+    public CharSequence get(final CharSequence name) {
+        final PseudoHeaderName pseudoHeader = pseudoHeader(name);
+        if (pseudoHeader != null) {
+            return pseudoHeaders[pseudoHeader.ordinal()];
+        }
+        final int i = nextIndexOf(name, 0);
+        return i < 0 ? null : values[i];
+    }
+
+    @Override
+    public CharSequence get(final CharSequence name, final CharSequence defaultValue) {
+        final CharSequence value = get(name);
+        return value == null ? defaultValue : value;
+    }
+
+    @Nullable
+    @Override
+    public CharSequence getAndRemove(final CharSequence name) {
+        final PseudoHeaderName pseudoHeader = pseudoHeader(name);
+        if (pseudoHeader == null) {
+            final CharSequence value = get(name);
+            remove(name);
+            return value;
+        }
+        final CharSequence value = pseudoHeaders[pseudoHeader.ordinal()];
+        pseudoHeaders[pseudoHeader.ordinal()] = null;
+        return value;
+    }
+
+    @Override
+    public List<CharSequence> getAll(final CharSequence name) {
+        final List<CharSequence> values = new ArrayList<>(4);
+        final Iterator<CharSequence> itr = valueIterator(name);
+        while (itr.hasNext()) {
+            values.add(itr.next());
+        }
+        return values;
+    }
+
+    @Override
+    public boolean contains(final CharSequence name) {
+        return get(name) != null;
+    }
+
+    @Override
+    public boolean contains(final CharSequence name, final CharSequence value) {
+        return contains(name, value, false);
+    }
+
+    @Override
+    public boolean contains(final CharSequence name, final CharSequence value, final boolean caseInsensitive) {
+        final PseudoHeaderName pseudoHeader = pseudoHeader(name);
+        if (pseudoHeader == null) {
+            for (int i = nextIndexOf(name, 0); i >= 0; i = nextIndexOf(name, i + 1)) {
+                if (valueMatches(values[i], value, caseInsensitive)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        final CharSequence pseudoValue = pseudoHeaders[pseudoHeader.ordinal()];
+        return pseudoValue != null && valueMatches(pseudoValue, value, caseInsensitive);
+    }
+
+    @Override
+    public int size() {
+        int size = this.size;
+        for (CharSequence value : pseudoHeaders) {
+            if (value != null) {
+                ++size;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Set<CharSequence> names() {
+        final Set<CharSequence> names = new HashSet<>();
+        for (int i = 0; i < pseudoHeaders.length; ++i) {
+            if (pseudoHeaders[i] != null) {
+                names.add(PSEUDO_HEADERS[i].value());
+            }
+        }
+        names.addAll(Arrays.asList(this.names).subList(0, size));
+        return names;
+    }
+
+    @Override
+    public boolean remove(final CharSequence name) {
+        final PseudoHeaderName pseudoHeader = pseudoHeader(name);
+        if (pseudoHeader == null) {
+            int newSize = 0;
+            for (int i = 0; i < size; ++i) {
+                if (contentEqualsIgnoreCase(names[i], name)) {
+                    continue;
+                }
+                if (newSize != i) {
+                    names[newSize] = names[i];
+                    values[newSize] = values[i];
+                }
+                ++newSize;
+            }
+            if (newSize == size) {
+                return false;
+            }
+            Arrays.fill(names, newSize, size, null);
+            Arrays.fill(values, newSize, size, null);
+            size = newSize;
+            return true;
+        }
+        final boolean removed = pseudoHeaders[pseudoHeader.ordinal()] != null;
+        pseudoHeaders[pseudoHeader.ordinal()] = null;
+        return removed;
+    }
+
+    @Override
+    public Iterator<Entry<CharSequence, CharSequence>> iterator() {
+        return new EntryIterator();
+    }
+
+    @Override
+    public Iterator<CharSequence> valueIterator(final CharSequence name) {
+        final PseudoHeaderName pseudoHeader = pseudoHeader(name);
+        if (pseudoHeader == null) {
+            final int first = nextIndexOf(name, 0);
+            return first < 0 ? emptyIterator() : new ValueIterator(name, first);
+        }
+        final CharSequence value = pseudoHeaders[pseudoHeader.ordinal()];
+        return value == null ? emptyIterator() : singletonList(value).iterator();
+    }
+
+    @Override
+    public Http2Headers method(final CharSequence value) {
+        pseudoHeaders[METHOD.ordinal()] = value;
+        return this;
+    }
+
+    @Override
+    public Http2Headers scheme(final CharSequence value) {
+        pseudoHeaders[SCHEME.ordinal()] = value;
+        return this;
+    }
+
+    @Override
+    public Http2Headers authority(final CharSequence value) {
+        pseudoHeaders[AUTHORITY.ordinal()] = value;
+        return this;
+    }
+
+    @Override
+    public Http2Headers path(final CharSequence value) {
+        pseudoHeaders[PATH.ordinal()] = value;
+        return this;
+    }
+
+    @Override
+    public Http2Headers status(final CharSequence value) {
+        pseudoHeaders[STATUS.ordinal()] = value;
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public CharSequence method() {
+        return pseudoHeaders[METHOD.ordinal()];
+    }
+
+    @Nullable
+    @Override
+    public CharSequence scheme() {
+        return pseudoHeaders[SCHEME.ordinal()];
+    }
+
+    @Nullable
+    @Override
+    public CharSequence authority() {
+        return pseudoHeaders[AUTHORITY.ordinal()];
+    }
+
+    @Nullable
+    @Override
+    public CharSequence path() {
+        return pseudoHeaders[PATH.ordinal()];
+    }
+
+    @Nullable
+    @Override
+    public CharSequence status() {
+        return pseudoHeaders[STATUS.ordinal()];
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o;
+    }
+
+    @Override
+    public String toString() {
+        return HeadersUtils.toString(getClass(), iterator(), size());
+    }
+
+    private int nextIndexOf(final CharSequence name, final int fromIndex) {
+        for (int i = fromIndex; i < size; ++i) {
+            if (contentEqualsIgnoreCase(names[i], name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean valueMatches(final CharSequence value1, final CharSequence value2,
+                                        final boolean caseInsensitive) {
+        return caseInsensitive ? contentEqualsIgnoreCase(value1, value2) : contentEquals(value1, value2);
+    }
+
+    @Nullable
+    private static PseudoHeaderName pseudoHeader(final CharSequence name) {
+        return name.length() > 0 && name.charAt(0) == ':' ? getPseudoHeader(name) : null;
+    }
+
+    /**
+     * Header field names MUST be converted to lowercase prior to their encoding in HTTP/2, see
+     * <a href="https://tools.ietf.org/html/rfc7540#section-8.1.2">RFC 7540, 8.1.2</a>.
+     *
+     * @param name the header field name.
+     * @return {@code name} if it doesn't contain uppercase characters, otherwise its lowercase copy.
+     */
+    private static CharSequence toLowerCase(final CharSequence name) {
+        for (int i = 0; i < name.length(); ++i) {
+            final char c = name.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                return AsciiString.of(name).toLowerCase();
+            }
+        }
+        return name;
+    }
+
+    private final class EntryIterator implements Iterator<Entry<CharSequence, CharSequence>> {
+        private int pseudoIndex;
+        private int index;
+
+        EntryIterator() {
+            nextPseudoHeader(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pseudoIndex < pseudoHeaders.length || index < size;
+        }
+
+        @Override
+        public Entry<CharSequence, CharSequence> next() {
+            if (pseudoIndex < pseudoHeaders.length) {
+                final int i = pseudoIndex;
+                nextPseudoHeader(i + 1);
+                return new SimpleImmutableEntry<>(PSEUDO_HEADERS[i].value(), pseudoHeaders[i]);
+            }
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            final int i = index++;
+            return new SimpleImmutableEntry<>(names[i], values[i]);
+        }
+
+        private void nextPseudoHeader(int i) {
+            while (i < pseudoHeaders.length && pseudoHeaders[i] == null) {
+                ++i;
+            }
+            pseudoIndex = i;
+        }
+    }
+
+    private final class ValueIterator implements Iterator<CharSequence> {
+        private final CharSequence name;
+        private int nextIndex;
+
+        ValueIterator(final CharSequence name, final int first) {
+            this.name = name;
+            nextIndex = first;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex >= 0;
+        }
+
+        @Override
+        public CharSequence next() {
+            final int i = nextIndex;
+            if (i < 0) {
+                throw new NoSuchElementException();
+            }
+            nextIndex = nextIndexOf(name, i + 1);
+            return values[i];
+        }
+    }
+}
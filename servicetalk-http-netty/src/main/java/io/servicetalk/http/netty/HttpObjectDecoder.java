@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2021 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2021, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -73,6 +73,7 @@ import static io.servicetalk.http.api.HttpHeaderNames.SEC_WEBSOCKET_KEY2;
 import static io.servicetalk.http.api.HttpHeaderNames.SEC_WEBSOCKET_LOCATION;
 import static io.servicetalk.http.api.HttpHeaderNames.SEC_WEBSOCKET_ORIGIN;
 import static io.servicetalk.http.api.HttpHeaderNames.UPGRADE;
+import static io.servicetalk.http.api.HttpHeadersTemplate.inboundHeadersFactory;
 import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_0;
 import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
 import static io.servicetalk.http.api.HttpRequestMethod.GET;
@@ -187,7 +188,8 @@ abstract class HttpObjectDecoder<T extends HttpMetaData> extends ByteToMessageDe
         if (maxHeaderFieldLength <= 0) {
             throw new IllegalArgumentException("maxHeaderFieldLength: " + maxHeaderFieldLength + " (expected >0)");
         }
-        this.headersFactory = requireNonNull(headersFactory);
+        // Received messages must not start with the entries of a template used for outgoing messages.
+        this.headersFactory = inboundHeadersFactory(requireNonNull(headersFactory));
         this.maxStartLineLength = maxStartLineLength;
         this.maxHeaderFieldLength = maxHeaderFieldLength;
         this.allowPrematureClosureBeforePayloadBody = allowPrematureClosureBeforePayloadBody;
@@ -672,8 +674,12 @@ abstract class HttpObjectDecoder<T extends HttpMetaData> extends ByteToMessageDe
         if (nameEnd == nameStart) {
             throw newDecoderExceptionAtLine("Empty header name in line ", parsingLine);
         }
-        // We assume the allocator will not leak memory, and so we retain + slice to avoid copying data.
-        final CharSequence name = newAsciiString(newBufferFrom(buffer.retainedSlice(nameStart, nameEnd - nameStart)));
+        final int nameLength = nameEnd - nameStart;
+        CharSequence name = WellKnownHeaderNames.find(buffer, nameStart, nameLength);
+        if (name == null) {
+            // We assume the allocator will not leak memory, and so we retain + slice to avoid copying data.
+            name = newAsciiString(newBufferFrom(buffer.retainedSlice(nameStart, nameLength)));
+        }
         final CharSequence value;
         try {
             final int valueStart;
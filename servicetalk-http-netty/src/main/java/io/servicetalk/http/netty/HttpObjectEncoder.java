@@ -35,6 +35,7 @@ import io.servicetalk.http.api.EmptyHttpHeaders;
 import io.servicetalk.http.api.HttpHeaderNames;
 import io.servicetalk.http.api.HttpHeaderValues;
 import io.servicetalk.http.api.HttpHeaders;
+import io.servicetalk.http.api.HttpHeadersTemplate;
 import io.servicetalk.http.api.HttpMetaData;
 import io.servicetalk.transport.netty.internal.CloseHandler;
 
@@ -46,6 +47,7 @@ import io.netty.channel.ChannelPromise;
 import io.netty.util.concurrent.PromiseCombiner;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.Map;
 import javax.annotation.Nullable;
 
@@ -66,8 +68,10 @@ import static io.servicetalk.http.api.HeaderUtils.isTransferEncodingChunked;
 import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
 import static io.servicetalk.http.api.HttpHeaderNames.TRANSFER_ENCODING;
 import static io.servicetalk.http.api.HttpHeaderValues.CHUNKED;
+import static io.servicetalk.http.api.HttpHeadersTemplate.templateOf;
 import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
 import static io.servicetalk.http.netty.HttpKeepAlive.shouldClose;
+import static io.servicetalk.transport.netty.internal.GatheringWriteUtils.writeGathering;
 import static java.lang.Long.toHexString;
 import static java.lang.Math.max;
 import static java.nio.charset.StandardCharsets.US_ASCII;
@@ -213,7 +217,7 @@ abstract class HttpObjectEncoder<T extends HttpMetaData> extends ChannelDuplexHa
                 if (state == 0) {
                     contentLenConsumed(ctx, promise);
                 }
-                ctx.write(encodeAndRetain(stBuffer), promise);
+                writeGathering(ctx, encodeAndRetain(stBuffer), promise);
             }
         } else if (msg instanceof HttpHeaders) {
             final boolean isChunked = state == CONTENT_LEN_CHUNKED;
@@ -379,9 +383,20 @@ abstract class HttpObjectEncoder<T extends HttpMetaData> extends ChannelDuplexHa
      * Encode the {@link HttpHeaders} into a buffer represented by two references: {@link ByteBuf} and {@link Buffer}.
      * We reference the same buffer as {@link ByteBuf} and {@link Buffer} to avoid allocation of wrapping layer if
      * necessary for optimized data transfer to have an instance of {@link Buffer}.
+     * If the {@link HttpHeaders} were created from an unmodified {@link HttpHeadersTemplate}, the template entries are
+     * written from their pre-encoded form.
      */
     private static void encodeHeaders(HttpHeaders headers, ByteBuf byteBuf, Buffer buffer) {
-        for (Map.Entry<CharSequence, CharSequence> header : headers) {
+        final Iterator<Map.Entry<CharSequence, CharSequence>> itr = headers.iterator();
+        final HttpHeadersTemplate template = templateOf(headers);
+        if (template != null) {
+            template.writeTo(buffer);
+            for (int i = template.size(); i > 0; --i) {
+                itr.next();
+            }
+        }
+        while (itr.hasNext()) {
+            final Map.Entry<CharSequence, CharSequence> header = itr.next();
             encodeHeader(header.getKey(), header.getValue(), byteBuf, buffer);
         }
     }
@@ -399,13 +414,13 @@ abstract class HttpObjectEncoder<T extends HttpMetaData> extends ChannelDuplexHa
                 throw e;
             }
             promiseCombiner.add(ctx.write(buf));
-            promiseCombiner.add(ctx.write(encodeAndRetain(msg)));
+            promiseCombiner.add(writeGathering(ctx, encodeAndRetain(msg)));
             promiseCombiner.add(ctx.write(CRLF_BUF.duplicate()));
         } else {
             assert contentLength == 0;
             // Need to produce some output otherwise an
             // IllegalStateException will be thrown
-            promiseCombiner.add(ctx.write(encodeAndRetain(msg)));
+            promiseCombiner.add(writeGathering(ctx, encodeAndRetain(msg)));
         }
     }
 
@@ -32,6 +32,7 @@ package io.servicetalk.http.netty;
 
 import io.servicetalk.buffer.api.Buffer;
 import io.servicetalk.http.api.HttpHeaders;
+import io.servicetalk.http.api.HttpProtocolVersion;
 import io.servicetalk.http.api.HttpRequestMethod;
 import io.servicetalk.http.api.HttpResponseMetaData;
 import io.servicetalk.http.api.HttpResponseStatus;
@@ -40,22 +41,86 @@ import io.servicetalk.transport.netty.internal.CloseHandler;
 import io.netty.channel.ChannelHandlerContext;
 
 import java.util.Queue;
+import javax.annotation.Nullable;
 
 import static io.netty.handler.codec.http.HttpConstants.SP;
 import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
 import static io.servicetalk.http.api.HttpHeaderNames.SEC_WEBSOCKET_VERSION;
 import static io.servicetalk.http.api.HttpHeaderNames.TRANSFER_ENCODING;
+import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
 import static io.servicetalk.http.api.HttpRequestMethod.CONNECT;
 import static io.servicetalk.http.api.HttpRequestMethod.HEAD;
+import static io.servicetalk.http.api.HttpResponseStatus.ACCEPTED;
+import static io.servicetalk.http.api.HttpResponseStatus.BAD_GATEWAY;
+import static io.servicetalk.http.api.HttpResponseStatus.BAD_REQUEST;
+import static io.servicetalk.http.api.HttpResponseStatus.CONFLICT;
+import static io.servicetalk.http.api.HttpResponseStatus.CONTINUE;
+import static io.servicetalk.http.api.HttpResponseStatus.CREATED;
+import static io.servicetalk.http.api.HttpResponseStatus.FORBIDDEN;
+import static io.servicetalk.http.api.HttpResponseStatus.FOUND;
+import static io.servicetalk.http.api.HttpResponseStatus.GATEWAY_TIMEOUT;
+import static io.servicetalk.http.api.HttpResponseStatus.INTERNAL_SERVER_ERROR;
+import static io.servicetalk.http.api.HttpResponseStatus.METHOD_NOT_ALLOWED;
+import static io.servicetalk.http.api.HttpResponseStatus.MOVED_PERMANENTLY;
+import static io.servicetalk.http.api.HttpResponseStatus.NOT_FOUND;
+import static io.servicetalk.http.api.HttpResponseStatus.NOT_IMPLEMENTED;
 import static io.servicetalk.http.api.HttpResponseStatus.NOT_MODIFIED;
 import static io.servicetalk.http.api.HttpResponseStatus.NO_CONTENT;
+import static io.servicetalk.http.api.HttpResponseStatus.OK;
+import static io.servicetalk.http.api.HttpResponseStatus.PARTIAL_CONTENT;
+import static io.servicetalk.http.api.HttpResponseStatus.PAYLOAD_TOO_LARGE;
+import static io.servicetalk.http.api.HttpResponseStatus.PERMANENT_REDIRECT;
+import static io.servicetalk.http.api.HttpResponseStatus.PRECONDITION_FAILED;
+import static io.servicetalk.http.api.HttpResponseStatus.REQUEST_TIMEOUT;
+import static io.servicetalk.http.api.HttpResponseStatus.SEE_OTHER;
+import static io.servicetalk.http.api.HttpResponseStatus.SERVICE_UNAVAILABLE;
 import static io.servicetalk.http.api.HttpResponseStatus.SWITCHING_PROTOCOLS;
 import static io.servicetalk.http.api.HttpResponseStatus.StatusClass.INFORMATIONAL_1XX;
 import static io.servicetalk.http.api.HttpResponseStatus.StatusClass.SUCCESSFUL_2XX;
+import static io.servicetalk.http.api.HttpResponseStatus.TEMPORARY_REDIRECT;
+import static io.servicetalk.http.api.HttpResponseStatus.TOO_MANY_REQUESTS;
+import static io.servicetalk.http.api.HttpResponseStatus.UNAUTHORIZED;
+import static java.lang.Math.max;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.util.Objects.requireNonNull;
 
 final class HttpResponseEncoder extends HttpObjectEncoder<HttpResponseMetaData> {
     static final OnResponse NOOP_ON_RESPONSE = (ctx, status) -> { /* noop */ };
+    private static final int MIN_STATUS_CODE = 100;
+    /**
+     * Common {@link HttpResponseStatus}es for which the whole HTTP/1.1 status line is pre-encoded.
+     */
+    private static final HttpResponseStatus[] CACHED_STATUSES = {
+            CONTINUE, SWITCHING_PROTOCOLS, OK, CREATED, ACCEPTED, NO_CONTENT, PARTIAL_CONTENT, MOVED_PERMANENTLY, FOUND,
+            SEE_OTHER, NOT_MODIFIED, TEMPORARY_REDIRECT, PERMANENT_REDIRECT, BAD_REQUEST, UNAUTHORIZED, FORBIDDEN,
+            NOT_FOUND, METHOD_NOT_ALLOWED, REQUEST_TIMEOUT, CONFLICT, PRECONDITION_FAILED, PAYLOAD_TOO_LARGE,
+            TOO_MANY_REQUESTS, INTERNAL_SERVER_ERROR, NOT_IMPLEMENTED, BAD_GATEWAY, SERVICE_UNAVAILABLE,
+            GATEWAY_TIMEOUT
+    };
+    /**
+     * Pre-encoded HTTP/1.1 status lines indexed by {@code status code - MIN_STATUS_CODE}.
+     */
+    private static final byte[][] HTTP_1_1_STATUS_LINES;
+    /**
+     * {@link HttpResponseStatus} for each entry of {@link #HTTP_1_1_STATUS_LINES}, statuses with the same code and a
+     * different reason phrase must not use the pre-encoded status line.
+     */
+    private static final HttpResponseStatus[] HTTP_1_1_STATUS_LINE_STATUSES;
+
+    static {
+        int maxCode = MIN_STATUS_CODE;
+        for (HttpResponseStatus status : CACHED_STATUSES) {
+            maxCode = max(maxCode, status.code());
+        }
+        HTTP_1_1_STATUS_LINES = new byte[maxCode - MIN_STATUS_CODE + 1][];
+        HTTP_1_1_STATUS_LINE_STATUSES = new HttpResponseStatus[HTTP_1_1_STATUS_LINES.length];
+        for (HttpResponseStatus status : CACHED_STATUSES) {
+            final int i = status.code() - MIN_STATUS_CODE;
+            HTTP_1_1_STATUS_LINES[i] = (HTTP_1_1 + " " + status.code() + ' ' + status.reasonPhrase() + "\r\n")
+                    .getBytes(US_ASCII);
+            HTTP_1_1_STATUS_LINE_STATUSES[i] = status;
+        }
+    }
 
     private final Queue<HttpRequestMethod> methodQueue;
     private final OnResponse onResponse;
@@ -85,11 +150,28 @@ final class HttpResponseEncoder extends HttpObjectEncoder<HttpResponseMetaData>
 
     @Override
     protected void encodeInitialLine(ChannelHandlerContext ctx, Buffer stBuffer, HttpResponseMetaData message) {
-        message.version().writeTo(stBuffer);
-        stBuffer.writeByte(SP);
-        message.status().writeTo(stBuffer);
-        stBuffer.writeShort(CRLF_SHORT);
-        onResponse.onResponse(ctx, message.status());
+        final HttpResponseStatus status = message.status();
+        final byte[] statusLine = cachedStatusLine(message.version(), status);
+        if (statusLine != null) {
+            stBuffer.writeBytes(statusLine);
+        } else {
+            message.version().writeTo(stBuffer);
+            stBuffer.writeByte(SP);
+            status.writeTo(stBuffer);
+            stBuffer.writeShort(CRLF_SHORT);
+        }
+        onResponse.onResponse(ctx, status);
+    }
+
+    @Nullable
+    private static byte[] cachedStatusLine(final HttpProtocolVersion version, final HttpResponseStatus status) {
+        if (!HTTP_1_1.equals(version)) {
+            return null;
+        }
+        final int i = status.code() - MIN_STATUS_CODE;
+        // Reference comparison is enough, HttpResponseStatus.of returns the constants for known codes.
+        return i >= 0 && i < HTTP_1_1_STATUS_LINES.length && HTTP_1_1_STATUS_LINE_STATUSES[i] == status ?
+                HTTP_1_1_STATUS_LINES[i] : null;
     }
 
     @Override
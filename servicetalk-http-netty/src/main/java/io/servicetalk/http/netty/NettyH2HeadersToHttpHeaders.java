@@ -44,6 +44,7 @@ import static io.servicetalk.http.api.HeaderUtils.pathMatches;
 import static io.servicetalk.http.api.HeaderUtils.removeCookiePairs;
 import static io.servicetalk.http.api.HttpHeaderNames.COOKIE;
 import static io.servicetalk.http.api.HttpHeaderNames.SET_COOKIE;
+import static io.servicetalk.http.netty.H2ToStH1Utils.h2HeadersCompressCookieCrumbs;
 import static java.util.Collections.emptyIterator;
 
 final class NettyH2HeadersToHttpHeaders implements HttpHeaders {
@@ -56,47 +57,80 @@ final class NettyH2HeadersToHttpHeaders implements HttpHeaders {
     private final Http2Headers nettyHeaders;
     private final boolean validateCookies;
     private final boolean validateValues;
+    private boolean cookieCrumbs;
 
     NettyH2HeadersToHttpHeaders(final Http2Headers nettyHeaders, final boolean validateCookies,
                                 final boolean validateValues) {
+        this(nettyHeaders, validateCookies, validateValues, false);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param nettyHeaders the {@link Http2Headers} to adapt.
+     * @param validateCookies {@code true} to validate cookie contents when parsing.
+     * @param validateValues {@code true} to validate header values.
+     * @param cookieCrumbs {@code true} if {@code nettyHeaders} were received from the network and may contain
+     * multiple {@link HttpHeaderNames#COOKIE} crumbs. The crumbs are combined into a single header only when the raw
+     * {@link HttpHeaderNames#COOKIE} values are accessed, cookie parsing APIs work on the crumbs directly.
+     */
+    NettyH2HeadersToHttpHeaders(final Http2Headers nettyHeaders, final boolean validateCookies,
+                                final boolean validateValues, final boolean cookieCrumbs) {
         this.nettyHeaders = nettyHeaders;
         this.validateCookies = validateCookies;
         this.validateValues = validateValues;
+        this.cookieCrumbs = cookieCrumbs;
     }
 
     Http2Headers nettyHeaders() {
         return nettyHeaders;
     }
 
+    /**
+     * Returns {@code true} if {@link HttpHeaderNames#COOKIE} values are still split in crumbs as received from the
+     * network, and therefore don't need to be split again for HTTP/2.
+     *
+     * @return {@code true} if {@link HttpHeaderNames#COOKIE} values are still split in crumbs.
+     */
+    boolean hasCookieCrumbs() {
+        return cookieCrumbs;
+    }
+
     @Nullable
     @Override
     public CharSequence get(final CharSequence name) {
+        mergeCookieCrumbs(name);
         return nettyHeaders.get(name);
     }
 
     @Nullable
     @Override
     public CharSequence getAndRemove(final CharSequence name) {
+        mergeCookieCrumbs(name);
         return nettyHeaders.getAndRemove(name);
     }
 
     @Override
     public Iterator<? extends CharSequence> valuesIterator(final CharSequence name) {
+        mergeCookieCrumbs(name);
         return nettyHeaders.valueIterator(name);
     }
 
     @Override
     public boolean contains(final CharSequence name, final CharSequence value) {
+        mergeCookieCrumbs(name);
         return nettyHeaders.contains(name, value);
     }
 
     @Override
     public boolean containsIgnoreCase(final CharSequence name, final CharSequence value) {
+        mergeCookieCrumbs(name);
         return nettyHeaders.contains(name, value, true);
     }
 
     @Override
     public int size() {
+        mergeCookieCrumbs();
         return nettyHeaders.size();
     }
 
@@ -138,18 +172,21 @@ final class NettyH2HeadersToHttpHeaders implements HttpHeaders {
 
     @Override
     public HttpHeaders set(final CharSequence name, final CharSequence value) {
+        mergeCookieCrumbs(name);
         nettyHeaders.set(name, validateHeaderValue(value));
         return this;
     }
 
     @Override
     public HttpHeaders set(final CharSequence name, final Iterable<? extends CharSequence> values) {
+        mergeCookieCrumbs(name);
         nettyHeaders.set(name, validateHeaderValue(values));
         return this;
     }
 
     @Override
     public HttpHeaders set(final CharSequence name, final CharSequence... values) {
+        mergeCookieCrumbs(name);
         nettyHeaders.set(name, validateHeaderValue(values));
         return this;
     }
@@ -161,7 +198,8 @@ final class NettyH2HeadersToHttpHeaders implements HttpHeaders {
 
     @Override
     public boolean remove(final CharSequence name, final CharSequence value) {
-        final int sizeBefore = size();
+        mergeCookieCrumbs(name);
+        final int sizeBefore = nettyHeaders.size();
         Iterator<? extends CharSequence> valuesItr = nettyHeaders.valueIterator(name);
         while (valuesItr.hasNext()) {
             CharSequence next = valuesItr.next();
@@ -169,12 +207,13 @@ final class NettyH2HeadersToHttpHeaders implements HttpHeaders {
                 valuesItr.remove();
             }
         }
-        return sizeBefore != size();
+        return sizeBefore != nettyHeaders.size();
     }
 
     @Override
     public boolean removeIgnoreCase(final CharSequence name, final CharSequence value) {
-        final int sizeBefore = size();
+        mergeCookieCrumbs(name);
+        final int sizeBefore = nettyHeaders.size();
         Iterator<? extends CharSequence> valuesItr = nettyHeaders.valueIterator(name);
         while (valuesItr.hasNext()) {
             CharSequence next = valuesItr.next();
@@ -182,17 +221,19 @@ final class NettyH2HeadersToHttpHeaders implements HttpHeaders {
                 valuesItr.remove();
             }
         }
-        return sizeBefore != size();
+        return sizeBefore != nettyHeaders.size();
     }
 
     @Override
     public HttpHeaders clear() {
         nettyHeaders.clear();
+        cookieCrumbs = false;
         return this;
     }
 
     @Override
     public Iterator<Entry<CharSequence, CharSequence>> iterator() {
+        mergeCookieCrumbs();
         return nettyHeaders.iterator();
     }
 
@@ -288,7 +329,7 @@ final class NettyH2HeadersToHttpHeaders implements HttpHeaders {
     public boolean removeCookies(final CharSequence name) {
         Iterator<? extends CharSequence> valuesItr = nettyHeaders.valueIterator(HttpHeaderNames.COOKIE);
         List<CharSequence> cookiesToAdd = null;
-        final int sizeBefore = size();
+        final int sizeBefore = nettyHeaders.size();
         while (valuesItr.hasNext()) {
             CharSequence newHeaderValue = removeCookiePairs(valuesItr.next(), name);
             if (newHeaderValue != null) {
@@ -307,24 +348,24 @@ final class NettyH2HeadersToHttpHeaders implements HttpHeaders {
             }
             return true;
         }
-        return sizeBefore != size();
+        return sizeBefore != nettyHeaders.size();
     }
 
     @Override
     public boolean removeSetCookies(final CharSequence name) {
-        final int sizeBefore = size();
+        final int sizeBefore = nettyHeaders.size();
         Iterator<? extends CharSequence> valueItr = nettyHeaders.valueIterator(HttpHeaderNames.SET_COOKIE);
         while (valueItr.hasNext()) {
             if (isSetCookieNameMatches(valueItr.next(), name)) {
                 valueItr.remove();
             }
         }
-        return sizeBefore != size();
+        return sizeBefore != nettyHeaders.size();
     }
 
     @Override
     public boolean removeSetCookies(final CharSequence name, final CharSequence domain, final CharSequence path) {
-        final int sizeBefore = size();
+        final int sizeBefore = nettyHeaders.size();
         Iterator<? extends CharSequence> valueItr = nettyHeaders.valueIterator(HttpHeaderNames.SET_COOKIE);
         while (valueItr.hasNext()) {
             // In the future we could attempt to delay full parsing of the cookie until after the domain/path have
@@ -335,7 +376,20 @@ final class NettyH2HeadersToHttpHeaders implements HttpHeaders {
                 valueItr.remove();
             }
         }
-        return sizeBefore != size();
+        return sizeBefore != nettyHeaders.size();
+    }
+
+    private void mergeCookieCrumbs(final CharSequence name) {
+        if (cookieCrumbs && contentEqualsIgnoreCase(name, COOKIE)) {
+            mergeCookieCrumbs();
+        }
+    }
+
+    private void mergeCookieCrumbs() {
+        if (cookieCrumbs) {
+            cookieCrumbs = false;
+            h2HeadersCompressCookieCrumbs(nettyHeaders);
+        }
     }
 
     @SuppressWarnings("ClassNameSameAsAncestorName")
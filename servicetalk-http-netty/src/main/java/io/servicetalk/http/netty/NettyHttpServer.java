@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2021 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2021, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -83,6 +83,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLSession;
 
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.Category.SERIALIZER;
+import static io.servicetalk.buffer.netty.BufferAllocationMetrics.withCategory;
 import static io.servicetalk.buffer.netty.BufferUtils.getByteBufAllocator;
 import static io.servicetalk.concurrent.api.AsyncCloseables.newCompositeCloseable;
 import static io.servicetalk.concurrent.api.AsyncCloseables.toListenableAsyncCloseable;
@@ -268,12 +270,12 @@ final class NettyHttpServer {
                                   final boolean drainRequestPayloadBody,
                                   final boolean requireTrailerHeader) {
             super(headersFactory,
-                    new DefaultHttpResponseFactory(headersFactory, connection.executionContext().bufferAllocator(),
-                            version),
+                    new DefaultHttpResponseFactory(headersFactory,
+                            withCategory(connection.executionContext().bufferAllocator(), SERIALIZER), version),
                     new DefaultStreamingHttpResponseFactory(headersFactory,
-                            connection.executionContext().bufferAllocator(), version),
+                            withCategory(connection.executionContext().bufferAllocator(), SERIALIZER), version),
                     new DefaultBlockingStreamingHttpResponseFactory(headersFactory,
-                            connection.executionContext().bufferAllocator(), version));
+                            withCategory(connection.executionContext().bufferAllocator(), SERIALIZER), version));
             this.connection = connection;
             this.headersFactory = headersFactory;
             executionContext = new DefaultHttpExecutionContext(connection.executionContext().bufferAllocator(),
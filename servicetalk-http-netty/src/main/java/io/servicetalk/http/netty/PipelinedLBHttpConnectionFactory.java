@@ -56,7 +56,7 @@ final class PipelinedLBHttpConnectionFactory<ResolvedAddress> extends AbstractLB
     }
 
     @Override
-    ReservableRequestConcurrencyController newConcurrencyController(
+    ReservableRequestConcurrencyController newConcurrencyController(final ResolvedAddress resolvedAddress,
             final Publisher<? extends ConsumableEvent<Integer>> maxConcurrency, Completable onClosing) {
         assert config.h1Config() != null;
         return newController(maxConcurrency, onClosing, config.h1Config().maxPipelinedRequests());
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018, 2022 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018, 2022-2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package io.servicetalk.http.netty;
 
 import io.servicetalk.client.api.ConsumableEvent;
 import io.servicetalk.client.api.RequestConcurrencyController;
+import io.servicetalk.client.api.RequestConcurrencyController.Result;
 import io.servicetalk.client.api.ReservableRequestConcurrencyController;
 import io.servicetalk.concurrent.Cancellable;
 import io.servicetalk.concurrent.CompletableSource;
@@ -40,7 +41,11 @@ import io.servicetalk.http.netty.NettyHttp2ExceptionUtils.MaxConcurrentStreamsVi
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.LongSupplier;
 import javax.annotation.Nullable;
 
 import static io.servicetalk.client.api.RequestConcurrencyController.Result.Accepted;
@@ -51,7 +56,9 @@ import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
 import static io.servicetalk.concurrent.internal.SubscriberUtils.checkDuplicateSubscription;
 import static io.servicetalk.concurrent.internal.SubscriberUtils.handleExceptionFromOnSubscribe;
 import static io.servicetalk.http.api.HttpExecutionStrategies.offloadNone;
+import static java.lang.Math.ceil;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.concurrent.atomic.AtomicIntegerFieldUpdater.newUpdater;
 
 /**
@@ -79,6 +86,261 @@ final class ReservableRequestConcurrencyControllers {
         return new ReservableRequestConcurrencyControllerMulti(maxConcurrency, onClosing, initialConcurrency);
     }
 
+    /**
+     * Create a new instance of {@link ReservableRequestConcurrencyController} which balances requests with other
+     * connections to the same host.
+     *
+     * @param maxConcurrency A {@link Publisher} that provides the maximum allowed concurrency updates.
+     * @param onClosing A {@link Completable} that when terminated no more calls to
+     * {@link RequestConcurrencyController#tryRequest()} are expected to succeed.
+     * @param initialConcurrency The initial maximum value for concurrency, until {@code maxConcurrency} provides data.
+     * @param groups The {@link ConnectionGroups} which tracks connections per host.
+     * @param address The address of the host.
+     * @param <Address> The type of address.
+     * @return a new instance of {@link ReservableRequestConcurrencyController}.
+     */
+    static <Address> ReservableRequestConcurrencyController newController(
+            final Publisher<? extends ConsumableEvent<Integer>> maxConcurrency, final Completable onClosing,
+            final int initialConcurrency, final ConnectionGroups<Address> groups, final Address address) {
+        final ReservableRequestConcurrencyControllerGroup<Address> controller =
+                new ReservableRequestConcurrencyControllerGroup<>(maxConcurrency, onClosing, initialConcurrency,
+                        groups, address);
+        controller.join();
+        return controller;
+    }
+
+    /**
+     * Create new {@link ConnectionGroups} if the {@link H2ProtocolConfig} requires more than one connection per host.
+     *
+     * @param h2Config The {@link H2ProtocolConfig}.
+     * @param <Address> The type of address used to group connections.
+     * @return new {@link ConnectionGroups} or {@code null} if requests don't have to be spread across connections.
+     */
+    @Nullable
+    static <Address> ConnectionGroups<Address> newConnectionGroups(final H2ProtocolConfig h2Config) {
+        final int targetConnections = h2Config.targetConnectionsPerHost();
+        return targetConnections <= 1 ? null :
+                new ConnectionGroups<>(targetConnections, h2Config.newConnectionThreshold());
+    }
+
+    /**
+     * Groups connections by host to spread requests across multiple connections to the same host.
+     * <p>
+     * A connection of a group rejects new requests when:
+     * <ul>
+     *     <li>its pending requests reach {@code newConnectionThreshold} of its max concurrency while the group has
+     *     less than {@code targetConnections} connections, including connections already requested from the load
+     *     balancer, which makes the load balancer open a new connection;</li>
+     *     <li>another connection of the group has less pending requests, which makes the load balancer select a less
+     *     loaded connection.</li>
+     * </ul>
+     * The number of requested connections is bounded atomically, so concurrent rejections don't request more than the
+     * missing connections. A requested connection which doesn't join the group within
+     * {@link #REQUESTED_CONNECTION_TIMEOUT_NANOS}, e.g. because the load balancer selected an existing connection
+     * instead of opening a new one, no longer counts, so the group can still grow later. A connection without pending
+     * requests always accepts a request, so newly opened connections are never rejected by the load balancer's
+     * selector. If a group already has more than {@code targetConnections} connections, its connections stop
+     * rejecting requests in favour of each other.
+     *
+     * @param <Address> The type of address used to group connections.
+     */
+    static final class ConnectionGroups<Address> {
+        /**
+         * Time after which a connection requested from the load balancer, which didn't join its group, no longer
+         * counts as requested.
+         */
+        static final long REQUESTED_CONNECTION_TIMEOUT_NANOS = SECONDS.toNanos(1);
+
+        private final ConcurrentMap<Address, ConnectionGroup> groups = new ConcurrentHashMap<>();
+        private final int targetConnections;
+        private final float newConnectionThreshold;
+        private final LongSupplier nanoTime;
+
+        /**
+         * Create a new instance.
+         *
+         * @param targetConnections The number of connections per host to open before requests are allowed to reach
+         * {@code newConnectionThreshold} of the max concurrency of a connection.
+         * @param newConnectionThreshold The fraction of the max concurrency of a connection after which a new
+         * connection is opened, if there are less than {@code targetConnections}.
+         */
+        ConnectionGroups(final int targetConnections, final float newConnectionThreshold) {
+            this(targetConnections, newConnectionThreshold, System::nanoTime);
+        }
+
+        ConnectionGroups(final int targetConnections, final float newConnectionThreshold,
+                         final LongSupplier nanoTime) {
+            this.targetConnections = targetConnections;
+            this.newConnectionThreshold = newConnectionThreshold;
+            this.nanoTime = nanoTime;
+        }
+
+        ConnectionGroup join(final Address address, final AbstractReservableRequestConcurrencyController controller) {
+            return groups.compute(address, (__, group) -> {
+                if (group == null) {
+                    group = new ConnectionGroup(targetConnections, newConnectionThreshold, nanoTime);
+                }
+                group.add(controller);
+                return group;
+            });
+        }
+
+        void leave(final Address address, final AbstractReservableRequestConcurrencyController controller) {
+            groups.computeIfPresent(address, (__, group) -> group.remove(controller) ? null : group);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() +
+                    "{targetConnections=" + targetConnections +
+                    ", newConnectionThreshold=" + newConnectionThreshold +
+                    ", hosts=" + groups.size() +
+                    '}';
+        }
+    }
+
+    /**
+     * Connections to the same host. Requests only read a copy-on-write snapshot of the connections and update atomic
+     * counters, the lock of the group is only held to add and remove connections.
+     */
+    static final class ConnectionGroup {
+        private static final AbstractReservableRequestConcurrencyController[] EMPTY_CONNECTIONS =
+                new AbstractReservableRequestConcurrencyController[0];
+        private static final AtomicIntegerFieldUpdater<ConnectionGroup> requestedConnectionsUpdater =
+                newUpdater(ConnectionGroup.class, "requestedConnections");
+
+        private final int targetConnections;
+        private final float newConnectionThreshold;
+        private final LongSupplier nanoTime;
+        private volatile AbstractReservableRequestConcurrencyController[] connections = EMPTY_CONNECTIONS;
+        /**
+         * The number of connections the load balancer was asked to open, which didn't join the group yet.
+         */
+        private volatile int requestedConnections;
+        /**
+         * {@link System#nanoTime()} of the last connection request, only relevant if {@link #requestedConnections} is
+         * positive.
+         */
+        private volatile long lastConnectionRequestNanos;
+
+        ConnectionGroup(final int targetConnections, final float newConnectionThreshold, final LongSupplier nanoTime) {
+            this.targetConnections = targetConnections;
+            this.newConnectionThreshold = newConnectionThreshold;
+            this.nanoTime = nanoTime;
+        }
+
+        synchronized void add(final AbstractReservableRequestConcurrencyController controller) {
+            final AbstractReservableRequestConcurrencyController[] current = connections;
+            final AbstractReservableRequestConcurrencyController[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = controller;
+            connections = next;
+            for (;;) {
+                final int requested = requestedConnections;
+                if (requested == 0 || requestedConnectionsUpdater.compareAndSet(this, requested, requested - 1)) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Removes a connection from the group.
+         *
+         * @return {@code true} if the group is empty.
+         */
+        synchronized boolean remove(final AbstractReservableRequestConcurrencyController controller) {
+            final AbstractReservableRequestConcurrencyController[] current = connections;
+            for (int i = 0; i < current.length; ++i) {
+                if (current[i] == controller) {
+                    final AbstractReservableRequestConcurrencyController[] next =
+                            new AbstractReservableRequestConcurrencyController[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, i);
+                    System.arraycopy(current, i + 1, next, i, next.length - i);
+                    connections = next;
+                    // Requested connections which failed to open never join, start over from the current connections.
+                    requestedConnections = 0;
+                    return next.length == 0;
+                }
+            }
+            return current.length == 0;
+        }
+
+        Result tryRequest(final AbstractReservableRequestConcurrencyController controller, final int maxConcurrency) {
+            for (;;) {
+                final int currentPending = controller.pendingRequests();
+                if (currentPending < 0) {
+                    return RejectedPermanently;
+                }
+                if (currentPending >= maxConcurrency) {
+                    return RejectedTemporary;
+                }
+                // An idle connection never rejects, otherwise newly opened connections could be rejected as well.
+                if (currentPending > 0 && shouldReject(controller, currentPending, maxConcurrency)) {
+                    return RejectedTemporary;
+                }
+                if (controller.casPendingRequests(currentPending, currentPending + 1)) {
+                    return Accepted;
+                }
+            }
+        }
+
+        private boolean shouldReject(final AbstractReservableRequestConcurrencyController controller,
+                                     final int pendingRequests, final int maxConcurrency) {
+            final AbstractReservableRequestConcurrencyController[] connections = this.connections;
+            final int size = connections.length;
+            if (size < targetConnections && pendingRequests >= (int) ceil(newConnectionThreshold * maxConcurrency) &&
+                    tryRequestConnection(size)) {
+                return true;
+            }
+            if (size > targetConnections) {
+                // Rejections in favour of other connections may have made the load balancer open more connections
+                // than necessary, don't let the group grow any further.
+                return false;
+            }
+            // Connections of a group are few, a linear scan is cheaper than maintaining an ordered structure.
+            for (AbstractReservableRequestConcurrencyController connection : connections) {
+                final int pending = connection.pendingRequests();
+                if (connection != controller && pending >= 0 && pending < pendingRequests) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Counts a connection as requested from the load balancer, unless enough connections are already requested.
+         *
+         * @param size The current number of connections of the group.
+         * @return {@code true} if the caller should reject the request to make the load balancer open a connection.
+         */
+        private boolean tryRequestConnection(final int size) {
+            for (;;) {
+                final int requested = requestedConnections;
+                if (size + requested < targetConnections) {
+                    // Set before the count, so a concurrent request doesn't consider the new request as expired.
+                    lastConnectionRequestNanos = nanoTime.getAsLong();
+                    if (requestedConnectionsUpdater.compareAndSet(this, requested, requested + 1)) {
+                        return true;
+                    }
+                } else if (requested == 0 || nanoTime.getAsLong() - lastConnectionRequestNanos <
+                        ConnectionGroups.REQUESTED_CONNECTION_TIMEOUT_NANOS) {
+                    return false;
+                } else {
+                    // The requested connections didn't join in time, e.g. because the load balancer selected an
+                    // existing connection for the rejected request. Don't count them anymore.
+                    requestedConnectionsUpdater.compareAndSet(this, requested, 0);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() +
+                    "{connections=" + connections.length +
+                    ", requestedConnections=" + requestedConnections +
+                    '}';
+        }
+    }
+
     /**
      * A {@link ConsumableEvent} which ignores {@link #eventConsumed()}.
      *
@@ -150,12 +412,14 @@ final class ReservableRequestConcurrencyControllers {
                 public void onComplete() {
                     assert pendingRequests != STATE_QUIT;
                     pendingRequests = STATE_QUIT;
+                    closing();
                 }
 
                 @Override
                 public void onError(Throwable ignored) {
                     assert pendingRequests != STATE_QUIT;
                     pendingRequests = STATE_QUIT;
+                    closing();
                 }
             });
             toSource(maxConcurrency).subscribe(new Subscriber<ConsumableEvent<Integer>>() {
@@ -216,6 +480,16 @@ final class ReservableRequestConcurrencyControllers {
             });
         }
 
+        /**
+         * Invoked when the connection starts closing. Note this may be invoked from the constructor.
+         */
+        void closing() {
+        }
+
+        final boolean isClosing() {
+            return pendingRequests == STATE_QUIT;
+        }
+
         @Override
         public final void requestFinished() {
             pendingRequestsUpdater.decrementAndGet(this);
@@ -300,6 +574,50 @@ final class ReservableRequestConcurrencyControllers {
         }
     }
 
+    private static final class ReservableRequestConcurrencyControllerGroup<Address>
+            extends AbstractReservableRequestConcurrencyController {
+        private final ConnectionGroups<Address> groups;
+        private final Address address;
+        @Nullable
+        private volatile ConnectionGroup group;
+
+        ReservableRequestConcurrencyControllerGroup(final Publisher<? extends ConsumableEvent<Integer>> maxConcurrency,
+                                                    final Completable onClosing,
+                                                    final int initialConcurrency,
+                                                    final ConnectionGroups<Address> groups,
+                                                    final Address address) {
+            super(maxConcurrency, onClosing, initialConcurrency);
+            this.groups = groups;
+            this.address = address;
+        }
+
+        void join() {
+            group = groups.join(address, this);
+            if (isClosing()) {
+                // The connection started closing before it joined the group.
+                groups.leave(address, this);
+            }
+        }
+
+        @Override
+        void closing() {
+            // Fields are not yet initialized if the connection is already closing when the constructor subscribes.
+            if (group != null) {
+                groups.leave(address, this);
+            }
+        }
+
+        @Override
+        public Result tryRequest() {
+            final ConnectionGroup group = this.group;
+            if (group == null) {
+                // The controller is returned by newController(...) after it joined the group.
+                return isClosing() ? RejectedPermanently : RejectedTemporary;
+            }
+            return group.tryRequest(this, lastMaxConcurrency());
+        }
+    }
+
     static final class InternalRetryingHttpClientFilter implements StreamingHttpClientFilterFactory {
 
         static final StreamingHttpClientFilterFactory INSTANCE = new InternalRetryingHttpClientFilter();
@@ -0,0 +1,273 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.http.api.HttpHeaderNames;
+
+import io.netty.buffer.ByteBuf;
+
+import javax.annotation.Nullable;
+
+import static io.servicetalk.buffer.api.CharSequences.newAsciiString;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCEPT;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCEPT_CHARSET;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCEPT_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCEPT_LANGUAGE;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCEPT_PATCH;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCEPT_RANGES;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCESS_CONTROL_ALLOW_CREDENTIALS;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCESS_CONTROL_ALLOW_HEADERS;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCESS_CONTROL_ALLOW_METHODS;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCESS_CONTROL_ALLOW_ORIGIN;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCESS_CONTROL_EXPOSE_HEADERS;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCESS_CONTROL_MAX_AGE;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCESS_CONTROL_REQUEST_HEADERS;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCESS_CONTROL_REQUEST_METHOD;
+import static io.servicetalk.http.api.HttpHeaderNames.AGE;
+import static io.servicetalk.http.api.HttpHeaderNames.ALLOW;
+import static io.servicetalk.http.api.HttpHeaderNames.AUTHORIZATION;
+import static io.servicetalk.http.api.HttpHeaderNames.CACHE_CONTROL;
+import static io.servicetalk.http.api.HttpHeaderNames.CONNECTION;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_BASE;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_DISPOSITION;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LANGUAGE;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LOCATION;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_MD5;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_RANGE;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_SECURITY_POLICY;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_TRANSFER_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_TYPE;
+import static io.servicetalk.http.api.HttpHeaderNames.COOKIE;
+import static io.servicetalk.http.api.HttpHeaderNames.DATE;
+import static io.servicetalk.http.api.HttpHeaderNames.ETAG;
+import static io.servicetalk.http.api.HttpHeaderNames.EXPECT;
+import static io.servicetalk.http.api.HttpHeaderNames.EXPIRES;
+import static io.servicetalk.http.api.HttpHeaderNames.FORWARDED;
+import static io.servicetalk.http.api.HttpHeaderNames.FROM;
+import static io.servicetalk.http.api.HttpHeaderNames.HOST;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_MATCH;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_MODIFIED_SINCE;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_NONE_MATCH;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_RANGE;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_UNMODIFIED_SINCE;
+import static io.servicetalk.http.api.HttpHeaderNames.LAST_MODIFIED;
+import static io.servicetalk.http.api.HttpHeaderNames.LOCATION;
+import static io.servicetalk.http.api.HttpHeaderNames.MAX_FORWARDS;
+import static io.servicetalk.http.api.HttpHeaderNames.ORIGIN;
+import static io.servicetalk.http.api.HttpHeaderNames.PRAGMA;
+import static io.servicetalk.http.api.HttpHeaderNames.PROXY_AUTHENTICATE;
+import static io.servicetalk.http.api.HttpHeaderNames.PROXY_AUTHORIZATION;
+import static io.servicetalk.http.api.HttpHeaderNames.RANGE;
+import static io.servicetalk.http.api.HttpHeaderNames.REFERER;
+import static io.servicetalk.http.api.HttpHeaderNames.RETRY_AFTER;
+import static io.servicetalk.http.api.HttpHeaderNames.SEC_WEBSOCKET_ACCEPT;
+import static io.servicetalk.http.api.HttpHeaderNames.SEC_WEBSOCKET_EXTENSIONS;
+import static io.servicetalk.http.api.HttpHeaderNames.SEC_WEBSOCKET_KEY;
+import static io.servicetalk.http.api.HttpHeaderNames.SEC_WEBSOCKET_KEY1;
+import static io.servicetalk.http.api.HttpHeaderNames.SEC_WEBSOCKET_KEY2;
+import static io.servicetalk.http.api.HttpHeaderNames.SEC_WEBSOCKET_LOCATION;
+import static io.servicetalk.http.api.HttpHeaderNames.SEC_WEBSOCKET_ORIGIN;
+import static io.servicetalk.http.api.HttpHeaderNames.SEC_WEBSOCKET_PROTOCOL;
+import static io.servicetalk.http.api.HttpHeaderNames.SEC_WEBSOCKET_VERSION;
+import static io.servicetalk.http.api.HttpHeaderNames.SERVER;
+import static io.servicetalk.http.api.HttpHeaderNames.SET_COOKIE;
+import static io.servicetalk.http.api.HttpHeaderNames.SET_COOKIE2;
+import static io.servicetalk.http.api.HttpHeaderNames.TE;
+import static io.servicetalk.http.api.HttpHeaderNames.TRAILER;
+import static io.servicetalk.http.api.HttpHeaderNames.TRANSFER_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.UPGRADE;
+import static io.servicetalk.http.api.HttpHeaderNames.USER_AGENT;
+import static io.servicetalk.http.api.HttpHeaderNames.VARY;
+import static io.servicetalk.http.api.HttpHeaderNames.VIA;
+import static io.servicetalk.http.api.HttpHeaderNames.WARNING;
+import static io.servicetalk.http.api.HttpHeaderNames.WEBSOCKET_LOCATION;
+import static io.servicetalk.http.api.HttpHeaderNames.WEBSOCKET_ORIGIN;
+import static io.servicetalk.http.api.HttpHeaderNames.WEBSOCKET_PROTOCOL;
+import static io.servicetalk.http.api.HttpHeaderNames.WWW_AUTHENTICATE;
+import static io.servicetalk.http.api.HttpHeaderNames.X_FORWARDED_FOR;
+import static io.servicetalk.http.api.HttpHeaderNames.X_FORWARDED_HOST;
+import static io.servicetalk.http.api.HttpHeaderNames.X_FORWARDED_PROTO;
+import static io.servicetalk.http.api.HttpHeaderNames.X_REQUESTED_WITH;
+import static java.lang.Character.toUpperCase;
+
+/**
+ * A lookup table of {@link HttpHeaderNames well-known header names} which allows the HTTP/1.x decoder to hand out a
+ * shared {@link CharSequence} instance instead of allocating a new one for every parsed header name.
+ * <p>
+ * The table contains the lower-case names from {@link HttpHeaderNames} and their canonical capitalized form
+ * (e.g. {@code Content-Type}, {@code ETag}). Matching is exact (case-sensitive) so the case of the name received on the
+ * wire is preserved. The table is a perfect hash table: {@link #SEED} and {@link #TABLE_BITS} are chosen such that no
+ * two names map to the same slot, hence a lookup is a single probe followed by a byte comparison. Both have to be
+ * recomputed when names are added (see {@code WellKnownHeaderNamesTest}).
+ */
+final class WellKnownHeaderNames {
+    private static final CharSequence[] LOWER_CASE_NAMES = {
+            ACCEPT, ACCEPT_CHARSET, ACCEPT_ENCODING, ACCEPT_LANGUAGE, ACCEPT_RANGES, ACCEPT_PATCH,
+            ACCESS_CONTROL_ALLOW_CREDENTIALS, ACCESS_CONTROL_ALLOW_HEADERS, ACCESS_CONTROL_ALLOW_METHODS,
+            ACCESS_CONTROL_ALLOW_ORIGIN, ACCESS_CONTROL_EXPOSE_HEADERS, ACCESS_CONTROL_MAX_AGE,
+            ACCESS_CONTROL_REQUEST_HEADERS, ACCESS_CONTROL_REQUEST_METHOD, AGE, ALLOW, AUTHORIZATION, CACHE_CONTROL,
+            CONNECTION, CONTENT_BASE, CONTENT_ENCODING, CONTENT_LANGUAGE, CONTENT_LENGTH, CONTENT_LOCATION,
+            CONTENT_TRANSFER_ENCODING, CONTENT_DISPOSITION, CONTENT_MD5, CONTENT_RANGE, CONTENT_SECURITY_POLICY,
+            CONTENT_TYPE, COOKIE, DATE, ETAG, EXPECT, EXPIRES, FORWARDED, FROM, HOST, IF_MATCH, IF_MODIFIED_SINCE,
+            IF_NONE_MATCH, IF_RANGE, IF_UNMODIFIED_SINCE, LAST_MODIFIED, LOCATION, MAX_FORWARDS, ORIGIN, PRAGMA,
+            PROXY_AUTHENTICATE, PROXY_AUTHORIZATION, RANGE, REFERER, RETRY_AFTER, SEC_WEBSOCKET_KEY1,
+            SEC_WEBSOCKET_KEY2, SEC_WEBSOCKET_LOCATION, SEC_WEBSOCKET_ORIGIN, SEC_WEBSOCKET_PROTOCOL,
+            SEC_WEBSOCKET_VERSION, SEC_WEBSOCKET_KEY, SEC_WEBSOCKET_ACCEPT, SEC_WEBSOCKET_EXTENSIONS, SERVER,
+            SET_COOKIE, SET_COOKIE2, TE, TRAILER, TRANSFER_ENCODING, UPGRADE, USER_AGENT, VARY, VIA, WARNING,
+            WEBSOCKET_LOCATION, WEBSOCKET_ORIGIN, WEBSOCKET_PROTOCOL, WWW_AUTHENTICATE, X_FORWARDED_FOR,
+            X_FORWARDED_HOST, X_FORWARDED_PROTO, X_REQUESTED_WITH
+    };
+    /**
+     * Names whose canonical form is not derived by capitalizing the first letter of each {@code -} separated token.
+     */
+    private static final String[] IRREGULAR_CANONICAL_NAMES = {
+            "Content-MD5", "ETag", "TE", "WWW-Authenticate",
+            "Sec-WebSocket-Accept", "Sec-WebSocket-Extensions", "Sec-WebSocket-Key", "Sec-WebSocket-Key1",
+            "Sec-WebSocket-Key2", "Sec-WebSocket-Location", "Sec-WebSocket-Origin", "Sec-WebSocket-Protocol",
+            "Sec-WebSocket-Version", "WebSocket-Location", "WebSocket-Origin", "WebSocket-Protocol"
+    };
+    static final int SEED = 684;
+    static final int TABLE_BITS = 11;
+    private static final int SHIFT = 32 - TABLE_BITS;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private static final byte[][] KEYS = new byte[1 << TABLE_BITS][];
+    private static final CharSequence[] VALUES = new CharSequence[1 << TABLE_BITS];
+    private static final int MAX_NAME_LENGTH;
+
+    static {
+        int maxLength = 0;
+        for (CharSequence name : names()) {
+            final byte[] key = toBytes(name);
+            final int index = index(SEED, SHIFT, key);
+            if (KEYS[index] != null) {
+                throw new IllegalStateException("Hash collision between '" + name + "' and '" + VALUES[index] +
+                        "', recompute SEED and TABLE_BITS");
+            }
+            KEYS[index] = key;
+            VALUES[index] = name;
+            maxLength = Math.max(maxLength, key.length);
+        }
+        MAX_NAME_LENGTH = maxLength;
+    }
+
+    private WellKnownHeaderNames() {
+        // no instances
+    }
+
+    /**
+     * Finds a well-known header name which is byte-for-byte equal to the specified region of the {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to search in.
+     * @param start the index of the first byte of the name.
+     * @param length the length of the name.
+     * @return a shared instance of the well-known header name or {@code null} if the name is not well-known.
+     */
+    @Nullable
+    static CharSequence find(final ByteBuf buffer, final int start, final int length) {
+        if (length > MAX_NAME_LENGTH) {
+            return null;
+        }
+        int h = SEED;
+        final int end = start + length;
+        for (int i = start; i < end; ++i) {
+            h = 31 * h + (buffer.getByte(i) & 0xff);
+        }
+        final int index = (h * GOLDEN_RATIO) >>> SHIFT;
+        final byte[] key = KEYS[index];
+        if (key == null || key.length != length) {
+            return null;
+        }
+        for (int i = 0; i < length; ++i) {
+            if (key[i] != buffer.getByte(start + i)) {
+                return null;
+            }
+        }
+        return VALUES[index];
+    }
+
+    /**
+     * Returns all names of the table: every lower-case name followed by its canonical capitalized form.
+     *
+     * @return all names of the table.
+     */
+    static CharSequence[] names() {
+        final CharSequence[] names = new CharSequence[LOWER_CASE_NAMES.length * 2];
+        for (int i = 0; i < LOWER_CASE_NAMES.length; ++i) {
+            final CharSequence name = LOWER_CASE_NAMES[i];
+            names[i * 2] = name;
+            names[i * 2 + 1] = newAsciiString(canonical(name));
+        }
+        return names;
+    }
+
+    /**
+     * Checks whether the passed seed and table size produce a perfect hash table for {@link #names()}.
+     *
+     * @param seed the seed of the hash function.
+     * @param tableBits the number of bits of the slot index.
+     * @return {@code true} if at least two names map to the same slot.
+     */
+    static boolean hasCollisions(final int seed, final int tableBits) {
+        final boolean[] used = new boolean[1 << tableBits];
+        for (CharSequence name : names()) {
+            final int index = index(seed, 32 - tableBits, toBytes(name));
+            if (used[index]) {
+                return true;
+            }
+            used[index] = true;
+        }
+        return false;
+    }
+
+    private static int index(final int seed, final int shift, final byte[] key) {
+        int h = seed;
+        for (byte b : key) {
+            h = 31 * h + (b & 0xff);
+        }
+        return (h * GOLDEN_RATIO) >>> shift;
+    }
+
+    private static byte[] toBytes(final CharSequence name) {
+        final byte[] key = new byte[name.length()];
+        for (int i = 0; i < key.length; ++i) {
+            key[i] = (byte) name.charAt(i);
+        }
+        return key;
+    }
+
+    private static String canonical(final CharSequence name) {
+        for (String irregular : IRREGULAR_CANONICAL_NAMES) {
+            if (irregular.equalsIgnoreCase(name.toString())) {
+                return irregular;
+            }
+        }
+        return capitalize(name);
+    }
+
+    private static String capitalize(final CharSequence name) {
+        final StringBuilder sb = new StringBuilder(name.length());
+        boolean upper = true;
+        for (int i = 0; i < name.length(); ++i) {
+            final char c = name.charAt(i);
+            sb.append(upper ? toUpperCase(c) : c);
+            upper = c == '-';
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BdpEstimatorTest {
+
+    private final BdpEstimator estimator = new BdpEstimator(1000, 8000);
+
+    @Test
+    void windowGrowsWhenSampleFillsWindow() {
+        assertTrue(estimator.dataReceived(100, 0));
+        assertFalse(estimator.dataReceived(800, 10));
+        assertThat(estimator.pingAckReceived(1000), is(1800));
+        assertThat(estimator.window(), is(1800));
+
+        assertTrue(estimator.dataReceived(1500, 2000));
+        assertThat(estimator.pingAckReceived(3000), is(3000));
+    }
+
+    @Test
+    void windowDoesNotGrowForSmallSample() {
+        assertTrue(estimator.dataReceived(100, 0));
+        assertThat(estimator.pingAckReceived(1000), is(0));
+        assertThat(estimator.window(), is(1000));
+    }
+
+    @Test
+    void windowDoesNotGrowWithoutHigherBandwidth() {
+        assertTrue(estimator.dataReceived(900, 0));
+        assertThat(estimator.pingAckReceived(1000), is(1800));
+        // Same number of bytes over a longer round trip is not limited by the window.
+        assertTrue(estimator.dataReceived(1500, 2000));
+        assertThat(estimator.pingAckReceived(10000), is(0));
+        assertThat(estimator.window(), is(1800));
+    }
+
+    @Test
+    void windowIsLimitedByMax() {
+        assertTrue(estimator.dataReceived(5000, 0));
+        assertThat(estimator.pingAckReceived(1000), is(8000));
+        // No more pings once the max is reached.
+        assertFalse(estimator.dataReceived(5000, 2000));
+        assertThat(estimator.pingAckReceived(3000), is(0));
+    }
+
+    @Test
+    void unexpectedAckIsIgnored() {
+        assertThat(estimator.pingAckReceived(1000), is(0));
+        assertTrue(estimator.dataReceived(900, 2000));
+        assertThat(estimator.pingAckReceived(3000), is(1800));
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http2.DefaultHttp2DataFrame;
+import io.netty.handler.codec.http2.DefaultHttp2PingFrame;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2PingFrame;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2SettingsFrame;
+import io.netty.handler.codec.http2.Http2WindowUpdateFrame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class H2BdpFlowControlHandlerTest {
+
+    private long nanoTime;
+    private EmbeddedChannel channel;
+
+    @AfterEach
+    void tearDown() {
+        if (channel != null) {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void pingAckGrowsWindows() {
+        channel = newChannel(1 << 20);
+        final Http2PingFrame ping = receiveData(1000);
+        receiveDataWithoutPing(59000);
+        nanoTime = 1000;
+
+        channel.writeInbound(new DefaultHttp2PingFrame(ping.content(), true));
+        // The sample of 60000 bytes fills most of the window, both windows grow to twice the sample.
+        assertWindowsGrow(120000 - DEFAULT_WINDOW_SIZE, 120000);
+        assertThat("BDP PING ACK must not reach other handlers.", channel.readInbound(), is(nullValue()));
+    }
+
+    @Test
+    void growthStopsAtMaxWindow() {
+        channel = newChannel(100000);
+        final Http2PingFrame ping = receiveData(60000);
+        nanoTime = 1000;
+
+        channel.writeInbound(new DefaultHttp2PingFrame(ping.content(), true));
+        assertWindowsGrow(100000 - DEFAULT_WINDOW_SIZE, 100000);
+
+        // No more PINGs once the max window is reached.
+        nanoTime = 2000;
+        receiveDataWithoutPing(100000);
+    }
+
+    @Test
+    void smallSampleDoesNotGrowWindows() {
+        channel = newChannel(1 << 20);
+        final Http2PingFrame ping = receiveData(1000);
+        nanoTime = 1000;
+
+        channel.writeInbound(new DefaultHttp2PingFrame(ping.content(), true));
+        assertThat(channel.readOutbound(), is(nullValue()));
+    }
+
+    @Test
+    void doesNothingIfDisabled() {
+        channel = newChannel(0);
+        receiveDataWithoutPing(60000);
+
+        // PING ACKs of other handlers, e.g. KeepAliveManager, pass through.
+        channel.writeInbound(new DefaultHttp2PingFrame(1234, true));
+        final Http2PingFrame ack = channel.readInbound();
+        assertThat(ack.content(), is(1234L));
+        assertThat(channel.readOutbound(), is(nullValue()));
+    }
+
+    @Test
+    void unrelatedPingAckPassesThrough() {
+        channel = newChannel(1 << 20);
+        final Http2PingFrame ping = receiveData(1000);
+
+        channel.writeInbound(new DefaultHttp2PingFrame(ping.content() + 1, true));
+        final Http2PingFrame ack = channel.readInbound();
+        assertThat(ack.content(), is(ping.content() + 1));
+        assertThat(channel.readOutbound(), is(nullValue()));
+    }
+
+    private EmbeddedChannel newChannel(final int maxWindow) {
+        return new EmbeddedChannel(new H2BdpFlowControlHandler(new Http2Settings(), 0, maxWindow, () -> nanoTime));
+    }
+
+    private Http2PingFrame receiveData(final int bytes) {
+        channel.writeInbound(newDataFrame(bytes));
+        assertDataPassesThrough();
+        final Object ping = channel.readOutbound();
+        assertThat(ping, instanceOf(Http2PingFrame.class));
+        assertThat(((Http2PingFrame) ping).ack(), is(false));
+        return (Http2PingFrame) ping;
+    }
+
+    private void receiveDataWithoutPing(final int bytes) {
+        channel.writeInbound(newDataFrame(bytes));
+        assertDataPassesThrough();
+        assertThat(channel.readOutbound(), is(nullValue()));
+    }
+
+    private void assertDataPassesThrough() {
+        final Object data = channel.readInbound();
+        assertThat(data, instanceOf(Http2DataFrame.class));
+        ((Http2DataFrame) data).release();
+    }
+
+    private void assertWindowsGrow(final int connectionWindowIncrement, final int initialWindowSize) {
+        final Object windowUpdate = channel.readOutbound();
+        assertThat(windowUpdate, instanceOf(Http2WindowUpdateFrame.class));
+        assertThat(((Http2WindowUpdateFrame) windowUpdate).windowSizeIncrement(), is(connectionWindowIncrement));
+        final Object settings = channel.readOutbound();
+        assertThat(settings, instanceOf(Http2SettingsFrame.class));
+        assertThat(((Http2SettingsFrame) settings).settings().initialWindowSize(), is(initialWindowSize));
+        assertThat(channel.readOutbound(), is(nullValue()));
+    }
+
+    private static Http2DataFrame newDataFrame(final int bytes) {
+        return new DefaultHttp2DataFrame(Unpooled.wrappedBuffer(new byte[bytes]));
+    }
+}
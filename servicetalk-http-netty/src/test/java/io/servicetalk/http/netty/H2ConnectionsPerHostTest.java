@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.client.api.TransportObserverConnectionFactoryFilter;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.http.api.Http2SettingsBuilder;
+import io.servicetalk.http.api.StreamingHttpClient;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.transport.api.ConnectionObserver;
+import io.servicetalk.transport.api.ServerContext;
+import io.servicetalk.transport.api.TransportObserver;
+import io.servicetalk.transport.netty.internal.NoopTransportObserver.NoopConnectionObserver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.api.Single.collectUnordered;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.http.netty.HttpProtocolConfigs.h2;
+import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
+import static io.servicetalk.transport.netty.internal.AddressUtils.serverHostAndPort;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+class H2ConnectionsPerHostTest {
+
+    private static final int MAX_CONCURRENT_STREAMS = 10;
+
+    @Test
+    void burstOpensOneConnectionAtThreshold() throws Exception {
+        CountingTransportObserver transportObserver = new CountingTransportObserver();
+        try (ServerContext serverContext = HttpServers.forAddress(localAddress(0))
+                .protocols(h2().initialSettings(new Http2SettingsBuilder()
+                        .maxConcurrentStreams(MAX_CONCURRENT_STREAMS).build()).build())
+                .listenStreamingAndAwait((ctx, request, responseFactory) ->
+                        succeeded(responseFactory.ok().payloadBody("/warmup".equals(request.path()) ?
+                                Publisher.empty() : Publisher.never())));
+             StreamingHttpClient client = HttpClients.forSingleAddress(serverHostAndPort(serverContext))
+                     .protocols(h2().connectionsPerHost(2, .5f).build())
+                     .appendConnectionFactoryFilter(new TransportObserverConnectionFactoryFilter<>(transportObserver))
+                     .buildStreaming()) {
+            // Make sure the first connection knows the max concurrent streams of the server.
+            client.request(client.get("/warmup")).flatMap(StreamingHttpResponse::toResponse).toFuture().get();
+            assertThat(transportObserver.count.get(), is(1));
+
+            // Requests which don't complete: the first connection reaches the threshold after half of them, all
+            // following requests race with the establishment of the second connection.
+            List<Single<StreamingHttpResponse>> responses = new ArrayList<>(MAX_CONCURRENT_STREAMS);
+            for (int i = 0; i < MAX_CONCURRENT_STREAMS; ++i) {
+                responses.add(client.request(client.get("/" + i)));
+            }
+            assertThat(collectUnordered(responses, MAX_CONCURRENT_STREAMS).toFuture().get(),
+                    hasSize(MAX_CONCURRENT_STREAMS));
+            assertThat(transportObserver.count.get(), is(2));
+        }
+    }
+
+    private static final class CountingTransportObserver implements TransportObserver {
+        final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public ConnectionObserver onNewConnection(@Nullable final Object localAddress, final Object remoteAddress) {
+            count.incrementAndGet();
+            return NoopConnectionObserver.INSTANCE;
+        }
+    }
+}
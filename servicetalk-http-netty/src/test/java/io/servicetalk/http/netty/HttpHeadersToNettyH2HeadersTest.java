@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.http.api.DefaultHttpHeadersFactory;
+import io.servicetalk.http.api.HttpHeaders;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersDecoder;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersEncoder;
+import io.netty.handler.codec.http2.Http2Headers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+
+import static io.servicetalk.http.api.HttpHeaderNames.COOKIE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class HttpHeadersToNettyH2HeadersTest {
+
+    @Test
+    void pseudoHeadersFirstAndLowerCaseNames() {
+        final HttpHeaders h1Headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders()
+                .add("Content-Type", "text/plain")
+                .add("x-custom", "value");
+        final Http2Headers h2Headers = new HttpHeadersToNettyH2Headers(h1Headers)
+                .method("GET").path("/path");
+
+        assertThat(h2Headers.size(), is(4));
+        assertThat(h2Headers.method().toString(), is("GET"));
+        assertThat(h2Headers.get(":path").toString(), is("/path"));
+        assertThat(h2Headers.status(), is(nullValue()));
+        assertThat(h2Headers.get("content-type").toString(), is("text/plain"));
+
+        final List<String> names = new ArrayList<>();
+        for (Entry<CharSequence, CharSequence> entry : h2Headers) {
+            names.add(entry.getKey().toString());
+        }
+        assertThat(names.subList(0, 2), contains(":method", ":path"));
+        assertThat(names.subList(2, 4), containsInAnyOrder("content-type", "x-custom"));
+    }
+
+    @Test
+    void laterModificationsAreNotVisible() {
+        final HttpHeaders h1Headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders()
+                .add("x-custom", "value1");
+        final Http2Headers h2Headers = new HttpHeadersToNettyH2Headers(h1Headers);
+
+        h1Headers.set("x-custom", "value2");
+        h1Headers.add("x-other", "value");
+
+        assertThat(h2Headers.size(), is(1));
+        assertThat(h2Headers.get("x-custom").toString(), is("value1"));
+        assertThat(h2Headers.contains("x-other"), is(false));
+    }
+
+    @Test
+    void encodeDirectly() throws Exception {
+        final HttpHeaders h1Headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders()
+                .add("Content-Type", "text/plain")
+                .add(COOKIE, "a=b")
+                .add(COOKIE, "c=d");
+        final Http2Headers h2Headers = new HttpHeadersToNettyH2Headers(h1Headers).status("200");
+
+        final ByteBuf buf = Unpooled.buffer();
+        try {
+            new DefaultHttp2HeadersEncoder().encodeHeaders(1, h2Headers, buf);
+            final Http2Headers decoded = new DefaultHttp2HeadersDecoder(true).decodeHeaders(1, buf);
+            final Http2Headers expected = new DefaultHttp2Headers()
+                    .status("200")
+                    .add("content-type", "text/plain")
+                    .add("cookie", "a=b")
+                    .add("cookie", "c=d");
+            assertThat(decoded, is(expected));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void cookieCrumbsAreMergedLazily() {
+        final Http2Headers nettyHeaders = new DefaultHttp2Headers()
+                .add("cookie", "a=b")
+                .add("cookie", "c=d");
+        final NettyH2HeadersToHttpHeaders headers =
+                new NettyH2HeadersToHttpHeaders(nettyHeaders, true, false, true);
+
+        assertThat(headers.getCookie("c").value().toString(), is("d"));
+        assertThat(headers.hasCookieCrumbs(), is(true));
+        assertThat(nettyHeaders.getAll("cookie").size(), is(2));
+
+        final CharSequence cookie = headers.get(COOKIE);
+        assertThat(headers.hasCookieCrumbs(), is(false));
+        assertThat(cookie.length(), is("a=b; c=d".length()));
+        final Iterator<? extends CharSequence> itr = headers.valuesIterator(COOKIE);
+        itr.next();
+        assertThat(itr.hasNext(), is(false));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018, 2020, 2021 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018, 2020, 2021, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 package io.servicetalk.http.netty;
 
 import io.servicetalk.http.api.DefaultHttpHeadersFactory;
+import io.servicetalk.http.api.HttpHeadersFactory;
+import io.servicetalk.http.api.HttpHeadersTemplate;
 import io.servicetalk.http.api.HttpMetaData;
 import io.servicetalk.http.api.HttpProtocolVersion;
 import io.servicetalk.http.api.HttpRequestMetaData;
@@ -32,6 +34,7 @@ import java.util.List;
 import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
 import static io.servicetalk.buffer.netty.BufferUtils.getByteBufAllocator;
 import static io.servicetalk.http.api.HttpHeaderNames.HOST;
+import static io.servicetalk.http.api.HttpHeaderNames.SERVER;
 import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
 import static io.servicetalk.http.api.HttpRequestMethod.GET;
 import static io.servicetalk.http.api.HttpRequestMethod.POST;
@@ -213,6 +216,21 @@ class HttpRequestDecoderTest extends HttpObjectDecoderTest {
         assertFalse(channel.finishAndReleaseAll());
     }
 
+    @Test
+    void receivedHeadersDoNotStartWithTemplateEntries() {
+        HttpHeadersFactory factory = HttpHeadersTemplate.of(DefaultHttpHeadersFactory.INSTANCE.newHeaders()
+                .add(SERVER, "unit-test"), true).headersFactory(DefaultHttpHeadersFactory.INSTANCE);
+        EmbeddedChannel templateChannel = new EmbeddedChannel(new HttpRequestDecoder(new ArrayDeque<>(),
+                getByteBufAllocator(DEFAULT_ALLOCATOR), factory, 8192, 8192, false, false,
+                UNSUPPORTED_PROTOCOL_CLOSE_HANDLER));
+        writeMsg("GET / HTTP/1.1" + "\r\n" + "Host: servicetalk.io" + "\r\n" + "\r\n", templateChannel);
+        HttpRequestMetaData request = templateChannel.readInbound();
+        assertThat(request.headers().size(), is(1));
+        assertThat(request.headers().contains(SERVER), is(false));
+        assertEmptyTrailers(templateChannel);
+        assertFalse(templateChannel.finishAndReleaseAll());
+    }
+
     @Test
     void validStartLineWithCustomHttpVersion() {
         writeMsg("GET / HTTP/1.9" + "\r\n" + "\r\n");
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018, 2021 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018, 2021, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,13 @@
 package io.servicetalk.http.netty;
 
 import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.http.api.ArrayHttpHeadersFactory;
 import io.servicetalk.http.api.DefaultHttpHeadersFactory;
 import io.servicetalk.http.api.EmptyHttpHeaders;
 import io.servicetalk.http.api.HttpHeaders;
+import io.servicetalk.http.api.HttpHeadersTemplate;
 import io.servicetalk.http.api.HttpResponseMetaData;
+import io.servicetalk.http.api.HttpResponseStatus;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.embedded.EmbeddedChannel;
@@ -40,6 +43,7 @@ import static io.servicetalk.http.api.HttpHeaderNames.SERVER;
 import static io.servicetalk.http.api.HttpHeaderNames.TRANSFER_ENCODING;
 import static io.servicetalk.http.api.HttpHeaderValues.CHUNKED;
 import static io.servicetalk.http.api.HttpHeaderValues.KEEP_ALIVE;
+import static io.servicetalk.http.api.HttpHeadersTemplate.templateOf;
 import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
 import static io.servicetalk.http.api.HttpResponseMetaDataFactory.newResponseMetaData;
 import static io.servicetalk.http.api.HttpResponseStatus.OK;
@@ -51,6 +55,8 @@ import static java.nio.charset.StandardCharsets.US_ASCII;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -297,6 +303,48 @@ class HttpResponseEncoderTest extends HttpEncoderTest<HttpResponseMetaData> {
         assertFalse(channel.finishAndReleaseAll());
     }
 
+    @Test
+    void headersTemplate() {
+        EmbeddedChannel channel = newEmbeddedChannel();
+        HttpHeadersTemplate template = HttpHeadersTemplate.of(ArrayHttpHeadersFactory.INSTANCE.newHeaders()
+                .add(CONNECTION, KEEP_ALIVE)
+                .add(SERVER, "unit-test"));
+        HttpHeaders headers = template.newHeaders().add(CONTENT_LENGTH, "0");
+        assertSame(template, templateOf(headers));
+        channel.writeOutbound(newResponseMetaData(HTTP_1_1, OK, headers));
+        channel.writeOutbound(EmptyHttpHeaders.INSTANCE);
+        ByteBuf byteBuf = channel.readOutbound();
+        assertEquals("HTTP/1.1 200 OK\r\n" + CONNECTION + ": " + KEEP_ALIVE + "\r\n" + SERVER + ": unit-test\r\n" +
+                CONTENT_LENGTH + ": 0\r\n\r\n", byteBuf.toString(US_ASCII));
+        byteBuf.release();
+        consumeEmptyBufferFromTrailers(channel);
+
+        // Modifying a template entry falls back to encoding every entry.
+        headers = template.newHeaders().set(SERVER, "other").add(CONTENT_LENGTH, "0");
+        assertNull(templateOf(headers));
+        channel.writeOutbound(newResponseMetaData(HTTP_1_1, OK, headers));
+        channel.writeOutbound(EmptyHttpHeaders.INSTANCE);
+        byteBuf = channel.readOutbound();
+        assertEquals("HTTP/1.1 200 OK\r\n" + CONNECTION + ": " + KEEP_ALIVE + "\r\n" + SERVER + ": other\r\n" +
+                CONTENT_LENGTH + ": 0\r\n\r\n", byteBuf.toString(US_ASCII));
+        byteBuf.release();
+        consumeEmptyBufferFromTrailers(channel);
+        assertFalse(channel.finishAndReleaseAll());
+    }
+
+    @Test
+    void customReasonPhraseIsNotCached() {
+        EmbeddedChannel channel = newEmbeddedChannel();
+        channel.writeOutbound(newResponseMetaData(HTTP_1_1, HttpResponseStatus.of(200, "Fine"), INSTANCE.newHeaders()
+                .add(CONTENT_LENGTH, "0")));
+        channel.writeOutbound(EmptyHttpHeaders.INSTANCE);
+        ByteBuf byteBuf = channel.readOutbound();
+        assertEquals("HTTP/1.1 200 Fine\r\n" + CONTENT_LENGTH + ": 0\r\n\r\n", byteBuf.toString(US_ASCII));
+        byteBuf.release();
+        consumeEmptyBufferFromTrailers(channel);
+        assertFalse(channel.finishAndReleaseAll());
+    }
+
     private static String verifyHttpResponse(EmbeddedChannel channel, Buffer buffer, TransferEncoding encoding,
                                              boolean trailers) {
         ByteBuf byteBuf = channel.readOutbound();
@@ -23,6 +23,7 @@ import io.servicetalk.transport.api.ServerContext;
 import io.servicetalk.transport.netty.internal.EventLoopAwareNettyIoExecutor;
 import io.servicetalk.transport.netty.internal.IoUringUtils;
 import io.servicetalk.transport.netty.internal.NettyIoExecutors;
+import io.servicetalk.transport.netty.internal.NettyIoThreadFactory;
 
 import io.netty.incubator.channel.uring.IOUring;
 import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
@@ -42,6 +43,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.junit.jupiter.api.condition.OS.LINUX;
@@ -63,6 +65,39 @@ class IoUringTest {
         }
     }
 
+    @Test
+    @EnabledOnOs(MAC)
+    void explicitIoUringIoExecutorFailsOnMacOs() {
+        assertThrows(IllegalStateException.class,
+                () -> NettyIoExecutors.createIoUringIoExecutor(1, new NettyIoThreadFactory("io-uring")));
+    }
+
+    @Test
+    @EnabledOnOs(LINUX)
+    void explicitIoUringIoExecutorIgnoresTryIoUring() throws Exception {
+        assumeTrue(TestTimeoutConstants.CI || IOUring.isAvailable(), "io_uring is unavailable on " +
+                System.getProperty("os.name") + ' ' + System.getProperty("os.version"));
+        IoUringUtils.tryIoUring(false);
+        EventLoopAwareNettyIoExecutor ioUringExecutor = NettyIoExecutors.createIoUringIoExecutor(2,
+                new NettyIoThreadFactory("io-uring"), 512, 0);
+        try {
+            assertThat(ioUringExecutor.eventLoopGroup(), is(instanceOf(IOUringEventLoopGroup.class)));
+            try (ServerContext serverContext = HttpServers.forAddress(localAddress(0))
+                    .ioExecutor(ioUringExecutor)
+                    .listenStreamingAndAwait(new TestServiceStreaming());
+                 BlockingHttpClient client = HttpClients.forSingleAddress(serverHostAndPort(serverContext))
+                         .ioExecutor(ioUringExecutor)
+                         .buildBlocking()) {
+                HttpRequest request = client.post(SVC_ECHO).payloadBody("bonjour!", textSerializerUtf8());
+                HttpResponse response = client.request(request);
+                assertThat(response.status(), is(OK));
+                assertThat(response.payloadBody(textSerializerUtf8()), is("bonjour!"));
+            }
+        } finally {
+            ioUringExecutor.closeAsync().toFuture().get();
+        }
+    }
+
     @ParameterizedTest(name = "{displayName} [{index}] noOffloading={0}")
     @ValueSource(booleans = {false, true})
     @EnabledOnOs(LINUX)
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2022 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2022-2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,16 @@ import io.servicetalk.client.api.ConsumableEvent;
 import io.servicetalk.client.api.RequestConcurrencyController;
 import io.servicetalk.client.api.ReservableRequestConcurrencyController;
 import io.servicetalk.concurrent.api.Completable;
+import io.servicetalk.concurrent.api.TestCompletable;
 import io.servicetalk.concurrent.api.TestPublisher;
+import io.servicetalk.http.netty.ReservableRequestConcurrencyControllers.ConnectionGroups;
 import io.servicetalk.http.netty.ReservableRequestConcurrencyControllers.IgnoreConsumedEvent;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static io.servicetalk.client.api.RequestConcurrencyController.Result.Accepted;
 import static io.servicetalk.client.api.RequestConcurrencyController.Result.RejectedPermanently;
 import static io.servicetalk.client.api.RequestConcurrencyController.Result.RejectedTemporary;
@@ -132,4 +137,126 @@ class ReservableRequestConcurrencyControllersTest {
         assertThat(controller.tryRequest(), is(Accepted));
         assertFalse(controller.tryReserve());
     }
+
+    @Test
+    void groupOpensNewConnectionAtThreshold() {
+        ConnectionGroups<String> groups = new ConnectionGroups<>(2, .5f);
+        RequestConcurrencyController first = newController(from(new IgnoreConsumedEvent<>(10)), never(), 10,
+                groups, "host");
+        for (int i = 0; i < 5; ++i) {
+            assertThat(first.tryRequest(), is(Accepted));
+        }
+        // Less than the target number of connections, the load balancer should open a new connection.
+        assertThat(first.tryRequest(), is(RejectedTemporary));
+
+        RequestConcurrencyController second = newController(from(new IgnoreConsumedEvent<>(10)), never(), 10,
+                groups, "host");
+        // Requests are sent to the least loaded connection.
+        for (int i = 0; i < 5; ++i) {
+            assertThat(first.tryRequest(), is(RejectedTemporary));
+            assertThat(second.tryRequest(), is(Accepted));
+        }
+        // When the target number of connections is reached, connections are filled up to the max concurrency.
+        for (int i = 5; i < 10; ++i) {
+            assertThat(first.tryRequest(), is(Accepted));
+            assertThat(second.tryRequest(), is(Accepted));
+        }
+        assertThat(first.tryRequest(), is(RejectedTemporary));
+        assertThat(second.tryRequest(), is(RejectedTemporary));
+
+        // Connections to other hosts are not affected.
+        RequestConcurrencyController other = newController(from(new IgnoreConsumedEvent<>(10)), never(), 10,
+                groups, "other");
+        for (int i = 0; i < 5; ++i) {
+            assertThat(other.tryRequest(), is(Accepted));
+        }
+        assertThat(other.tryRequest(), is(RejectedTemporary));
+    }
+
+    @Test
+    void closingConnectionLeavesGroup() {
+        ConnectionGroups<String> groups = new ConnectionGroups<>(2, .5f);
+        TestCompletable closing = new TestCompletable();
+        RequestConcurrencyController first = newController(from(new IgnoreConsumedEvent<>(10)), closing, 10,
+                groups, "host");
+        RequestConcurrencyController second = newController(from(new IgnoreConsumedEvent<>(10)), never(), 10,
+                groups, "host");
+        for (int i = 0; i < 5; ++i) {
+            assertThat(first.tryRequest(), is(Accepted));
+            assertThat(second.tryRequest(), is(Accepted));
+        }
+        assertThat(second.tryRequest(), is(Accepted));
+
+        closing.onComplete();
+        assertThat(first.tryRequest(), is(RejectedPermanently));
+        // The remaining connection is alone in the group again, a new connection should be opened.
+        assertThat(second.tryRequest(), is(RejectedTemporary));
+    }
+
+    @Test
+    void closedConnectionDoesNotJoinGroup() {
+        ConnectionGroups<String> groups = new ConnectionGroups<>(2, .5f);
+        newController(from(new IgnoreConsumedEvent<>(10)), completed(), 10, groups, "host");
+        RequestConcurrencyController controller = newController(from(new IgnoreConsumedEvent<>(10)), never(), 10,
+                groups, "host");
+        for (int i = 0; i < 5; ++i) {
+            assertThat(controller.tryRequest(), is(Accepted));
+        }
+        assertThat(controller.tryRequest(), is(RejectedTemporary));
+    }
+
+    @Test
+    void newConnectionIsRequestedOnce() {
+        ConnectionGroups<String> groups = new ConnectionGroups<>(2, .5f);
+        RequestConcurrencyController first = newController(from(new IgnoreConsumedEvent<>(10)), never(), 10,
+                groups, "host");
+        for (int i = 0; i < 5; ++i) {
+            assertThat(first.tryRequest(), is(Accepted));
+        }
+        assertThat(first.tryRequest(), is(RejectedTemporary));
+        // Until the requested connection joins the group, the existing connection accepts up to its max concurrency.
+        for (int i = 5; i < 10; ++i) {
+            assertThat(first.tryRequest(), is(Accepted));
+        }
+        assertThat(first.tryRequest(), is(RejectedTemporary));
+    }
+
+    @Test
+    void requestedConnectionExpiresIfItDoesNotJoin() {
+        final long[] nanoTime = {0};
+        ConnectionGroups<String> groups = new ConnectionGroups<>(2, .5f, () -> nanoTime[0]);
+        RequestConcurrencyController first = newController(from(new IgnoreConsumedEvent<>(10)), never(), 10,
+                groups, "host");
+        for (int i = 0; i < 5; ++i) {
+            assertThat(first.tryRequest(), is(Accepted));
+        }
+        assertThat(first.tryRequest(), is(RejectedTemporary));
+        // The load balancer routes the rejected request to the existing connection instead of opening a new one.
+        assertThat(first.tryRequest(), is(Accepted));
+        // The connection is still considered requested until it expires.
+        assertThat(first.tryRequest(), is(Accepted));
+
+        nanoTime[0] += ConnectionGroups.REQUESTED_CONNECTION_TIMEOUT_NANOS;
+        // The group grows again.
+        assertThat(first.tryRequest(), is(RejectedTemporary));
+        assertThat(first.tryRequest(), is(Accepted));
+
+        RequestConcurrencyController second = newController(from(new IgnoreConsumedEvent<>(10)), never(), 10,
+                groups, "host");
+        assertThat(second.tryRequest(), is(Accepted));
+    }
+
+    @Test
+    void groupLargerThanTargetDoesNotBalance() {
+        ConnectionGroups<String> groups = new ConnectionGroups<>(2, .5f);
+        List<RequestConcurrencyController> connections = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            connections.add(newController(from(new IgnoreConsumedEvent<>(10)), never(), 10, groups, "host"));
+        }
+        for (int i = 0; i < 2; ++i) {
+            assertThat(connections.get(0).tryRequest(), is(Accepted));
+        }
+        // Other connections have less pending requests, but rejecting would open even more connections.
+        assertThat(connections.get(0).tryRequest(), is(Accepted));
+    }
 }
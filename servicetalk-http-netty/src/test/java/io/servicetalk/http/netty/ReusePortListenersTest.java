@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.http.api.BlockingHttpClient;
+import io.servicetalk.http.api.HttpServerBuilder;
+import io.servicetalk.transport.api.IoExecutor;
+import io.servicetalk.transport.api.ServerContext;
+import io.servicetalk.transport.netty.internal.NettyConnectionContext;
+
+import io.netty.channel.Channel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.servicetalk.http.api.HttpResponseStatus.OK;
+import static io.servicetalk.transport.api.ServiceTalkSocketOptions.SO_REUSEPORT_LISTENERS;
+import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
+import static io.servicetalk.transport.netty.internal.AddressUtils.newSocketAddress;
+import static io.servicetalk.transport.netty.internal.AddressUtils.serverHostAndPort;
+import static io.servicetalk.transport.netty.internal.NettyIoExecutors.fromNettyEventLoopGroup;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.junit.jupiter.api.condition.OS.LINUX;
+
+class ReusePortListenersTest {
+
+    @Test
+    @EnabledOnOs(LINUX)
+    void multipleListenersServeAsOneServer() throws Exception {
+        assumeTrue(Epoll.isAvailable(), "epoll is unavailable");
+        final Set<Channel> listenChannels = ConcurrentHashMap.newKeySet();
+        final ServerContext serverContext = HttpServers.forAddress(localAddress(0))
+                .listenSocketOption(SO_REUSEPORT_LISTENERS, 4)
+                .listenBlockingAndAwait((ctx, request, responseFactory) -> {
+                    listenChannels.add(((NettyConnectionContext) ctx).nettyChannel().parent());
+                    return responseFactory.ok();
+                });
+        final List<BlockingHttpClient> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < 16; ++i) {
+                BlockingHttpClient client = HttpClients.forSingleAddress(serverHostAndPort(serverContext))
+                        .buildBlocking();
+                clients.add(client);
+                assertThat(client.request(client.get("/")).status(), is(OK));
+            }
+            // The kernel spreads 16 connections across 4 listen sockets, all of them on the same address.
+            assertThat("Connections were accepted by a single listen socket", listenChannels.size(), greaterThan(1));
+            for (Channel listenChannel : listenChannels) {
+                assertThat(listenChannel.localAddress(), is(serverContext.listenAddress()));
+            }
+        } finally {
+            for (BlockingHttpClient client : clients) {
+                client.close();
+            }
+            serverContext.closeGracefully();
+        }
+    }
+
+    @Test
+    void nonEpollIoExecutorFailsBind() throws Exception {
+        final IoExecutor ioExecutor = fromNettyEventLoopGroup(new NioEventLoopGroup(1), false);
+        try {
+            final HttpServerBuilder builder = HttpServers.forAddress(localAddress(0))
+                    .ioExecutor(ioExecutor)
+                    .listenSocketOption(SO_REUSEPORT_LISTENERS, 2);
+            assertThrows(IllegalArgumentException.class,
+                    () -> builder.listenBlockingAndAwait((ctx, request, responseFactory) -> responseFactory.ok()));
+        } finally {
+            ioExecutor.closeAsync().toFuture().get();
+        }
+    }
+
+    @Test
+    @EnabledOnOs(LINUX)
+    void domainSocketAddressFailsBind() throws Exception {
+        assumeTrue(Epoll.isAvailable(), "epoll is unavailable");
+        final HttpServerBuilder builder = HttpServers.forAddress(newSocketAddress())
+                .listenSocketOption(SO_REUSEPORT_LISTENERS, 2);
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.listenBlockingAndAwait((ctx, request, responseFactory) -> responseFactory.ok()));
+    }
+
+    @Test
+    void invalidNumberOfListeners() {
+        final HttpServerBuilder builder = HttpServers.forAddress(localAddress(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.listenSocketOption(SO_REUSEPORT_LISTENERS, 0));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.annotation.Nullable;
+
+import static io.netty.buffer.Unpooled.copiedBuffer;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_TYPE;
+import static io.servicetalk.http.api.HttpHeaderNames.SEC_WEBSOCKET_KEY1;
+import static io.servicetalk.http.api.HttpHeaderNames.SEC_WEBSOCKET_KEY2;
+import static io.servicetalk.http.api.HttpHeaderNames.TE;
+import static io.servicetalk.http.netty.WellKnownHeaderNames.SEED;
+import static io.servicetalk.http.netty.WellKnownHeaderNames.TABLE_BITS;
+import static io.servicetalk.http.netty.WellKnownHeaderNames.hasCollisions;
+import static io.servicetalk.http.netty.WellKnownHeaderNames.names;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+class WellKnownHeaderNamesTest {
+
+    @Test
+    void lowerCaseNamesAreShared() {
+        assertThat(find("content-type"), is(sameInstance(CONTENT_TYPE)));
+        assertThat(find("te"), is(sameInstance(TE)));
+        assertThat(find("sec-websocket-key1"), is(sameInstance(SEC_WEBSOCKET_KEY1)));
+        assertThat(find("sec-websocket-key2"), is(sameInstance(SEC_WEBSOCKET_KEY2)));
+    }
+
+    @ParameterizedTest(name = "{displayName} [{index}] name={0}")
+    @ValueSource(strings = {"Content-Type", "Host", "User-Agent", "Accept-Encoding", "X-Forwarded-For"})
+    void capitalizedNamesPreserveCase(String name) {
+        CharSequence found = find(name);
+        assertThat(found, is(notNullValue()));
+        assertThat(found.toString(), is(name));
+        assertThat(find(name), is(sameInstance(found)));
+    }
+
+    @ParameterizedTest(name = "{displayName} [{index}] name={0}")
+    @ValueSource(strings = {"ETag", "WWW-Authenticate", "TE", "Content-MD5", "Sec-WebSocket-Key"})
+    void irregularCanonicalNames(String name) {
+        CharSequence found = find(name);
+        assertThat(found, is(notNullValue()));
+        assertThat(found.toString(), is(name));
+    }
+
+    @Test
+    void seedProducesNoCollisions() {
+        assertThat(hasCollisions(SEED, TABLE_BITS), is(false));
+    }
+
+    @Test
+    void allNamesAreFound() {
+        for (CharSequence name : names()) {
+            CharSequence found = find(name.toString());
+            assertThat(found, is(notNullValue()));
+            assertThat(found.toString(), is(name.toString()));
+        }
+    }
+
+    @ParameterizedTest(name = "{displayName} [{index}] name={0}")
+    @ValueSource(strings = {"Etag", "Www-Authenticate", "CONTENT-TYPE", "content-typ", "content-typex", "x-custom", "",
+            "contenT-type"})
+    void unknownNames(String name) {
+        assertThat(find(name), is(nullValue()));
+    }
+
+    @Test
+    void nameInTheMiddleOfBuffer() {
+        ByteBuf buf = copiedBuffer("content-length: 0\r\n", US_ASCII);
+        assertThat(WellKnownHeaderNames.find(buf, 8, 6), is(nullValue()));
+        assertThat(WellKnownHeaderNames.find(buf, 0, 14).toString(), is("content-length"));
+    }
+
+    @Nullable
+    private static CharSequence find(String name) {
+        ByteBuf buf = copiedBuffer("xx" + name + ": value", US_ASCII);
+        return WellKnownHeaderNames.find(buf, 2, name.length());
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.http.api.HttpHeaders;
+
+import java.util.Iterator;
+
+import static io.servicetalk.buffer.api.CharSequences.regionMatches;
+import static io.servicetalk.http.api.HttpHeaderNames.CACHE_CONTROL;
+
+/**
+ * Parsed <a href="https://www.rfc-editor.org/rfc/rfc9111#section-5.2">Cache-Control</a> directives which are relevant
+ * for {@link CachingHttpRequesterFilter}. Unknown directives are ignored.
+ */
+final class CacheControl {
+    static final CacheControl EMPTY = new CacheControl(false, false, false, false, false, -1, -1, -1);
+
+    final boolean noStore;
+    final boolean noCache;
+    final boolean isPrivate;
+    final boolean isPublic;
+    final boolean mustRevalidate;
+    /**
+     * Value of the {@code max-age} directive in seconds, or {@code -1} if not present.
+     */
+    final long maxAge;
+    /**
+     * Value of the {@code s-maxage} directive in seconds, or {@code -1} if not present.
+     */
+    final long sMaxAge;
+    /**
+     * Value of the {@code stale-while-revalidate} directive in seconds, or {@code -1} if not present.
+     */
+    final long staleWhileRevalidate;
+
+    private CacheControl(final boolean noStore, final boolean noCache, final boolean isPrivate,
+                         final boolean isPublic, final boolean mustRevalidate, final long maxAge, final long sMaxAge,
+                         final long staleWhileRevalidate) {
+        this.noStore = noStore;
+        this.noCache = noCache;
+        this.isPrivate = isPrivate;
+        this.isPublic = isPublic;
+        this.mustRevalidate = mustRevalidate;
+        this.maxAge = maxAge;
+        this.sMaxAge = sMaxAge;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    /**
+     * Parses all {@link io.servicetalk.http.api.HttpHeaderNames#CACHE_CONTROL} headers.
+     *
+     * @param headers the {@link HttpHeaders} to parse.
+     * @return the parsed {@link CacheControl}.
+     */
+    static CacheControl parse(final HttpHeaders headers) {
+        final Iterator<? extends CharSequence> itr = headers.valuesIterator(CACHE_CONTROL);
+        if (!itr.hasNext()) {
+            return EMPTY;
+        }
+        boolean noStore = false;
+        boolean noCache = false;
+        boolean isPrivate = false;
+        boolean isPublic = false;
+        boolean mustRevalidate = false;
+        long maxAge = -1;
+        long sMaxAge = -1;
+        long staleWhileRevalidate = -1;
+        do {
+            final CharSequence value = itr.next();
+            final int length = value.length();
+            int i = 0;
+            while (i < length) {
+                // Skip leading whitespace and separators.
+                char c = value.charAt(i);
+                if (c == ',' || c == ' ' || c == '\t') {
+                    ++i;
+                    continue;
+                }
+                final int nameStart = i;
+                while (i < length && (c = value.charAt(i)) != ',' && c != '=' && c != ' ' && c != '\t') {
+                    ++i;
+                }
+                final int nameEnd = i;
+                while (i < length && ((c = value.charAt(i)) == ' ' || c == '\t')) {
+                    ++i;
+                }
+                long seconds = -1;
+                if (i < length && value.charAt(i) == '=') {
+                    ++i;
+                    final boolean quoted = i < length && value.charAt(i) == '"';
+                    if (quoted) {
+                        ++i;
+                    }
+                    final int argStart = i;
+                    while (i < length && (c = value.charAt(i)) != ',' && (quoted ? c != '"' : c != ' ' && c != '\t')) {
+                        ++i;
+                    }
+                    seconds = parseDeltaSeconds(value, argStart, i);
+                    // Skip the rest of the argument, including the closing quote.
+                    while (i < length && value.charAt(i) != ',') {
+                        ++i;
+                    }
+                }
+                final int nameLength = nameEnd - nameStart;
+                if (matches(value, nameStart, nameLength, "no-store")) {
+                    noStore = true;
+                } else if (matches(value, nameStart, nameLength, "no-cache")) {
+                    noCache = true;
+                } else if (matches(value, nameStart, nameLength, "private")) {
+                    isPrivate = true;
+                } else if (matches(value, nameStart, nameLength, "public")) {
+                    isPublic = true;
+                } else if (matches(value, nameStart, nameLength, "must-revalidate") ||
+                        matches(value, nameStart, nameLength, "proxy-revalidate")) {
+                    mustRevalidate = true;
+                } else if (matches(value, nameStart, nameLength, "max-age")) {
+                    maxAge = seconds;
+                } else if (matches(value, nameStart, nameLength, "s-maxage")) {
+                    sMaxAge = seconds;
+                } else if (matches(value, nameStart, nameLength, "stale-while-revalidate")) {
+                    staleWhileRevalidate = seconds;
+                }
+            }
+        } while (itr.hasNext());
+        return new CacheControl(noStore, noCache, isPrivate, isPublic, mustRevalidate, maxAge, sMaxAge,
+                staleWhileRevalidate);
+    }
+
+    private static boolean matches(final CharSequence value, final int start, final int length,
+                                   final String directive) {
+        return length == directive.length() && regionMatches(value, true, start, directive, 0, length);
+    }
+
+    /**
+     * Parses <a href="https://www.rfc-editor.org/rfc/rfc9111#section-1.2.2">delta-seconds</a>.
+     *
+     * @param value the value to parse.
+     * @param start the index of the first digit.
+     * @param end the index after the last digit.
+     * @return the number of seconds, capped at {@link Integer#MAX_VALUE}, or {@code -1} if the value is invalid.
+     */
+    static long parseDeltaSeconds(final CharSequence value, final int start, final int end) {
+        if (start >= end) {
+            return -1;
+        }
+        long seconds = 0;
+        for (int i = start; i < end; ++i) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            seconds = seconds * 10 + (c - '0');
+            if (seconds > Integer.MAX_VALUE) {
+                // Caches are allowed to treat values greater than 2^31 as 2^31, see RFC9111, section 1.2.2.
+                seconds = Integer.MAX_VALUE;
+            }
+        }
+        return seconds;
+    }
+}
@@ -0,0 +1,606 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.concurrent.TimeSource;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.http.api.DefaultHttpHeadersFactory;
+import io.servicetalk.http.api.FilterableStreamingHttpClient;
+import io.servicetalk.http.api.HttpExecutionStrategy;
+import io.servicetalk.http.api.HttpHeaders;
+import io.servicetalk.http.api.HttpRequestMetaData;
+import io.servicetalk.http.api.HttpResponseMetaData;
+import io.servicetalk.http.api.StreamingHttpClientFilter;
+import io.servicetalk.http.api.StreamingHttpClientFilterFactory;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpRequester;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.http.utils.HttpResponseCache.CachedResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.buffer.api.CharSequences.contentEqualsIgnoreCase;
+import static io.servicetalk.buffer.api.CharSequences.parseLong;
+import static io.servicetalk.concurrent.api.Publisher.from;
+import static io.servicetalk.concurrent.api.Single.defer;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.http.api.HttpExecutionStrategies.offloadNone;
+import static io.servicetalk.http.api.HttpHeaderNames.AGE;
+import static io.servicetalk.http.api.HttpHeaderNames.AUTHORIZATION;
+import static io.servicetalk.http.api.HttpHeaderNames.CONNECTION;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
+import static io.servicetalk.http.api.HttpHeaderNames.ETAG;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_MATCH;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_MODIFIED_SINCE;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_NONE_MATCH;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_RANGE;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_UNMODIFIED_SINCE;
+import static io.servicetalk.http.api.HttpHeaderNames.LAST_MODIFIED;
+import static io.servicetalk.http.api.HttpHeaderNames.RANGE;
+import static io.servicetalk.http.api.HttpHeaderNames.TRANSFER_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.VARY;
+import static io.servicetalk.http.api.HttpRequestMethod.GET;
+import static io.servicetalk.http.api.HttpRequestMethod.HEAD;
+import static io.servicetalk.http.api.HttpRequestMethod.OPTIONS;
+import static io.servicetalk.http.api.HttpRequestMethod.TRACE;
+import static io.servicetalk.http.api.HttpResponseStatus.NOT_MODIFIED;
+import static io.servicetalk.http.api.HttpResponseStatus.StatusClass.REDIRECTION_3XX;
+import static io.servicetalk.http.api.HttpResponseStatus.StatusClass.SUCCESSFUL_2XX;
+import static io.servicetalk.http.utils.HttpResponseCache.headerValues;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A client filter which caches responses to {@code GET} requests as described by
+ * <a href="https://www.rfc-editor.org/rfc/rfc9111">RFC9111</a>.
+ * <p>
+ * Responses are stored with their fully aggregated payload body in a read-only {@link Buffer} which is shared by all
+ * responses served from the cache, without delaying the original response. Freshness is determined by the
+ * {@code max-age} and, for a {@link Builder#shared(boolean) shared} cache, the {@code s-maxage} directives. Stale
+ * responses with a validator are revalidated using {@code If-None-Match} and {@code If-Modified-Since}, or served
+ * while being revalidated in the background within the {@code stale-while-revalidate} window. Responses are matched
+ * against the request headers listed in {@code Vary}, and a single variant is kept per URI.
+ * <p>
+ * The cache is bounded by the total number of bytes of the cached entries and evicts the least recently used entries
+ * first. The cache is owned by the filter factory instance, and shared by all clients it creates. Only responses to
+ * requests with an absolute-form request-target are shared between clients, responses to other requests are only
+ * served to the client which received them because the authority of the origin is not known to the filter. Requests
+ * with conditional or {@code Range} headers bypass the cache.
+ */
+public final class CachingHttpRequesterFilter implements StreamingHttpClientFilterFactory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingHttpRequesterFilter.class);
+
+    private final HttpResponseCache cache;
+    private final boolean shared;
+    private final int maxEntryBytes;
+    @Nullable
+    private final TimeSource timeSource;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidatedHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong clientIds = new AtomicLong();
+
+    private CachingHttpRequesterFilter(final long maxCacheBytes, final int maxEntryBytes, final boolean shared,
+                                       @Nullable final TimeSource timeSource) {
+        cache = new HttpResponseCache(maxCacheBytes);
+        this.maxEntryBytes = maxEntryBytes;
+        this.shared = shared;
+        this.timeSource = timeSource;
+    }
+
+    /**
+     * Returns the number of requests served from the cache without contacting the origin.
+     *
+     * @return the number of requests served from the cache without contacting the origin.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of requests served from the cache after the origin confirmed with
+     * {@link io.servicetalk.http.api.HttpResponseStatus#NOT_MODIFIED 304 (Not Modified)} that the cached response is
+     * still valid.
+     *
+     * @return the number of requests served from the cache after a successful revalidation.
+     */
+    public long revalidatedHits() {
+        return revalidatedHits.sum();
+    }
+
+    /**
+     * Returns the number of cacheable requests which could not be served from the cache.
+     *
+     * @return the number of cacheable requests which could not be served from the cache.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the ratio of cacheable requests served from the cache without contacting the origin.
+     *
+     * @return the ratio of cacheable requests served from the cache without contacting the origin, or {@code 0} if
+     * there were no cacheable requests.
+     */
+    public double hitRatio() {
+        final long hits = hits();
+        final long total = hits + revalidatedHits() + misses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Returns the number of bytes currently used by the cached entries.
+     *
+     * @return the number of bytes currently used by the cached entries.
+     */
+    public long cachedBytes() {
+        return cache.bytes();
+    }
+
+    @Override
+    public StreamingHttpClientFilter create(final FilterableStreamingHttpClient client) {
+        final TimeSource timeSource = this.timeSource != null ? this.timeSource : client.executionContext().executor();
+        final String clientScope = "client-" + clientIds.incrementAndGet();
+        return new StreamingHttpClientFilter(client) {
+            @Override
+            protected Single<StreamingHttpResponse> request(final StreamingHttpRequester delegate,
+                                                            final StreamingHttpRequest request) {
+                return CachingHttpRequesterFilter.this.request(delegate, request, clientScope, timeSource);
+            }
+        };
+    }
+
+    @Override
+    public HttpExecutionStrategy requiredOffloads() {
+        return offloadNone();
+    }
+
+    private Single<StreamingHttpResponse> request(final StreamingHttpRequester delegate,
+                                                  final StreamingHttpRequest request, final String clientScope,
+                                                  final TimeSource timeSource) {
+        if (!GET.equals(request.method())) {
+            if (HEAD.equals(request.method()) || OPTIONS.equals(request.method()) ||
+                    TRACE.equals(request.method())) {
+                return delegate.request(request);
+            }
+            // Unsafe methods invalidate the stored response of the target URI, see RFC9111, section 4.4.
+            final String key = cacheKey(request, clientScope);
+            return delegate.request(request).whenOnSuccess(response -> {
+                if (response.status().statusClass() == SUCCESSFUL_2XX ||
+                        response.status().statusClass() == REDIRECTION_3XX) {
+                    cache.remove(key);
+                }
+            });
+        }
+        final HttpHeaders headers = request.headers();
+        if (headers.contains(RANGE) || headers.contains(IF_NONE_MATCH) || headers.contains(IF_MODIFIED_SINCE) ||
+                headers.contains(IF_MATCH) || headers.contains(IF_UNMODIFIED_SINCE) || headers.contains(IF_RANGE)) {
+            // The caller manages validation itself.
+            return delegate.request(request);
+        }
+        final CacheControl requestCacheControl = CacheControl.parse(headers);
+        if (requestCacheControl.noStore) {
+            return delegate.request(request);
+        }
+        return defer(() -> {
+            final String key = cacheKey(request, clientScope);
+            final long nowMillis = timeSource.currentTime(MILLISECONDS);
+            CachedResponse cached = cache.get(key);
+            if (cached != null && !cached.varyMatches(request)) {
+                cached = null;
+            }
+            if (cached == null) {
+                misses.increment();
+                return fetch(delegate, request, key, requestCacheControl, timeSource);
+            }
+            final long ageMillis = cached.currentAgeMillis(nowMillis);
+            if (!requestCacheControl.noCache) {
+                if (cached.isFresh(ageMillis)) {
+                    hits.increment();
+                    return succeeded(newResponse(delegate, cached, ageMillis));
+                }
+                if (cached.isStaleWhileRevalidate(ageMillis) && hasValidator(cached)) {
+                    hits.increment();
+                    revalidateInBackground(delegate, request, cached, requestCacheControl, timeSource);
+                    return succeeded(newResponse(delegate, cached, ageMillis));
+                }
+            }
+            if (!hasValidator(cached)) {
+                misses.increment();
+                return fetch(delegate, request, key, requestCacheControl, timeSource);
+            }
+            return revalidate(delegate, request, cached, requestCacheControl, timeSource);
+        }).shareContextOnSubscribe();
+    }
+
+    private Single<StreamingHttpResponse> fetch(final StreamingHttpRequester delegate,
+                                                final StreamingHttpRequest request, final String key,
+                                                final CacheControl requestCacheControl, final TimeSource timeSource) {
+        return delegate.request(request).map(response ->
+                storeOnComplete(delegate, request, key, requestCacheControl, response, timeSource));
+    }
+
+    private Single<StreamingHttpResponse> revalidate(final StreamingHttpRequester delegate,
+                                                     final StreamingHttpRequest request, final CachedResponse cached,
+                                                     final CacheControl requestCacheControl,
+                                                     final TimeSource timeSource) {
+        final StreamingHttpRequest conditionalRequest = newConditionalRequest(delegate, request, cached);
+        return delegate.request(conditionalRequest).flatMap(response -> {
+            if (NOT_MODIFIED.code() != response.status().code()) {
+                misses.increment();
+                return succeeded(storeOnComplete(delegate, request, cached.key, requestCacheControl, response,
+                        timeSource));
+            }
+            revalidatedHits.increment();
+            // Drain the empty payload body of the 304 response to release the connection.
+            return response.messageBody().ignoreElements().concat(defer(() -> {
+                final CachedResponse updated = updated(cached, response, timeSource.currentTime(MILLISECONDS));
+                cache.put(updated);
+                return succeeded(newResponse(delegate, updated, updated.initialAgeMillis));
+            }));
+        });
+    }
+
+    private void revalidateInBackground(final StreamingHttpRequester delegate, final StreamingHttpRequest request,
+                                        final CachedResponse cached, final CacheControl requestCacheControl,
+                                        final TimeSource timeSource) {
+        if (!cached.tryStartRevalidation()) {
+            return;
+        }
+        final StreamingHttpRequest conditionalRequest = newConditionalRequest(delegate, request, cached);
+        delegate.request(conditionalRequest).flatMapCompletable(response -> {
+            if (NOT_MODIFIED.code() == response.status().code()) {
+                return response.messageBody().ignoreElements().whenOnComplete(() ->
+                        cache.put(updated(cached, response, timeSource.currentTime(MILLISECONDS))));
+            }
+            return storeOnComplete(delegate, request, cached.key, requestCacheControl, response, timeSource)
+                    .messageBody().ignoreElements();
+        }).whenFinally(cached::revalidationDone)
+          .whenOnError(cause -> LOGGER.debug("Background revalidation of {} failed", cached.key, cause))
+          .subscribe();
+    }
+
+    /**
+     * Stores the response once its payload body has been consumed, if the response is storable.
+     */
+    private StreamingHttpResponse storeOnComplete(final StreamingHttpRequester delegate,
+                                                  final HttpRequestMetaData request, final String key,
+                                                  final CacheControl requestCacheControl,
+                                                  final StreamingHttpResponse response, final TimeSource timeSource) {
+        final long responseTimeMillis = timeSource.currentTime(MILLISECONDS);
+        final CacheControl cacheControl = CacheControl.parse(response.headers());
+        if (!isStorable(request, requestCacheControl, response, cacheControl)) {
+            return response;
+        }
+        final CharSequence contentLength = response.headers().get(CONTENT_LENGTH);
+        final long length = contentLength == null ? -1 : parseLongOrNegative(contentLength);
+        if (length > maxEntryBytes) {
+            return response;
+        }
+        final Map<String, String> vary = varyValues(request, response);
+        assert vary != null;
+        final HttpHeaders headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders().add(response.headers());
+        headers.remove(CONNECTION);
+        headers.remove(TRANSFER_ENCODING);
+        final long initialAgeMillis = ageMillis(response);
+        final long freshnessLifetimeMillis = freshnessLifetimeMillis(cacheControl);
+        final BufferAllocator allocator = delegate.executionContext().bufferAllocator();
+        return response.transformPayloadBody(payload -> Publisher.defer(() -> {
+            final BodyAccumulator accumulator = new BodyAccumulator(allocator, length);
+            return payload.beforeOnNext(accumulator::accumulate)
+                    .beforeOnComplete(() -> {
+                        final Buffer body = accumulator.body();
+                        if (body != null) {
+                            cache.put(new CachedResponse(key, response.version(), response.status(), headers,
+                                    body.asReadOnly(), cacheControl, vary, responseTimeMillis, initialAgeMillis,
+                                    freshnessLifetimeMillis));
+                        }
+                    }).shareContextOnSubscribe();
+        }));
+    }
+
+    private boolean isStorable(final HttpRequestMetaData request, final CacheControl requestCacheControl,
+                               final HttpResponseMetaData response, final CacheControl cacheControl) {
+        if (!isCacheableStatus(response.status().code()) || requestCacheControl.noStore || cacheControl.noStore ||
+                shared && cacheControl.isPrivate) {
+            return false;
+        }
+        if (request.headers().contains(AUTHORIZATION) &&
+                !(cacheControl.isPublic || cacheControl.mustRevalidate || cacheControl.sMaxAge >= 0)) {
+            // See RFC9111, section 3.5. The cache is shared by all clients of this filter, even if it isn't a
+            // shared cache in terms of RFC9111.
+            return false;
+        }
+        final HttpHeaders headers = response.headers();
+        return varyValues(request, response) != null && (freshnessLifetimeMillis(cacheControl) > 0 ||
+                headers.contains(ETAG) || headers.contains(LAST_MODIFIED));
+    }
+
+    private long freshnessLifetimeMillis(final CacheControl cacheControl) {
+        final long seconds = shared && cacheControl.sMaxAge >= 0 ? cacheControl.sMaxAge : cacheControl.maxAge;
+        return seconds <= 0 ? 0 : SECONDS.toMillis(seconds);
+    }
+
+    private static boolean hasValidator(final CachedResponse cached) {
+        return cached.eTag() != null || cached.lastModified() != null;
+    }
+
+    /**
+     * Status codes which are "heuristically cacheable", see RFC9110, section 15.1.
+     */
+    private static boolean isCacheableStatus(final int code) {
+        switch (code) {
+            case 200:
+            case 203:
+            case 204:
+            case 300:
+            case 301:
+            case 308:
+            case 404:
+            case 405:
+            case 410:
+            case 414:
+            case 501:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Computes the key of the stored response for a request.
+     * <p>
+     * Only an absolute-form request-target identifies the origin, the {@code Host} header of other requests is not
+     * necessarily the authority the client is connected to. Keys of such requests are scoped to the client.
+     */
+    private static String cacheKey(final HttpRequestMetaData request, final String clientScope) {
+        final String scheme = request.scheme();
+        final String host = request.host();
+        if (scheme != null && host != null) {
+            return request.requestTarget();
+        }
+        final Object hostAndPort = request.effectiveHostAndPort();
+        return clientScope + '|' + (hostAndPort == null ? "" : hostAndPort) + request.requestTarget();
+    }
+
+    /**
+     * Collects the values of the request headers listed in {@code Vary}.
+     *
+     * @return the values of the request headers by name, or {@code null} if the response varies on {@code *}.
+     */
+    @Nullable
+    private static Map<String, String> varyValues(final HttpRequestMetaData request,
+                                                  final HttpResponseMetaData response) {
+        final Iterator<? extends CharSequence> varyItr = response.headers().valuesIterator(VARY);
+        if (!varyItr.hasNext()) {
+            return emptyMap();
+        }
+        final Map<String, String> vary = new HashMap<>(4);
+        do {
+            for (String name : varyItr.next().toString().split(",")) {
+                name = name.trim();
+                if ("*".equals(name)) {
+                    return null;
+                }
+                if (!name.isEmpty()) {
+                    vary.put(name, headerValues(request.headers(), name));
+                }
+            }
+        } while (varyItr.hasNext());
+        return vary;
+    }
+
+    private static long ageMillis(final HttpResponseMetaData response) {
+        final CharSequence age = response.headers().get(AGE);
+        return age == null ? 0 : SECONDS.toMillis(Math.max(0, parseLongOrNegative(age)));
+    }
+
+    private static long parseLongOrNegative(final CharSequence value) {
+        try {
+            return parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static StreamingHttpRequest newConditionalRequest(final StreamingHttpRequester delegate,
+                                                              final StreamingHttpRequest request,
+                                                              final CachedResponse cached) {
+        // Don't modify the original request, which may be retried by other filters.
+        final StreamingHttpRequest conditionalRequest = delegate.newRequest(request.method(), request.requestTarget())
+                .version(request.version());
+        conditionalRequest.headers().add(request.headers());
+        final CharSequence eTag = cached.eTag();
+        if (eTag != null) {
+            conditionalRequest.headers().set(IF_NONE_MATCH, eTag);
+        }
+        final CharSequence lastModified = cached.lastModified();
+        if (lastModified != null) {
+            conditionalRequest.headers().set(IF_MODIFIED_SINCE, lastModified);
+        }
+        return conditionalRequest;
+    }
+
+    /**
+     * Freshens a stored response with the headers of a 304 (Not Modified) response, see RFC9111, section 4.3.4.
+     */
+    private CachedResponse updated(final CachedResponse cached, final HttpResponseMetaData notModified,
+                                   final long nowMillis) {
+        final HttpHeaders headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders().add(cached.headers);
+        // Headers of the 304 response replace all stored values of the same name.
+        for (Entry<CharSequence, CharSequence> header : notModified.headers()) {
+            headers.remove(header.getKey());
+        }
+        for (Entry<CharSequence, CharSequence> header : notModified.headers()) {
+            final CharSequence name = header.getKey();
+            if (!contentEqualsIgnoreCase(name, CONTENT_LENGTH) && !contentEqualsIgnoreCase(name, TRANSFER_ENCODING) &&
+                    !contentEqualsIgnoreCase(name, CONNECTION)) {
+                headers.add(name, header.getValue());
+            }
+        }
+        if (!headers.contains(CONTENT_LENGTH)) {
+            final CharSequence contentLength = cached.headers.get(CONTENT_LENGTH);
+            if (contentLength != null) {
+                headers.set(CONTENT_LENGTH, contentLength);
+            }
+        }
+        final CacheControl cacheControl = CacheControl.parse(headers);
+        return new CachedResponse(cached.key, cached.version, cached.status, headers, cached.body, cacheControl,
+                cached.vary, nowMillis, ageMillis(notModified), freshnessLifetimeMillis(cacheControl));
+    }
+
+    private static StreamingHttpResponse newResponse(final StreamingHttpRequester delegate,
+                                                     final CachedResponse cached, final long ageMillis) {
+        final StreamingHttpResponse response = delegate.httpResponseFactory().newResponse(cached.status)
+                .version(cached.version);
+        response.headers().add(cached.headers).set(AGE, Long.toString(MILLISECONDS.toSeconds(ageMillis)));
+        if (cached.body.readableBytes() > 0) {
+            response.payloadBody(from(cached.body.duplicate()));
+        }
+        return response;
+    }
+
+    private final class BodyAccumulator {
+        private final BufferAllocator allocator;
+        private final long expectedLength;
+        @Nullable
+        private Buffer body;
+        private boolean tooLarge;
+
+        BodyAccumulator(final BufferAllocator allocator, final long expectedLength) {
+            this.allocator = allocator;
+            this.expectedLength = expectedLength;
+        }
+
+        void accumulate(final Buffer buffer) {
+            if (tooLarge) {
+                return;
+            }
+            final int readableBytes = buffer.readableBytes();
+            final Buffer body = this.body;
+            if ((body == null ? 0 : body.readableBytes()) + (long) readableBytes > maxEntryBytes) {
+                tooLarge = true;
+                this.body = null;
+                return;
+            }
+            if (body == null) {
+                this.body = allocator.newBuffer(
+                        (int) Math.max(readableBytes, Math.min(expectedLength, maxEntryBytes)), false);
+                this.body.writeBytes(buffer, buffer.readerIndex(), readableBytes);
+            } else {
+                body.writeBytes(buffer, buffer.readerIndex(), readableBytes);
+            }
+        }
+
+        @Nullable
+        Buffer body() {
+            if (tooLarge) {
+                return null;
+            }
+            return body == null ? allocator.newBuffer(0) : body;
+        }
+    }
+
+    /**
+     * A builder of {@link CachingHttpRequesterFilter}.
+     */
+    public static final class Builder {
+        private long maxCacheBytes = 64 * 1024 * 1024;
+        private int maxEntryBytes = 1024 * 1024;
+        private boolean shared;
+        @Nullable
+        private TimeSource timeSource;
+
+        /**
+         * Sets the maximum number of bytes used by all cached entries, including their headers.
+         *
+         * @param maxCacheBytes the maximum number of bytes used by all cached entries.
+         * @return {@code this}.
+         */
+        public Builder maxCacheBytes(final long maxCacheBytes) {
+            if (maxCacheBytes <= 0) {
+                throw new IllegalArgumentException("maxCacheBytes: " + maxCacheBytes + " (expected >0)");
+            }
+            this.maxCacheBytes = maxCacheBytes;
+            return this;
+        }
+
+        /**
+         * Sets the maximum payload body size of a response which is stored in the cache. Larger responses pass
+         * through without being stored.
+         *
+         * @param maxEntryBytes the maximum payload body size of a cached response.
+         * @return {@code this}.
+         */
+        public Builder maxEntryBytes(final int maxEntryBytes) {
+            if (maxEntryBytes < 0) {
+                throw new IllegalArgumentException("maxEntryBytes: " + maxEntryBytes + " (expected >=0)");
+            }
+            this.maxEntryBytes = maxEntryBytes;
+            return this;
+        }
+
+        /**
+         * Sets whether the cache is <a href="https://www.rfc-editor.org/rfc/rfc9111#section-1">shared</a> by
+         * multiple users. A shared cache honours the {@code s-maxage} directive and doesn't store responses marked as
+         * {@code private}. Responses to requests with {@code Authorization} are only stored if explicitly allowed by
+         * the response, regardless of this setting, because the cache is shared by all clients of the filter.
+         * Defaults to {@code false}.
+         *
+         * @param shared {@code true} if the cache is shared by multiple users.
+         * @return {@code this}.
+         */
+        public Builder shared(final boolean shared) {
+            this.shared = shared;
+            return this;
+        }
+
+        /**
+         * Sets the {@link TimeSource} used to compute the age of cached responses. Defaults to the
+         * {@link io.servicetalk.concurrent.api.Executor} of the client.
+         *
+         * @param timeSource the {@link TimeSource} used to compute the age of cached responses.
+         * @return {@code this}.
+         */
+        public Builder timeSource(final TimeSource timeSource) {
+            this.timeSource = timeSource;
+            return this;
+        }
+
+        /**
+         * Builds a new {@link CachingHttpRequesterFilter}.
+         *
+         * @return a new {@link CachingHttpRequesterFilter}.
+         */
+        public CachingHttpRequesterFilter build() {
+            return new CachingHttpRequesterFilter(maxCacheBytes, maxEntryBytes, shared, timeSource);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.http.api.FilterableStreamingHttpClient;
+import io.servicetalk.http.api.HttpExecutionStrategy;
+import io.servicetalk.http.api.HttpHeaders;
+import io.servicetalk.http.api.HttpRequestMetaData;
+import io.servicetalk.http.api.HttpResponse;
+import io.servicetalk.http.api.StatelessTrailersTransformer;
+import io.servicetalk.http.api.StreamingHttpClientFilter;
+import io.servicetalk.http.api.StreamingHttpClientFilterFactory;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpRequester;
+import io.servicetalk.http.api.StreamingHttpResponse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import static io.servicetalk.concurrent.api.Publisher.from;
+import static io.servicetalk.concurrent.api.Single.defer;
+import static io.servicetalk.http.api.HttpExecutionStrategies.offloadNone;
+import static io.servicetalk.http.api.HttpHeaderNames.AUTHORIZATION;
+import static io.servicetalk.http.api.HttpHeaderNames.COOKIE;
+import static io.servicetalk.http.api.HttpHeaderNames.PROXY_AUTHORIZATION;
+import static io.servicetalk.http.api.HttpRequestMethod.GET;
+import static io.servicetalk.http.api.HttpRequestMethod.HEAD;
+import static io.servicetalk.http.utils.HttpResponseCache.headerValues;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A client filter which collapses concurrent identical requests into a single request to the origin, also known as
+ * "single-flight".
+ * <p>
+ * Requests are identical if they have the same method, scheme, authority, request-target and values of the
+ * {@link HttpHeaders} used as part of the key. {@code Authorization}, {@code Proxy-Authorization} and {@code Cookie}
+ * are always part of the key. The first request for a key is sent to the origin, and all requests for the same key
+ * which arrive before its response completes wait for the same response. The response payload body is aggregated
+ * once and every waiter receives its own copy of the response meta-data which shares the aggregated payload body.
+ * The request to the origin is cancelled only when every waiter cancelled.
+ * <p>
+ * By default only {@code GET} and {@code HEAD} requests are coalesced. Because the response payload body is
+ * aggregated, consider combining this filter with {@link PayloadSizeLimitingHttpRequesterFilter} if the size of the
+ * responses is not bounded.
+ */
+public final class CoalescingHttpRequesterFilter implements StreamingHttpClientFilterFactory {
+    private static final List<CharSequence> ALWAYS_KEY_HEADERS =
+            unmodifiableList(asList(AUTHORIZATION, PROXY_AUTHORIZATION, COOKIE));
+
+    private final Predicate<HttpRequestMetaData> coalescePredicate;
+    private final List<CharSequence> keyHeaders;
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Creates a new instance which coalesces {@code GET} and {@code HEAD} requests.
+     */
+    public CoalescingHttpRequesterFilter() {
+        this(emptyList());
+    }
+
+    /**
+     * Creates a new instance which coalesces {@code GET} and {@code HEAD} requests.
+     *
+     * @param keyHeaders names of the request headers whose values must be identical for requests to be coalesced, in
+     * addition to {@code Authorization}, {@code Proxy-Authorization} and {@code Cookie}.
+     */
+    public CoalescingHttpRequesterFilter(final Collection<? extends CharSequence> keyHeaders) {
+        this(request -> GET.equals(request.method()) || HEAD.equals(request.method()), keyHeaders);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param coalescePredicate selects the requests which may be coalesced. Only requests without a payload body which
+     * are safe to share between callers should be selected.
+     * @param keyHeaders names of the request headers whose values must be identical for requests to be coalesced, in
+     * addition to {@code Authorization}, {@code Proxy-Authorization} and {@code Cookie}.
+     */
+    public CoalescingHttpRequesterFilter(final Predicate<HttpRequestMetaData> coalescePredicate,
+                                         final Collection<? extends CharSequence> keyHeaders) {
+        this.coalescePredicate = requireNonNull(coalescePredicate);
+        final List<CharSequence> headers = new ArrayList<>(ALWAYS_KEY_HEADERS.size() + keyHeaders.size());
+        headers.addAll(ALWAYS_KEY_HEADERS);
+        headers.addAll(keyHeaders);
+        this.keyHeaders = headers;
+    }
+
+    /**
+     * Returns the number of requests which were served by a response of another in-flight request.
+     *
+     * @return the number of requests which were served by a response of another in-flight request.
+     */
+    public long coalescedRequests() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public StreamingHttpClientFilter create(final FilterableStreamingHttpClient client) {
+        // Keys don't include the authority of requests with a relative request-target, so each client has its own map.
+        final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+        return new StreamingHttpClientFilter(client) {
+            @Override
+            protected Single<StreamingHttpResponse> request(final StreamingHttpRequester delegate,
+                                                            final StreamingHttpRequest request) {
+                if (!coalescePredicate.test(request)) {
+                    return delegate.request(request);
+                }
+                return defer(() -> {
+                    final String key = key(request);
+                    InFlight current = inFlight.get(key);
+                    if (current == null) {
+                        final InFlight newInFlight = new InFlight(inFlight, key, delegate, request);
+                        current = inFlight.putIfAbsent(key, newInFlight);
+                        if (current == null) {
+                            current = newInFlight;
+                        } else {
+                            coalesced.increment();
+                        }
+                    } else {
+                        coalesced.increment();
+                    }
+                    return current.response.map(response -> copyOf(delegate, response));
+                }).shareContextOnSubscribe();
+            }
+        };
+    }
+
+    @Override
+    public HttpExecutionStrategy requiredOffloads() {
+        return offloadNone();
+    }
+
+    private String key(final HttpRequestMetaData request) {
+        final StringBuilder sb = new StringBuilder(64).append(request.method().name()).append(' ');
+        final String scheme = request.scheme();
+        if (scheme != null) {
+            sb.append(scheme).append("://");
+        }
+        final Object hostAndPort = request.effectiveHostAndPort();
+        if (hostAndPort != null) {
+            sb.append(hostAndPort);
+        }
+        sb.append(request.requestTarget());
+        for (CharSequence name : keyHeaders) {
+            final String value = headerValues(request.headers(), name);
+            if (value != null) {
+                // Header values can't contain line breaks, which makes the key unambiguous.
+                sb.append('\n').append(name).append(':').append(value);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static StreamingHttpResponse copyOf(final StreamingHttpRequester delegate, final HttpResponse response) {
+        final StreamingHttpResponse copy = delegate.httpResponseFactory().newResponse(response.status())
+                .version(response.version());
+        copy.headers().add(response.headers());
+        final Buffer payloadBody = response.payloadBody();
+        if (payloadBody.readableBytes() > 0) {
+            copy.payloadBody(from(payloadBody.duplicate()));
+        }
+        final HttpHeaders trailers = response.trailers();
+        if (!trailers.isEmpty()) {
+            return copy.transform(new StatelessTrailersTransformer<Buffer>() {
+                @Override
+                protected HttpHeaders payloadComplete(final HttpHeaders copyTrailers) {
+                    return copyTrailers.add(trailers);
+                }
+            });
+        }
+        return copy;
+    }
+
+    private static final class InFlight {
+        final Single<HttpResponse> response;
+
+        InFlight(final ConcurrentMap<String, InFlight> inFlight, final String key,
+                 final StreamingHttpRequester delegate, final StreamingHttpRequest request) {
+            // Waiters are reference counted by cache(), and the request to the origin is cancelled when all waiters
+            // cancel. The entry is removed as soon as the exchange terminates, so that requests arriving later are
+            // sent to the origin again.
+            response = delegate.request(request)
+                    .flatMap(StreamingHttpResponse::toResponse)
+                    .map(aggregated -> aggregated.payloadBody(aggregated.payloadBody().asReadOnly()))
+                    .beforeFinally(() -> inFlight.remove(key, this))
+                    .cache(1, true);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.http.api.HttpHeaders;
+import io.servicetalk.http.api.HttpProtocolVersion;
+import io.servicetalk.http.api.HttpRequestMetaData;
+import io.servicetalk.http.api.HttpResponseStatus;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.http.api.HttpHeaderNames.ETAG;
+import static io.servicetalk.http.api.HttpHeaderNames.LAST_MODIFIED;
+
+/**
+ * A least recently used cache of {@link CachedResponse}s, bounded by the total number of bytes of the cached entries.
+ */
+final class HttpResponseCache {
+    private final long maxBytes;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, .75f, true);
+    private long bytes;
+
+    HttpResponseCache(final long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    @Nullable
+    synchronized CachedResponse get(final String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Adds or replaces an entry, and evicts the least recently used entries if the cache grows beyond its bound.
+     *
+     * @param entry the {@link CachedResponse} to add.
+     * @return {@code true} if the {@code entry} was added, {@code false} if the entry alone exceeds the bound.
+     */
+    synchronized boolean put(final CachedResponse entry) {
+        if (entry.size > maxBytes) {
+            remove(entry.key);
+            return false;
+        }
+        final CachedResponse previous = entries.put(entry.key, entry);
+        if (previous != null) {
+            bytes -= previous.size;
+        }
+        bytes += entry.size;
+        final Iterator<CachedResponse> itr = entries.values().iterator();
+        while (bytes > maxBytes) {
+            final CachedResponse eldest = itr.next();
+            itr.remove();
+            bytes -= eldest.size;
+        }
+        return true;
+    }
+
+    synchronized void remove(final String key) {
+        final CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.size;
+        }
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * An immutable cached response. The {@link #body} is a read-only {@link Buffer} which is shared by all responses
+     * served from this entry.
+     */
+    static final class CachedResponse {
+        private static final AtomicIntegerFieldUpdater<CachedResponse> revalidatingUpdater =
+                AtomicIntegerFieldUpdater.newUpdater(CachedResponse.class, "revalidating");
+
+        final String key;
+        final HttpProtocolVersion version;
+        final HttpResponseStatus status;
+        final HttpHeaders headers;
+        final Buffer body;
+        final CacheControl cacheControl;
+        /**
+         * Names of the request headers which were used to select this response, and their values.
+         */
+        final Map<String, String> vary;
+        /**
+         * Time when the response was received, in milliseconds.
+         */
+        final long responseTimeMillis;
+        /**
+         * Age of the response when it was received, in milliseconds.
+         */
+        final long initialAgeMillis;
+        final long freshnessLifetimeMillis;
+        final long size;
+        private volatile int revalidating;
+
+        CachedResponse(final String key, final HttpProtocolVersion version, final HttpResponseStatus status,
+                       final HttpHeaders headers, final Buffer body, final CacheControl cacheControl,
+                       final Map<String, String> vary, final long responseTimeMillis, final long initialAgeMillis,
+                       final long freshnessLifetimeMillis) {
+            this.key = key;
+            this.version = version;
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.cacheControl = cacheControl;
+            this.vary = vary;
+            this.responseTimeMillis = responseTimeMillis;
+            this.initialAgeMillis = initialAgeMillis;
+            this.freshnessLifetimeMillis = freshnessLifetimeMillis;
+            long size = key.length() + body.readableBytes();
+            for (Entry<CharSequence, CharSequence> header : headers) {
+                size += header.getKey().length() + header.getValue().length();
+            }
+            this.size = size;
+        }
+
+        long currentAgeMillis(final long nowMillis) {
+            return initialAgeMillis + Math.max(0, nowMillis - responseTimeMillis);
+        }
+
+        boolean isFresh(final long ageMillis) {
+            return !cacheControl.noCache && ageMillis < freshnessLifetimeMillis;
+        }
+
+        boolean isStaleWhileRevalidate(final long ageMillis) {
+            return !cacheControl.noCache && !cacheControl.mustRevalidate && cacheControl.staleWhileRevalidate >= 0 &&
+                    ageMillis < freshnessLifetimeMillis + cacheControl.staleWhileRevalidate * 1000;
+        }
+
+        boolean varyMatches(final HttpRequestMetaData request) {
+            for (Entry<String, String> entry : vary.entrySet()) {
+                if (!Objects.equals(entry.getValue(), headerValues(request.headers(), entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Nullable
+        CharSequence eTag() {
+            return headers.get(ETAG);
+        }
+
+        @Nullable
+        CharSequence lastModified() {
+            return headers.get(LAST_MODIFIED);
+        }
+
+        boolean tryStartRevalidation() {
+            return revalidatingUpdater.compareAndSet(this, 0, 1);
+        }
+
+        void revalidationDone() {
+            revalidating = 0;
+        }
+    }
+
+    /**
+     * Combines all values of a header into a single {@link String}, to compare the values of headers listed in
+     * {@code Vary}.
+     *
+     * @param headers the {@link HttpHeaders} to read.
+     * @param name the name of the header.
+     * @return all values of the header separated by commas, or {@code null} if the header is not present.
+     */
+    @Nullable
+    static String headerValues(final HttpHeaders headers, final CharSequence name) {
+        final Iterator<? extends CharSequence> itr = headers.valuesIterator(name);
+        if (!itr.hasNext()) {
+            return null;
+        }
+        final CharSequence first = itr.next();
+        if (!itr.hasNext()) {
+            return first.toString();
+        }
+        final StringBuilder sb = new StringBuilder().append(first);
+        do {
+            sb.append(", ").append(itr.next());
+        } while (itr.hasNext());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.concurrent.api.TestExecutor;
+import io.servicetalk.http.api.DefaultHttpHeadersFactory;
+import io.servicetalk.http.api.DefaultStreamingHttpRequestResponseFactory;
+import io.servicetalk.http.api.HttpExecutionContext;
+import io.servicetalk.http.api.HttpResponse;
+import io.servicetalk.http.api.StreamingHttpClient;
+import io.servicetalk.http.api.StreamingHttpClientFilter;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpRequestResponseFactory;
+import io.servicetalk.http.api.StreamingHttpRequester;
+import io.servicetalk.http.api.StreamingHttpResponse;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.concurrent.api.Publisher.from;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.http.api.FilterFactoryUtils.appendClientFilterFactory;
+import static io.servicetalk.http.api.HttpHeaderNames.AGE;
+import static io.servicetalk.http.api.HttpHeaderNames.AUTHORIZATION;
+import static io.servicetalk.http.api.HttpHeaderNames.CACHE_CONTROL;
+import static io.servicetalk.http.api.HttpHeaderNames.ETAG;
+import static io.servicetalk.http.api.HttpHeaderNames.HOST;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_NONE_MATCH;
+import static io.servicetalk.http.api.HttpHeaderNames.VARY;
+import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
+import static io.servicetalk.http.api.HttpRequestMethod.GET;
+import static io.servicetalk.http.api.HttpRequestMethod.POST;
+import static io.servicetalk.http.api.HttpResponseStatus.NOT_MODIFIED;
+import static io.servicetalk.http.api.HttpResponseStatus.OK;
+import static io.servicetalk.http.api.TestStreamingHttpClient.from;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CachingHttpRequesterFilterTest {
+
+    private static final StreamingHttpRequestResponseFactory reqRespFactory =
+            new DefaultStreamingHttpRequestResponseFactory(DEFAULT_ALLOCATOR, DefaultHttpHeadersFactory.INSTANCE,
+                    HTTP_1_1);
+
+    private final TestExecutor executor = new TestExecutor();
+    private final List<StreamingHttpRequest> originRequests = new ArrayList<>();
+
+    private StreamingHttpClient newClient(CachingHttpRequesterFilter filter,
+                                          Function<StreamingHttpRequest, StreamingHttpResponse> origin) {
+        HttpExecutionContext executionContext = mock(HttpExecutionContext.class);
+        when(executionContext.bufferAllocator()).thenReturn(DEFAULT_ALLOCATOR);
+        when(executionContext.executor()).thenReturn(executor);
+        return from(reqRespFactory, executionContext, appendClientFilterFactory(filter,
+                client -> new StreamingHttpClientFilter(client) {
+                    @Override
+                    protected Single<StreamingHttpResponse> request(final StreamingHttpRequester delegate,
+                                                                    final StreamingHttpRequest request) {
+                        originRequests.add(request);
+                        return succeeded(origin.apply(request));
+                    }
+                }));
+    }
+
+    private CachingHttpRequesterFilter.Builder newBuilder() {
+        return new CachingHttpRequesterFilter.Builder().timeSource(executor);
+    }
+
+    private static StreamingHttpResponse okResponse(String body, String cacheControl) {
+        return reqRespFactory.ok()
+                .setHeader(CACHE_CONTROL, cacheControl)
+                .payloadBody(from(DEFAULT_ALLOCATOR.fromAscii(body)));
+    }
+
+    private static HttpResponse get(StreamingHttpClient client) throws Exception {
+        return client.request(client.get("/path").setHeader(HOST, "servicetalk.io"))
+                .flatMap(StreamingHttpResponse::toResponse).toFuture().get();
+    }
+
+    @Test
+    void freshResponseIsServedFromCache() throws Exception {
+        CachingHttpRequesterFilter filter = newBuilder().build();
+        StreamingHttpClient client = newClient(filter, request -> okResponse("hello", "max-age=60"));
+
+        assertThat(get(client).payloadBody().toString(US_ASCII), equalTo("hello"));
+        executor.advanceTimeBy(10, SECONDS);
+        HttpResponse cached = get(client);
+        assertThat(cached.status(), is(OK));
+        assertThat(cached.payloadBody().toString(US_ASCII), equalTo("hello"));
+        assertThat(cached.headers().get(AGE).toString(), equalTo("10"));
+        assertThat(originRequests, hasSize(1));
+        assertThat(filter.hits(), is(1L));
+        assertThat(filter.misses(), is(1L));
+        assertThat(filter.hitRatio(), is(.5));
+        assertThat(filter.cachedBytes(), greaterThan(0L));
+    }
+
+    @Test
+    void staleResponseIsRevalidated() throws Exception {
+        CachingHttpRequesterFilter filter = newBuilder().build();
+        StreamingHttpClient client = newClient(filter, request -> request.headers().contains(IF_NONE_MATCH) ?
+                reqRespFactory.newResponse(NOT_MODIFIED).setHeader(CACHE_CONTROL, "max-age=60") :
+                okResponse("hello", "max-age=1").setHeader(ETAG, "\"v1\""));
+
+        get(client);
+        executor.advanceTimeBy(2, SECONDS);
+        HttpResponse revalidated = get(client);
+        assertThat(revalidated.status(), is(OK));
+        assertThat(revalidated.payloadBody().toString(US_ASCII), equalTo("hello"));
+        assertThat(originRequests, hasSize(2));
+        assertThat(originRequests.get(1).headers().get(IF_NONE_MATCH).toString(), equalTo("\"v1\""));
+        assertThat(filter.revalidatedHits(), is(1L));
+
+        // The 304 response refreshed the freshness lifetime.
+        executor.advanceTimeBy(30, SECONDS);
+        assertThat(get(client).payloadBody().toString(US_ASCII), equalTo("hello"));
+        assertThat(originRequests, hasSize(2));
+    }
+
+    @Test
+    void staleWhileRevalidateServesStaleResponse() throws Exception {
+        CachingHttpRequesterFilter filter = newBuilder().build();
+        StreamingHttpClient client = newClient(filter, request -> request.headers().contains(IF_NONE_MATCH) ?
+                reqRespFactory.newResponse(NOT_MODIFIED) :
+                okResponse("hello", "max-age=1, stale-while-revalidate=10").setHeader(ETAG, "\"v1\""));
+
+        get(client);
+        executor.advanceTimeBy(5, SECONDS);
+        HttpResponse stale = get(client);
+        assertThat(stale.payloadBody().toString(US_ASCII), equalTo("hello"));
+        assertThat(stale.headers().get(AGE).toString(), equalTo("5"));
+        assertThat(filter.hits(), is(1L));
+        // Revalidation happens in the background.
+        assertThat(originRequests, hasSize(2));
+        assertThat(originRequests.get(1).headers().contains(IF_NONE_MATCH), is(true));
+    }
+
+    @Test
+    void noStoreIsNotCached() throws Exception {
+        CachingHttpRequesterFilter filter = newBuilder().build();
+        StreamingHttpClient client = newClient(filter, request -> okResponse("hello", "no-store, max-age=60"));
+
+        get(client);
+        get(client);
+        assertThat(originRequests, hasSize(2));
+        assertThat(filter.cachedBytes(), is(0L));
+    }
+
+    @Test
+    void privateIsNotCachedBySharedCache() throws Exception {
+        CachingHttpRequesterFilter filter = newBuilder().shared(true).build();
+        StreamingHttpClient client = newClient(filter, request -> okResponse("hello", "private, max-age=60"));
+
+        get(client);
+        get(client);
+        assertThat(originRequests, hasSize(2));
+    }
+
+    @Test
+    void varyMismatchIsNotServed() throws Exception {
+        CachingHttpRequesterFilter filter = newBuilder().build();
+        StreamingHttpClient client = newClient(filter, request ->
+                okResponse("hello", "max-age=60").setHeader(VARY, "accept-language"));
+
+        client.request(client.get("/path").setHeader("accept-language", "en"))
+                .flatMap(StreamingHttpResponse::toResponse).toFuture().get();
+        client.request(client.get("/path").setHeader("accept-language", "en"))
+                .flatMap(StreamingHttpResponse::toResponse).toFuture().get();
+        assertThat(originRequests, hasSize(1));
+        client.request(client.get("/path").setHeader("accept-language", "de"))
+                .flatMap(StreamingHttpResponse::toResponse).toFuture().get();
+        assertThat(originRequests, hasSize(2));
+    }
+
+    @Test
+    void largeResponseIsNotCached() throws Exception {
+        CachingHttpRequesterFilter filter = newBuilder().maxEntryBytes(4).build();
+        StreamingHttpClient client = newClient(filter, request -> okResponse("hello", "max-age=60"));
+
+        assertThat(get(client).payloadBody().toString(US_ASCII), equalTo("hello"));
+        get(client);
+        assertThat(originRequests, hasSize(2));
+        assertThat(filter.cachedBytes(), is(0L));
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvicted() throws Exception {
+        CachingHttpRequesterFilter filter = newBuilder().maxCacheBytes(100).build();
+        StreamingHttpClient client = newClient(filter, request -> okResponse("hello", "max-age=60"));
+
+        for (int i = 0; i < 10; ++i) {
+            client.request(client.get("/path/" + i)).flatMap(StreamingHttpResponse::toResponse).toFuture().get();
+        }
+        assertThat(filter.cachedBytes(), lessThanOrEqualTo(100L));
+        client.request(client.get("/path/0")).flatMap(StreamingHttpResponse::toResponse).toFuture().get();
+        assertThat(originRequests, hasSize(11));
+    }
+
+    @Test
+    void unsafeMethodInvalidates() throws Exception {
+        CachingHttpRequesterFilter filter = newBuilder().build();
+        StreamingHttpClient client = newClient(filter, request -> okResponse("hello", "max-age=60"));
+
+        get(client);
+        client.request(client.newRequest(POST, "/path").setHeader(HOST, "servicetalk.io")).toFuture().get();
+        get(client);
+        assertThat(originRequests, hasSize(3));
+        assertThat(originRequests.get(2).method(), is(GET));
+        assertThat(originRequests.get(2).headers().get(IF_NONE_MATCH), nullValue());
+    }
+
+    @Test
+    void relativeFormRequestsAreNotSharedBetweenClients() throws Exception {
+        CachingHttpRequesterFilter filter = newBuilder().build();
+        StreamingHttpClient client1 = newClient(filter, request -> okResponse("one", "max-age=60"));
+        StreamingHttpClient client2 = newClient(filter, request -> okResponse("two", "max-age=60"));
+
+        assertThat(get(client1).payloadBody().toString(US_ASCII), equalTo("one"));
+        assertThat(get(client2).payloadBody().toString(US_ASCII), equalTo("two"));
+        assertThat(get(client1).payloadBody().toString(US_ASCII), equalTo("one"));
+        assertThat(originRequests, hasSize(2));
+    }
+
+    @Test
+    void absoluteFormRequestsAreSharedBetweenClients() throws Exception {
+        CachingHttpRequesterFilter filter = newBuilder().build();
+        StreamingHttpClient client1 = newClient(filter, request -> okResponse("one", "max-age=60"));
+        StreamingHttpClient client2 = newClient(filter, request -> okResponse("two", "max-age=60"));
+
+        client1.request(client1.get("http://servicetalk.io/path"))
+                .flatMap(StreamingHttpResponse::toResponse).toFuture().get();
+        HttpResponse cached = client2.request(client2.get("http://servicetalk.io/path"))
+                .flatMap(StreamingHttpResponse::toResponse).toFuture().get();
+        assertThat(cached.payloadBody().toString(US_ASCII), equalTo("one"));
+        assertThat(originRequests, hasSize(1));
+    }
+
+    @Test
+    void authorizationIsNotCachedByPrivateCache() throws Exception {
+        CachingHttpRequesterFilter filter = newBuilder().build();
+        StreamingHttpClient client = newClient(filter, request -> okResponse("hello", "max-age=60"));
+
+        for (int i = 0; i < 2; ++i) {
+            client.request(client.get("/path").setHeader(HOST, "servicetalk.io").setHeader(AUTHORIZATION, "secret"))
+                    .flatMap(StreamingHttpResponse::toResponse).toFuture().get();
+        }
+        assertThat(originRequests, hasSize(2));
+        assertThat(filter.cachedBytes(), is(0L));
+    }
+
+    @Test
+    void authorizationIsCachedIfExplicitlyAllowed() throws Exception {
+        CachingHttpRequesterFilter filter = newBuilder().build();
+        StreamingHttpClient client = newClient(filter, request -> okResponse("hello", "public, max-age=60"));
+
+        for (int i = 0; i < 2; ++i) {
+            client.request(client.get("/path").setHeader(HOST, "servicetalk.io").setHeader(AUTHORIZATION, "secret"))
+                    .flatMap(StreamingHttpResponse::toResponse).toFuture().get();
+        }
+        assertThat(originRequests, hasSize(1));
+    }
+
+    @Test
+    void parseCacheControl() {
+        CacheControl cacheControl = CacheControl.parse(DefaultHttpHeadersFactory.INSTANCE.newHeaders()
+                .add(CACHE_CONTROL, "Public, max-age=\"60\", s-maxage=120")
+                .add(CACHE_CONTROL, "no-cache=\"set-cookie\",stale-while-revalidate=99999999999"));
+        assertThat(cacheControl.isPublic, is(true));
+        assertThat(cacheControl.noCache, is(true));
+        assertThat(cacheControl.noStore, is(false));
+        assertThat(cacheControl.maxAge, is(60L));
+        assertThat(cacheControl.sMaxAge, is(120L));
+        assertThat(cacheControl.staleWhileRevalidate, is((long) Integer.MAX_VALUE));
+        assertThat(CacheControl.parse(DefaultHttpHeadersFactory.INSTANCE.newHeaders()
+                .add(CACHE_CONTROL, "max-age=abc")).maxAge, is(-1L));
+    }
+}
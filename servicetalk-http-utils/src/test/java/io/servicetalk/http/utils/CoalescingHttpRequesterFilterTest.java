@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.concurrent.api.TestCancellable;
+import io.servicetalk.concurrent.api.TestSingle;
+import io.servicetalk.http.api.DefaultHttpHeadersFactory;
+import io.servicetalk.http.api.DefaultStreamingHttpRequestResponseFactory;
+import io.servicetalk.http.api.HttpExecutionContext;
+import io.servicetalk.http.api.HttpResponse;
+import io.servicetalk.http.api.StreamingHttpClient;
+import io.servicetalk.http.api.StreamingHttpClientFilter;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpRequestResponseFactory;
+import io.servicetalk.http.api.StreamingHttpRequester;
+import io.servicetalk.http.api.StreamingHttpResponse;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.concurrent.api.Publisher.from;
+import static io.servicetalk.http.api.FilterFactoryUtils.appendClientFilterFactory;
+import static io.servicetalk.http.api.HttpHeaderNames.AUTHORIZATION;
+import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
+import static io.servicetalk.http.api.HttpRequestMethod.POST;
+import static io.servicetalk.http.api.TestStreamingHttpClient.from;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+
+class CoalescingHttpRequesterFilterTest {
+
+    private static final StreamingHttpRequestResponseFactory reqRespFactory =
+            new DefaultStreamingHttpRequestResponseFactory(DEFAULT_ALLOCATOR, DefaultHttpHeadersFactory.INSTANCE,
+                    HTTP_1_1);
+
+    private final List<TestSingle<StreamingHttpResponse>> originResponses = new ArrayList<>();
+    private final CoalescingHttpRequesterFilter filter = new CoalescingHttpRequesterFilter();
+    private final StreamingHttpClient client = from(reqRespFactory, mock(HttpExecutionContext.class),
+            appendClientFilterFactory(filter, next -> new StreamingHttpClientFilter(next) {
+                @Override
+                protected Single<StreamingHttpResponse> request(final StreamingHttpRequester delegate,
+                                                                final StreamingHttpRequest request) {
+                    TestSingle<StreamingHttpResponse> response = new TestSingle<>();
+                    originResponses.add(response);
+                    return response;
+                }
+            }));
+
+    private Future<HttpResponse> request(StreamingHttpRequest request) {
+        return client.request(request).flatMap(StreamingHttpResponse::toResponse).toFuture();
+    }
+
+    private static StreamingHttpResponse okResponse(String body) {
+        return reqRespFactory.ok().setHeader("custom", "value").payloadBody(from(DEFAULT_ALLOCATOR.fromAscii(body)));
+    }
+
+    @Test
+    void concurrentRequestsShareOneExchange() throws Exception {
+        Future<HttpResponse> first = request(client.get("/path"));
+        Future<HttpResponse> second = request(client.get("/path"));
+        assertThat(originResponses, hasSize(1));
+        assertThat(filter.coalescedRequests(), is(1L));
+
+        originResponses.get(0).onSuccess(okResponse("hello"));
+        HttpResponse firstResponse = first.get();
+        HttpResponse secondResponse = second.get();
+        assertThat(firstResponse.payloadBody().toString(US_ASCII), equalTo("hello"));
+        assertThat(secondResponse.payloadBody().toString(US_ASCII), equalTo("hello"));
+        assertThat(firstResponse.headers(), not(sameInstance(secondResponse.headers())));
+        assertThat(secondResponse.headers().get("custom").toString(), equalTo("value"));
+
+        // Requests after the exchange completed are sent to the origin again.
+        request(client.get("/path"));
+        assertThat(originResponses, hasSize(2));
+    }
+
+    @Test
+    void differentKeysAreNotCoalesced() {
+        request(client.get("/path"));
+        request(client.get("/other"));
+        request(client.get("/path").setHeader(AUTHORIZATION, "user"));
+        request(client.newRequest(POST, "/path"));
+        assertThat(originResponses, hasSize(4));
+        assertThat(filter.coalescedRequests(), is(0L));
+    }
+
+    @Test
+    void upstreamIsCancelledWhenAllWaitersCancel() {
+        Future<HttpResponse> first = request(client.get("/path"));
+        Future<HttpResponse> second = request(client.get("/path"));
+        TestCancellable cancellable = new TestCancellable();
+        originResponses.get(0).onSubscribe(cancellable);
+
+        first.cancel(true);
+        assertThat(cancellable.isCancelled(), is(false));
+        second.cancel(true);
+        assertThat(cancellable.isCancelled(), is(true));
+
+        // A cancelled exchange is not reused.
+        request(client.get("/path"));
+        assertThat(originResponses, hasSize(2));
+    }
+}
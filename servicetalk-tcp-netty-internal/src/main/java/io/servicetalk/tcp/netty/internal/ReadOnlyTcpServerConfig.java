@@ -46,10 +46,12 @@ public final class ReadOnlyTcpServerConfig extends AbstractReadOnlyTcpConfig<Ser
     @Nullable
     private final Mapping<String, SslContext> sniMapping;
     private final boolean alpnConfigured;
+    private final int reusePortListeners;
 
     ReadOnlyTcpServerConfig(final TcpServerConfig from) {
         super(from);
         listenOptions = nonNullOptions(from.listenOptions());
+        reusePortListeners = from.reusePortListeners();
         final TransportObserver transportObserver = from.transportObserver();
         this.transportObserver = transportObserver == NoopTransportObserver.INSTANCE ? transportObserver :
                 asSafeObserver(transportObserver);
@@ -141,4 +143,15 @@ public final class ReadOnlyTcpServerConfig extends AbstractReadOnlyTcpConfig<Ser
     public Map<ChannelOption, Object> listenOptions() {
         return listenOptions;
     }
+
+    /**
+     * Returns the number of server sockets to bind with {@code SO_REUSEPORT}.
+     *
+     * @return the number of server sockets to bind with {@code SO_REUSEPORT}, {@code 1} if a single server socket is
+     * bound.
+     * @see io.servicetalk.transport.api.ServiceTalkSocketOptions#SO_REUSEPORT_LISTENERS
+     */
+    public int reusePortListeners() {
+        return reusePortListeners;
+    }
 }
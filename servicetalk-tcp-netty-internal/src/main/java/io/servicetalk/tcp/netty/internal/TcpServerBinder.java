@@ -15,6 +15,7 @@
  */
 package io.servicetalk.tcp.netty.internal;
 
+import io.servicetalk.concurrent.SingleSource;
 import io.servicetalk.concurrent.api.Completable;
 import io.servicetalk.concurrent.api.Executor;
 import io.servicetalk.concurrent.api.Single;
@@ -50,7 +51,11 @@ import org.slf4j.LoggerFactory;
 
 import java.net.SocketAddress;
 import java.net.SocketOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import javax.annotation.Nullable;
@@ -59,6 +64,7 @@ import javax.net.ssl.SSLSession;
 import static io.servicetalk.concurrent.api.Executors.immediate;
 import static io.servicetalk.concurrent.api.Single.defer;
 import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.transport.netty.internal.BuilderUtils.reusePortOption;
 import static io.servicetalk.transport.netty.internal.BuilderUtils.toNettyAddress;
 import static io.servicetalk.transport.netty.internal.ChannelCloseUtils.close;
 import static io.servicetalk.transport.netty.internal.CopyByteBufHandlerChannelInitializer.POOLED_ALLOCATOR;
@@ -184,6 +190,10 @@ public final class TcpServerBinder {
             }
         });
 
+        final int reusePortListeners = config.reusePortListeners();
+        if (reusePortListeners > 1) {
+            bs.option(reusePortOption(nettyIoExecutor.eventLoopGroup(), listenAddress.getClass()), true);
+        }
         ChannelFuture future = bs.bind(listenAddress);
         return new SubscribableSingle<ServerContext>() {
             @Override
@@ -193,8 +203,13 @@ public final class TcpServerBinder {
                     Channel channel = f.channel();
                     Throwable cause = f.cause();
                     if (cause == null) {
-                        subscriber.onSuccess(NettyServerContext.wrap(channel, channelSet,
-                                connectionAcceptor, executionContext));
+                        if (reusePortListeners > 1) {
+                            bindReusePortListeners(bs, channel, reusePortListeners, channelSet, connectionAcceptor,
+                                    executionContext, subscriber);
+                        } else {
+                            subscriber.onSuccess(NettyServerContext.wrap(channel, channelSet,
+                                    connectionAcceptor, executionContext));
+                        }
                     } else {
                         close(channel, f.cause());
                         subscriber.onError(f.cause());
@@ -204,6 +219,46 @@ public final class TcpServerBinder {
         };
     }
 
+    /**
+     * Binds the remaining {@code SO_REUSEPORT} listen sockets to the address of the first one, which also resolves an
+     * ephemeral port, and completes {@code subscriber} with a {@link ServerContext} that represents all of them.
+     * {@link ServerBootstrap} registers each listen socket with the next event loop, so accepts are spread across IO
+     * threads.
+     */
+    private static void bindReusePortListeners(final ServerBootstrap bs, final Channel first, final int listeners,
+                                               final ChannelSet channelSet,
+                                               @Nullable final InfluencerConnectionAcceptor connectionAcceptor,
+                                               final ExecutionContext<?> executionContext,
+                                               final SingleSource.Subscriber<? super ServerContext> subscriber) {
+        final SocketAddress boundAddress = first.localAddress();
+        final List<Channel> channels = new ArrayList<>(listeners);
+        channels.add(first);
+        final AtomicInteger pending = new AtomicInteger(listeners - 1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int i = 1; i < listeners; ++i) {
+            bs.bind(boundAddress).addListener((ChannelFuture f) -> {
+                synchronized (channels) {
+                    channels.add(f.channel());
+                }
+                if (f.cause() != null) {
+                    failure.compareAndSet(null, f.cause());
+                }
+                if (pending.decrementAndGet() == 0) {
+                    final Throwable cause = failure.get();
+                    if (cause == null) {
+                        subscriber.onSuccess(NettyServerContext.wrap(channels, channelSet, connectionAcceptor,
+                                executionContext));
+                    } else {
+                        for (Channel channel : channels) {
+                            close(channel, cause);
+                        }
+                        subscriber.onError(cause);
+                    }
+                }
+            });
+        }
+    }
+
     /**
      * Wraps the connection function with early and late acceptors.
      *
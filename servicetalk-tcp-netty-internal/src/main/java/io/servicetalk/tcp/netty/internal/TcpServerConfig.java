@@ -42,6 +42,7 @@ public final class TcpServerConfig extends AbstractTcpConfig<ServerSslConfig> {
     private TransportObserver transportObserver = NoopTransportObserver.INSTANCE;
     @Nullable
     private Map<String, ServerSslConfig> sniConfig;
+    private int reusePortListeners = 1;
 
     TransportObserver transportObserver() {
         return transportObserver;
@@ -58,6 +59,10 @@ public final class TcpServerConfig extends AbstractTcpConfig<ServerSslConfig> {
         return listenOptions;
     }
 
+    int reusePortListeners() {
+        return reusePortListeners;
+    }
+
     /**
      * Sets a {@link TransportObserver} that provides visibility into transport events.
      *
@@ -92,6 +97,14 @@ public final class TcpServerConfig extends AbstractTcpConfig<ServerSslConfig> {
      * @see ServiceTalkSocketOptions
      */
     public <T> void listenSocketOption(final SocketOption<T> option, T value) {
+        if (option == ServiceTalkSocketOptions.SO_REUSEPORT_LISTENERS) {
+            final int listeners = (Integer) value;
+            if (listeners <= 0) {
+                throw new IllegalArgumentException(option.name() + ": " + listeners + " (expected >0)");
+            }
+            reusePortListeners = listeners;
+            return;
+        }
         if (listenOptions == null) {
             listenOptions = new HashMap<>();
         }
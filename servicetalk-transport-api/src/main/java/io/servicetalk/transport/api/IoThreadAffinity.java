@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.api;
+
+/**
+ * A policy to place IO threads on CPUs, for example to keep the IO threads of a process on the same NUMA node.
+ * <p>
+ * The JDK doesn't provide an API to control CPU affinity, a {@link CpuBinder} implementation is expected to use a
+ * native library (e.g. a JNI/JNA binding of
+ * <a href="https://man7.org/linux/man-pages/man2/sched_setaffinity.2.html">sched_setaffinity</a>).
+ */
+@FunctionalInterface
+public interface IoThreadAffinity {
+    /**
+     * Binds the current thread to CPUs. Invoked by each IO thread when it starts, before it executes any task.
+     * <p>
+     * An exception thrown by this method is logged and the IO thread continues to run without affinity.
+     *
+     * @param threadIndex index of the current thread within its {@link IoThreadFactory}, starting from {@code 0}.
+     * @throws Exception if the current thread could not be bound.
+     */
+    void bindCurrentThread(int threadIndex) throws Exception;
+
+    /**
+     * Creates an {@link IoThreadAffinity} which binds each IO thread to a single CPU from {@code cpus}, in round-robin
+     * order of the thread index.
+     *
+     * @param binder binds the current thread to the selected CPU.
+     * @param cpus the CPUs to use for IO threads.
+     * @return an {@link IoThreadAffinity} which binds each IO thread to a single CPU from {@code cpus}.
+     */
+    static IoThreadAffinity roundRobin(CpuBinder binder, int... cpus) {
+        if (cpus.length == 0) {
+            throw new IllegalArgumentException("cpus: empty (expected at least one)");
+        }
+        final int[] cpusCopy = cpus.clone();
+        return threadIndex -> binder.bindCurrentThread(cpusCopy[threadIndex % cpusCopy.length]);
+    }
+
+    /**
+     * Binds the current thread to a single CPU.
+     */
+    @FunctionalInterface
+    interface CpuBinder {
+        /**
+         * Binds the current thread to {@code cpu}.
+         *
+         * @param cpu the CPU to bind the current thread to.
+         * @throws Exception if the current thread could not be bound.
+         */
+        void bindCurrentThread(int cpu) throws Exception;
+    }
+}
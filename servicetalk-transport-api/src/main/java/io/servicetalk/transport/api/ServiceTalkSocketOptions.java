@@ -83,6 +83,21 @@ public final class ServiceTalkSocketOptions {
     public static final SocketOption<Integer> TCP_FASTOPEN_BACKLOG =
             new ServiceTalkSocketOption<>("TCP_FASTOPEN_BACKLOG", Integer.class);
 
+    /**
+     * The number of server sockets to bind to the same address with
+     * <a href="https://man7.org/linux/man-pages/man7/socket.7.html">SO_REUSEPORT</a>, so that the kernel distributes
+     * incoming connections across them. Each server socket accepts connections on a different IO thread, which removes
+     * the single accept loop as a bottleneck when many connections are established at once. All server sockets are
+     * closed together with the server.
+     * <p>
+     * Values greater than the number of IO threads don't improve throughput. The default value {@code 1} binds a single
+     * server socket. Note this option is only supported for IP addresses by Netty's
+     * <a href="https://netty.io/wiki/native-transports.html#using-the-linux-native-transport">linux EPOLL
+     * transport</a>.
+     */
+    public static final SocketOption<Integer> SO_REUSEPORT_LISTENERS =
+            new ServiceTalkSocketOption<>("SO_REUSEPORT_LISTENERS", Integer.class);
+
     private ServiceTalkSocketOptions() {
     }
 
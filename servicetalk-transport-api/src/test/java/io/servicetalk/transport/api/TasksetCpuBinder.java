@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.api;
+
+import io.servicetalk.transport.api.IoThreadAffinity.CpuBinder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Binds the current thread to a CPU by running the Linux
+ * <a href="https://man7.org/linux/man-pages/man1/taskset.1.html">taskset</a> utility for its thread id, which uses
+ * {@code sched_setaffinity} without a native library in this process.
+ * <p>
+ * Starts a process for every bound thread, which is only acceptable for tests.
+ */
+final class TasksetCpuBinder implements CpuBinder {
+    static final CpuBinder INSTANCE = new TasksetCpuBinder();
+
+    // Links to <pid>/task/<tid> of the thread which resolves the link.
+    private static final Path THREAD_SELF = Paths.get("/proc/thread-self");
+
+    private TasksetCpuBinder() {
+    }
+
+    @Override
+    public void bindCurrentThread(final int cpu) throws Exception {
+        if (cpu < 0) {
+            throw new IllegalArgumentException("cpu: " + cpu + " (expected >=0)");
+        }
+        final String tid = Files.readSymbolicLink(THREAD_SELF).getFileName().toString();
+        final Process process = new ProcessBuilder("taskset", "-p", "-c", Integer.toString(cpu), tid)
+                .redirectErrorStream(true)
+                .start();
+        final String output;
+        try (InputStream in = process.getInputStream()) {
+            output = readFully(in);
+        }
+        final int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IOException("taskset exited with " + exitCode + " for thread " + tid + ": " + output.trim());
+        }
+    }
+
+    private static String readFully(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[256];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+        }
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class TasksetCpuBinderTest {
+
+    @Test
+    void bindsCurrentThread() throws Exception {
+        assumeTrue(Files.exists(Paths.get("/proc/thread-self")), "/proc/thread-self is not available");
+        assumeTrue(Files.isExecutable(Paths.get("/usr/bin/taskset")), "taskset is not available");
+
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final AtomicReference<String> cpusAllowed = new AtomicReference<>();
+        // Use a new thread, so the affinity of the thread which runs the tests isn't changed.
+        final Thread thread = new Thread(() -> {
+            try {
+                TasksetCpuBinder.INSTANCE.bindCurrentThread(0);
+                for (String line : Files.readAllLines(Paths.get("/proc/thread-self/status"), US_ASCII)) {
+                    if (line.startsWith("Cpus_allowed_list:")) {
+                        cpusAllowed.set(line.substring(line.indexOf(':') + 1).trim());
+                    }
+                }
+            } catch (Throwable cause) {
+                failure.set(cause);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertThat(failure.get(), nullValue());
+        assertThat(cpusAllowed.get(), is("0"));
+    }
+
+    @Test
+    void negativeCpu() {
+        assertThrows(IllegalArgumentException.class, () -> TasksetCpuBinder.INSTANCE.bindCurrentThread(-1));
+    }
+}
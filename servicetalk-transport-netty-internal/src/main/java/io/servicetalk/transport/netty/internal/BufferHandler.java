@@ -28,6 +28,7 @@ import io.netty.channel.ChannelPromise;
 
 import static io.servicetalk.buffer.netty.BufferUtils.extractByteBufOrCreate;
 import static io.servicetalk.buffer.netty.BufferUtils.newBufferFrom;
+import static io.servicetalk.transport.netty.internal.GatheringWriteUtils.writeGathering;
 
 /**
  * A {@link ChannelHandler} that converts does the following conversions:
@@ -69,9 +70,9 @@ public final class BufferHandler extends ChannelDuplexHandler {
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
         if (msg instanceof Buffer) {
-            ctx.write(extractByteBufOrCreate((Buffer) msg), promise);
+            writeGathering(ctx, extractByteBufOrCreate((Buffer) msg), promise);
         } else if (msg instanceof BufferHolder) {
-            ctx.write(extractByteBufOrCreate(((BufferHolder) msg).content()), promise);
+            writeGathering(ctx, extractByteBufOrCreate(((BufferHolder) msg).content()), promise);
         } else {
             ctx.write(msg, promise);
         }
@@ -19,8 +19,10 @@ import io.servicetalk.transport.api.FileDescriptorSocketAddress;
 import io.servicetalk.transport.api.HostAndPort;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.epoll.EpollDatagramChannel;
 import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollServerDomainSocketChannel;
@@ -86,6 +88,26 @@ public final class BuilderUtils {
         }
     }
 
+    /**
+     * Returns the {@link ChannelOption} which enables
+     * <a href="https://man7.org/linux/man-pages/man7/socket.7.html">SO_REUSEPORT</a> for server channels of the given
+     * {@link EventLoopGroup}.
+     *
+     * @param group        the {@link EventLoopGroup} for which the option is needed
+     * @param addressClass The class of the address that the server socket will be bound to.
+     * @return the {@link ChannelOption} to set to {@code true} to enable {@code SO_REUSEPORT}
+     * @throws IllegalArgumentException if {@code SO_REUSEPORT} is not supported for the given {@link EventLoopGroup}
+     * and address
+     */
+    public static ChannelOption<Boolean> reusePortOption(EventLoopGroup group,
+                                                         Class<? extends SocketAddress> addressClass) {
+        if (!useIoUring(group) && useEpoll(group) && InetSocketAddress.class.isAssignableFrom(addressClass)) {
+            return EpollChannelOption.SO_REUSEPORT;
+        }
+        throw new IllegalArgumentException("SO_REUSEPORT is only supported by the epoll transport for IP addresses, " +
+                "group: " + group + ", address: " + addressClass.getName());
+    }
+
     /**
      * Returns the correct {@link Class} to use with the given {@link EventLoopGroup}.
      *
@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.netty.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.PromiseCombiner;
+
+import java.util.List;
+
+/**
+ * Utilities to write {@link CompositeByteBuf}s such that the transport can gather their components into a single
+ * vectored write ({@code writev}) instead of consolidating them into a new contiguous buffer.
+ * <p>
+ * Netty transports already write a direct {@link CompositeByteBuf} via {@link ByteBuf#nioBuffers()}. However, if at
+ * least one component is a heap buffer the whole composite is copied into a newly allocated direct buffer before it is
+ * written. Writing such a composite component-by-component limits the copy to heap components only, while direct
+ * components are gathered as-is together with other pending writes on the next flush.
+ */
+public final class GatheringWriteUtils {
+
+    private GatheringWriteUtils() {
+        // no instances
+    }
+
+    /**
+     * Writes the passed {@link ByteBuf} via {@link ChannelHandlerContext#write(Object, ChannelPromise)}, splitting
+     * {@link CompositeByteBuf}s with mixed heap and direct components into individual component writes.
+     *
+     * @param ctx {@link ChannelHandlerContext} to write to.
+     * @param buf {@link ByteBuf} to write. Ownership is transferred to this method, same as for
+     * {@link ChannelHandlerContext#write(Object, ChannelPromise)}.
+     * @return {@link ChannelFuture} which completes when all bytes of {@code buf} are written.
+     */
+    public static ChannelFuture writeGathering(final ChannelHandlerContext ctx, final ByteBuf buf) {
+        return writeGathering(ctx, buf, ctx.newPromise());
+    }
+
+    /**
+     * Writes the passed {@link ByteBuf} via {@link ChannelHandlerContext#write(Object, ChannelPromise)}, splitting
+     * {@link CompositeByteBuf}s with mixed heap and direct components into individual component writes.
+     *
+     * @param ctx {@link ChannelHandlerContext} to write to.
+     * @param buf {@link ByteBuf} to write. Ownership is transferred to this method, same as for
+     * {@link ChannelHandlerContext#write(Object, ChannelPromise)}.
+     * @param promise {@link ChannelPromise} to complete when all bytes of {@code buf} are written.
+     * @return the passed {@code promise}.
+     */
+    public static ChannelFuture writeGathering(final ChannelHandlerContext ctx, final ByteBuf buf,
+                                               final ChannelPromise promise) {
+        if (!(buf instanceof CompositeByteBuf) || !shouldWriteComponents((CompositeByteBuf) buf)) {
+            return ctx.write(buf, promise);
+        }
+        final CompositeByteBuf composite = (CompositeByteBuf) buf;
+        List<ByteBuf> components = null;
+        int retained = 0;
+        try {
+            // Slices returned by decompose(...) share reference count with the underlying components, retain them
+            // before releasing the composite to transfer ownership to the individual writes.
+            components = composite.decompose(composite.readerIndex(), composite.readableBytes());
+            for (ByteBuf component : components) {
+                component.retain();
+                ++retained;
+            }
+        } catch (Throwable cause) {
+            // Release what was retained so far, the composite releases the rest of the underlying components.
+            for (int i = 0; i < retained; ++i) {
+                assert components != null;
+                components.get(i).release();
+            }
+            composite.release();
+            promise.tryFailure(cause);
+            return promise;
+        }
+        composite.release();
+
+        final int size = components.size();
+        if (size == 1) {
+            return ctx.write(components.get(0), promise);
+        }
+        final PromiseCombiner combiner = new PromiseCombiner(ctx.executor());
+        for (int i = 0; i < size; ++i) {
+            combiner.add(ctx.write(components.get(i)));
+        }
+        combiner.finish(promise);
+        return promise;
+    }
+
+    /**
+     * Determines if the passed {@link CompositeByteBuf} is cheaper to write as individual components.
+     *
+     * @param composite {@link CompositeByteBuf} to check.
+     * @return {@code true} if the composite mixes heap and direct components.
+     */
+    static boolean shouldWriteComponents(final CompositeByteBuf composite) {
+        final int numComponents = composite.numComponents();
+        if (numComponents < 2 || composite.isDirect()) {
+            // Direct composites are gathered by the transport via nioBuffers() already.
+            return false;
+        }
+        for (int i = 0; i < numComponents; ++i) {
+            if (composite.internalComponent(i).isDirect()) {
+                return true;
+            }
+        }
+        // All components are heap buffers, copying them into a single direct buffer is as cheap as copying each one.
+        return false;
+    }
+}
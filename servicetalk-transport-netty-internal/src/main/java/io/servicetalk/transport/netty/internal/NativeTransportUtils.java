@@ -106,6 +106,24 @@ final class NativeTransportUtils {
         return IS_LINUX && TRY_IO_URING.get() && IOUring.isAvailable();
     }
 
+    /**
+     * Ensures {@link IOUring} can be used regardless of the {@code io.servicetalk.transport.netty.tryIoUring} system
+     * property.
+     *
+     * @throws IllegalStateException if {@link IOUring} is not available
+     */
+    static void ensureIoUringAvailable() {
+        if (!IS_LINUX) {
+            throw new IllegalStateException("io_uring is only supported on Linux, current OS: " +
+                    PlatformDependent.normalizedOs());
+        }
+        if (!IOUring.isAvailable()) {
+            throw new IllegalStateException("Can not load \"io.netty.incubator:" +
+                    "netty-incubator-transport-native-io_uring:$nettyIoUringVersion:linux-" + normalizedArch() +
+                    "\" or the kernel does not support io_uring", IOUring.unavailabilityCause());
+        }
+    }
+
     /**
      * Determine if {@link Epoll} is available.
      *
@@ -131,7 +149,9 @@ final class NativeTransportUtils {
      * @return {@code true} if native {@link IOUring} transport could be used
      */
     static boolean useIoUring(final EventLoopGroup group) {
-        if (!isIoUringAvailable()) {
+        // Don't check TRY_IO_URING here, an IOUringEventLoopGroup may also be created when io_uring is selected
+        // explicitly.
+        if (!IS_LINUX || !IOUring.isAvailable()) {
             return false;
         }
         // Check if we should use the io_uring transport. This is true if either the IOUringEventLoopGroup is used
@@ -16,6 +16,7 @@
 package io.servicetalk.transport.netty.internal;
 
 import io.servicetalk.transport.api.IoExecutor;
+import io.servicetalk.transport.api.IoThreadAffinity;
 import io.servicetalk.transport.api.IoThreadFactory;
 import io.servicetalk.transport.api.IoThreadFactory.IoThread;
 
@@ -28,6 +29,7 @@ import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static io.servicetalk.transport.netty.internal.NativeTransportUtils.ensureIoUringAvailable;
 import static io.servicetalk.transport.netty.internal.NativeTransportUtils.isEpollAvailable;
 import static io.servicetalk.transport.netty.internal.NativeTransportUtils.isIoUringAvailable;
 import static io.servicetalk.transport.netty.internal.NativeTransportUtils.isKQueueAvailable;
@@ -85,6 +87,19 @@ public final class NettyIoExecutors {
         return createIoExecutor(ioThreads, newIoThreadFactory(threadNamePrefix));
     }
 
+    /**
+     * Create a new {@link NettyIoExecutor} whose threads are placed on CPUs by the passed {@link IoThreadAffinity}.
+     *
+     * @param ioThreads number of threads.
+     * @param threadNamePrefix the name prefix used for the created {@link Thread}s.
+     * @param affinity the {@link IoThreadAffinity} applied by each IO thread when it starts.
+     * @return The created {@link IoExecutor}
+     */
+    public static EventLoopAwareNettyIoExecutor createIoExecutor(int ioThreads, String threadNamePrefix,
+                                                                 IoThreadAffinity affinity) {
+        return createIoExecutor(ioThreads, new NettyIoThreadFactory(threadNamePrefix, true, affinity));
+    }
+
     /**
      * Create a new {@link NettyIoExecutor} with the default number of {@code ioThreads}.
      *
@@ -113,6 +128,62 @@ public final class NettyIoExecutors {
         return new EventLoopGroupIoExecutor(createEventLoopGroup(ioThreads, threadFactory), true, true);
     }
 
+    /**
+     * Create a new {@link NettyIoExecutor} which uses the
+     * <a href="https://netty.io/wiki/native-transports.html">io_uring</a> transport, regardless of the
+     * {@code io.servicetalk.transport.netty.tryIoUring} system property.
+     *
+     * @param <T> Type of the IO thread instances created by factory.
+     * @param ioThreads number of threads.
+     * @param threadFactory the {@link IoThreadFactory} to use. If possible you should use an instance of
+     * {@link NettyIoThreadFactory} as it allows internal optimizations.
+     * @return The created {@link IoExecutor}
+     * @throws IllegalStateException if io_uring is not available
+     */
+    public static <T extends Thread & IoThread> EventLoopAwareNettyIoExecutor createIoUringIoExecutor(
+            int ioThreads, IoThreadFactory<T> threadFactory) {
+        validateIoThreads(ioThreads);
+        ensureIoUringAvailable();
+        return newIoUringIoExecutor(new IOUringEventLoopGroup(ioThreads, threadFactory), ioThreads, threadFactory);
+    }
+
+    /**
+     * Create a new {@link NettyIoExecutor} which uses the
+     * <a href="https://netty.io/wiki/native-transports.html">io_uring</a> transport, regardless of the
+     * {@code io.servicetalk.transport.netty.tryIoUring} system property.
+     *
+     * @param <T> Type of the IO thread instances created by factory.
+     * @param ioThreads number of threads.
+     * @param threadFactory the {@link IoThreadFactory} to use. If possible you should use an instance of
+     * {@link NettyIoThreadFactory} as it allows internal optimizations.
+     * @param ringSize number of entries in the submission queue of the ring of each IO thread. IO operations queued
+     * during one event loop iteration are submitted to the kernel in batches of up to this size with a single system
+     * call.
+     * @param iosqeAsyncThreshold number of in-flight IO operations after which new operations are forced to execute
+     * asynchronously in the kernel, or {@code 0} to never force asynchronous execution.
+     * @return The created {@link IoExecutor}
+     * @throws IllegalStateException if io_uring is not available
+     */
+    public static <T extends Thread & IoThread> EventLoopAwareNettyIoExecutor createIoUringIoExecutor(
+            int ioThreads, IoThreadFactory<T> threadFactory, int ringSize, int iosqeAsyncThreshold) {
+        validateIoThreads(ioThreads);
+        if (ringSize <= 0) {
+            throw new IllegalArgumentException("ringSize: " + ringSize + " (expected >0)");
+        }
+        if (iosqeAsyncThreshold < 0) {
+            throw new IllegalArgumentException("iosqeAsyncThreshold: " + iosqeAsyncThreshold + " (expected >=0)");
+        }
+        ensureIoUringAvailable();
+        return newIoUringIoExecutor(new IOUringEventLoopGroup(ioThreads, threadFactory, ringSize,
+                iosqeAsyncThreshold), ioThreads, threadFactory);
+    }
+
+    private static <T extends Thread & IoThread> EventLoopAwareNettyIoExecutor newIoUringIoExecutor(
+            IOUringEventLoopGroup group, int ioThreads, IoThreadFactory<T> threadFactory) {
+        LOGGER.debug("Created {} for {} threads using {}.", group.getClass().getSimpleName(), ioThreads, threadFactory);
+        return new EventLoopGroupIoExecutor(group, true, true);
+    }
+
     private static <T extends Thread & IoThread> EventLoopGroup createEventLoopGroup(int ioThreads,
             IoThreadFactory<T> threadFactory) {
         validateIoThreads(ioThreads);
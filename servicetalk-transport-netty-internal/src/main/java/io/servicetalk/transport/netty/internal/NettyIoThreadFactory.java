@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2019, 2021 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2019, 2021, 2023 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,12 @@
 package io.servicetalk.transport.netty.internal;
 
 import io.servicetalk.context.api.ContextMap;
+import io.servicetalk.transport.api.IoThreadAffinity;
 import io.servicetalk.transport.api.IoThreadFactory;
 
 import io.netty.util.concurrent.FastThreadLocalThread;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nullable;
@@ -30,6 +33,7 @@ import static java.util.Objects.requireNonNull;
  * Default {@link IoThreadFactory} to create IO {@link NettyIoThread}s.
  */
 public final class NettyIoThreadFactory implements IoThreadFactory<NettyIoThreadFactory.NettyIoThread> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NettyIoThreadFactory.class);
     private static final AtomicInteger factoryCount = new AtomicInteger();
 
     private final AtomicInteger threadCount = new AtomicInteger();
@@ -37,6 +41,8 @@ public final class NettyIoThreadFactory implements IoThreadFactory<NettyIoThread
     private final boolean daemon;
     @Nullable
     private final ThreadGroup threadGroup;
+    @Nullable
+    private final IoThreadAffinity affinity;
 
     /**
      * Create a new instance.
@@ -59,6 +65,20 @@ public final class NettyIoThreadFactory implements IoThreadFactory<NettyIoThread
         );
     }
 
+    /**
+     * Create a new instance.
+     * @param threadNamePrefix the name prefix used for the created {@link Thread}s.
+     * @param daemon {@code true} if the created {@link Thread} should be a daemon thread.
+     * @param affinity the {@link IoThreadAffinity} applied by each created {@link Thread} when it starts.
+     */
+    @SuppressWarnings("PMD.AvoidThreadGroup")
+    public NettyIoThreadFactory(String threadNamePrefix, boolean daemon, IoThreadAffinity affinity) {
+        this(threadNamePrefix, daemon,
+                System.getSecurityManager() == null ?
+                        Thread.currentThread().getThreadGroup() : System.getSecurityManager().getThreadGroup(),
+                requireNonNull(affinity));
+    }
+
     /**
      * Create a new instance.
      * @param threadNamePrefix the name prefix used for the created {@link IoThread}s.
@@ -67,14 +87,35 @@ public final class NettyIoThreadFactory implements IoThreadFactory<NettyIoThread
      */
     @SuppressWarnings("PMD.AvoidThreadGroup")
     NettyIoThreadFactory(String threadNamePrefix, boolean daemon, @Nullable ThreadGroup threadGroup) {
+        this(threadNamePrefix, daemon, threadGroup, null);
+    }
+
+    @SuppressWarnings("PMD.AvoidThreadGroup")
+    private NettyIoThreadFactory(String threadNamePrefix, boolean daemon, @Nullable ThreadGroup threadGroup,
+                                 @Nullable IoThreadAffinity affinity) {
         this.namePrefix = requireNonNull(threadNamePrefix) + '-' + factoryCount.incrementAndGet() + '-';
         this.daemon = daemon;
         this.threadGroup = threadGroup;
+        this.affinity = affinity;
     }
 
     @Override
     public NettyIoThread newThread(Runnable r) {
-        NettyIoThread t = new NettyIoThread(threadGroup, r, namePrefix + threadCount.incrementAndGet());
+        final int threadNumber = threadCount.incrementAndGet();
+        final IoThreadAffinity affinity = this.affinity;
+        final Runnable target = affinity == null ? r : () -> {
+            try {
+                affinity.bindCurrentThread(threadNumber - 1);
+            } catch (Exception cause) {
+                if (cause instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                LOGGER.warn("Failed to apply {} to {}, continuing without affinity.",
+                        affinity, Thread.currentThread().getName(), cause);
+            }
+            r.run();
+        };
+        NettyIoThread t = new NettyIoThread(threadGroup, target, namePrefix + threadNumber);
         if (t.isDaemon() != daemon) {
             t.setDaemon(daemon);
         }
@@ -91,6 +132,7 @@ public final class NettyIoThreadFactory implements IoThreadFactory<NettyIoThread
                 ", daemon=" + daemon +
                 ", threadGroup=" + threadGroup +
                 ", threadCount=" + threadCount +
+                ", affinity=" + affinity +
                 '}';
     }
 
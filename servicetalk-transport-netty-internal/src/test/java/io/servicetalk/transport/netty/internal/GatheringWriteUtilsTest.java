@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.netty.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.buffer.UnpooledDirectByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static io.netty.buffer.Unpooled.compositeBuffer;
+import static io.netty.buffer.Unpooled.copiedBuffer;
+import static io.netty.buffer.Unpooled.directBuffer;
+import static io.servicetalk.transport.netty.internal.GatheringWriteUtils.writeGathering;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+class GatheringWriteUtilsTest {
+
+    private final EmbeddedChannel channel = new EmbeddedChannel(new ChannelDuplexHandler() {
+        @Override
+        public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+            writeGathering(ctx, (ByteBuf) msg, promise);
+        }
+    });
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void nonCompositeIsWrittenAsIs() {
+        ByteBuf buf = ascii(directBuffer(), "hello");
+        ChannelFuture future = channel.writeAndFlush(buf);
+        assertThat(future.isSuccess(), is(true));
+        assertNextOutbound(buf);
+        assertThat(channel.readOutbound(), is(nullValue()));
+    }
+
+    @Test
+    void directCompositeIsWrittenAsIs() {
+        CompositeByteBuf composite = compositeBuffer()
+                .addComponent(true, ascii(directBuffer(), "hello"))
+                .addComponent(true, ascii(directBuffer(), "world"));
+        ChannelFuture future = channel.writeAndFlush(composite);
+        assertThat(future.isSuccess(), is(true));
+        assertNextOutbound(composite);
+        assertThat(channel.readOutbound(), is(nullValue()));
+    }
+
+    @Test
+    void mixedCompositeIsWrittenAsComponents() {
+        CompositeByteBuf composite = compositeBuffer()
+                .addComponent(true, ascii(directBuffer(), "header"))
+                .addComponent(true, copiedBuffer("body", US_ASCII))
+                .addComponent(true, ascii(directBuffer(), "trailer"));
+        composite.skipBytes(2);
+        ChannelFuture future = channel.writeAndFlush(composite);
+        assertThat(future.isSuccess(), is(true));
+        assertThat(composite.refCnt(), is(0));
+        assertNextOutbound("ader");
+        assertNextOutbound("body");
+        assertNextOutbound("trailer");
+        assertThat(channel.readOutbound(), is(nullValue()));
+    }
+
+    @Test
+    void heapCompositeIsWrittenAsIs() {
+        CompositeByteBuf composite = compositeBuffer()
+                .addComponent(true, copiedBuffer("hello", US_ASCII))
+                .addComponent(true, copiedBuffer("world", US_ASCII));
+        channel.writeAndFlush(composite);
+        assertNextOutbound(composite);
+        assertThat(channel.readOutbound(), is(nullValue()));
+    }
+
+    @Test
+    void retainedComponentsAreReleasedIfDecomposeFails() {
+        ByteBuf heap = copiedBuffer("body", US_ASCII);
+        ByteBuf failing = ascii(new UnpooledDirectByteBuf(UnpooledByteBufAllocator.DEFAULT, 16, 16) {
+            @Override
+            public ByteBuf retain() {
+                throw new IllegalStateException("deliberate");
+            }
+        }, "trailer");
+        CompositeByteBuf composite = compositeBuffer()
+                .addComponent(true, heap)
+                .addComponent(true, failing);
+        ChannelFuture future = channel.writeAndFlush(composite);
+        assertThat(future.cause(), is(instanceOf(IllegalStateException.class)));
+        assertThat(composite.refCnt(), is(0));
+        assertThat(heap.refCnt(), is(0));
+        assertThat(channel.readOutbound(), is(nullValue()));
+    }
+
+    private void assertNextOutbound(ByteBuf expected) {
+        ByteBuf buf = channel.readOutbound();
+        try {
+            assertThat(buf, is(sameInstance(expected)));
+        } finally {
+            buf.release();
+        }
+    }
+
+    private void assertNextOutbound(String expected) {
+        ByteBuf buf = channel.readOutbound();
+        try {
+            assertThat(buf.toString(US_ASCII), is(expected));
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static ByteBuf ascii(ByteBuf buf, String value) {
+        buf.writeCharSequence(value, US_ASCII);
+        return buf;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2023 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.netty.internal;
+
+import io.servicetalk.transport.api.IoThreadAffinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+class NettyIoThreadFactoryTest {
+
+    @Test
+    void affinityIsAppliedOnEachThread() throws Exception {
+        final List<String> bound = new CopyOnWriteArrayList<>();
+        final NettyIoThreadFactory factory = new NettyIoThreadFactory("affinity", true,
+                IoThreadAffinity.roundRobin(cpu -> bound.add(Thread.currentThread().getName() + '@' + cpu), 3, 5));
+        final Thread[] threads = new Thread[3];
+        for (int i = 0; i < threads.length; ++i) {
+            threads[i] = factory.newThread(() -> { });
+            threads[i].start();
+            threads[i].join();
+        }
+        assertThat(bound, contains(threads[0].getName() + "@3", threads[1].getName() + "@5",
+                threads[2].getName() + "@3"));
+    }
+
+    @Test
+    void affinityFailureDoesNotPreventThreadFromRunning() throws Exception {
+        final CountDownLatch ran = new CountDownLatch(1);
+        final NettyIoThreadFactory factory = new NettyIoThreadFactory("affinity", true, threadIndex -> {
+            throw new UnsupportedOperationException("deliberate");
+        });
+        final Thread thread = factory.newThread(ran::countDown);
+        thread.start();
+        thread.join();
+        assertThat(ran.getCount(), is(0L));
+    }
+
+    @Test
+    void affinityErrorIsNotSwallowed() throws Exception {
+        final CountDownLatch ran = new CountDownLatch(1);
+        final AtomicReference<Throwable> uncaught = new AtomicReference<>();
+        final NettyIoThreadFactory factory = new NettyIoThreadFactory("affinity", true, threadIndex -> {
+            throw new OutOfMemoryError("deliberate");
+        });
+        final Thread thread = factory.newThread(ran::countDown);
+        thread.setUncaughtExceptionHandler((t, cause) -> uncaught.set(cause));
+        thread.start();
+        thread.join();
+        assertThat(ran.getCount(), is(1L));
+        assertThat(uncaught.get(), instanceOf(OutOfMemoryError.class));
+    }
+}
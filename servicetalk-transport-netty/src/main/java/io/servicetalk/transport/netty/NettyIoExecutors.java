@@ -16,6 +16,7 @@
 package io.servicetalk.transport.netty;
 
 import io.servicetalk.transport.api.IoExecutor;
+import io.servicetalk.transport.api.IoThreadAffinity;
 import io.servicetalk.transport.api.IoThreadFactory;
 import io.servicetalk.transport.api.IoThreadFactory.IoThread;
 
@@ -91,4 +92,53 @@ public final class NettyIoExecutors {
     public static IoExecutor createIoExecutor() {
         return io.servicetalk.transport.netty.internal.NettyIoExecutors.createIoExecutor();
     }
+
+    /**
+     * Creates a new {@link IoExecutor} whose threads are placed on CPUs by the passed {@link IoThreadAffinity}.
+     *
+     * @param ioThreads number of threads.
+     * @param threadNamePrefix the name prefix used for the created {@link Thread}s.
+     * @param affinity the {@link IoThreadAffinity} applied by each IO thread when it starts.
+     * @return The created {@link IoExecutor}
+     */
+    public static IoExecutor createIoExecutor(int ioThreads, String threadNamePrefix, IoThreadAffinity affinity) {
+        return io.servicetalk.transport.netty.internal.NettyIoExecutors.createIoExecutor(ioThreads, threadNamePrefix,
+                affinity);
+    }
+
+    /**
+     * Creates a new {@link IoExecutor} which uses the
+     * <a href="https://netty.io/wiki/native-transports.html">io_uring</a> transport.
+     *
+     * @param <T> Type of the IO thread instances created by factory.
+     * @param ioThreads number of threads.
+     * @param threadFactory the {@link IoThreadFactory} to use.
+     * @return The created {@link IoExecutor}
+     * @throws IllegalStateException if io_uring is not available
+     */
+    public static <T extends Thread & IoThread> IoExecutor createIoUringIoExecutor(int ioThreads,
+            IoThreadFactory<T> threadFactory) {
+        return io.servicetalk.transport.netty.internal.NettyIoExecutors.createIoUringIoExecutor(ioThreads,
+                threadFactory);
+    }
+
+    /**
+     * Creates a new {@link IoExecutor} which uses the
+     * <a href="https://netty.io/wiki/native-transports.html">io_uring</a> transport.
+     *
+     * @param <T> Type of the IO thread instances created by factory.
+     * @param ioThreads number of threads.
+     * @param threadFactory the {@link IoThreadFactory} to use.
+     * @param ringSize number of entries in the submission queue of the ring of each IO thread, which bounds how many
+     * IO operations are submitted to the kernel with a single system call.
+     * @param iosqeAsyncThreshold number of in-flight IO operations after which new operations are forced to execute
+     * asynchronously in the kernel, or {@code 0} to never force asynchronous execution.
+     * @return The created {@link IoExecutor}
+     * @throws IllegalStateException if io_uring is not available
+     */
+    public static <T extends Thread & IoThread> IoExecutor createIoUringIoExecutor(int ioThreads,
+            IoThreadFactory<T> threadFactory, int ringSize, int iosqeAsyncThreshold) {
+        return io.servicetalk.transport.netty.internal.NettyIoExecutors.createIoUringIoExecutor(ioThreads,
+                threadFactory, ringSize, iosqeAsyncThreshold);
+    }
 }